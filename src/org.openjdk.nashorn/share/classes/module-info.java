@@ -141,6 +141,8 @@ ScriptEngine nashornEngine = new ScriptEngineManager().getEngineByName("nashorn"
  */
 module org.openjdk.nashorn {
     requires java.logging;
+    requires static java.management;
+    requires static jdk.management;
     requires jdk.dynalink;
     requires jdk.unsupported;
 
@@ -26,8 +26,11 @@
 package org.openjdk.nashorn.api.scripting;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.openjdk.nashorn.internal.codegen.CompilerConstants;
+import org.openjdk.nashorn.internal.runtime.Context;
 import org.openjdk.nashorn.internal.runtime.ECMAErrors;
 import org.openjdk.nashorn.internal.runtime.ScriptObject;
 
@@ -48,6 +51,9 @@ import org.openjdk.nashorn.internal.runtime.ScriptObject;
 public abstract class NashornException extends RuntimeException {
     private static final long serialVersionUID = 1L;
 
+    // Walks the stack including frames of script code installed as hidden classes.
+    private static final StackWalker HIDDEN_FRAMES_WALKER = StackWalker.getInstance(StackWalker.Option.SHOW_HIDDEN_FRAMES);
+
     // script file name
     private String fileName;
     // script line number
@@ -101,6 +107,37 @@ public abstract class NashornException extends RuntimeException {
         this.lineAndFileNameUnknown = true;
     }
 
+    /**
+     * Fills in the stack trace. If the context of the current global has installed script code as hidden classes,
+     * whose frames are omitted from the stack traces of exceptions, the stack trace is walked so that it includes
+     * their script frames, as the file name, line number and script stack of this exception depend on them.
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (!Context.hasHiddenScriptClasses()) {
+            return super.fillInStackTrace();
+        }
+        // Skip the frames of filling in the stack trace and of the constructors of this exception.
+        final Set<String> exceptionClasses = new HashSet<>();
+        for (Class<?> c = getClass(); c != null; c = c.getSuperclass()) {
+            exceptionClasses.add(c.getName());
+        }
+        // Of the other hidden frames, such as those of lambda forms, none is kept, as in ordinary stack traces.
+        setStackTrace(HIDDEN_FRAMES_WALKER.walk(frames -> frames
+                .dropWhile(frame -> exceptionClasses.contains(frame.getClassName()))
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .filter(frame -> !isHiddenClassName(frame.getClassName()) || ECMAErrors.isScriptFrame(frame))
+                .toArray(StackTraceElement[]::new)));
+        return this;
+    }
+
+    // Names of hidden classes have a slash followed by a suffix that makes them unique.
+    private static boolean isHiddenClassName(final String className) {
+        return className.indexOf('/') >= 0;
+    }
+
     /**
      * Get the source file name for this {@code NashornException}
      *
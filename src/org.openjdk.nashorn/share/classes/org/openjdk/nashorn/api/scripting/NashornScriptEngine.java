@@ -79,6 +79,8 @@ public final class NashornScriptEngine extends AbstractScriptEngine implements C
     // This is the initial default Nashorn global object.
     // This is used as "shared" global if above option is true.
     private final Global              global;
+    // sampling profiler, created on first use
+    private ScriptProfiler            profiler;
 
     // Nashorn script engine error message management
     private static final String MESSAGES_RESOURCE = "org.openjdk.nashorn.api.scripting.resources.Messages";
@@ -191,6 +193,19 @@ public final class NashornScriptEngine extends AbstractScriptEngine implements C
         return getInterfaceInner(thiz, clazz);
     }
 
+    /**
+     * Returns the sampling profiler of this engine. The profiler is created stopped on the first call, and the same
+     * profiler is returned on later calls.
+     * @return the profiler of this engine
+     * @since 15.6
+     */
+    public synchronized ScriptProfiler getProfiler() {
+        if (profiler == null) {
+            profiler = new ScriptProfiler(nashornContext);
+        }
+        return profiler;
+    }
+
     // Implementation only below this point
 
     private static Source makeSource(final Reader reader, final ScriptContext ctxt) throws ScriptException {
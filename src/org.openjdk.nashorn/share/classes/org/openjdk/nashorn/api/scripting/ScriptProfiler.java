@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.api.scripting;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.nashorn.internal.codegen.CompilerConstants;
+import org.openjdk.nashorn.internal.runtime.Context;
+import org.openjdk.nashorn.internal.runtime.ECMAErrors;
+import org.openjdk.nashorn.internal.runtime.JSONFunctions;
+
+/**
+ * Sampling profiler for script code, obtained through {@link NashornScriptEngine#getProfiler()}. While it is running,
+ * a daemon thread periodically samples the stacks of the runnable threads that run scripts of the engine, maps the
+ * frames of compiled script code to the script function, source name and line they were compiled from, and aggregates
+ * per script function:
+ * <ul>
+ * <li>self time, the time the function was at the top of the script stack of a thread, and total time, the time it
+ * was anywhere on the stack,</li>
+ * <li>self and total allocation, the bytes the thread allocated since its previous sample, when the JVM can measure
+ * per thread allocation,</li>
+ * <li>the number of samples per line of the function.</li>
+ * </ul>
+ * Java frames between script frames, such as those of the runtime or of Java methods called from scripts, are
+ * attributed to the script function that called them. Threads that are blocked or waiting are not sampled, so times
+ * approximate CPU time. Threads are sampled while their current global belongs to the engine; threads that already
+ * run scripts of the engine when the profiler starts are sampled from the next time they enter it, such as with the
+ * next {@code eval} or {@code invokeFunction}. Frames of scripts installed as hidden classes with
+ * {@code --anonymous-classes=true} are invisible to stack sampling and thus not profiled. At most 4096 distinct
+ * functions and 16384 distinct stacks are recorded; the samples of further ones are reported as {@code <other>}.
+ * <p>
+ * Results are available as collapsed stacks, the input format of flame graph tools, and as a JSON report. The cost of
+ * profiling is that of taking the stacks of the threads that run scripts every sampling interval, 10 milliseconds by
+ * default, so it can be left running on production systems. Stacks are taken with the {@code java.management} module
+ * when it is present; without it, they are taken thread by thread, and without the {@code jdk.management} module,
+ * allocation is not measured.
+ *
+ * @since 15.6
+ */
+public final class ScriptProfiler {
+    /** Default sampling interval in milliseconds. */
+    public static final long DEFAULT_INTERVAL = 10;
+
+    // Deepest stack that is sampled; the outermost frames of deeper stacks are lost.
+    private static final int MAX_DEPTH = 256;
+
+    // Most distinct functions and stacks that are recorded; the samples of further ones are aggregated as <other>.
+    private static final int MAX_FUNCTIONS = 4096;
+    private static final int MAX_STACKS = 16384;
+    private static final String OTHER = "<other>";
+
+    // java.management and jdk.management are optional dependencies of the module.
+    private static final boolean HAS_MANAGEMENT, HAS_JDK_MANAGEMENT;
+
+    static {
+        final ModuleLayer boot = ModuleLayer.boot();
+        HAS_MANAGEMENT = boot.findModule("java.management").isPresent();
+        HAS_JDK_MANAGEMENT = boot.findModule("jdk.management").isPresent();
+    }
+
+    private static final String SPLIT_SEPARATOR = "$" + CompilerConstants.SPLIT_PREFIX.symbolName();
+
+    // Context of the engine whose script threads are sampled
+    private final Context context;
+
+    private long interval = DEFAULT_INTERVAL;
+    private Thread sampler;
+    private volatile boolean running;
+
+    // Aggregated results, guarded by this
+    private final Map<String, FunctionProfile> functions = new HashMap<>();
+    private final Map<String, long[]> stacks = new TreeMap<>();
+    private Map<Long, Long> allocatedBytes = new HashMap<>();
+    private long sampleCount;
+    private long sampledNanos;
+
+    private static final class FunctionProfile {
+        final String name;
+        final String source;
+        long selfSamples;
+        long totalSamples;
+        long selfNanos;
+        long totalNanos;
+        long selfBytes;
+        long totalBytes;
+        final Map<Integer, long[]> lineSamples = new TreeMap<>();
+
+        FunctionProfile(final String name, final String source) {
+            this.name = name;
+            this.source = source;
+        }
+    }
+
+    ScriptProfiler(final Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts sampling with the {@link #DEFAULT_INTERVAL default interval}. Results of earlier runs are kept until
+     * {@link #reset()} is called.
+     */
+    public void start() {
+        start(DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Starts sampling. Results of earlier runs are kept until {@link #reset()} is called.
+     * @param intervalMillis the sampling interval in milliseconds
+     * @throws IllegalArgumentException if the interval is not positive
+     * @throws IllegalStateException if the profiler is already running
+     */
+    public synchronized void start(final long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("interval " + intervalMillis);
+        }
+        if (running) {
+            throw new IllegalStateException("profiler is running");
+        }
+        interval = intervalMillis;
+        running = true;
+        allocatedBytes.clear();
+        Context.startSamplingScriptThreads();
+        sampler = new Thread(this::run, "nashorn-profiler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    /**
+     * Stops sampling and waits for the sampler thread to finish. Does nothing if the profiler is not running.
+     */
+    public void stop() {
+        final Thread t;
+        synchronized (this) {
+            if (running) {
+                Context.stopSamplingScriptThreads();
+            }
+            running = false;
+            t = sampler;
+            sampler = null;
+        }
+        if (t != null) {
+            t.interrupt();
+            try {
+                t.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns true if the profiler is sampling.
+     * @return true if the profiler is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Discards the results collected so far.
+     */
+    public synchronized void reset() {
+        functions.clear();
+        stacks.clear();
+        sampleCount = 0;
+        sampledNanos = 0;
+    }
+
+    /**
+     * Returns the sampled script stacks in the collapsed format of flame graph tools: one line per distinct stack,
+     * with the frames from the outermost to the innermost separated by semicolons, followed by a space and the time
+     * spent in the stack in milliseconds. Frames are named {@code function (source)}.
+     * @return the collapsed stacks
+     */
+    public synchronized String getCollapsedStacks() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Map.Entry<String, long[]> e : stacks.entrySet()) {
+            final long millis = TimeUnit.NANOSECONDS.toMillis(e.getValue()[0]);
+            if (millis > 0) {
+                sb.append(e.getKey()).append(' ').append(millis).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the collected results as a JSON object with the number of samples, the sampled time, and an array of
+     * script functions sorted by self time. Each function has its name, source, self and total time in milliseconds,
+     * self and total allocated bytes (-1 if the JVM can't measure allocation), sample counts, and a map from line
+     * numbers to the number of samples in which the line was executing.
+     * @return the JSON report
+     */
+    public synchronized String getJSONReport() {
+        final List<FunctionProfile> sorted = new ArrayList<>(functions.values());
+        sorted.sort((f1, f2) -> Long.compare(f2.selfNanos, f1.selfNanos));
+        final boolean measuresAllocation = measuresAllocation();
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\"interval\":").append(interval)
+          .append(",\"samples\":").append(sampleCount)
+          .append(",\"time\":").append(TimeUnit.NANOSECONDS.toMillis(sampledNanos))
+          .append(",\"functions\":[");
+        boolean first = true;
+        for (final FunctionProfile f : sorted) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append("{\"name\":").append(JSONFunctions.quote(f.name))
+              .append(",\"source\":").append(JSONFunctions.quote(f.source))
+              .append(",\"selfTime\":").append(TimeUnit.NANOSECONDS.toMillis(f.selfNanos))
+              .append(",\"totalTime\":").append(TimeUnit.NANOSECONDS.toMillis(f.totalNanos))
+              .append(",\"selfAllocated\":").append(measuresAllocation ? f.selfBytes : -1)
+              .append(",\"totalAllocated\":").append(measuresAllocation ? f.totalBytes : -1)
+              .append(",\"selfSamples\":").append(f.selfSamples)
+              .append(",\"totalSamples\":").append(f.totalSamples)
+              .append(",\"lines\":{");
+            boolean firstLine = true;
+            for (final Map.Entry<Integer, long[]> line : f.lineSamples.entrySet()) {
+                if (!firstLine) {
+                    sb.append(',');
+                }
+                firstLine = false;
+                sb.append('"').append(line.getKey()).append("\":").append(line.getValue()[0]);
+            }
+            sb.append("}}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    private void run() {
+        final ThreadSampler threadSampler = HAS_MANAGEMENT ? new ManagementThreadSampler() : new ThreadSampler();
+        long last = System.nanoTime();
+        while (running) {
+            try {
+                Thread.sleep(interval);
+            } catch (final InterruptedException e) {
+                break;
+            }
+            final List<Thread> threads = context.getScriptThreads();
+            threadSampler.sample(threads);
+            final long now = System.nanoTime();
+            final long elapsed = now - last;
+            last = now;
+            synchronized (this) {
+                sampledNanos += elapsed;
+                final Map<Long, Long> allocated = new HashMap<>();
+                for (int i = 0; i < threads.size(); i++) {
+                    final long id = threads.get(i).getId();
+                    // The counter is read on every sample so that the bytes a thread allocates while it is blocked
+                    // or outside of scripts are not charged to the next script stack sampled on it.
+                    long bytes = 0;
+                    final long count = threadSampler.allocatedBytes[i];
+                    if (count >= 0) {
+                        final Long previous = allocatedBytes.get(id);
+                        if (previous != null && count > previous) {
+                            bytes = count - previous;
+                        }
+                        allocated.put(id, count);
+                    }
+                    if (threadSampler.states[i] == Thread.State.RUNNABLE && threadSampler.traces[i] != null) {
+                        sample(threadSampler.traces[i], elapsed, bytes);
+                    }
+                }
+                // only keep the counters of threads that are still alive
+                allocatedBytes = allocated;
+            }
+        }
+    }
+
+    private void sample(final StackTraceElement[] trace, final long elapsed, final long bytes) {
+        final List<StackTraceElement> frames = new ArrayList<>();
+        for (int i = 0; i < Math.min(trace.length, MAX_DEPTH); i++) {
+            if (ECMAErrors.isScriptFrame(trace[i])) {
+                frames.add(trace[i]);
+            }
+        }
+        if (frames.isEmpty()) {
+            return;
+        }
+
+        sampleCount++;
+        final StringBuilder stack = new StringBuilder();
+        final Set<FunctionProfile> onStack = new LinkedHashSet<>();
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            final StackTraceElement frame = frames.get(i);
+            final FunctionProfile f = getFunction(frame);
+            onStack.add(f);
+            if (stack.length() > 0) {
+                stack.append(';');
+            }
+            stack.append(f.name).append(" (").append(f.source).append(')');
+        }
+        for (final FunctionProfile f : onStack) {
+            f.totalSamples++;
+            f.totalNanos += elapsed;
+            f.totalBytes += bytes;
+        }
+        final StackTraceElement top = frames.get(0);
+        final FunctionProfile topFunction = getFunction(top);
+        topFunction.selfSamples++;
+        topFunction.selfNanos += elapsed;
+        topFunction.selfBytes += bytes;
+        topFunction.lineSamples.computeIfAbsent(top.getLineNumber(), k -> new long[1])[0]++;
+        final String key = stacks.size() < MAX_STACKS || stacks.containsKey(stack.toString()) ? stack.toString() : OTHER;
+        stacks.computeIfAbsent(key, k -> new long[1])[0] += elapsed;
+    }
+
+    private FunctionProfile getFunction(final StackTraceElement frame) {
+        final String name = functionName(frame.getMethodName());
+        final String source = frame.getFileName();
+        final String key = name + '\0' + source;
+        final FunctionProfile f = functions.get(key);
+        if (f != null) {
+            return f;
+        } else if (functions.size() >= MAX_FUNCTIONS) {
+            return functions.computeIfAbsent(OTHER, k -> new FunctionProfile(OTHER, ""));
+        }
+        final FunctionProfile newFunction = new FunctionProfile(name, source);
+        functions.put(key, newFunction);
+        return newFunction;
+    }
+
+    /**
+     * Maps the name of the method compiled from a script function back to the function name. Split parts of a
+     * function are part of the function, and anonymous functions are named by the line they start on.
+     */
+    private static String functionName(final String methodName) {
+        String name = methodName;
+        final int split = name.indexOf(SPLIT_SEPARATOR);
+        if (split > 0) {
+            name = name.substring(0, split);
+        }
+        final int nested = name.lastIndexOf(CompilerConstants.NESTED_FUNCTION_SEPARATOR.symbolName());
+        if (nested >= 0) {
+            name = name.substring(nested + 1);
+        }
+        final int id = name.indexOf(CompilerConstants.ID_FUNCTION_SEPARATOR.symbolName());
+        if (id >= 0) {
+            name = name.substring(0, id);
+        }
+        if (name.equals(CompilerConstants.PROGRAM.symbolName())) {
+            return "<program>";
+        }
+        final String anonPrefix = CompilerConstants.ANON_FUNCTION_PREFIX.symbolName();
+        return name.startsWith(anonPrefix) ? "<anonymous>:" + name.substring(anonPrefix.length()) : name;
+    }
+
+    /**
+     * Takes the stacks of the threads to sample. Without java.management, each thread's stack is taken separately and
+     * allocation isn't measured.
+     */
+    private static class ThreadSampler {
+        Thread.State[] states;
+        StackTraceElement[][] traces;
+        long[] allocatedBytes;
+
+        void sample(final List<Thread> threads) {
+            final int count = threads.size();
+            states = new Thread.State[count];
+            traces = new StackTraceElement[count][];
+            allocatedBytes = new long[count];
+            Arrays.fill(allocatedBytes, -1L);
+            for (int i = 0; i < count; i++) {
+                final Thread thread = threads.get(i);
+                states[i] = thread.getState();
+                if (states[i] == Thread.State.RUNNABLE) {
+                    traces[i] = thread.getStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the stacks of all threads to sample in a single request to the thread management bean, and reads their
+     * allocation counters when jdk.management is present.
+     */
+    private static final class ManagementThreadSampler extends ThreadSampler {
+        private final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        private final com.sun.management.ThreadMXBean allocationBean = getThreadMXBean();
+
+        @Override
+        void sample(final List<Thread> threads) {
+            final int count = threads.size();
+            final long[] ids = new long[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = threads.get(i).getId();
+            }
+            final ThreadInfo[] infos = bean.getThreadInfo(ids, MAX_DEPTH);
+            states = new Thread.State[count];
+            traces = new StackTraceElement[count][];
+            for (int i = 0; i < count; i++) {
+                if (infos[i] != null) {
+                    states[i] = infos[i].getThreadState();
+                    traces[i] = infos[i].getStackTrace();
+                }
+            }
+            if (allocationBean != null) {
+                allocatedBytes = allocationBean.getThreadAllocatedBytes(ids);
+            } else {
+                allocatedBytes = new long[count];
+                Arrays.fill(allocatedBytes, -1L);
+            }
+        }
+    }
+
+    private static boolean measuresAllocation() {
+        return HAS_MANAGEMENT && HAS_JDK_MANAGEMENT && getThreadMXBean() != null;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        if (!HAS_JDK_MANAGEMENT) {
+            return null;
+        }
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean)bean;
+            if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean;
+            }
+        }
+        return null;
+    }
+}
@@ -27,16 +27,28 @@ package org.openjdk.nashorn.api.tree;
 
 import java.util.List;
 import org.openjdk.nashorn.internal.ir.FunctionNode;
+import org.openjdk.nashorn.internal.runtime.Source;
 
 final class CompilationUnitTreeImpl extends TreeImpl
     implements CompilationUnitTree {
     private final FunctionNode funcNode;
     private final List<? extends Tree> elements;
     private final ModuleTree module;
+    private final long start;
+    private final long end;
 
     CompilationUnitTreeImpl(final FunctionNode node,
             final List<? extends Tree> elements,
             final ModuleTree module) {
+        this(node, elements, module, node.getStart(), node.getFinish());
+    }
+
+    // used for reparsed compilation units, whose function node only covers the reparsed statements
+    CompilationUnitTreeImpl(final FunctionNode node,
+            final List<? extends Tree> elements,
+            final ModuleTree module,
+            final long start,
+            final long end) {
         super(node);
         this.funcNode = node;
         assert funcNode.getKind() == FunctionNode.Kind.SCRIPT ||
@@ -44,6 +56,18 @@ final class CompilationUnitTreeImpl extends TreeImpl
                 "script or module function expected";
         this.elements = elements;
         this.module = module;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public long getStartPosition() {
+        return start;
+    }
+
+    @Override
+    public long getEndPosition() {
+        return end;
     }
 
     @Override
@@ -66,6 +90,10 @@ final class CompilationUnitTreeImpl extends TreeImpl
         return funcNode.isStrict();
     }
 
+    Source getSource() {
+        return funcNode.getSource();
+    }
+
     @Override
     public LineMap getLineMap() {
         return new LineMapImpl(funcNode.getSource());
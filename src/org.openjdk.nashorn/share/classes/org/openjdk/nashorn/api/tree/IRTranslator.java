@@ -24,7 +24,9 @@
  */
 package org.openjdk.nashorn.api.tree;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -76,7 +78,18 @@ import org.openjdk.nashorn.internal.parser.TokenType;
  */
 final class IRTranslator extends SimpleNodeVisitor {
 
+    // translate statements when they are taken from statement lists, without retaining them
+    private final boolean streaming;
+    // do not translate the statements of function bodies
+    private final boolean skipFunctionBodies;
+
     public IRTranslator() {
+        this(false, false);
+    }
+
+    IRTranslator(final boolean streaming, final boolean skipFunctionBodies) {
+        this.streaming = streaming;
+        this.skipFunctionBodies = skipFunctionBodies;
     }
 
     // currently translated Statement
@@ -243,7 +256,7 @@ final class IRTranslator extends SimpleNodeVisitor {
         assert !functionNode.isDeclared() || functionNode.isAnonymous() : "should not reach here for function declaration";
 
         final List<? extends ExpressionTree> paramTrees = translateParameters(functionNode);
-        final BlockTree blockTree = (BlockTree) translateBlock(functionNode.getBody(), true);
+        final BlockTree blockTree = translateFunctionBody(functionNode);
         curExpr = new FunctionExpressionTreeImpl(functionNode, paramTrees, blockTree);
 
         return false;
@@ -424,7 +437,7 @@ final class IRTranslator extends SimpleNodeVisitor {
             final FunctionNode funcNode = (FunctionNode) initNode;
 
             final List<? extends ExpressionTree> paramTrees = translateParameters(funcNode);
-            final BlockTree blockTree = (BlockTree) translateBlock(funcNode.getBody(), true);
+            final BlockTree blockTree = translateFunctionBody(funcNode);
             curStat = new FunctionDeclarationTreeImpl(varNode, paramTrees, blockTree);
         } else if (initNode instanceof ClassNode && ((ClassNode)initNode).isStatement()) {
             final ClassNode classNode = (ClassNode) initNode;
@@ -496,6 +509,13 @@ final class IRTranslator extends SimpleNodeVisitor {
         return curStat;
     }
 
+    private BlockTree translateFunctionBody(final FunctionNode func) {
+        if (skipFunctionBodies) {
+            return new BlockTreeImpl(func.getBody(), Collections.emptyList());
+        }
+        return (BlockTree) translateBlock(func.getBody(), true);
+    }
+
     private boolean handleBlock(final Block block, final boolean sortStats) {
         // FIXME: revisit this!
         if (block.isSynthetic()) {
@@ -533,6 +553,9 @@ final class IRTranslator extends SimpleNodeVisitor {
         if (stats == null) {
             return null;
         }
+        if (streaming) {
+            return new StatementList(stats);
+        }
         final List<StatementTreeImpl> statTrees = new ArrayList<>(stats.size());
         for (final Statement stat : stats) {
             curStat = null;
@@ -543,6 +566,25 @@ final class IRTranslator extends SimpleNodeVisitor {
         return statTrees;
     }
 
+    // list of statement trees that translates a statement whenever it is taken from the list
+    private final class StatementList extends AbstractList<StatementTreeImpl> {
+        private final List<? extends Statement> stats;
+
+        StatementList(final List<? extends Statement> stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public StatementTreeImpl get(final int index) {
+            return translateStat(stats.get(index));
+        }
+
+        @Override
+        public int size() {
+            return stats.size();
+        }
+    }
+
     private List<? extends ExpressionTree> translateParameters(final FunctionNode func) {
         final Map<IdentNode, Expression> paramExprs = func.getParameterExpressions();
         if (paramExprs != null) {
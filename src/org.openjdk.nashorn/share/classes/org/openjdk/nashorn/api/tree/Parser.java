@@ -30,6 +30,10 @@ import java.io.IOException;
 import java.io.Reader;
 import java.net.URL;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import org.openjdk.nashorn.api.scripting.NashornException;
 import org.openjdk.nashorn.api.scripting.ScriptObjectMirror;
 
@@ -117,6 +121,133 @@ public interface Parser {
      */
     public CompilationUnitTree parse(final ScriptObjectMirror scriptObj, final DiagnosticListener listener) throws NashornException;
 
+    /**
+     * Parses the source Path and passes the compilation unit tree to a visitor.
+     * The trees of the statements of the compilation unit, of blocks and of function
+     * bodies are only created when the visitor gets them from their statement list, and
+     * are not retained by the list, so that the trees of a statement can be garbage
+     * collected as soon as the visitor is done with them. Getting a statement from a list
+     * again creates new trees for it.
+     *
+     * @implSpec The default implementation parses the compilation unit tree with
+     * {@link #parse(Path, DiagnosticListener)} and passes it to the visitor, so the
+     * trees of all statements are created upfront.
+     *
+     * @param <R> the return type of the visitor's methods
+     * @param <D> the type of the additional parameter to the visitor's methods
+     * @param path source Path to parse
+     * @param visitor visitor to pass the compilation unit tree to
+     * @param data additional parameter to the visitor's methods
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * if null is passed, a NashornException is thrown on the first parse error.
+     * @return the value returned by the visitor for the compilation unit tree
+     * @throws NullPointerException if path or visitor is null
+     * @throws IOException if parse source read fails
+     * @throws NashornException is thrown if no listener is supplied and parser encounters error
+     */
+    public default <R, D> R parse(final Path path, final TreeVisitor<R, D> visitor, final D data, final DiagnosticListener listener) throws IOException, NashornException {
+        Objects.requireNonNull(visitor);
+        final CompilationUnitTree tree = parse(path, listener);
+        return tree != null ? tree.accept(visitor, data) : null;
+    }
+
+    /**
+     * Parses the string source and passes the compilation unit tree to a visitor.
+     * The trees of statements are created on demand as described for
+     * {@link #parse(Path, TreeVisitor, Object, DiagnosticListener)}.
+     *
+     * @implSpec The default implementation parses the compilation unit tree with
+     * {@link #parse(String, String, DiagnosticListener)} and passes it to the visitor,
+     * so the trees of all statements are created upfront.
+     *
+     * @param <R> the return type of the visitor's methods
+     * @param <D> the type of the additional parameter to the visitor's methods
+     * @param name of the source
+     * @param code string source
+     * @param visitor visitor to pass the compilation unit tree to
+     * @param data additional parameter to the visitor's methods
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * if null is passed, a NashornException is thrown on the first parse error.
+     * @return the value returned by the visitor for the compilation unit tree
+     * @throws NullPointerException if name, code or visitor is null
+     * @throws NashornException is thrown if no listener is supplied and parser encounters error
+     */
+    public default <R, D> R parse(final String name, final String code, final TreeVisitor<R, D> visitor, final D data, final DiagnosticListener listener) throws NashornException {
+        Objects.requireNonNull(visitor);
+        final CompilationUnitTree tree = parse(name, code, listener);
+        return tree != null ? tree.accept(visitor, data) : null;
+    }
+
+    /**
+     * Parses source Paths concurrently and passes the compilation unit tree of each
+     * one to a consumer. The Paths are parsed by tasks run on the executor, which share
+     * the options of this parser. At most twice as many tasks as there are available
+     * processors are submitted at any time, and this method waits for tasks to complete
+     * before submitting more, so the number of trees in memory stays bounded however
+     * many Paths are parsed. The consumer is called by the task that parsed the Path,
+     * possibly concurrently with other tasks, and the tree can be garbage collected once
+     * the consumer returns. This method returns when all Paths have been consumed.
+     *
+     * @implSpec The default implementation parses the Paths one after the other on the
+     * calling thread with {@link #parse(Path, DiagnosticListener)}, and ignores the
+     * executor.
+     *
+     * @param paths source Paths to parse
+     * @param executor executor to run the parse tasks on. This can be null, in which case
+     * the common {@link java.util.concurrent.ForkJoinPool} is used.
+     * @param consumer receives each Path and its compilation unit tree
+     * @param listener to receive diagnostic messages from the parser, possibly concurrently
+     * for different Paths. This can be null. if null is passed, a NashornException is
+     * thrown on the first parse error.
+     * @throws NullPointerException if paths, any of its elements or consumer is null
+     * @throws IOException if parse source read fails. The Paths that are not yet being
+     * parsed are skipped.
+     * @throws NashornException is thrown if no listener is supplied and parser encounters
+     * error. The Paths that are not yet being parsed are skipped.
+     */
+    public default void parse(final Collection<? extends Path> paths, final Executor executor, final BiConsumer<? super Path, ? super CompilationUnitTree> consumer, final DiagnosticListener listener) throws IOException, NashornException {
+        paths.forEach(Objects::requireNonNull);
+        Objects.requireNonNull(consumer);
+        for (final Path path : paths) {
+            consumer.accept(path, parse(path, listener));
+        }
+    }
+
+    /**
+     * Parses the source of a compilation unit after a text edit, and returns the new
+     * compilation unit tree. Only the top level statements that the edit touches are
+     * parsed again; the trees of the statements before the edit are reused, and so are
+     * the trees of the statements after it if the edit does not change the length of the
+     * source. Otherwise their positions change, and the trees of the statements after
+     * the edit are created from the source again when they are first got from the source
+     * element list of the new compilation unit tree. The whole source is parsed if the
+     * statements the edit touches cannot be parsed on their own, such as when they have
+     * errors or the edit is in the directive prologue.
+     * <p>
+     * The previous compilation unit tree must have been returned by this parser, or
+     * another parser with the same options, and must have been parsed without errors.
+     * Diagnostic messages are only reported for the source that is parsed again.
+     *
+     * @implSpec The default implementation always throws UnsupportedOperationException,
+     * as a compilation unit tree does not hold its source.
+     *
+     * @param previous the compilation unit tree before the edit
+     * @param offset start position of the edited text
+     * @param length length of the edited text
+     * @param replacement text that replaces the edited text
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * if null is passed, a NashornException is thrown on the first parse error.
+     * @return compilation unit tree of the edited source
+     * @throws NullPointerException if previous or replacement is null
+     * @throws IllegalArgumentException if previous was not returned by a parser, or the
+     * edited text is not within its source
+     * @throws NashornException is thrown if no listener is supplied and parser encounters error
+     * @throws UnsupportedOperationException if this parser does not support reparsing
+     */
+    public default CompilationUnitTree reparse(final CompilationUnitTree previous, final int offset, final int length, final String replacement, final DiagnosticListener listener) throws NashornException {
+        throw new UnsupportedOperationException("reparse");
+    }
+
     /**
      * Factory method to create a new instance of Parser.
      *
@@ -132,6 +263,8 @@ public interface Parser {
      * <dt>"-strict"</dt><dd>enable ECMAScript strict mode</dd>
      * <dt>"--language=es6"</dt><dd>enable ECMAScript 6 parsing mode</dd>
      * <dt>"--es6-module"</dt><dd>enable ECMAScript 6 module parsing mode. This option implies --language=es6</dd>
+     * <dt>"--skip-function-bodies"</dt><dd>do not create trees for the statements of function bodies,
+     * the bodies of function trees are empty blocks</dd>
      * </dl>
      *
      * @throws NullPointerException if options array or any of its element is null
@@ -152,6 +285,7 @@ public interface Parser {
                 case "-strict":
                 case "--language=es6":
                 case "--es6-module":
+                case "--skip-function-bodies":
                     break;
                 default:
                     throw new IllegalArgumentException(opt);
@@ -31,10 +31,19 @@ import java.io.Reader;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import org.openjdk.nashorn.api.scripting.NashornException;
 import org.openjdk.nashorn.api.scripting.ScriptObjectMirror;
+import org.openjdk.nashorn.internal.codegen.CompilerConstants;
 import org.openjdk.nashorn.internal.ir.FunctionNode;
 import org.openjdk.nashorn.internal.runtime.Context;
 import org.openjdk.nashorn.internal.runtime.ErrorManager;
@@ -45,12 +54,19 @@ import org.openjdk.nashorn.internal.runtime.Source;
 import org.openjdk.nashorn.internal.runtime.options.Options;
 
 final class ParserImpl implements Parser {
+    // maximum number of parse tasks of a batch that are submitted at the same time
+    private static final int MAX_BATCH_TASKS = 2 * Runtime.getRuntime().availableProcessors();
 
     private final ScriptEnvironment env;
     private final boolean moduleMode;
+    private final boolean skipFunctionBodies;
 
-    ParserImpl(final String... args) throws IllegalArgumentException {
-        Objects.requireNonNull(args);
+    ParserImpl(final String... parserArgs) throws IllegalArgumentException {
+        Objects.requireNonNull(parserArgs);
+
+        // handle the parser specific "--skip-function-bodies" option, which Nashorn does not understand
+        final String[] args = Arrays.stream(parserArgs).filter(opt -> !opt.equals("--skip-function-bodies")).toArray(String[]::new);
+        this.skipFunctionBodies = args.length != parserArgs.length;
 
         // handle the parser specific "--es6-module" option
         boolean seenModuleOption = false;
@@ -142,6 +158,188 @@ final class ParserImpl implements Parser {
         }
     }
 
+    @Override
+    public <R, D> R parse(final Path path, final TreeVisitor<R, D> visitor, final D data, final DiagnosticListener listener) throws IOException, NashornException {
+        final Source src = Source.sourceFor(Objects.requireNonNull(path).toString(), path);
+        return visit(src, visitor, data, listener);
+    }
+
+    @Override
+    public <R, D> R parse(final String name, final String code, final TreeVisitor<R, D> visitor, final D data, final DiagnosticListener listener) throws NashornException {
+        final Source src = Source.sourceFor(name, code);
+        return visit(src, visitor, data, listener);
+    }
+
+    private <R, D> R visit(final Source src, final TreeVisitor<R, D> visitor, final D data, final DiagnosticListener listener) {
+        Objects.requireNonNull(visitor);
+        final org.openjdk.nashorn.internal.parser.Parser parser = makeParser(src, listener);
+        final FunctionNode node = moduleMode ? parser.parseModule(src.getName()) : parser.parse();
+        final CompilationUnitTree tree = new IRTranslator(true, skipFunctionBodies).translate(node);
+        return tree != null ? tree.accept(visitor, data) : null;
+    }
+
+    @Override
+    public void parse(final Collection<? extends Path> paths, final Executor executor, final BiConsumer<? super Path, ? super CompilationUnitTree> consumer, final DiagnosticListener listener) throws IOException, NashornException {
+        paths.forEach(Objects::requireNonNull);
+        Objects.requireNonNull(consumer);
+
+        final Executor exec = executor != null ? executor : ForkJoinPool.commonPool();
+        final Semaphore tasks = new Semaphore(MAX_BATCH_TASKS);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            for (final Path path : paths) {
+                acquire(tasks, 1);
+                if (failure.get() != null) {
+                    tasks.release();
+                    break;
+                }
+                try {
+                    exec.execute(() -> {
+                        try {
+                            if (failure.get() == null) {
+                                consumer.accept(path, parse(path, listener));
+                            }
+                        } catch (final Throwable t) {
+                            failure.compareAndSet(null, t);
+                        } finally {
+                            tasks.release();
+                        }
+                    });
+                } catch (final RuntimeException e) {
+                    tasks.release();
+                    throw e;
+                }
+            }
+        } finally {
+            // wait for the submitted tasks
+            acquire(tasks, MAX_BATCH_TASKS);
+        }
+
+        final Throwable t = failure.get();
+        if (t instanceof IOException) {
+            throw (IOException)t;
+        } else if (t instanceof RuntimeException) {
+            throw (RuntimeException)t;
+        } else if (t instanceof Error) {
+            throw (Error)t;
+        }
+    }
+
+    // acquire permits, letting the fork join pool the current thread may belong to compensate for it
+    private static void acquire(final Semaphore semaphore, final int permits) {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() {
+                    semaphore.acquireUninterruptibly(permits);
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return semaphore.tryAcquire(permits);
+                }
+            });
+        } catch (final InterruptedException e) {
+            // not thrown as block() is uninterruptible
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public CompilationUnitTree reparse(final CompilationUnitTree previous, final int offset, final int length, final String replacement, final DiagnosticListener listener) throws NashornException {
+        if (!(Objects.requireNonNull(previous) instanceof CompilationUnitTreeImpl)) {
+            throw new IllegalArgumentException("compilation unit tree of a parser expected");
+        }
+        Objects.requireNonNull(replacement);
+        final CompilationUnitTreeImpl prev = (CompilationUnitTreeImpl)previous;
+        final CharSequence oldText = prev.getSource().getCharContent();
+        if (offset < 0 || length < 0 || offset > oldText.length() - length) {
+            throw new IllegalArgumentException("edit at " + offset + " of length " + length + " is not within the source");
+        }
+        final int editEnd = offset + length;
+        final Source src = prev.getSource().edit(offset, length, replacement);
+        final CharSequence text = src.getCharContent();
+        if (moduleMode || prev.getModule() != null) {
+            return makeModule(src, listener);
+        }
+
+        // find the chunks of statements touched by the edit. The last one must end after the edit,
+        // so that the statement boundary it ends with is not edited.
+        final List<SourceElementList.Chunk> chunks = SourceElementList.chunksOf(prev);
+        int first = 0;
+        while (first < chunks.size() - 1 && chunks.get(first).end <= offset &&
+                // the end position of a function declaration includes the comments after it
+                !(chunks.get(first).endsWithFunction && offset <= SourceElementList.skipComments(oldText, chunks.get(first).end, oldText.length()))) {
+            first++;
+        }
+        int last = first;
+        while (last < chunks.size() - 1 && chunks.get(last).end <= editEnd) {
+            last++;
+        }
+        // the first chunk may start with the directive prologue
+        final SourceElementList.Chunk firstChunk = chunks.get(first);
+        if (firstChunk.start == 0) {
+            return translate(makeParser(src, listener).parse());
+        }
+
+        final int delta = replacement.length() - length;
+        final boolean lastInSource = last == chunks.size() - 1;
+        final int regionEnd = chunks.get(last).end + delta;
+        final FunctionNode node;
+        try {
+            node = new org.openjdk.nashorn.internal.parser.Parser(env, src, new Context.ThrowErrorManager(), prev.isStrict(), firstChunk.line - 1, null)
+                    .parse(CompilerConstants.PROGRAM.symbolName(), firstChunk.start, regionEnd - firstChunk.start, 0);
+        } catch (final ParserException e) {
+            // report the errors of the whole source
+            return translate(makeParser(src, listener).parse());
+        }
+        final List<? extends Tree> trees = translate(node).getSourceElements();
+        final boolean endsWithBoundary = lastInSource || (chunks.get(last).endsWithFunction ?
+                SourceElementList.endsWithFunction(trees, regionEnd) :
+                SourceElementList.endsWithSemicolon(trees, text, firstChunk.start, regionEnd));
+        if (!trees.isEmpty() && isStringStatement(trees.get(0)) || !endsWithBoundary) {
+            // a statement that would be a directive at the start of the reparsed source, or the
+            // statement boundary after the reparsed source is gone
+            return translate(makeParser(src, listener).parse());
+        }
+
+        final int version = SourceElementList.versionOf(prev) + 1;
+        final List<SourceElementList.Chunk> newChunks = new ArrayList<>(chunks.size());
+        for (final SourceElementList.Chunk chunk : chunks.subList(0, first)) {
+            newChunks.add(chunk.reuse(0, 0, version));
+        }
+        newChunks.addAll(SourceElementList.split(trees, text, firstChunk.start, regionEnd, firstChunk.line, chunks.get(last).endsWithFunction, version));
+        final int lineDelta = SourceElementList.countLines(replacement, 0, replacement.length()) - SourceElementList.countLines(oldText, offset, editEnd);
+        for (final SourceElementList.Chunk chunk : chunks.subList(last + 1, chunks.size())) {
+            newChunks.add(chunk.reuse(delta, lineDelta, version));
+        }
+        final List<? extends Tree> elements = new SourceElementList(this, src, prev.isStrict(), version, newChunks);
+        // the position of the compilation unit is that of its first token, which is not reparsed
+        return new CompilationUnitTreeImpl(node, elements, null, prev.getStartPosition(), prev.getEndPosition());
+    }
+
+    private static boolean isStringStatement(final Tree tree) {
+        return tree instanceof ExpressionStatementTree &&
+                ((ExpressionStatementTree)tree).getExpression() instanceof LiteralTree &&
+                ((LiteralTree)((ExpressionStatementTree)tree).getExpression()).getValue() instanceof String;
+    }
+
+    /**
+     * Parse top level statements of a source that are known to parse without errors.
+     * @param src the source
+     * @param strict whether the statements are strict mode code
+     * @param start start position of the statements
+     * @param end end position of the statements
+     * @param line line number at the start position
+     * @return the trees of the statements
+     */
+    List<? extends Tree> parseElements(final Source src, final boolean strict, final int start, final int end, final int line) {
+        final FunctionNode node = new org.openjdk.nashorn.internal.parser.Parser(env, src, new Context.ThrowErrorManager(), strict, line - 1, null)
+                .parse(CompilerConstants.PROGRAM.symbolName(), start, end - start, 0);
+        return translate(node).getSourceElements();
+    }
+
     private CompilationUnitTree parseModule(final File file, final DiagnosticListener listener) throws IOException, NashornException {
         final Source src = Source.sourceFor(Objects.requireNonNull(file).getName(), file);
         return makeModule(src, listener);
@@ -181,7 +379,7 @@ final class ParserImpl implements Parser {
 
     private CompilationUnitTree makeModule(final Source src, final DiagnosticListener listener) {
         final FunctionNode modFunc = makeParser(src, listener).parseModule(src.getName());
-        return new IRTranslator().translate(modFunc);
+        return translate(modFunc);
     }
 
     private org.openjdk.nashorn.internal.parser.Parser makeParser(final Source source, final DiagnosticListener listener) {
@@ -220,7 +418,7 @@ final class ParserImpl implements Parser {
         }
     }
 
-    private static CompilationUnitTree translate(final FunctionNode node) {
-        return new IRTranslator().translate(node);
+    private CompilationUnitTree translate(final FunctionNode node) {
+        return new IRTranslator(false, skipFunctionBodies).translate(node);
     }
 }
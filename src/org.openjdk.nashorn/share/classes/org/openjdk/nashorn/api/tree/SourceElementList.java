@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.api.tree;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.nashorn.internal.ir.FunctionNode;
+import org.openjdk.nashorn.internal.ir.Statement;
+import org.openjdk.nashorn.internal.ir.VarNode;
+import org.openjdk.nashorn.internal.runtime.Source;
+
+/**
+ * Source elements of a reparsed compilation unit. The elements are kept in chunks of
+ * consecutive top level statements that are separated by statement boundaries: a
+ * semicolon that ends a statement, or the end of a function declaration. A chunk can
+ * be parsed on its own, and an edit only needs the chunks it touches to be parsed again.
+ * The chunks after an edit that changes the length of the source are left unparsed
+ * until their elements are first got.
+ */
+final class SourceElementList extends AbstractList<Tree> {
+    // number of reparses after which the trees of a chunk are dropped and parsed again when they are needed,
+    // so that reused trees do not keep the sources of many earlier versions of the compilation unit alive
+    private static final int MAX_TREE_AGE = 32;
+
+    private final ParserImpl parser;
+    private final Source source;
+    private final boolean strict;
+    // number of reparses since the source was parsed as a whole
+    private final int version;
+    private final Chunk[] chunks;
+    // index of the first element of each chunk
+    private final int[] firsts;
+    private final int size;
+
+    /**
+     * Consecutive top level statements of a source.
+     */
+    static final class Chunk {
+        // source range of the chunk
+        final int start;
+        final int end;
+        // line number at the start of the chunk
+        final int line;
+        // number of elements
+        final int size;
+        // whether the chunk ends with a function declaration rather than a semicolon
+        final boolean endsWithFunction;
+        // version of the compilation unit the chunk was created for
+        final int version;
+        // elements, or null if the chunk is not parsed yet
+        private volatile List<? extends Tree> trees;
+
+        Chunk(final int start, final int end, final int line, final int size, final boolean endsWithFunction, final int version, final List<? extends Tree> trees) {
+            this.start = start;
+            this.end = end;
+            this.line = line;
+            this.size = size;
+            this.endsWithFunction = endsWithFunction;
+            this.version = version;
+            this.trees = trees;
+        }
+
+        /**
+         * Get this chunk for a later version of the compilation unit, possibly moved to another
+         * position. The elements are kept if the chunk stays at the same position and they are
+         * not too old, otherwise they will be parsed again.
+         * @param delta change of position
+         * @param lineDelta change of line number
+         * @param newVersion the later version
+         * @return the chunk for the later version
+         */
+        Chunk reuse(final int delta, final int lineDelta, final int newVersion) {
+            final boolean keepTrees = delta == 0 && newVersion - version <= MAX_TREE_AGE;
+            if (keepTrees && lineDelta == 0) {
+                return this;
+            }
+            return new Chunk(start + delta, end + delta, line + lineDelta, size, endsWithFunction, keepTrees ? version : newVersion, keepTrees ? trees : null);
+        }
+    }
+
+    SourceElementList(final ParserImpl parser, final Source source, final boolean strict, final int version, final List<Chunk> chunks) {
+        this.parser = parser;
+        this.source = source;
+        this.strict = strict;
+        this.version = version;
+        this.chunks = chunks.toArray(new Chunk[0]);
+        this.firsts = new int[this.chunks.length];
+        int count = 0;
+        for (int i = 0; i < this.chunks.length; i++) {
+            firsts[i] = count;
+            count += this.chunks[i].size;
+        }
+        this.size = count;
+    }
+
+    /**
+     * Get the number of reparses since the source of a compilation unit was parsed as a whole.
+     * @param unit the compilation unit
+     * @return the version of the compilation unit
+     */
+    static int versionOf(final CompilationUnitTreeImpl unit) {
+        final List<? extends Tree> elements = unit.getSourceElements();
+        return elements instanceof SourceElementList ? ((SourceElementList)elements).version : 0;
+    }
+
+    /**
+     * Get the chunks of the source elements of a compilation unit.
+     * @param unit the compilation unit
+     * @return its chunks
+     */
+    static List<Chunk> chunksOf(final CompilationUnitTreeImpl unit) {
+        final List<? extends Tree> elements = unit.getSourceElements();
+        if (elements instanceof SourceElementList) {
+            return List.of(((SourceElementList)elements).chunks);
+        }
+        final CharSequence text = unit.getSource().getCharContent();
+        return split(elements, text, 0, text.length(), 1, false, 0);
+    }
+
+    /**
+     * Split top level statements into chunks at the statement boundaries between them.
+     * @param trees the statements, in source order
+     * @param text the source text
+     * @param from start of the source range of the statements
+     * @param to end of the source range of the statements
+     * @param line line number at {@code from}
+     * @param endsWithFunction whether the statements end with a function declaration at {@code to}
+     * @param version version of the compilation unit the statements were parsed for
+     * @return the chunks covering the source range
+     */
+    static List<Chunk> split(final List<? extends Tree> trees, final CharSequence text, final int from, final int to, final int line, final boolean endsWithFunction, final int version) {
+        final List<Chunk> result = new ArrayList<>();
+        final int n = trees.size();
+        int chunkStart = from;
+        int chunkLine = line;
+        int first = 0;
+        int i = 0;
+        while (i < n) {
+            // statements with overlapping ranges, such as the declarations of a var statement, are not split
+            final Tree tree = trees.get(i);
+            long groupEnd = tree.getEndPosition();
+            int next = i + 1;
+            while (next < n && trees.get(next).getStartPosition() < groupEnd) {
+                groupEnd = Math.max(groupEnd, trees.get(next).getEndPosition());
+                next++;
+            }
+            final boolean function = next == i + 1 && isFunctionDeclaration(tree);
+            i = next;
+            if (i == n) {
+                break;
+            }
+            final int nextStart = (int)trees.get(i).getStartPosition();
+            final int boundary = function ? (int)groupEnd : skipToTerminator(text, (int)groupEnd, nextStart);
+            if (boundary >= 0) {
+                result.add(new Chunk(chunkStart, boundary, chunkLine, i - first, function, version, copy(trees, first, i)));
+                chunkStart = boundary;
+                chunkLine = lineOf(trees.get(i)) - countLines(text, boundary, nextStart);
+                first = i;
+            }
+        }
+        result.add(new Chunk(chunkStart, to, chunkLine, n - first, endsWithFunction, version, copy(trees, first, n)));
+        return result;
+    }
+
+    /**
+     * Check whether statements end with a function declaration at a position.
+     * @param trees the statements
+     * @param end the position
+     * @return true if the last statement is a function declaration ending at {@code end}
+     */
+    static boolean endsWithFunction(final List<? extends Tree> trees, final int end) {
+        return !trees.isEmpty() && isFunctionDeclaration(trees.get(trees.size() - 1)) && trees.get(trees.size() - 1).getEndPosition() == end;
+    }
+
+    /**
+     * Check whether statements end with a semicolon at a position. The semicolon may have
+     * become part of a comment after an edit, which still lets the statements be parsed.
+     * @param trees the statements
+     * @param text the source text
+     * @param start start position of the statements
+     * @param end the position
+     * @return true if there is nothing but whitespace, comments and a semicolon after the
+     * last statement that ends at {@code end}
+     */
+    static boolean endsWithSemicolon(final List<? extends Tree> trees, final CharSequence text, final int start, final int end) {
+        long last = start;
+        for (final Tree tree : trees) {
+            last = Math.max(last, tree.getEndPosition());
+        }
+        return skipToTerminator(text, (int)last, end) == end;
+    }
+
+    // function declarations with an expression body, a Nashorn extension, do not end with a brace
+    private static boolean isFunctionDeclaration(final Tree tree) {
+        return tree instanceof FunctionDeclarationTree &&
+                !((FunctionNode)((VarNode)((TreeImpl)tree).node).getInit()).getFlag(FunctionNode.HAS_EXPRESSION_BODY);
+    }
+
+    /**
+     * Get the position after the semicolon that ends a statement.
+     * @param text the source text
+     * @param pos end position of the statement
+     * @param limit start position of the next statement
+     * @return the position after the semicolon, or -1 if there is anything but whitespace
+     * and comments before it, or no semicolon before {@code limit}
+     */
+    private static int skipToTerminator(final CharSequence text, final int pos, final int limit) {
+        final int i = skipComments(text, pos, limit);
+        return i < limit && text.charAt(i) == ';' ? i + 1 : -1;
+    }
+
+    /**
+     * Skip whitespace and comments.
+     * @param text the source text
+     * @param pos start position
+     * @param limit end position
+     * @return the position of the first character that is not whitespace or part of a
+     * comment, or {@code limit} if there is none
+     */
+    static int skipComments(final CharSequence text, final int pos, final int limit) {
+        int i = pos;
+        while (i < limit) {
+            final char ch = text.charAt(i);
+            if (ch == '/' && i + 1 < limit && text.charAt(i + 1) == '/' || ch == '#') {
+                // '#' starts a comment in scripting mode, and is an error otherwise
+                while (i < limit && text.charAt(i) != '\n' && text.charAt(i) != '\r') {
+                    i++;
+                }
+            } else if (ch == '/' && i + 1 < limit && text.charAt(i + 1) == '*') {
+                i += 2;
+                while (i + 1 < limit && !(text.charAt(i) == '*' && text.charAt(i + 1) == '/')) {
+                    i++;
+                }
+                i += 2;
+            } else if (Character.isWhitespace(ch) || Character.isSpaceChar(ch) || ch == '\ufeff') {
+                i++;
+            } else {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Count the line terminators in a range of text.
+     * @param text the text
+     * @param start start of the range
+     * @param end end of the range
+     * @return the number of line terminators
+     */
+    static int countLines(final CharSequence text, final int start, final int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            final char ch = text.charAt(i);
+            if (ch == '\n' || ch == '\u2028' || ch == '\u2029' || ch == '\r' && (i + 1 == end || text.charAt(i + 1) != '\n')) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int lineOf(final Tree tree) {
+        return ((Statement)((TreeImpl)tree).node).getLineNumber();
+    }
+
+    private static List<? extends Tree> copy(final List<? extends Tree> trees, final int from, final int to) {
+        return List.copyOf(trees.subList(from, to));
+    }
+
+    @Override
+    public Tree get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        // find the last chunk starting at or before index
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (firsts[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return getTrees(chunks[low]).get(index - firsts[low]);
+    }
+
+    private List<? extends Tree> getTrees(final Chunk chunk) {
+        List<? extends Tree> trees = chunk.trees;
+        if (trees == null) {
+            // reading an edited source through its edits is slower than copying it, when a chunk is
+            // parsed the others probably will be too
+            source.getString();
+            trees = parser.parseElements(source, strict, chunk.start, chunk.end, chunk.line);
+            if (trees.size() != chunk.size) {
+                throw new IllegalStateException("source elements of " + source.getName() + " changed");
+            }
+            chunk.trees = trees;
+        }
+        return trees;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
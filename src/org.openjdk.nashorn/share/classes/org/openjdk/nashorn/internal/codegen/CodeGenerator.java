@@ -231,6 +231,13 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
     /** When should we stop caching regexp expressions in fields to limit bytecode size? */
     private static final int MAX_REGEX_FIELDS = 2 * 1024;
 
+    /** Tags for arguments and bootstrap constants in string concatenation recipes */
+    private static final char CONCAT_ARG = '\1';
+    private static final char CONCAT_CONSTANT = '\2';
+
+    /** Maximum length of a string concatenation recipe, so that it fits into the constant pool */
+    private static final int MAX_CONCAT_RECIPE_LENGTH = 8 * 1024;
+
     /** Current method emitter */
     private MethodEmitter method;
 
@@ -3819,6 +3826,9 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
     }
 
     public void loadADD(final BinaryNode binaryNode, final TypeBounds resultBounds) {
+        if (isStringConcatenation(binaryNode) && loadStringConcatenation(binaryNode)) {
+            return;
+        }
         new OptimisticOperation(binaryNode, resultBounds) {
             @Override
             void loadStack() {
@@ -3843,6 +3853,109 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
         }.emit();
     }
 
+    private static boolean isStringConcatenation(final Expression expr) {
+        // only string additions have the CharSequence type, and they are never optimistic
+        return expr instanceof BinaryNode && expr.isTokenType(TokenType.ADD) && expr.getType().isCharSequence();
+    }
+
+    // Types whose values are converted to strings without side effects
+    private static boolean isPrimitiveConcatenationType(final Type type) {
+        return type.isJSPrimitive() || type.isCharSequence();
+    }
+
+    /**
+     * Emits a chain of string additions such as {@code a + ":" + b + ":" + c} as a single concatenation
+     * with {@link java.lang.invoke.StringConcatFactory} instead of one {@link ScriptRuntime#ADD(Object, Object)}
+     * and one {@code ConsString} for each addition. Literal operands become constants of the concatenation.
+     * Operands are evaluated and converted in the order of the additions: each operand is converted right
+     * after it is evaluated, except for the first one, which is converted after the second one is evaluated.
+     * So if the first operand is not a primitive, the first addition is emitted as a generic addition, and
+     * its result is concatenated with the rest with {@link ScriptRuntime#concat(CharSequence, String)}. That
+     * also avoids copying a long string that is appended to repeatedly, as in {@code s = s + a + b}.
+     *
+     * @param binaryNode the last addition of the chain
+     * @return true if the chain was emitted, false if it is too short to be worth it
+     */
+    private boolean loadStringConcatenation(final BinaryNode binaryNode) {
+        final Deque<Expression> operands = new ArrayDeque<>();
+        BinaryNode first = binaryNode;
+        while (isStringConcatenation(first.lhs())) {
+            operands.addFirst(first.rhs());
+            first = (BinaryNode) first.lhs();
+        }
+        final Expression head;
+        if (isPrimitiveConcatenationType(first.lhs().getType())) {
+            operands.addFirst(first.rhs());
+            operands.addFirst(first.lhs());
+            head = null;
+        } else {
+            head = first;
+        }
+        if (first == binaryNode) {
+            return false;
+        }
+
+        if (head != null) {
+            loadExpressionAsType(head, Type.CHARSEQUENCE);
+        }
+        final StringBuilder recipe = new StringBuilder();
+        int argCount = 0;
+        for (final Expression operand : operands) {
+            final String constant = getConcatenationConstant(operand);
+            if (constant != null && recipe.length() + constant.length() <= MAX_CONCAT_RECIPE_LENGTH) {
+                recipe.append(constant);
+                continue;
+            }
+            if (argCount == MethodEmitter.MAX_CONCAT_ARGS) {
+                method.concat(recipe.toString(), argCount);
+                recipe.setLength(0);
+                recipe.append(CONCAT_ARG);
+                argCount = 1;
+            }
+            loadConcatenationOperand(operand);
+            recipe.append(CONCAT_ARG);
+            argCount++;
+        }
+        if (argCount == 0) {
+            method.load(recipe.toString());
+        } else {
+            method.concat(recipe.toString(), argCount);
+        }
+
+        if (head != null) {
+            method.invoke(ScriptRuntime.CONCAT);
+        }
+        // same stack type as a generic addition
+        method.convert(Type.OBJECT);
+        return true;
+    }
+
+    private void loadConcatenationOperand(final Expression operand) {
+        loadExpressionUnbounded(operand);
+        final Type type = method.peekType();
+        if (type.isNumber() || type.isLong()) {
+            method.convert(Type.NUMBER).convert(Type.STRING);
+        } else if (!isPrimitiveConcatenationType(type)) {
+            // ToPrimitive and ToString, as for the operand of an addition with a string
+            method.convert(Type.STRING);
+        }
+        // ints, booleans and strings are formatted by the concatenation as by ToString
+    }
+
+    // Compile time string of a literal operand, or null if it has to be loaded
+    private static String getConcatenationConstant(final Expression operand) {
+        if (operand instanceof LiteralNode && !(operand instanceof ArrayLiteralNode)) {
+            final Object value = ((LiteralNode<?>) operand).getObject();
+            if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+                final String constant = JSType.toString(value);
+                if (constant.indexOf(CONCAT_ARG) == -1 && constant.indexOf(CONCAT_CONSTANT) == -1) {
+                    return constant;
+                }
+            }
+        }
+        return null;
+    }
+
     private void loadAND_OR(final BinaryNode binaryNode, final TypeBounds resultBounds, final boolean isAnd) {
         final Type narrowestOperandType = Type.widestReturnType(binaryNode.lhs().getType(), binaryNode.rhs().getType());
 
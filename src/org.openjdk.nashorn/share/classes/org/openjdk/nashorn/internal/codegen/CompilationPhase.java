@@ -530,6 +530,11 @@ abstract class CompilationPhase {
                 unit.initializeFunctionsCode();
             }
 
+            final RecompilableScriptFunctionData data = compiler.getScriptFunctionData();
+            if (data != null) {
+                data.countInstalledBytecode(length);
+            }
+
             if (log.isEnabled()) {
                 log.fine(
                     "Installed class '" + rootClass.getSimpleName() + '\'' + " [" + rootClass
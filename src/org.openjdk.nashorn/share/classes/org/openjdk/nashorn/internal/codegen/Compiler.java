@@ -381,6 +381,7 @@ public final class Compiler implements Loggable {
      * @param typeInformationFile      descriptor of the location where type information is persisted
      * @param continuationEntryPoints  continuation entry points for restof method
      * @param runtimeScope             runtime scope for recompilation type lookup in {@code TypeEvaluator}
+     * @param optimistic               false to compile without optimistic types even if they are enabled
      * @return a new compiler
      */
     public static Compiler forOnDemandCompilation(
@@ -392,11 +393,12 @@ public final class Compiler implements Loggable {
             final Map<Integer, Type> invalidatedProgramPoints,
             final Object typeInformationFile,
             final int[] continuationEntryPoints,
-            final ScriptObject runtimeScope) {
+            final ScriptObject runtimeScope,
+            final boolean optimistic) {
         final Context context = installer.getContext();
         return new Compiler(context, installer, source, context.getErrorManager(), isStrict, true,
                 compiledFunction, types, invalidatedProgramPoints, typeInformationFile,
-                continuationEntryPoints, runtimeScope);
+                continuationEntryPoints, runtimeScope, optimistic);
     }
 
     /**
@@ -408,7 +410,7 @@ public final class Compiler implements Loggable {
             final Source source,
             final ErrorManager errors,
             final boolean isStrict) {
-        this(context, installer, source, errors, isStrict, false, null, null, null, null, null, null);
+        this(context, installer, source, errors, isStrict, false, null, null, null, null, null, null, true);
     }
 
     private Compiler(
@@ -423,7 +425,8 @@ public final class Compiler implements Loggable {
             final Map<Integer, Type> invalidatedProgramPoints,
             final Object typeInformationFile,
             final int[] continuationEntryPoints,
-            final ScriptObject runtimeScope) {
+            final ScriptObject runtimeScope,
+            final boolean optimistic) {
         this.context                  = context;
         this.env                      = context.getEnv();
         this.installer                = installer;
@@ -444,7 +447,7 @@ public final class Compiler implements Loggable {
         this.firstCompileUnitName     = firstCompileUnitName();
         this.strict                   = isStrict;
 
-        this.optimistic = env._optimistic_types;
+        this.optimistic = env._optimistic_types && optimistic;
     }
 
     private String safeSourceName() {
@@ -804,6 +807,14 @@ public final class Compiler implements Loggable {
         return name.replace('/', '.');
     }
 
+    /**
+     * Returns the function data created for the outermost function compiled by an initial compilation.
+     * @return the function data of the compiled script
+     */
+    public RecompilableScriptFunctionData getScriptFunctionData() {
+        return compiledFunction;
+    }
+
     RecompilableScriptFunctionData getScriptFunctionData(final int functionId) {
         assert compiledFunction != null;
         final RecompilableScriptFunctionData fn = compiledFunction.getScriptFunctionData(functionId);
@@ -75,6 +75,10 @@ import static org.openjdk.nashorn.internal.runtime.linker.NashornCallSiteDescrip
 import static org.openjdk.nashorn.internal.runtime.linker.NashornCallSiteDescriptor.CALLSITE_PROGRAM_POINT_SHIFT;
 
 import java.io.PrintStream;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.StringConcatFactory;
 import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -176,6 +180,13 @@ public class MethodEmitter {
     /** Bootstrap for array populators */
     private static final Handle POPULATE_ARRAY_BOOTSTRAP = new Handle(H_INVOKESTATIC, RewriteException.BOOTSTRAP.className(), RewriteException.BOOTSTRAP.name(), RewriteException.BOOTSTRAP.descriptor(), false);
 
+    /** Bootstrap for string concatenations */
+    private static final Handle CONCAT_BOOTSTRAP = new Handle(H_INVOKESTATIC, className(StringConcatFactory.class), "makeConcatWithConstants",
+            MethodType.methodType(CallSite.class, MethodHandles.Lookup.class, String.class, MethodType.class, String.class, Object[].class).toMethodDescriptorString(), false);
+
+    /** Maximum number of arguments of a string concatenation, well below the limit of {@link StringConcatFactory} */
+    static final int MAX_CONCAT_ARGS = 100;
+
     /**
      * Constructor - internal use from ClassEmitter only
      * @see ClassEmitter#method
@@ -2202,6 +2213,27 @@ public class MethodEmitter {
         return this;
     }
 
+    /**
+     * Generate a string concatenation with {@link StringConcatFactory}. Pop the arguments from the stack,
+     * push the string.
+     *
+     * @param recipe   concatenation recipe, with {@code \1} in place of each argument
+     * @param argCount number of arguments, at most {@link #MAX_CONCAT_ARGS}
+     *
+     * @return the method emitter
+     */
+    MethodEmitter concat(final String recipe, final int argCount) {
+        assert argCount <= MAX_CONCAT_ARGS;
+        debug("concat", "args=", argCount);
+        final Type[] argTypes = new Type[argCount];
+        for (int i = argCount - 1; i >= 0; i--) {
+            argTypes[i] = popType();
+        }
+        method.visitInvokeDynamicInsn("concat", Type.getMethodDescriptor(Type.STRING, argTypes), CONCAT_BOOTSTRAP, recipe);
+        pushType(Type.STRING);
+        return this;
+    }
+
     /**
      * Generate dynamic getter. Pop object from stack. Push result.
      *
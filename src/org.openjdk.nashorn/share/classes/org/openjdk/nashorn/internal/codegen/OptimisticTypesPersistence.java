@@ -43,13 +43,18 @@ import java.nio.file.Files;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.text.SimpleDateFormat;
 import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -61,6 +66,7 @@ import org.openjdk.nashorn.internal.codegen.types.Type;
 import org.openjdk.nashorn.internal.runtime.Context;
 import org.openjdk.nashorn.internal.runtime.RecompilableScriptFunctionData;
 import org.openjdk.nashorn.internal.runtime.Source;
+import org.openjdk.nashorn.internal.runtime.Version;
 import org.openjdk.nashorn.internal.runtime.logging.DebugLogger;
 import org.openjdk.nashorn.internal.runtime.options.Options;
 
@@ -81,6 +87,17 @@ import org.openjdk.nashorn.internal.runtime.options.Options;
  * {@code nashorn.typeInfo.cleanupDelaySeconds} system property. You can also specify the word
  * {@code unlimited} as the value for {@code nashorn.typeInfo.maxFiles} in which case the type info cache is
  * allowed to grow without limits.
+ * </p><p>
+ * Type information can also be shipped with the scripts as a single, read-only type profile bundle, for
+ * deployments where a writable cache directory is not available or where the first compilation should already
+ * use the learned types. A bundle is exported by a warm-up run started with the {@code nashorn.typeInfo.export}
+ * system property naming the bundle file; it is written when the JVM exits, or by calling
+ * {@link #exportBundle(File)}. A bundle is loaded by specifying the {@code nashorn.typeInfo.bundle} system
+ * property, either as a file name or as {@code classpath:} followed by the name of a resource. Entries in a bundle
+ * are keyed by the digest of the source content rather than its location, so a bundle stays valid when the
+ * scripts are moved, and a bundle is only used by the Nashorn version that exported it. Type information in the
+ * bundle is used when the cache directory has none for a function, and a warm-up run that loads a bundle and
+ * exports a new one merges the two.
  * </p>
  */
 public final class OptimisticTypesPersistence {
@@ -107,6 +124,14 @@ public final class OptimisticTypesPersistence {
     // Only report one read/write error every minute
     private static final long ERROR_REPORT_THRESHOLD = 60000L;
 
+    // Magic number at the start of type profile bundles
+    private static final int BUNDLE_MAGIC = 0x4E545042; // "NTPB"
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    // Type information loaded from a type profile bundle, or null if no bundle is used
+    private static final Map<String, Map<Integer, Type>> bundle = loadBundle(Options.getStringProperty("nashorn.typeInfo.bundle", null));
+    // Type information to export into a type profile bundle, or null if it isn't being recorded
+    private static final ConcurrentMap<String, Map<Integer, Type>> exported = createExportMap(Options.getStringProperty("nashorn.typeInfo.export", null));
+
     private static volatile long lastReportedError;
     private static final AtomicBoolean scheduledCleanup;
     private static final Timer cleanupTimer;
@@ -129,28 +154,38 @@ public final class OptimisticTypesPersistence {
      * @return an opaque descriptor for the persistence location. Can be null if persistence is disabled.
      */
     public static Object getLocationDescriptor(final Source source, final int functionId, final Type[] paramTypes) {
-        if(cacheDir == null) {
+        if(cacheDir == null && bundle == null && exported == null) {
             return null;
         }
+        final File file = cacheDir == null ? null : new File(cacheDir, getKey(source.getDigest(), functionId, paramTypes));
+        final String bundleKey = bundle == null && exported == null ? null : getKey(source.getContentDigest(), functionId, paramTypes);
+        return new LocationDescriptor(file, bundleKey);
+    }
+
+    private static String getKey(final String digest, final int functionId, final Type[] paramTypes) {
         final StringBuilder b = new StringBuilder(48);
         // Base64-encode the digest of the source, and append the function id.
-        b.append(source.getDigest()).append('-').append(functionId);
+        b.append(digest).append('-').append(functionId);
         // Finally, if this is a parameter-type specialized version of the function, add the parameter types
-        // to the file name.
+        // to the key.
         if(paramTypes != null && paramTypes.length > 0) {
             b.append('-');
             for(final Type t: paramTypes) {
                 b.append(Type.getShortSignatureDescriptor(t));
             }
         }
-        return new LocationDescriptor(new File(cacheDir, b.toString()));
+        return b.toString();
     }
 
     private static final class LocationDescriptor {
+        // file in the cache directory, or null if the cache directory isn't used
         private final File file;
+        // key in the type profile bundle, or null if no bundle is used or exported
+        private final String bundleKey;
 
-        LocationDescriptor(final File file) {
+        LocationDescriptor(final File file, final String bundleKey) {
             this.file = file;
+            this.bundleKey = bundleKey;
         }
     }
 
@@ -166,7 +201,14 @@ public final class OptimisticTypesPersistence {
         if(locationDescriptor == null || optimisticTypes.isEmpty()) {
             return;
         }
-        final File file = ((LocationDescriptor)locationDescriptor).file;
+        final LocationDescriptor descriptor = (LocationDescriptor)locationDescriptor;
+        if (exported != null) {
+            exported.put(descriptor.bundleKey, new TreeMap<>(optimisticTypes));
+        }
+        final File file = descriptor.file;
+        if (file == null) {
+            return;
+        }
 
         synchronized(getFileLock(file)) {
             if (!file.exists()) {
@@ -197,7 +239,26 @@ public final class OptimisticTypesPersistence {
         if (locationDescriptor == null) {
             return null;
         }
-        final File file = ((LocationDescriptor)locationDescriptor).file;
+        final LocationDescriptor descriptor = (LocationDescriptor)locationDescriptor;
+        final Map<Integer, Type> cached = descriptor.file == null ? null : load(descriptor.file);
+        if (cached != null) {
+            return cached;
+        }
+        final Map<Integer, Type> bundled = bundle == null ? null : bundle.get(descriptor.bundleKey);
+        if (bundled == null) {
+            return null;
+        }
+        if (exported != null) {
+            // Carry the type information over into the exported bundle even if the function doesn't get
+            // deoptimized again in this run.
+            exported.putIfAbsent(descriptor.bundleKey, bundled);
+        }
+        // The caller owns the returned map and will add to it as the function gets deoptimized.
+        return new TreeMap<>(bundled);
+    }
+
+    @SuppressWarnings("resource")
+    private static Map<Integer, Type> load(final File file) {
         try {
             if(!file.isFile()) {
                 return null;
@@ -215,6 +276,97 @@ public final class OptimisticTypesPersistence {
         }
     }
 
+    /**
+     * Writes the type information recorded in this run into a type profile bundle. Type information is only
+     * recorded when the {@code nashorn.typeInfo.export} system property is specified.
+     * @param file the bundle file to write.
+     * @throws IOException if the bundle could not be written.
+     * @throws IllegalStateException if type information is not being recorded.
+     */
+    public static void exportBundle(final File file) throws IOException {
+        if (exported == null) {
+            throw new IllegalStateException("nashorn.typeInfo.export is not specified");
+        }
+        // Write to a temporary file first so that a concurrently starting process never sees a partial bundle.
+        final File tmp = new File(file.getPath() + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            final Map<String, Map<Integer, Type>> entries = new TreeMap<>(exported);
+            out.writeInt(BUNDLE_MAGIC);
+            out.writeUTF(Version.fullVersion());
+            out.writeInt(entries.size());
+            for (final Map.Entry<String, Map<Integer, Type>> entry : entries.entrySet()) {
+                out.writeUTF(entry.getKey());
+                Type.writeTypeMap(entry.getValue(), out);
+            }
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static ConcurrentMap<String, Map<Integer, Type>> createExportMap(final String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        final File file = new File(fileName);
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+            @Override
+            public void run() {
+                try {
+                    exportBundle(file);
+                } catch (final IOException e) {
+                    // The context and its logger may be gone when the shutdown hook executes
+                    System.err.println("Failed to export type information to " + file + ": " + e);
+                }
+            }
+        });
+        return new ConcurrentHashMap<>();
+    }
+
+    private static Map<String, Map<Integer, Type>> loadBundle(final String location) {
+        if (location == null) {
+            return null;
+        }
+        try (final InputStream in = openBundle(location)) {
+            if (in == null) {
+                getLogger().warning("Type information bundle " + location + " not found");
+                return null;
+            }
+            final DataInputStream din = new DataInputStream(new BufferedInputStream(in));
+            if (din.readInt() != BUNDLE_MAGIC) {
+                getLogger().warning(location + " is not a type information bundle");
+                return null;
+            }
+            final String version = din.readUTF();
+            if (!version.equals(Version.fullVersion())) {
+                // Program point numbering can differ between versions.
+                getLogger().warning("Type information bundle " + location + " was exported by Nashorn " + version);
+                return null;
+            }
+            final int size = din.readInt();
+            final Map<String, Map<Integer, Type>> entries = new HashMap<>(size * 4 / 3 + 1);
+            for (int i = 0; i < size; ++i) {
+                final String key = din.readUTF();
+                entries.put(key, Type.readTypeMap(din));
+            }
+            return entries;
+        } catch (final Exception e) {
+            reportError("Failed to read type information bundle " + location, e);
+            return null;
+        }
+    }
+
+    private static InputStream openBundle(final String location) throws IOException {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            String name = location.substring(CLASSPATH_PREFIX.length());
+            if (name.startsWith("/")) {
+                name = name.substring(1);
+            }
+            final ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+            return (contextLoader != null ? contextLoader : ClassLoader.getSystemClassLoader()).getResourceAsStream(name);
+        }
+        final File file = new File(location);
+        return file.isFile() ? new FileInputStream(file) : null;
+    }
+
     private static void reportError(final String msg, final File file, final Exception e) {
         final long now = System.currentTimeMillis();
         if(now - lastReportedError > ERROR_REPORT_THRESHOLD) {
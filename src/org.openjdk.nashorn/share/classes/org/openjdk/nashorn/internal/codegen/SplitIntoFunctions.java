@@ -31,9 +31,9 @@ import static org.openjdk.nashorn.internal.ir.Node.NO_TOKEN;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import org.openjdk.nashorn.internal.ir.AccessNode;
@@ -73,6 +73,10 @@ import org.openjdk.nashorn.internal.parser.TokenType;
  * and therefore such function is no longer reparseable from its source. For that reason, split functions and their
  * fragments are serialized in-memory and deserialized when they need to be recompiled either for deoptimization or
  * for type specialization.
+ * Variables of a split function are normally declared in the split function, so that they are visible to all of its
+ * fragments as scope variables. Where {@link SplitVariables} finds that a variable is only used within one fragment,
+ * it is declared in that fragment instead, and variables that a fragment only reads are passed to it as parameters,
+ * so that they can be local variables of the fragment.
  * NOTE: all {@code leave*()} methods for statements are returning their input nodes. That way, they will not mutate
  * the original statement list in the block containing the statement, which is fine, as it'll be replaced by the
  * lexical context when the block is left. If we returned something else (e.g. null), we'd cause a mutation in the
@@ -113,7 +117,7 @@ final class SplitIntoFunctions extends NodeVisitor<BlockLexicalContext> {
 
     @Override
     public boolean enterFunctionNode(final FunctionNode functionNode) {
-        functionStates.push(new FunctionState(functionNode));
+        functionStates.push(new FunctionState(functionNode, SplitVariables.analyze(functionNode)));
         return true;
     }
 
@@ -153,8 +157,20 @@ final class SplitIntoFunctions extends NodeVisitor<BlockLexicalContext> {
         final FunctionNode originalFn = fnState.fn;
         assert originalFn == lc.getCurrentFunction();
         final boolean isProgram = originalFn.isProgram();
+        final List<String> paramNames = fnState.getSplitParameters(name);
+        final List<IdentNode> params = new ArrayList<>(paramNames.size() + 1);
+        final List<Expression> args = new ArrayList<>(paramNames.size() + 2);
+        args.add(createIdent(THIS_NAME));
+        if (isProgram) {
+            params.add(createReturnParamIdent());
+            args.add(createReturnIdent());
+        }
+        for (final String paramName : paramNames) {
+            params.add(createIdent(paramName));
+            args.add(createIdent(paramName));
+        }
 
-        // Change SplitNode({...}) into "function () { ... }", or "function (:return-in) () { ... }" (for program)
+        // Change SplitNode({...}) into "function (...) { ... }", or "function (:return-in) () { ... }" (for program)
         final long newFnToken = Token.toDesc(TokenType.FUNCTION, nextFunctionId--, 0);
         final FunctionNode fn = new FunctionNode(
                 originalFn.getSource(),
@@ -166,7 +182,7 @@ final class SplitIntoFunctions extends NodeVisitor<BlockLexicalContext> {
                 namespace,
                 createIdent(name),
                 originalFn.getName() + "$" + name,
-                isProgram ? Collections.singletonList(createReturnParamIdent()) : Collections.<IdentNode>emptyList(),
+                params,
                 null,
                 FunctionNode.Kind.NORMAL,
                 // We only need IS_SPLIT conservatively, in case it contains any array units so that we force
@@ -183,16 +199,13 @@ final class SplitIntoFunctions extends NodeVisitor<BlockLexicalContext> {
         .setCompileUnit(lc, splitNode.getCompileUnit());
 
         // Call the function:
-        //     either "(function () { ... }).call(this)"
+        //     either "(function (a, b) { ... }).call(this, a, b)", passing the variables it only reads,
         //     or     "(function (:return-in) { ... }).call(this, :return)"
         // NOTE: Function.call() has optimized linking that basically does a pass-through to the function being invoked.
         // NOTE: CompilationPhase.PROGRAM_POINT_PHASE happens after this, so these calls are subject to optimistic
         // assumptions on their return value (when they return a value), as they should be.
-        final IdentNode thisIdent = createIdent(THIS_NAME);
         final CallNode callNode = new CallNode(firstLineNumber, token, finish, new AccessNode(NO_TOKEN, NO_FINISH, fn, "call"),
-                isProgram ? Arrays.<Expression>asList(thisIdent, createReturnIdent())
-                          : Collections.<Expression>singletonList(thisIdent),
-                false);
+                args, false);
 
         final SplitState splitState = splitStates.pop();
         fnState.splitDepth--;
@@ -313,8 +326,9 @@ final class SplitIntoFunctions extends NodeVisitor<BlockLexicalContext> {
 
         final Expression init = varNode.getInit();
 
-        // Move a declaration-only var statement to the top of the outermost function.
-        getCurrentFunctionState().varStatements.add(varNode.setInit(null));
+        // Move a declaration-only var statement to the top of the outermost function, or of the fragment that
+        // contains all uses of the variable.
+        getVarStatements(varNode.getName().getName()).add(varNode.setInit(null));
         // If it had an initializer, replace it with an assignment expression statement. Note that "var" is a
         // statement, so it doesn't contribute to :return of the programs, therefore we are _not_ adding a
         // ":return = ..." assignment around the original assignment.
@@ -334,6 +348,7 @@ final class SplitIntoFunctions extends NodeVisitor<BlockLexicalContext> {
                 // Prepend declaration-only var statements to the top of the statement list.
                 lc.prependStatements(getCurrentFunctionState().varStatements);
             } else if (lc.isSplitBody()) {
+                lc.prependStatements(getCurrentSplitState().varStatements);
                 appendSplitReturn(FALLTHROUGH_STATE, NO_LINE_NUMBER);
                 if (getCurrentFunctionState().fn.isProgram()) {
                     // If we're splitting the program, make sure every shard ends with "return :return" and
@@ -402,6 +417,22 @@ final class SplitIntoFunctions extends NodeVisitor<BlockLexicalContext> {
         return getCurrentFunctionState().splitDepth > 0;
     }
 
+    private List<Statement> getVarStatements(final String varName) {
+        final FunctionState fnState = getCurrentFunctionState();
+        final String splitName = fnState.getDeclaringSplit(varName);
+        if (splitName != null) {
+            // Only the innermost splitDepth split states belong to the current function
+            final Iterator<SplitState> it = splitStates.iterator();
+            for (int i = 0; i < fnState.splitDepth; i++) {
+                final SplitState splitState = it.next();
+                if (splitState.splitNode.getName().equals(splitName)) {
+                    return splitState.varStatements;
+                }
+            }
+        }
+        return fnState.varStatements;
+    }
+
     private FunctionState getCurrentFunctionState() {
         return functionStates.peek();
     }
@@ -412,11 +443,21 @@ final class SplitIntoFunctions extends NodeVisitor<BlockLexicalContext> {
 
     private static class FunctionState {
         final FunctionNode fn;
+        final SplitVariables splitVariables;
         final List<Statement> varStatements = new ArrayList<>();
         int splitDepth;
 
-        FunctionState(final FunctionNode fn) {
+        FunctionState(final FunctionNode fn, final SplitVariables splitVariables) {
             this.fn = fn;
+            this.splitVariables = splitVariables;
+        }
+
+        String getDeclaringSplit(final String varName) {
+            return splitVariables != null ? splitVariables.getDeclaringPart(varName) : null;
+        }
+
+        List<String> getSplitParameters(final String splitName) {
+            return splitVariables != null ? splitVariables.getParameters(splitName) : Collections.<String>emptyList();
         }
     }
 
@@ -426,6 +467,7 @@ final class SplitIntoFunctions extends NodeVisitor<BlockLexicalContext> {
         boolean hasBreak;
 
         final List<JumpStatement> jumpStatements = new ArrayList<>();
+        final List<Statement> varStatements = new ArrayList<>();
 
         int getSplitStateIndex(final JumpStatement jump) {
             if (jump instanceof BreakNode && jump.getLabelName() == null) {
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.codegen;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.openjdk.nashorn.internal.ir.BinaryNode;
+import org.openjdk.nashorn.internal.ir.CatchNode;
+import org.openjdk.nashorn.internal.ir.Expression;
+import org.openjdk.nashorn.internal.ir.ForNode;
+import org.openjdk.nashorn.internal.ir.FunctionNode;
+import org.openjdk.nashorn.internal.ir.IdentNode;
+import org.openjdk.nashorn.internal.ir.Node;
+import org.openjdk.nashorn.internal.ir.SplitNode;
+import org.openjdk.nashorn.internal.ir.UnaryNode;
+import org.openjdk.nashorn.internal.ir.VarNode;
+import org.openjdk.nashorn.internal.ir.WhileNode;
+import org.openjdk.nashorn.internal.ir.WithNode;
+import org.openjdk.nashorn.internal.ir.visitor.SimpleNodeVisitor;
+
+/**
+ * Finds the variables of a split function that don't need to live in its scope. {@link SplitIntoFunctions} turns
+ * the split parts of a function into nested functions, so every variable they share is a scope variable of the split
+ * function, and all accesses to it in the split parts are scope accesses. This analysis finds two kinds of variables
+ * that can instead be ordinary local variables of the split parts, with typed slots and optimistic types:
+ * <ul>
+ * <li>variables that are only used within a single split part that is not in a loop are declared in that part,</li>
+ * <li>variables and parameters that a split part only reads, and that no nested function could assign or capture while
+ * it runs, are passed to it as parameters.</li>
+ * </ul>
+ * Identifiers are not resolved at this point, so every identifier with the name of a variable, including those in
+ * nested functions that might declare their own variable with the same name, is treated as a use of the variable.
+ * Functions that use {@code eval} or {@code with} are not analyzed, and programs are not either, as their variables
+ * are properties of the global object.
+ */
+final class SplitVariables extends SimpleNodeVisitor {
+    // Leave room for callee and this below the arity limit of functions with fixed parameters.
+    private static final int MAX_PARAMETERS = 100;
+
+    private static final String ARGUMENTS = "arguments";
+
+    private final FunctionNode function;
+
+    // Names of the variables and parameters of the function
+    private final Set<String> variables = new HashSet<>();
+    private final Set<String> parameters = new HashSet<>();
+    private final Set<String> functionDeclarations = new HashSet<>();
+    // Names declared with let, const, or class anywhere in the function, which might shadow the variables
+    private final Set<String> blockScoped = new HashSet<>();
+    // Names assigned in functions nested in the function
+    private final Set<String> assignedInNestedFunctions = new HashSet<>();
+    // For each name, the innermost split part that contains all of its uses, or null if it is used outside of them
+    private final Map<String, SplitPart> commonParts = new HashMap<>();
+    private final Map<String, SplitPart> parts = new HashMap<>();
+
+    private final Deque<SplitPart> currentParts = new ArrayDeque<>();
+    private int loopDepth;
+    private int nestedFunctionDepth;
+    private boolean usesArguments;
+    private boolean hasWith;
+
+    private static final class SplitPart {
+        final String name;
+        final SplitPart parent;
+        final boolean inLoop;
+        // Names used, assigned, and used in nested functions in this part, including its nested parts
+        final Set<String> used = new LinkedHashSet<>();
+        final Set<String> assigned = new HashSet<>();
+        final Set<String> usedInNestedFunctions = new HashSet<>();
+
+        SplitPart(final String name, final SplitPart parent, final boolean inLoop) {
+            this.name = name;
+            this.parent = parent;
+            this.inLoop = inLoop;
+        }
+
+        boolean isWithin(final SplitPart other) {
+            for (SplitPart part = this; part != null; part = part.parent) {
+                if (part == other) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private SplitVariables(final FunctionNode function) {
+        this.function = function;
+    }
+
+    /**
+     * Analyzes a split function.
+     * @param function the function
+     * @return the analysis, or null if the function is not split or can't be analyzed
+     */
+    static SplitVariables analyze(final FunctionNode function) {
+        if (!function.isSplit() || function.isProgram() || function.hasEval() || function.hasNestedEval()) {
+            return null;
+        }
+        final SplitVariables splitVariables = new SplitVariables(function);
+        function.accept(splitVariables);
+        return splitVariables.hasWith ? null : splitVariables;
+    }
+
+    /**
+     * Returns the name of the split part that should declare a variable of the split function, or null if the
+     * variable must stay in the function's scope.
+     * @param name the variable name
+     * @return the name of the declaring split part, or null
+     */
+    String getDeclaringPart(final String name) {
+        final SplitPart part = getDeclaringSplitPart(name);
+        return part != null ? part.name : null;
+    }
+
+    private SplitPart getDeclaringSplitPart(final String name) {
+        if (!variables.contains(name) || parameters.contains(name) || functionDeclarations.contains(name) || blockScoped.contains(name)) {
+            return null;
+        }
+        // Declare it in the outermost part that contains all uses and is not in a loop, as a part in a loop would
+        // reinitialize the variable on every iteration.
+        SplitPart declaringPart = null;
+        for (SplitPart part = commonParts.get(name); part != null; part = part.parent) {
+            if (!part.inLoop) {
+                declaringPart = part;
+            }
+        }
+        return declaringPart;
+    }
+
+    /**
+     * Returns the names of the variables and parameters of the split function that should be passed to a split part
+     * as parameters.
+     * @param partName the name of the split part
+     * @return the names of the parameters of the split part
+     */
+    List<String> getParameters(final String partName) {
+        final SplitPart part = parts.get(partName);
+        if (part == null) {
+            return Collections.emptyList();
+        }
+        final List<String> partParameters = new ArrayList<>();
+        for (final String name : part.used) {
+            if (partParameters.size() == MAX_PARAMETERS) {
+                break;
+            }
+            if (isReadOnlyIn(name, part)) {
+                partParameters.add(name);
+            }
+        }
+        return partParameters;
+    }
+
+    private boolean isReadOnlyIn(final String name, final SplitPart part) {
+        if (!variables.contains(name) && !parameters.contains(name) || blockScoped.contains(name)) {
+            return false; // not ours, or might be shadowed by a binding in its temporal dead zone at the call
+        }
+        if (part.assigned.contains(name) || assignedInNestedFunctions.contains(name)) {
+            return false; // a copy would go stale
+        }
+        if (part.usedInNestedFunctions.contains(name)) {
+            return false; // a closure would capture a copy that goes stale when another part assigns the variable
+        }
+        if (parameters.contains(name) && usesArguments) {
+            return false; // arguments can alias parameters
+        }
+        final SplitPart declaringPart = getDeclaringSplitPart(name);
+        return declaringPart == null || !declaringPart.isWithin(part);
+    }
+
+    @Override
+    public boolean enterFunctionNode(final FunctionNode functionNode) {
+        if (functionNode == function) {
+            for (final IdentNode param : functionNode.getParameters()) {
+                parameters.add(param.getName());
+            }
+        } else {
+            nestedFunctionDepth++;
+        }
+        return true;
+    }
+
+    @Override
+    public Node leaveFunctionNode(final FunctionNode functionNode) {
+        if (functionNode != function) {
+            nestedFunctionDepth--;
+        }
+        return functionNode;
+    }
+
+    @Override
+    public boolean enterSplitNode(final SplitNode splitNode) {
+        if (nestedFunctionDepth == 0) {
+            final SplitPart parent = currentParts.peek();
+            final SplitPart part = new SplitPart(splitNode.getName(), parent, loopDepth > 0 || parent != null && parent.inLoop);
+            parts.put(part.name, part);
+            currentParts.push(part);
+            // Loops are counted relative to the innermost part
+            loopDepth = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public Node leaveSplitNode(final SplitNode splitNode) {
+        if (nestedFunctionDepth == 0) {
+            currentParts.pop();
+            loopDepth = 0;
+        }
+        return splitNode;
+    }
+
+    @Override
+    public boolean enterForNode(final ForNode forNode) {
+        if (forNode.isForInOrOf()) {
+            assign(forNode.getInit());
+        }
+        enterLoop();
+        return true;
+    }
+
+    @Override
+    public Node leaveForNode(final ForNode forNode) {
+        leaveLoop();
+        return forNode;
+    }
+
+    @Override
+    public boolean enterWhileNode(final WhileNode whileNode) {
+        enterLoop();
+        return true;
+    }
+
+    @Override
+    public Node leaveWhileNode(final WhileNode whileNode) {
+        leaveLoop();
+        return whileNode;
+    }
+
+    private void enterLoop() {
+        if (nestedFunctionDepth == 0) {
+            loopDepth++;
+        }
+    }
+
+    private void leaveLoop() {
+        if (nestedFunctionDepth == 0) {
+            loopDepth--;
+        }
+    }
+
+    @Override
+    public boolean enterVarNode(final VarNode varNode) {
+        final String name = varNode.getName().getName();
+        if (varNode.isBlockScoped()) {
+            blockScoped.add(name);
+        } else if (nestedFunctionDepth == 0 && !varNode.getName().isInternal()) {
+            variables.add(name);
+            if (varNode.isFunctionDeclaration()) {
+                functionDeclarations.add(name);
+            }
+        }
+        if (varNode.getInit() != null) {
+            assign(varNode.getName());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean enterWithNode(final WithNode withNode) {
+        hasWith = true;
+        return false;
+    }
+
+    @Override
+    public boolean enterBinaryNode(final BinaryNode binaryNode) {
+        assign(binaryNode.getAssignmentDest());
+        return true;
+    }
+
+    @Override
+    public boolean enterUnaryNode(final UnaryNode unaryNode) {
+        assign(unaryNode.getAssignmentDest());
+        return true;
+    }
+
+    @Override
+    public boolean enterCatchNode(final CatchNode catchNode) {
+        assign(catchNode.getException());
+        return true;
+    }
+
+    @Override
+    public boolean enterIdentNode(final IdentNode identNode) {
+        final String name = identNode.getName();
+        if (ARGUMENTS.equals(name)) {
+            usesArguments = true;
+        }
+        final SplitPart current = currentParts.peek();
+        for (final SplitPart part : currentParts) {
+            part.used.add(name);
+            if (nestedFunctionDepth > 0) {
+                part.usedInNestedFunctions.add(name);
+            }
+        }
+        if (commonParts.containsKey(name)) {
+            commonParts.put(name, commonPart(commonParts.get(name), current));
+        } else {
+            commonParts.put(name, current);
+        }
+        return false;
+    }
+
+    private static SplitPart commonPart(final SplitPart part1, final SplitPart part2) {
+        for (SplitPart part = part1; part != null; part = part.parent) {
+            if (part2 != null && part2.isWithin(part)) {
+                return part;
+            }
+        }
+        return null;
+    }
+
+    private void assign(final Expression dest) {
+        if (dest instanceof IdentNode) {
+            final String name = ((IdentNode)dest).getName();
+            for (final SplitPart part : currentParts) {
+                part.assigned.add(name);
+            }
+            if (nestedFunctionDepth > 0) {
+                assignedInNestedFunctions.add(name);
+            }
+        }
+    }
+}
@@ -27,8 +27,7 @@ package org.openjdk.nashorn.internal.objects;
 
 import org.openjdk.nashorn.internal.runtime.Undefined;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * <p>A linked hash map used by the ES6 Map and Set objects. As required by the ECMA specification for these objects,
@@ -40,75 +39,134 @@ import java.util.Map;
  * {@code java.util.LinkedHashMap} this would result in a {@link java.util.ConcurrentModificationException}
  * being thrown.</p>
  *
- * <p>This class is implemented using a {@link java.util.HashMap} as backing storage with doubly-linked
- * list nodes as values.</p>
+ * <p>This class is implemented as a compact open addressing hash table. Entries are stored in insertion order
+ * in parallel key and value arrays, and a separate hash index maps hash codes to entry positions. Integer and
+ * non-integer number keys, as produced by {@link NativeMap#convertKey(Object)}, are stored unboxed. Deleted
+ * entries are marked in place and only removed when the table is rebuilt; a rebuilt table records how entry
+ * positions moved so that live iterators can continue from the right position.</p>
  *
  * @see <a href="http://www.ecma-international.org/ecma-262/6.0/#sec-map.prototype.foreach">Map.prototype.forEach</a>
  * @see <a href="http://www.ecma-international.org/ecma-262/6.0/#sec-set.prototype.foreach">Set.prototype.forEach</a>
  */
 public class LinkedMap {
 
-    // We use a plain hash map as our hash storage.
-    private final Map<Object, Node> data = new HashMap<>();
+    // Initial number of entries in a table, must be a power of two.
+    private static final int INITIAL_CAPACITY = 8;
 
-    // The head and tail of our doubly-linked list. We use the same node to represent both the head and the
-    // tail of the list, so the list is circular. This node is never unlinked and thus always remain alive.
-    private final Node head = new Node();
+    // Markers in the key array for unboxed number keys and deleted entries.
+    private static final Object INT_KEY     = new Object();
+    private static final Object DOUBLE_KEY  = new Object();
+    private static final Object DELETED     = new Object();
+
+    // The current table. Iterators may still refer to tables that have since been replaced.
+    private Table table = new Table(INITIAL_CAPACITY);
+
+    // Number of live entries.
+    private int size;
 
     /**
-     * A node of a linked list that is used as value in our map. The linked list uses insertion order
-     * and allows fast iteration over its element even while the map is modified.
+     * Storage for the entries of the map. When a table is replaced, either because it is
+     * full or because the map was cleared, it is linked to its replacement.
      */
-    static class Node {
-        private final Object key;
-        private volatile Object value;
+    private static final class Table {
+        // Keys in insertion order, or one of the INT_KEY, DOUBLE_KEY and DELETED markers.
+        private final Object[] keys;
+        // Values in insertion order.
+        private final Object[] values;
+        // Unboxed number keys, allocated when the first number key is added.
+        private long[] numberKeys;
+        // Hash index with twice as many slots as entries. Contains entry position + 1, or 0 for empty slots.
+        private final int[] index;
+        // Number of used entry positions, including deleted entries.
+        private int used;
 
-        private volatile boolean alive = true;
-        private volatile Node prev;
-        private volatile Node next;
+        // The table replacing this one, or null if this is the current table.
+        private Table next;
+        // Sorted positions of the deleted entries left out of the next table, or null if the map was cleared.
+        private int[] removed;
 
-        /**
-         * Constructor for the list head. This creates an empty circular list.
-         */
-        private Node() {
-            this(null, null);
-            this.next = this;
-            this.prev = this;
+        Table(final int capacity) {
+            this.keys   = new Object[capacity];
+            this.values = new Object[capacity];
+            this.index  = new int[capacity * 2];
         }
 
-        /**
-         * Constructor for value nodes.
-         *
-         * @param key the key
-         * @param value the value
-         */
-        private Node(final Object key, final Object value) {
-            this.key = key;
-            this.value = value;
+        int capacity() {
+            return keys.length;
         }
 
-        /**
-         * Get the node's key.
-         * @return the hash key
-         */
-        public Object getKey() {
+        Object getKey(final int position) {
+            final Object key = keys[position];
+            if (key == INT_KEY) {
+                return (int) numberKeys[position];
+            } else if (key == DOUBLE_KEY) {
+                return Double.longBitsToDouble(numberKeys[position]);
+            }
             return key;
         }
 
-        /**
-         * Get the node's value.
-         * @return the value
-         */
-        public Object getValue() {
-            return value;
+        int find(final Object key, final int hash) {
+            final int mask = index.length - 1;
+            for (int slot = hash & mask; ; slot = slot + 1 & mask) {
+                final int entry = index[slot];
+                if (entry == 0) {
+                    return -1;
+                }
+                if (matches(entry - 1, key)) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        private boolean matches(final int position, final Object key) {
+            final Object k = keys[position];
+            if (key instanceof Integer) {
+                return k == INT_KEY && numberKeys[position] == (Integer) key;
+            } else if (key instanceof Double) {
+                return k == DOUBLE_KEY && numberKeys[position] == Double.doubleToLongBits((Double) key);
+            }
+            return k == key || k != INT_KEY && k != DOUBLE_KEY && k != DELETED && key.equals(k);
+        }
+
+        void add(final Object key, final int hash, final Object value) {
+            final int position = used++;
+            if (key instanceof Integer) {
+                ensureNumberKeys()[position] = (Integer) key;
+                keys[position] = INT_KEY;
+            } else if (key instanceof Double) {
+                ensureNumberKeys()[position] = Double.doubleToLongBits((Double) key);
+                keys[position] = DOUBLE_KEY;
+            } else {
+                keys[position] = key;
+            }
+            values[position] = value;
+
+            final int mask = index.length - 1;
+            int slot = hash & mask;
+            while (index[slot] != 0) {
+                slot = slot + 1 & mask;
+            }
+            index[slot] = position + 1;
+        }
+
+        private long[] ensureNumberKeys() {
+            if (numberKeys == null) {
+                numberKeys = new long[keys.length];
+            }
+            return numberKeys;
         }
 
         /**
-         * Set the node's value
-         * @param value the new value
+         * Translate an entry position in this table to the corresponding position in the next table.
+         * @param position an entry position in this table
+         * @return the entry position in the next table
          */
-        void setValue(final Object value) {
-            this.value = value;
+        int translate(final int position) {
+            if (removed == null) {
+                return 0; // cleared
+            }
+            final int i = Arrays.binarySearch(removed, position);
+            return position - (i >= 0 ? i : -i - 1);
         }
     }
 
@@ -117,37 +175,64 @@ public class LinkedMap {
      */
     class LinkedMapIterator {
 
-        private Node cursor;
+        private Table iterTable;
+        private int position;
+        private Object key;
+        private Object value;
 
         private LinkedMapIterator() {
-            this.cursor = head;
+            this.iterTable = table;
         }
 
         /**
-         * Get the next node in this iteration. Changes in the underlying map are reflected in the iteration
-         * as required by the ES6 specification. Note that this method could return a deleted node if deletion
-         * occurred concurrently on another thread.
+         * Move to the next entry in this iteration. Changes in the underlying map are reflected in the iteration
+         * as required by the ES6 specification. Once this method returned {@code false}, it will keep doing so.
          *
-         * @return the next node
+         * @return true if there is a next entry, false if the iteration is done
          */
-        public Node next() {
-
-            if (cursor != null) {
-                // If last node is not alive anymore (i.e. has been deleted) go back to the last live node
-                // and continue from there. This may be the list head, which always remains alive.
-                while (!cursor.alive) {
-                    assert cursor != head;
-                    cursor = cursor.prev;
-                }
+        public boolean next() {
+            Table t = iterTable;
+            if (t == null) {
+                return false;
+            }
 
-                cursor = cursor.next;
+            int pos = position;
+            // Follow the table if it has been rebuilt or cleared since the last step
+            while (t.next != null) {
+                pos = t.translate(pos);
+                t = t.next;
+            }
 
-                if (cursor == head) {
-                    cursor = null; // We've come full circle to the end
+            while (pos < t.used) {
+                if (t.keys[pos] != DELETED) {
+                    key = t.getKey(pos);
+                    value = t.values[pos];
+                    iterTable = t;
+                    position = pos + 1;
+                    return true;
                 }
+                pos++;
             }
 
-            return cursor;
+            iterTable = null;
+            key = value = null;
+            return false;
+        }
+
+        /**
+         * Get the key of the current entry.
+         * @return the key
+         */
+        public Object getKey() {
+            return key;
+        }
+
+        /**
+         * Get the value of the current entry.
+         * @return the value
+         */
+        public Object getValue() {
+            return value;
         }
     }
 
@@ -157,24 +242,27 @@ public class LinkedMap {
      * @param value the value
      */
     public void set(final Object key, final Object value) {
-        Node node = data.get(key);
-        if (node != null) {
-            node.setValue(value);
-        } else {
-            node = new Node(key, value);
-            data.put(key, node);
-            link(node);
+        final int hash = hash(key);
+        final int position = table.find(key, hash);
+        if (position >= 0) {
+            table.values[position] = value;
+            return;
+        }
+        if (table.used == table.capacity()) {
+            rebuild();
         }
+        table.add(key, hash, value);
+        size++;
     }
 
     /**
      * Get the value associated with {@code key}.
      * @param key the key
-     * @return the associated value, or {@code null} if {@code key} is not contained in the map
+     * @return the associated value, or {@code undefined} if {@code key} is not contained in the map
      */
     public Object get(final Object key) {
-        final Node node = data.get(key);
-        return node == null ? Undefined.getUndefined() : node.getValue();
+        final int position = table.find(key, hash(key));
+        return position < 0 ? Undefined.getUndefined() : table.values[position];
     }
 
     /**
@@ -183,7 +271,7 @@ public class LinkedMap {
      * @return {@code true} if {@code key} is contained
      */
     public boolean has(final Object key) {
-        return data.containsKey(key);
+        return table.find(key, hash(key)) >= 0;
     }
 
     /**
@@ -192,9 +280,12 @@ public class LinkedMap {
      * @return {@code true} if {@code key} was contained in the map
      */
     public boolean delete (final Object key) {
-        final Node node = data.remove(key);
-        if (node != null) {
-            unlink(node);
+        final int position = table.find(key, hash(key));
+        if (position >= 0) {
+            // The hash index keeps pointing to the deleted entry so probing continues past it
+            table.keys[position] = DELETED;
+            table.values[position] = null;
+            size--;
             return true;
         }
         return false;
@@ -204,12 +295,10 @@ public class LinkedMap {
      * Remove all key-value pairs from the map.
      */
     public void clear() {
-        data.clear();
-        for (Node node = head.next; node != head; node = node.next) {
-            node.alive = false;
-        }
-        head.next = head;
-        head.prev = head;
+        final Table newTable = new Table(INITIAL_CAPACITY);
+        table.next = newTable;
+        table = newTable;
+        size = 0;
     }
 
     /**
@@ -217,7 +306,7 @@ public class LinkedMap {
      * @return the map size
      */
     public int size() {
-        return data.size();
+        return size;
     }
 
     /**
@@ -228,21 +317,47 @@ public class LinkedMap {
         return new LinkedMapIterator();
     }
 
-    private void link(final Node newNode) {
-        // We always insert at the end (head == tail)
-        newNode.next = head;
-        newNode.prev = head.prev;
-        newNode.prev.next = newNode;
-        head.prev = newNode;
-    }
+    /**
+     * Replace the full current table with one that has room for at least as many new entries
+     * as there are live entries, leaving out deleted entries.
+     */
+    private void rebuild() {
+        final Table oldTable = table;
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+
+        final Table newTable = new Table(capacity);
+        final int[] removed = new int[oldTable.used - size];
+        int removedCount = 0;
+        for (int i = 0; i < oldTable.used; i++) {
+            if (oldTable.keys[i] == DELETED) {
+                removed[removedCount++] = i;
+            } else {
+                final Object key = oldTable.getKey(i);
+                newTable.add(key, hash(key), oldTable.values[i]);
+            }
+        }
+        assert removedCount == removed.length;
 
-    private void unlink(final Node oldNode) {
-        // Note that we unlink references to the node being deleted, but keep the references from the deleted node.
-        // This is necessary to allow iterators to go back to the last live node in case the current node has been
-        // deleted. Also, the forward link of a deleted node may still be followed by an iterator and must not be null.
-        oldNode.prev.next = oldNode.next;
-        oldNode.next.prev = oldNode.prev;
-        oldNode.alive = false;
+        oldTable.removed = removed;
+        oldTable.next = newTable;
+        table = newTable;
     }
 
+    private static int hash(final Object key) {
+        final int h;
+        if (key instanceof Integer) {
+            h = (Integer) key;
+        } else if (key instanceof Double) {
+            final long bits = Double.doubleToLongBits((Double) key);
+            h = (int) (bits ^ bits >>> 32);
+        } else {
+            h = key.hashCode();
+        }
+        // Spread the bits, as integer keys are often sequential and the index is a power of two
+        final int m = h * 0x9E3779B9;
+        return m ^ m >>> 16;
+    }
 }
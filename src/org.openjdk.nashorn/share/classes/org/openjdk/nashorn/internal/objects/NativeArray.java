@@ -829,7 +829,9 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
         while (iter.hasNext()) {
             final Object obj = iter.next();
 
-            if (obj != null && obj != ScriptRuntime.UNDEFINED) {
+            if (obj instanceof Double) {
+                JSType.appendNumber(sb, (Double)obj);
+            } else if (obj != null && obj != ScriptRuntime.UNDEFINED) {
                 sb.append(JSType.toString(obj));
             }
 
@@ -31,8 +31,6 @@ import static java.lang.Double.isNaN;
 import static org.openjdk.nashorn.internal.runtime.ECMAErrors.rangeError;
 import static org.openjdk.nashorn.internal.runtime.ECMAErrors.typeError;
 
-import java.util.Locale;
-import java.util.TimeZone;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
@@ -45,6 +43,7 @@ import org.openjdk.nashorn.internal.runtime.PropertyMap;
 import org.openjdk.nashorn.internal.runtime.ScriptEnvironment;
 import org.openjdk.nashorn.internal.runtime.ScriptObject;
 import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
+import org.openjdk.nashorn.internal.runtime.TimeZoneOffsets;
 import org.openjdk.nashorn.internal.runtime.linker.Bootstrap;
 import org.openjdk.nashorn.internal.runtime.linker.InvokeByName;
 
@@ -103,7 +102,7 @@ public final class NativeDate extends ScriptObject {
     }
 
     private double time;
-    private final TimeZone timezone;
+    private final TimeZoneOffsets timezone;
 
     // initialized by nasgen
     private static PropertyMap $nasgenmap$;
@@ -113,7 +112,7 @@ public final class NativeDate extends ScriptObject {
         final ScriptEnvironment env = Global.getEnv();
 
         this.time = time;
-        this.timezone = env._timezone;
+        this.timezone = env._timezone_offsets;
     }
 
     NativeDate(final double time, final ScriptObject proto) {
@@ -883,6 +882,11 @@ public final class NativeDate extends ScriptObject {
 
     private static double parseDateString(final String str) {
 
+        final int[] commonFields = new int[DateParser.TIMEZONE + 1];
+        if (DateParser.parseCommonFormat(str, commonFields)) {
+            return timeClip(makeDate(commonFields) - commonFields[DateParser.TIMEZONE] * 60000);
+        }
+
         final DateParser parser = new DateParser(str);
         if (parser.parse()) {
             final Integer[] fields = parser.getDateFields();
@@ -890,7 +894,7 @@ public final class NativeDate extends ScriptObject {
             if (fields[DateParser.TIMEZONE] != null) {
                 d -= fields[DateParser.TIMEZONE] * 60000;
             } else {
-                d = utc(d, Global.getEnv()._timezone);
+                d = utc(d, Global.getEnv()._timezone_offsets);
             }
             d = timeClip(d);
             return d;
@@ -913,8 +917,12 @@ public final class NativeDate extends ScriptObject {
         final NativeDate nd = getNativeDate(self);
 
         if (nd != null && nd.isValidDate()) {
-            final StringBuilder sb = new StringBuilder(40);
-            final double t = nd.getLocalTime();
+            final StringBuilder sb = new StringBuilder(64);
+            final TimeZoneOffsets tz = nd.getTimeZone();
+            final int utcOffset = tz.getOffset((long) nd.getTime());
+            final double t = nd.getTime() + utcOffset;
+            final int year = yearFromTime(t);
+            final int dayInYear = dayWithinYear(t, year);
 
             switch (format) {
 
@@ -924,20 +932,18 @@ public final class NativeDate extends ScriptObject {
                     // EEE MMM dd yyyy
                     sb.append(weekDays[weekDay(t)])
                             .append(' ')
-                            .append(months[monthFromTime(t)])
+                            .append(months[monthInYear(dayInYear, year)])
                             .append(' ');
-                    zeroPad(sb, dayFromTime(t), 2);
+                    zeroPad(sb, dayInMonth(dayInYear, year), 2);
                     sb.append(' ');
-                    zeroPad(sb, yearFromTime(t), 4);
+                    zeroPad(sb, year, 4);
                     if (format == FORMAT_DATE) {
                         break;
                     }
                     sb.append(' ');
 
                 case FORMAT_TIME:
-                    final TimeZone tz = nd.getTimeZone();
-                    final double utcTime = nd.getTime();
-                    int offset = tz.getOffset((long) utcTime) / 60000;
+                    int offset = utcOffset / 60000;
                     final boolean inDaylightTime = offset != tz.getRawOffset() / 60000;
                     // Convert minutes to HHmm timezone offset
                     offset = (offset / 60) * 100 + offset % 60;
@@ -952,17 +958,17 @@ public final class NativeDate extends ScriptObject {
                             .append(offset < 0 ? '-' : '+');
                     zeroPad(sb, Math.abs(offset), 4);
                     sb.append(" (")
-                            .append(tz.getDisplayName(inDaylightTime, TimeZone.SHORT, Locale.US))
+                            .append(tz.getDisplayName(inDaylightTime))
                             .append(')');
                     break;
 
                 case FORMAT_LOCAL_DATE:
                     // yyyy-MM-dd
-                    zeroPad(sb, yearFromTime(t), 4);
+                    zeroPad(sb, year, 4);
                     sb.append('-');
-                    zeroPad(sb, monthFromTime(t) + 1, 2);
+                    zeroPad(sb, monthInYear(dayInYear, year) + 1, 2);
                     sb.append('-');
-                    zeroPad(sb, dayFromTime(t), 2);
+                    zeroPad(sb, dayInMonth(dayInYear, year), 2);
                     break;
 
                 case FORMAT_LOCAL_TIME:
@@ -990,14 +996,16 @@ public final class NativeDate extends ScriptObject {
         if (nd != null && nd.isValidDate()) {
             final StringBuilder sb = new StringBuilder(29);
             final double t = nd.getTime();
+            final int year = yearFromTime(t);
+            final int dayInYear = dayWithinYear(t, year);
             // EEE, dd MMM yyyy HH:mm:ss z
             sb.append(weekDays[weekDay(t)])
                     .append(", ");
-            zeroPad(sb, dayFromTime(t), 2);
+            zeroPad(sb, dayInMonth(dayInYear, year), 2);
             sb.append(' ')
-                    .append(months[monthFromTime(t)])
+                    .append(months[monthInYear(dayInYear, year)])
                     .append(' ');
-            zeroPad(sb, yearFromTime(t), 4);
+            zeroPad(sb, year, 4);
             sb.append(' ');
             zeroPad(sb, hourFromTime(t), 2);
             sb.append(':');
@@ -1017,12 +1025,14 @@ public final class NativeDate extends ScriptObject {
         if (nd != null && nd.isValidDate()) {
             final StringBuilder sb = new StringBuilder(24);
             final double t = nd.getTime();
+            final int year = yearFromTime(t);
+            final int dayInYear = dayWithinYear(t, year);
             // yyyy-MM-dd'T'HH:mm:ss.SSS'Z'
-            zeroPad(sb, yearFromTime(t), 4);
+            zeroPad(sb, year, 4);
             sb.append('-');
-            zeroPad(sb, monthFromTime(t) + 1, 2);
+            zeroPad(sb, monthInYear(dayInYear, year) + 1, 2);
             sb.append('-');
-            zeroPad(sb, dayFromTime(t), 2);
+            zeroPad(sb, dayInMonth(dayInYear, year), 2);
             sb.append('T');
             zeroPad(sb, hourFromTime(t), 2);
             sb.append(':');
@@ -1090,26 +1100,27 @@ public final class NativeDate extends ScriptObject {
 
     private static int monthFromTime(final double t) {
         final int year = yearFromTime(t);
-        final int day = dayWithinYear(t, year);
-        final int[] firstDay = firstDayInMonth[isLeapYear(year) ? 1 : 0];
-        int month = 0;
-
-        while (month < 11 && firstDay[month + 1] <= day) {
-            month++;
-        }
-        return month;
+        return monthInYear(dayWithinYear(t, year), year);
     }
 
     private static int dayFromTime(final double t)  {
         final int year = yearFromTime(t);
-        final int day = dayWithinYear(t, year);
+        return dayInMonth(dayWithinYear(t, year), year);
+    }
+
+    private static int monthInYear(final int day, final int year) {
         final int[] firstDay = firstDayInMonth[isLeapYear(year) ? 1 : 0];
         int month = 0;
 
         while (month < 11 && firstDay[month + 1] <= day) {
             month++;
         }
-        return 1 + day - firstDay[month];
+        return month;
+    }
+
+    private static int dayInMonth(final int day, final int year) {
+        final int[] firstDay = firstDayInMonth[isLeapYear(year) ? 1 : 0];
+        return 1 + day - firstDay[monthInYear(day, year)];
     }
 
     private static int dayFromMonth(final int month, final int year) {
@@ -1124,12 +1135,12 @@ public final class NativeDate extends ScriptObject {
     }
 
     // ECMA 15.9.1.9 LocalTime
-    private static double localTime(final double time, final TimeZone tz) {
+    private static double localTime(final double time, final TimeZoneOffsets tz) {
         return time + tz.getOffset((long) time);
     }
 
     // ECMA 15.9.1.9 UTC
-    private static double utc(final double time, final TimeZone tz) {
+    private static double utc(final double time, final TimeZoneOffsets tz) {
         return time - tz.getOffset((long) (time - tz.getRawOffset()));
     }
 
@@ -1195,6 +1206,11 @@ public final class NativeDate extends ScriptObject {
         return time + makeTime(d[3], d[4], d[5], d[6]);
     }
 
+    private static double makeDate(final int[] d) {
+        final double time = makeDay(d[0], d[1], d[2]) * msPerDay;
+        return time + makeTime(d[3], d[4], d[5], d[6]);
+    }
+
     private static double makeDate(final double[] d) {
         final double time = makeDay(d[0], d[1], d[2]) * msPerDay;
         return time + makeTime(d[3], d[4], d[5], d[6]);
@@ -1341,7 +1357,7 @@ public final class NativeDate extends ScriptObject {
         this.time = time;
     }
 
-    private TimeZone getTimeZone() {
+    private TimeZoneOffsets getTimeZone() {
         return timezone;
     }
 }
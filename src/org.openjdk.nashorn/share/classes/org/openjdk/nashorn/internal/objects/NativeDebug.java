@@ -29,12 +29,17 @@ import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
 
 import java.io.PrintWriter;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
 import org.openjdk.nashorn.internal.objects.annotations.Where;
+import org.openjdk.nashorn.internal.runtime.BackgroundRecompiler;
+import org.openjdk.nashorn.internal.runtime.CompilationWarmup;
 import org.openjdk.nashorn.internal.runtime.Context;
+import org.openjdk.nashorn.internal.runtime.FunctionCounters;
 import org.openjdk.nashorn.internal.runtime.JSType;
 import org.openjdk.nashorn.internal.runtime.PropertySwitchPoints;
 import org.openjdk.nashorn.internal.runtime.PropertyMap;
@@ -231,6 +236,32 @@ public final class NativeDebug extends ScriptObject {
         return  (obj instanceof ScriptFunction && ((ScriptFunction) obj).hasAllVarsInScope());
     }
 
+    /**
+     * Returns the number of classes installed for the script a function was compiled from, including the code of
+     * functions compiled on demand and recompiled for optimistic types.
+     *
+     * @param self self reference
+     * @param obj  script function
+     * @return installed class count
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
+    public static double getInstalledClassCount(final Object self, final Object obj) {
+        return (obj instanceof ScriptFunction) ? ((ScriptFunction) obj).getInstalledClassCount() : 0;
+    }
+
+    /**
+     * Returns the total bytecode size of the classes installed for the script a function was compiled from.
+     * Metaspace used by the classes is proportional to it.
+     *
+     * @param self self reference
+     * @param obj  script function
+     * @return installed class bytes
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
+    public static double getInstalledClassBytes(final Object self, final Object obj) {
+        return (obj instanceof ScriptFunction) ? ((ScriptFunction) obj).getInstalledClassBytes() : 0;
+    }
+
     /**
      * Returns the property listener count for a script object
      *
@@ -243,6 +274,83 @@ public final class NativeDebug extends ScriptObject {
         return (obj instanceof ScriptObject) ? PropertySwitchPoints.getSwitchPointCount((ScriptObject) obj) : 0;
     }
 
+    /**
+     * Get the number of functions compiled ahead of their first invocation with {@code --compilation-warmup}.
+     * @param self self reference
+     * @return the number of functions compiled by the compilation warmup
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
+    public static double getCompilationWarmupCount(final Object self) {
+        return CompilationWarmup.getCompiledCount();
+    }
+
+    /**
+     * Get the number of functions that failed to compile ahead of their first invocation with
+     * {@code --compilation-warmup}.
+     * @param self self reference
+     * @return the number of functions the compilation warmup failed to compile
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
+    public static double getCompilationWarmupFailedCount(final Object self) {
+        return CompilationWarmup.getFailedCount();
+    }
+
+    /**
+     * Get the number of functions waiting for or being compiled ahead of their first invocation with
+     * {@code --compilation-warmup}.
+     * @param self self reference
+     * @return the compilation warmup queue depth
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
+    public static int getCompilationWarmupQueueDepth(final Object self) {
+        return CompilationWarmup.getQueueDepth();
+    }
+
+    /**
+     * Cancel the compilation warmup of the scripts compiled so far in the current context.
+     * @param self self reference
+     * @return undefined
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
+    public static Object cancelCompilationWarmup(final Object self) {
+        Global.getThisContext().cancelCompilationWarmup();
+        return UNDEFINED;
+    }
+
+    /**
+     * Get the runtime counters of a script function collected with {@code --function-counters}: the number of
+     * invocations, deoptimizations and compiled versions of the function, and the size of its installed bytecode.
+     *
+     * @param self self reference
+     * @param obj  script function
+     * @return an object with {@code invocations}, {@code deoptimizations}, {@code specializations} and
+     * {@code bytecodeSize} properties, or undefined if the counters are not collected for {@code obj}
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
+    public static Object getFunctionCounters(final Object self, final Object obj) {
+        final FunctionCounters counters = obj instanceof ScriptFunction ? ((ScriptFunction) obj).getFunctionCounters() : null;
+        if (counters == null) {
+            return UNDEFINED;
+        }
+        final ScriptObject result = Global.newEmptyInstance();
+        result.set("invocations", (double) counters.getInvocations(), 0);
+        result.set("deoptimizations", (double) counters.getDeoptimizations(), 0);
+        result.set("specializations", (double) counters.getSpecializations(), 0);
+        result.set("bytecodeSize", (double) counters.getBytecodeSize(), 0);
+        return result;
+    }
+
+    /**
+     * Reset the runtime counters of all script functions collected with {@code --function-counters}.
+     * @param self self reference
+     * @return undefined
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE, where = Where.CONSTRUCTOR)
+    public static Object resetFunctionCounters(final Object self) {
+        FunctionCounters.resetAll();
+        return UNDEFINED;
+    }
+
     /**
      * Dump all Nashorn debug mode counters. Calling this may be better if
      * you want to print all counters. This way you can avoid too many callsites
@@ -267,12 +375,31 @@ public final class NativeDebug extends ScriptObject {
         out.println("PropertyMap proto invalidations " + PropertyMap.getProtoInvalidations());
         out.println("PropertyMap proto history hit " + PropertyMap.getProtoHistoryHit());
         out.println("PropertyMap setProtoNewMapCount " + PropertyMap.getSetProtoNewMapCount());
+        out.println("Background recompilation queue depth " + BackgroundRecompiler.getQueueDepth());
+        out.println("Background recompilations completed " + BackgroundRecompiler.getCompletedCount());
+        out.println("Background recompilation latency total ms " + TimeUnit.NANOSECONDS.toMillis(BackgroundRecompiler.getTotalLatency()));
+        out.println("Background recompilation latency max ms " + TimeUnit.NANOSECONDS.toMillis(BackgroundRecompiler.getMaxLatency()));
+        out.println("Compilation warmup queue depth " + CompilationWarmup.getQueueDepth());
+        out.println("Compilation warmup functions compiled " + CompilationWarmup.getCompiledCount());
+        out.println("Compilation warmup functions skipped " + CompilationWarmup.getSkippedCount());
+        out.println("Compilation warmup functions cancelled " + CompilationWarmup.getCancelledCount());
+        out.println("Compilation warmup functions dropped " + CompilationWarmup.getDroppedCount());
+        out.println("Compilation warmup functions failed " + CompilationWarmup.getFailedCount());
+        out.println("Compilation warmup time ms " + TimeUnit.NANOSECONDS.toMillis(CompilationWarmup.getTotalTime()));
         out.println("Callsite count " + LinkerCallSite.getCount());
         out.println("Callsite misses " + LinkerCallSite.getMissCount());
-        out.println("Callsite misses by site at " + LinkerCallSite.getMissSamplingPercentage() + "%");
+        out.println("Callsite misses by site, receiver shapes sampled at " + LinkerCallSite.getMissSamplingPercentage() + "%");
 
         LinkerCallSite.getMissCounts(out);
 
+        final List<FunctionCounters> functionCounters = FunctionCounters.getAll();
+        if (!functionCounters.isEmpty()) {
+            out.println("Function counters");
+            for (final FunctionCounters counters : functionCounters) {
+                out.println("\t" + counters);
+            }
+        }
+
         return UNDEFINED;
     }
 
@@ -539,29 +539,27 @@ public final class NativeJava {
             return primClass;
         }
         final Context ctx = Global.getThisContext();
-        try {
-            return ctx.findClass(typeName);
-        } catch(final ClassNotFoundException e) {
-            // The logic below compensates for a frequent user error - when people use dot notation to separate inner
-            // class names, i.e. "java.lang.Character.UnicodeBlock" vs."java.lang.Character$UnicodeBlock". The logic
-            // below will try alternative class names, replacing dots at the end of the name with dollar signs.
-            final StringBuilder nextName = new StringBuilder(typeName);
-            int lastDot = nextName.length();
-            for(;;) {
-                lastDot = nextName.lastIndexOf(".", lastDot - 1);
-                if(lastDot == -1) {
-                    // Exhausted the search space, class not found - rethrow the original exception.
-                    throw e;
-                }
-                nextName.setCharAt(lastDot, '$');
-                try {
-                    return ctx.findClass(nextName.toString());
-                } catch(final ClassNotFoundException cnfe) {
-                    // Intentionally ignored, so the loop retries with the next name
-                }
+        final Class<?> clazz = ctx.lookupClass(typeName);
+        if (clazz != null) {
+            return clazz;
+        }
+        // The logic below compensates for a frequent user error - when people use dot notation to separate inner
+        // class names, i.e. "java.lang.Character.UnicodeBlock" vs."java.lang.Character$UnicodeBlock". The logic
+        // below will try alternative class names, replacing dots at the end of the name with dollar signs.
+        final StringBuilder nextName = new StringBuilder(typeName);
+        int lastDot = nextName.length();
+        for(;;) {
+            lastDot = nextName.lastIndexOf(".", lastDot - 1);
+            if(lastDot == -1) {
+                // Exhausted the search space, class not found.
+                throw new ClassNotFoundException(typeName);
+            }
+            nextName.setCharAt(lastDot, '$');
+            final Class<?> nested = ctx.lookupClass(nextName.toString());
+            if(nested != null) {
+                return nested;
             }
         }
-
     }
 
     private static Class<?> arrayType(final String typeName) throws ClassNotFoundException {
@@ -28,7 +28,6 @@ package org.openjdk.nashorn.internal.objects;
 import jdk.dynalink.beans.StaticClass;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
-import org.openjdk.nashorn.internal.runtime.Context;
 import org.openjdk.nashorn.internal.runtime.FindProperty;
 import org.openjdk.nashorn.internal.runtime.NativeJavaPackage;
 import org.openjdk.nashorn.internal.runtime.PropertyMap;
@@ -114,11 +113,9 @@ public final class NativeJavaImporter extends ScriptObject {
             } else if (obj instanceof NativeJavaPackage) {
                 final String pkgName  = ((NativeJavaPackage)obj).getName();
                 final String fullName = pkgName.isEmpty() ? name : (pkgName + "." + name);
-                final Context context = Global.instance().getContext();
-                try {
-                    return StaticClass.forClass(context.findClass(fullName));
-                } catch (final ClassNotFoundException e) {
-                    // IGNORE
+                final Class<?> javaClass = Global.instance().getContext().lookupClass(fullName);
+                if (javaClass != null) {
+                    return StaticClass.forClass(javaClass);
                 }
             }
         }
@@ -213,13 +213,12 @@ public class NativeMap extends ScriptObject {
 
         final LinkedMap.LinkedMapIterator iterator = map.getJavaMap().getIterator();
         for (;;) {
-            final LinkedMap.Node node = iterator.next();
-            if (node == null) {
+            if (!iterator.next()) {
                 break;
             }
 
             try {
-                final Object result = invoker.invokeExact(callbackFn, thisArg, node.getValue(), node.getKey(), self);
+                final Object result = invoker.invokeExact(callbackFn, thisArg, iterator.getValue(), iterator.getKey(), self);
             } catch (final RuntimeException | Error e) {
                 throw e;
             } catch (final Throwable t) {
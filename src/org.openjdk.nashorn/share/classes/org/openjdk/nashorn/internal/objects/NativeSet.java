@@ -199,13 +199,12 @@ public class NativeSet extends ScriptObject {
 
         final LinkedMap.LinkedMapIterator iterator = set.getJavaMap().getIterator();
         for (;;) {
-            final LinkedMap.Node node = iterator.next();
-            if (node == null) {
+            if (!iterator.next()) {
                 break;
             }
 
             try {
-                final Object result = invoker.invokeExact(callbackFn, thisArg, node.getKey(), node.getKey(), self);
+                final Object result = invoker.invokeExact(callbackFn, thisArg, iterator.getKey(), iterator.getKey(), self);
             } catch (final RuntimeException | Error e) {
                 throw e;
             } catch (final Throwable t) {
@@ -25,8 +25,6 @@
 
 package org.openjdk.nashorn.internal.objects;
 
-import java.util.Map;
-import java.util.WeakHashMap;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
@@ -45,7 +43,7 @@ import static org.openjdk.nashorn.internal.runtime.JSType.isPrimitive;
 @ScriptClass("WeakMap")
 public class NativeWeakMap extends ScriptObject {
 
-    private final Map<Object, Object> jmap = new WeakHashMap<>();
+    private final WeakKeyMap jmap = new WeakKeyMap();
 
     // initialized by nasgen
     private static PropertyMap $nasgenmap$;
@@ -84,7 +82,7 @@ public class NativeWeakMap extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static Object set(final Object self, final Object key, final Object value) {
         final NativeWeakMap map = getMap(self);
-        map.jmap.put(checkKey(key), value);
+        map.jmap.set(checkKey(key), value);
         return self;
     }
 
@@ -113,13 +111,8 @@ public class NativeWeakMap extends ScriptObject {
      */
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static boolean delete(final Object self, final Object key) {
-        final Map<Object, Object> map = getMap(self).jmap;
-        if (isPrimitive(key)) {
-            return false;
-        }
-        final boolean returnValue = map.containsKey(key);
-        map.remove(key);
-        return returnValue;
+        final NativeWeakMap map = getMap(self);
+        return !isPrimitive(key) && map.jmap.delete(key);
     }
 
     /**
@@ -132,7 +125,7 @@ public class NativeWeakMap extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static boolean has(final Object self, final Object key) {
         final NativeWeakMap map = getMap(self);
-        return !isPrimitive(key) && map.jmap.containsKey(key);
+        return !isPrimitive(key) && map.jmap.has(key);
     }
 
     @Override
@@ -153,7 +146,7 @@ public class NativeWeakMap extends ScriptObject {
         return key;
     }
 
-    static void populateMap(final Map<Object, Object> map, final Object arg, final Global global) {
+    static void populateMap(final WeakKeyMap map, final Object arg, final Global global) {
         // This method is similar to NativeMap.populateMap, but it uses a different
         // map implementation and the checking/conversion of keys differs as well.
         if (arg != null && arg != Undefined.getUndefined()) {
@@ -163,7 +156,7 @@ public class NativeWeakMap extends ScriptObject {
                 }
                 if (value instanceof ScriptObject) {
                     final ScriptObject sobj = (ScriptObject) value;
-                    map.put(checkKey(sobj.get(0)), sobj.get(1));
+                    map.set(checkKey(sobj.get(0)), sobj.get(1));
                 }
             });
         }
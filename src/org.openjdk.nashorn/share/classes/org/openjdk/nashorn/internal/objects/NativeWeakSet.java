@@ -25,8 +25,6 @@
 
 package org.openjdk.nashorn.internal.objects;
 
-import java.util.Map;
-import java.util.WeakHashMap;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
@@ -46,7 +44,7 @@ import static org.openjdk.nashorn.internal.runtime.JSType.isPrimitive;
 @ScriptClass("WeakSet")
 public class NativeWeakSet extends ScriptObject {
 
-    private final Map<Object, Boolean> map = new WeakHashMap<>();
+    private final WeakKeyMap map = new WeakKeyMap();
 
     // initialized by nasgen
     private static PropertyMap $nasgenmap$;
@@ -84,7 +82,7 @@ public class NativeWeakSet extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static Object add(final Object self, final Object value) {
         final NativeWeakSet set = getSet(self);
-        set.map.put(checkKey(value), Boolean.TRUE);
+        set.map.set(checkKey(value), Boolean.TRUE);
         return self;
     }
 
@@ -98,7 +96,7 @@ public class NativeWeakSet extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static boolean has(final Object self, final Object value) {
         final NativeWeakSet set = getSet(self);
-        return !isPrimitive(value) && set.map.containsKey(value);
+        return !isPrimitive(value) && set.map.has(value);
     }
 
     /**
@@ -110,13 +108,8 @@ public class NativeWeakSet extends ScriptObject {
      */
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static boolean delete(final Object self, final Object value) {
-        final Map<Object, Boolean> map = getSet(self).map;
-        if (isPrimitive(value)) {
-            return false;
-        }
-        final boolean returnValue = map.containsKey(value);
-        map.remove(value);
-        return returnValue;
+        final NativeWeakSet set = getSet(self);
+        return !isPrimitive(value) && set.map.delete(value);
     }
 
     @Override
@@ -124,9 +117,9 @@ public class NativeWeakSet extends ScriptObject {
         return "WeakSet";
     }
 
-    static void populateWeakSet(final Map<Object, Boolean> set, final Object arg, final Global global) {
+    static void populateWeakSet(final WeakKeyMap set, final Object arg, final Global global) {
         if (arg != null && arg != Undefined.getUndefined()) {
-            AbstractIterator.iterate(arg, global, value -> set.put(checkKey(value), Boolean.TRUE));
+            AbstractIterator.iterate(arg, global, value -> set.set(checkKey(value), Boolean.TRUE));
         }
     }
 
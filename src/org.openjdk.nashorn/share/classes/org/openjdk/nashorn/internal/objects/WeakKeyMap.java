@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.objects;
+
+import org.openjdk.nashorn.internal.runtime.EphemeronTable;
+import org.openjdk.nashorn.internal.runtime.ScriptObject;
+import org.openjdk.nashorn.internal.runtime.Undefined;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <p>A weakly keyed map used by the ES6 WeakMap and WeakSet objects.</p>
+ *
+ * <p>Entries with {@link ScriptObject} keys are stored in the {@link EphemeronTable} of the key
+ * rather than in this map, so an entry is collected together with its key even if its value
+ * refers back to the key, and a lookup does not need to hash the key. This map itself only owns
+ * the weak handle identifying it in those tables. Other objects, such as Java objects used as
+ * keys, are stored in a {@link WeakHashMap}.</p>
+ *
+ * <p>The handle of a map keeps weak references to the tables it has entries in. When a map is
+ * collected, its handle is enqueued, and the next operation on any map removes its entries from
+ * those tables, so the values of a collected map do not stay reachable from their keys.</p>
+ *
+ * @see <a href="http://www.ecma-international.org/ecma-262/6.0/#sec-weakmap-objects">WeakMap Objects</a>
+ */
+public class WeakKeyMap {
+
+    // Handles of collected maps whose entries have not been removed yet.
+    private static final ReferenceQueue<WeakKeyMap> collected = new ReferenceQueue<>();
+
+    // Handle identifying this map in ephemeron tables. Only referenced from this map and
+    // the tables, so the entries of a collected map can be recognized and expunged.
+    private final Handle handle = new Handle(this);
+
+    private static final class Handle extends WeakReference<WeakKeyMap> {
+        // Tables this map has added entries to, some of which may have been collected.
+        private final List<WeakReference<EphemeronTable>> tables = new ArrayList<>();
+        // Size of the table list at which collected tables are pruned from it.
+        private int pruneSize = 16;
+
+        Handle(final WeakKeyMap map) {
+            super(map, collected);
+        }
+
+        synchronized void addTable(final EphemeronTable table) {
+            if (tables.size() == pruneSize) {
+                tables.removeIf(ref -> ref.get() == null);
+                pruneSize = Math.max(16, tables.size() * 2);
+            }
+            tables.add(new WeakReference<>(table));
+        }
+
+        synchronized void removeEntries() {
+            for (final WeakReference<EphemeronTable> ref : tables) {
+                final EphemeronTable table = ref.get();
+                if (table != null) {
+                    table.remove(this);
+                }
+            }
+            tables.clear();
+        }
+    }
+
+    /**
+     * Constructor
+     */
+    public WeakKeyMap() {
+        expungeCollectedMaps();
+    }
+
+    // Remove the entries of collected maps from the tables of their keys.
+    private static void expungeCollectedMaps() {
+        for (Reference<? extends WeakKeyMap> ref; (ref = collected.poll()) != null; ) {
+            ((Handle) ref).removeEntries();
+        }
+    }
+
+    // Map for keys that are not script objects, created on demand.
+    private volatile Map<Object, Object> foreignKeys;
+
+    /**
+     * Add a key-value pair to the map.
+     * @param key the key, must not be a primitive value
+     * @param value the value
+     */
+    public void set(final Object key, final Object value) {
+        expungeCollectedMaps();
+        if (key instanceof ScriptObject) {
+            final EphemeronTable table = ((ScriptObject) key).getEphemeronTable(true);
+            if (table.put(handle, value)) {
+                handle.addTable(table);
+            }
+        } else {
+            getForeignKeys().put(key, value);
+        }
+    }
+
+    /**
+     * Get the value associated with {@code key}.
+     * @param key the key
+     * @return the associated value, or {@code undefined} if {@code key} is not contained in the map
+     */
+    public Object get(final Object key) {
+        expungeCollectedMaps();
+        if (key instanceof ScriptObject) {
+            final EphemeronTable table = ((ScriptObject) key).getEphemeronTable(false);
+            return table == null ? Undefined.getUndefined() : table.get(handle);
+        }
+        final Map<Object, Object> map = foreignKeys;
+        if (map != null) {
+            final Object value = map.get(key);
+            if (value != null || map.containsKey(key)) {
+                return value;
+            }
+        }
+        return Undefined.getUndefined();
+    }
+
+    /**
+     * Returns {@code true} if {@code key} is contained in the map.
+     * @param key the key
+     * @return {@code true} if {@code key} is contained
+     */
+    public boolean has(final Object key) {
+        expungeCollectedMaps();
+        if (key instanceof ScriptObject) {
+            final EphemeronTable table = ((ScriptObject) key).getEphemeronTable(false);
+            return table != null && table.has(handle);
+        }
+        final Map<Object, Object> map = foreignKeys;
+        return map != null && map.containsKey(key);
+    }
+
+    /**
+     * Delete the entry associated with {@code key} from the map.
+     * @param key the key
+     * @return {@code true} if {@code key} was contained in the map
+     */
+    public boolean delete(final Object key) {
+        expungeCollectedMaps();
+        if (key instanceof ScriptObject) {
+            final EphemeronTable table = ((ScriptObject) key).getEphemeronTable(false);
+            return table != null && table.remove(handle);
+        }
+        final Map<Object, Object> map = foreignKeys;
+        if (map != null && map.containsKey(key)) {
+            map.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    private Map<Object, Object> getForeignKeys() {
+        Map<Object, Object> map = foreignKeys;
+        if (map == null) {
+            synchronized (this) {
+                map = foreignKeys;
+                if (map == null) {
+                    foreignKeys = map = Collections.synchronizedMap(new WeakHashMap<>());
+                }
+            }
+        }
+        return map;
+    }
+}
@@ -30,8 +30,6 @@ import static org.openjdk.nashorn.internal.parser.TokenType.DIRECTIVE_COMMENT;
 import static org.openjdk.nashorn.internal.parser.TokenType.EOF;
 import static org.openjdk.nashorn.internal.parser.TokenType.EOL;
 import static org.openjdk.nashorn.internal.parser.TokenType.IDENT;
-import java.util.HashMap;
-import java.util.Map;
 import org.openjdk.nashorn.internal.ir.IdentNode;
 import org.openjdk.nashorn.internal.ir.LiteralNode;
 import org.openjdk.nashorn.internal.parser.Lexer.LexerToken;
@@ -92,7 +90,8 @@ public abstract class AbstractParser {
     /** What should line numbers be counted from? */
     protected final int lineOffset;
 
-    private final Map<String, String> canonicalNames = new HashMap<>();
+    /** Identifier names and short string values seen in this parse job. */
+    private final SymbolTable symbols = new SymbolTable();
 
     /**
      * Construct a parser.
@@ -189,7 +188,7 @@ public abstract class AbstractParser {
             return;
         }
 
-        final String comment = (String) lexer.getValueOf(token, isStrictMode);
+        final String comment = (String) lexer.getValueOf(token, isStrictMode, symbols);
         final int len = comment.length();
         // 4 characters for directive comment marker //@\s or //#\s
         if (len > 4 && comment.substring(4).startsWith(SOURCE_URL_PREFIX)) {
@@ -387,7 +386,7 @@ public abstract class AbstractParser {
      */
     protected final Object getValue(final long valueToken) {
         try {
-            return lexer.getValueOf(valueToken, isStrictMode);
+            return lexer.getValueOf(valueToken, isStrictMode, symbols);
         } catch (final ParserException e) {
             errors.error(e);
         }
@@ -445,9 +444,7 @@ public abstract class AbstractParser {
      * be deduplicated.
      */
     protected IdentNode createIdentNode(final long identToken, final int identFinish, final String name) {
-        final String existingName = canonicalNames.putIfAbsent(name, name);
-        final String canonicalName = existingName != null ? existingName : name;
-        return new IdentNode(identToken, identFinish, canonicalName);
+        return new IdentNode(identToken, identFinish, symbols.intern(name));
     }
 
     /**
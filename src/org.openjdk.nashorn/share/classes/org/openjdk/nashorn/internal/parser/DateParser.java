@@ -40,8 +40,10 @@ import java.util.Locale;
  * If that fails, it falls back to legacy mode in which it accepts a range
  * of different formats.
  *
- * <p>This class is neither thread-safe nor reusable. Calling the
- * <code>parse()</code> method more than once will yield undefined results.</p>
+ * <p>Instances of this class are neither thread-safe nor reusable. Calling the
+ * <code>parse()</code> method more than once will yield undefined results. The
+ * static <code>parseCommonFormat()</code> method is thread-safe and parses the
+ * most common formats without creating an instance.</p>
  */
 public class DateParser {
 
@@ -80,6 +82,10 @@ public class DateParser {
 
     private final static HashMap<String,Name> names = new HashMap<>();
 
+    // three letter names of the common formats, as keys of their characters
+    private final static long[] WEEKDAY_NAMES = nameKeys("Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat");
+    private final static long[] MONTH_NAMES = nameKeys("Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec");
+
     static {
         addName("monday", Name.DAY_OF_WEEK, 0);
         addName("tuesday", Name.DAY_OF_WEEK, 0);
@@ -137,6 +143,213 @@ public class DateParser {
         return parseEcmaDate() || parseLegacyDate();
     }
 
+    /**
+     * Parse a date string in one of the most common formats: the extended ISO 8601 format with
+     * seconds as produced by <code>Date.prototype.toISOString</code>, or a date without time, the
+     * RFC 2822 format produced by <code>Date.prototype.toUTCString</code>, and the format produced
+     * by <code>Date.prototype.toString</code>. If this method returns <code>true</code>, the
+     * fields are set to the values that <code>parse()</code> returns for the string, all of
+     * which are set for these formats. If it returns <code>false</code>, the string is not in one
+     * of these formats, but it may still be parsed by <code>parse()</code>.
+     *
+     * <p>This method is thread-safe.</p>
+     *
+     * @param string the string to be parsed
+     * @param fields array of length <code>TIMEZONE + 1</code> to receive the date fields
+     * @return true if the string could be parsed as date in one of the common formats
+     */
+    public static boolean parseCommonFormat(final String string, final int[] fields) {
+        final int length = string.length();
+        if (length >= 10 && string.charAt(4) == '-') {
+            return parseIsoFormat(string, length, fields);
+        }
+        return parseTextFormat(string, length, fields);
+    }
+
+    // yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss[.sss][Z|(+|-)hh:mm]
+    private static boolean parseIsoFormat(final String string, final int length, final int[] fields) {
+        final int year = readDigits(string, 0, 4);
+        final int month = readDigits(string, 5, 2);
+        final int day = readDigits(string, 8, 2);
+        if (year < 0 || string.charAt(7) != '-' || !isMonth(month) || !isDay(day)) {
+            return false;
+        }
+        int hour = 0, minute = 0, second = 0, millisecond = 0, timezone = 0;
+        if (length > 10) {
+            if (length < 19 || string.charAt(10) != 'T' || string.charAt(13) != ':' || string.charAt(16) != ':') {
+                return false;
+            }
+            hour = readDigits(string, 11, 2);
+            minute = readDigits(string, 14, 2);
+            second = readDigits(string, 17, 2);
+            if (!isHour(hour) || !isMinuteOrSecond(minute) || !isMinuteOrSecond(second)) {
+                return false;
+            }
+            int pos = 19;
+            if (pos < length && string.charAt(pos) == '.') {
+                millisecond = readDigits(string, pos + 1, 3);
+                if (millisecond < 0) {
+                    return false;
+                }
+                pos += 4;
+            }
+            if (hour == 24 && (minute != 0 || second != 0 || millisecond != 0)) {
+                return false;
+            }
+            if (pos < length) {
+                final char c = string.charAt(pos);
+                if (c == 'Z' && pos + 1 == length) {
+                    timezone = 0;
+                } else if ((c == '+' || c == '-') && pos + 6 == length && string.charAt(pos + 3) == ':') {
+                    final int hours = readDigits(string, pos + 1, 2);
+                    final int minutes = readDigits(string, pos + 4, 2);
+                    if (hours < 0 || minutes < 0) {
+                        return false;
+                    }
+                    timezone = (c == '+' ? 1 : -1) * (hours * 60 + minutes);
+                } else {
+                    return false;
+                }
+            }
+        }
+        setFields(fields, year, month, day, hour, minute, second, millisecond, timezone);
+        return true;
+    }
+
+    // [EEE, ]d MMM yyyy HH:mm:ss (GMT|UTC|UT|[GMT](+|-)hhmm) or EEE MMM dd yyyy HH:mm:ss GMT(+|-)hhmm[ (name)]
+    private static boolean parseTextFormat(final String string, final int length, final int[] fields) {
+        int pos = 0;
+        int day;
+        int month;
+        if (length > 4 && indexOf(WEEKDAY_NAMES, string, 0) >= 0) {
+            pos = string.charAt(3) == ',' ? 4 : 3;
+            if (string.charAt(pos++) != ' ') {
+                return false;
+            }
+        }
+        month = indexOf(MONTH_NAMES, string, pos);
+        if (month >= 0) {
+            // MMM dd
+            if (pos + 6 > length || string.charAt(pos + 3) != ' ') {
+                return false;
+            }
+            day = readDigits(string, pos + 4, 2);
+            pos += 6;
+        } else {
+            // d MMM or dd MMM
+            final int digits = pos + 1 < length && string.charAt(pos + 1) == ' ' ? 1 : 2;
+            day = readDigits(string, pos, digits);
+            pos += digits;
+            if (pos >= length || string.charAt(pos++) != ' ') {
+                return false;
+            }
+            month = indexOf(MONTH_NAMES, string, pos);
+            pos += 3;
+        }
+        if (month < 0 || !isDay(day) || pos + 14 > length || string.charAt(pos) != ' ' || string.charAt(pos + 5) != ' '
+                || string.charAt(pos + 8) != ':' || string.charAt(pos + 11) != ':') {
+            return false;
+        }
+        final int year = readDigits(string, pos + 1, 4);
+        final int hour = readDigits(string, pos + 6, 2);
+        final int minute = readDigits(string, pos + 9, 2);
+        final int second = readDigits(string, pos + 12, 2);
+        // two digit years are mapped to 19xx or 20xx
+        if (year < 100 || !isHour(hour) || !isMinuteOrSecond(minute) || !isMinuteOrSecond(second)) {
+            return false;
+        }
+        pos += 14;
+        if (pos >= length || string.charAt(pos++) != ' ') {
+            return false;
+        }
+        int timezone = 0;
+        if (string.startsWith("GMT", pos)) {
+            pos += 3;
+        } else if (string.startsWith("UTC", pos)) {
+            pos += 3;
+            if (pos < length) {
+                return false;
+            }
+        } else if (string.startsWith("UT", pos) && pos + 2 == length) {
+            pos += 2;
+        }
+        if (pos < length && (string.charAt(pos) == '+' || string.charAt(pos) == '-')) {
+            final int hours = readDigits(string, pos + 1, 2);
+            final int minutes = readDigits(string, pos + 3, 2);
+            if (hours < 0 || minutes < 0) {
+                return false;
+            }
+            timezone = (string.charAt(pos) == '+' ? 1 : -1) * (hours * 60 + minutes);
+            pos += 5;
+        } else if (pos == length && string.charAt(pos - 1) == ' ') {
+            // no time zone
+            return false;
+        }
+        if (pos < length) {
+            // time zone name in parentheses
+            if (pos + 3 > length || string.charAt(pos) != ' ' || string.charAt(pos + 1) != '(' || string.charAt(length - 1) != ')'
+                    || string.indexOf('(', pos + 2) >= 0 || string.indexOf(')', pos + 2) != length - 1) {
+                return false;
+            }
+        }
+        setFields(fields, year, month + 1, day, hour, minute, second, 0, timezone);
+        return true;
+    }
+
+    private static void setFields(final int[] fields, final int year, final int month, final int day, final int hour,
+                                  final int minute, final int second, final int millisecond, final int timezone) {
+        fields[YEAR] = year;
+        fields[MONTH] = month - 1;
+        fields[DAY] = day;
+        fields[HOUR] = hour;
+        fields[MINUTE] = minute;
+        fields[SECOND] = second;
+        fields[MILLISECOND] = millisecond;
+        fields[TIMEZONE] = timezone;
+    }
+
+    // value of a number of ASCII digits at a position, or -1
+    private static int readDigits(final String string, final int pos, final int digits) {
+        if (pos + digits > string.length()) {
+            return -1;
+        }
+        int n = 0;
+        for (int i = pos; i < pos + digits; i++) {
+            final char c = string.charAt(i);
+            if (!isAsciiDigit(c)) {
+                return -1;
+            }
+            n = n * 10 + c - '0';
+        }
+        return n;
+    }
+
+    // index of the name at a position, or -1
+    private static long[] nameKeys(final String... names) {
+        final long[] keys = new long[names.length];
+        for (int i = 0; i < names.length; i++) {
+            keys[i] = nameKey(names[i], 0);
+        }
+        return keys;
+    }
+
+    private static long nameKey(final String string, final int pos) {
+        return (long) string.charAt(pos) << 32 | (long) string.charAt(pos + 1) << 16 | string.charAt(pos + 2);
+    }
+
+    private static int indexOf(final long[] names, final String string, final int pos) {
+        if (pos + 3 > string.length()) {
+            return -1;
+        }
+        final long key = nameKey(string, pos);
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Try parsing the date string according to the rules laid out in ES5 15.9.1.15.
      * The date string must conform to the following format:
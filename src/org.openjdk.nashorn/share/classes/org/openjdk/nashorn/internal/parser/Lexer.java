@@ -151,6 +151,23 @@ public class Lexer extends Scanner {
         "\\ufeff"   // byte order mark
         ;
 
+    /** Flag for ASCII characters that can start an identifier. */
+    private static final byte IDENT_START = 1;
+    /** Flag for ASCII characters that can be part of an identifier. */
+    private static final byte IDENT_PART  = 2;
+
+    /** Character class flags of the ASCII characters. */
+    private static final byte[] ASCII_FLAGS = new byte[128];
+
+    static {
+        for (char ch = 0; ch < ASCII_FLAGS.length; ch++) {
+            ASCII_FLAGS[ch] = (byte)((Character.isJavaIdentifierStart(ch) ? IDENT_START : 0) | (Character.isJavaIdentifierPart(ch) ? IDENT_PART : 0));
+        }
+    }
+
+    /** Maximum length of string literal values that are interned in the symbol table of the parser. */
+    private static final int MAX_INTERNED_STRING_LENGTH = 32;
+
     static String unicodeEscape(final char ch) {
         final StringBuilder sb = new StringBuilder();
 
@@ -201,7 +218,7 @@ public class Lexer extends Scanner {
      * avoid reading ahead unnecessarily when we skip the function bodies.
      */
     public Lexer(final Source source, final int start, final int len, final TokenStream stream, final boolean scripting, final boolean es6, final boolean pauseOnFunctionBody) {
-        super(source.getContent(), 1, start, len);
+        super(source.getCharContent(), 1, start, len);
         this.source      = source;
         this.stream      = stream;
         this.scripting   = scripting;
@@ -358,9 +375,7 @@ public class Lexer extends Scanner {
      */
     private void skipLine(final boolean addEOL) {
         // Ignore characters.
-        while (!isEOL(ch0) && !atEOF()) {
-            skip(1);
-        }
+        reset(findEOL(position));
         // Skip over end of line.
         skipEOL(addEOL);
     }
@@ -426,6 +441,28 @@ public class Lexer extends Scanner {
         return Lexer.isJSEOL(ch);
     }
 
+    private static boolean isIdentifierStart(final char ch) {
+        return ch < ASCII_FLAGS.length ? (ASCII_FLAGS[ch] & IDENT_START) != 0 : Character.isJavaIdentifierStart(ch);
+    }
+
+    private static boolean isIdentifierPart(final char ch) {
+        return ch < ASCII_FLAGS.length ? (ASCII_FLAGS[ch] & IDENT_PART) != 0 : Character.isJavaIdentifierPart(ch);
+    }
+
+    /**
+     * Find the end of the current line.
+     *
+     * @param i position to start searching from
+     * @return position of the first end of line character at or after {@code i}, or the scan limit
+     */
+    private int findEOL(final int i) {
+        int pos = i;
+        while (pos < limit && !isEOL(content.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
     /**
      * Skip over whitespace and detect end of line, adding EOL tokens if
      * encountered.
@@ -463,9 +500,7 @@ public class Lexer extends Scanner {
                 }
 
                 // Scan for EOL.
-                while (!atEOF() && !isEOL(ch0)) {
-                    skip(1);
-                }
+                reset(findEOL(position));
                 // Did detect a comment.
                 add(directiveComment? DIRECTIVE_COMMENT : COMMENT, start);
                 return true;
@@ -478,7 +513,12 @@ public class Lexer extends Scanner {
                     if (isEOL(ch0)) {
                         skipEOL(true);
                     } else {
-                        skip(1);
+                        // Skip up to the next '*' or end of line.
+                        int i = position + 1;
+                        while (i < limit && content.charAt(i) != '*' && !isEOL(content.charAt(i))) {
+                            i++;
+                        }
+                        reset(i);
                     }
                 }
 
@@ -500,9 +540,7 @@ public class Lexer extends Scanner {
             // Skip over #.
             skip(1);
             // Scan for EOL.
-            while (!atEOF() && !isEOL(ch0)) {
-                skip(1);
-            }
+            reset(findEOL(position));
             // Did detect a comment.
             add(COMMENT, start);
             return true;
@@ -762,11 +800,21 @@ public class Lexer extends Scanner {
     /**
      * Convert a string to a JavaScript identifier.
      *
-     * @param start  Position in source content.
-     * @param length Length of token.
+     * @param start   Position in source content.
+     * @param length  Length of token.
+     * @param symbols Symbol table to intern the identifier in.
      * @return Ident string or null if an error.
      */
-    private String valueOfIdent(final int start, final int length) throws RuntimeException {
+    private String valueOfIdent(final int start, final int length, final SymbolTable symbols) throws RuntimeException {
+        // Most identifiers have no escapes and can be interned directly from the content.
+        int i = start;
+        while (i < start + length && content.charAt(i) != '\\') {
+            i++;
+        }
+        if (i == start + length) {
+            return symbols.intern(content, start, length);
+        }
+
         // Save the current position.
         final int savePosition = position;
         // End of scan.
@@ -795,7 +843,7 @@ public class Lexer extends Scanner {
         // Restore position.
         reset(savePosition);
 
-        return sb.toString();
+        return symbols.intern(sb.toString());
     }
 
     /**
@@ -951,9 +999,13 @@ public class Lexer extends Scanner {
                 sb.append('\n');
                 skip(ch1 == '\n' ? 2 : 1);
             } else {
-                // Add regular character.
-                sb.append(ch0);
-                skip(1);
+                // Add a run of regular characters.
+                int i = position + 1;
+                while (i < end && content.charAt(i) != '\\' && content.charAt(i) != '\r') {
+                    i++;
+                }
+                sb.append(content, position, i);
+                reset(i);
             }
         }
 
@@ -989,9 +1041,17 @@ public class Lexer extends Scanner {
                     skipEOL(false);
                     continue;
                 }
+                // Skip literal character.
+                skip(1);
+            } else {
+                // Skip a run of literal characters.
+                int i = position + 1;
+                char ch;
+                while (i < limit && (ch = content.charAt(i)) != quote && ch != '\\' && !isEOL(ch)) {
+                    i++;
+                }
+                reset(i);
             }
-            // Skip literal character.
-            skip(1);
         }
 
         // If close quote.
@@ -1312,7 +1372,7 @@ public class Lexer extends Scanner {
             if (!Character.isJavaIdentifierStart(ch)) {
                 error(Lexer.message("illegal.identifier.character"), TokenType.IDENT, start, position);
             }
-        } else if (!Character.isJavaIdentifierStart(ch0)) {
+        } else if (!isIdentifierStart(ch0)) {
             // Not an identifier.
             return 0;
         }
@@ -1326,8 +1386,13 @@ public class Lexer extends Scanner {
                 if (!Character.isJavaIdentifierPart(ch)) {
                     error(Lexer.message("illegal.identifier.character"), TokenType.IDENT, start, position);
                 }
-            } else if (Character.isJavaIdentifierPart(ch0)) {
-                skip(1);
+            } else if (isIdentifierPart(ch0)) {
+                // Skip a run of identifier characters.
+                int i = position + 1;
+                while (i < limit && isIdentifierPart(content.charAt(i))) {
+                    i++;
+                }
+                reset(i);
             } else {
                 break;
             }
@@ -1349,7 +1414,7 @@ public class Lexer extends Scanner {
     private boolean identifierEqual(final int aStart, final int aLength, final int bStart, final int bLength) {
         if (aLength == bLength) {
             for (int i = 0; i < aLength; i++) {
-                if (content[aStart + i] != content[bStart + i]) {
+                if (content.charAt(aStart + i) != content.charAt(bStart + i)) {
                     return false;
                 }
             }
@@ -1605,12 +1670,12 @@ public class Lexer extends Scanner {
             // Remove last end of line if specified.
             if (excludeLastEOL) {
                 // Handles \n.
-                if (content[stringEnd - 1] == '\n') {
+                if (content.charAt(stringEnd - 1) == '\n') {
                     stringEnd--;
                 }
 
                 // Handles \r and \r\n.
-                if (content[stringEnd - 1] == '\r') {
+                if (content.charAt(stringEnd - 1) == '\r') {
                     stringEnd--;
                 }
 
@@ -1675,6 +1740,9 @@ public class Lexer extends Scanner {
                 // '.' followed by digit.
                 // Scan and add a number.
                 scanNumber();
+            } else if (ch0 < ASCII_FLAGS.length && (ASCII_FLAGS[ch0] & IDENT_START) != 0) {
+                // Most tokens are identifiers or keywords, so check for them before operators.
+                scanIdentifierOrKeyword();
             } else if ((type = TokenLookup.lookupOperator(ch0, ch1, ch2, ch3)) != null) {
                 if (templateExpressionOpenBraces > 0) {
                     if (type == LBRACE) {
@@ -1700,7 +1768,7 @@ public class Lexer extends Scanner {
                     pauseOnNextLeftBrace = false;
                     break;
                 }
-            } else if (Character.isJavaIdentifierStart(ch0) || ch0 == '\\' && ch1 == 'u') {
+            } else if (isIdentifierStart(ch0) || ch0 == '\\' && ch1 == 'u') {
                 // Scan and add identifier or keyword.
                 scanIdentifierOrKeyword();
             } else if (isStringDelimiter(ch0)) {
@@ -1726,10 +1794,12 @@ public class Lexer extends Scanner {
     /**
      * Return value of token given its token descriptor.
      *
-     * @param token  Token descriptor.
+     * @param token   Token descriptor.
+     * @param strict  True if in strict mode.
+     * @param symbols Symbol table of the parser to intern identifiers and short strings in.
      * @return JavaScript value.
      */
-    Object getValueOf(final long token, final boolean strict) {
+    Object getValueOf(final long token, final boolean strict, final SymbolTable symbols) {
         final int start = Token.descPosition(token);
         final int len   = Token.descLength(token);
 
@@ -1761,12 +1831,16 @@ public class Lexer extends Scanner {
             }
             return value;
         case STRING:
+            if (len <= MAX_INTERNED_STRING_LENGTH) {
+                return symbols.intern(content, start, len); // String
+            }
+            return source.getString(start, len); // String
         case DIRECTIVE_COMMENT:
             return source.getString(start, len); // String
         case ESCSTRING:
             return valueOfString(start, len, strict); // String
         case IDENT:
-            return valueOfIdent(start, len); // String
+            return valueOfIdent(start, len, symbols); // String
         case REGEX:
             return valueOfPattern(start, len); // RegexToken::LexerToken
         case TEMPLATE:
@@ -1491,7 +1491,7 @@ public class Parser extends AbstractParser implements Loggable {
      */
     private void checkEscapedKeyword(final IdentNode ident) {
         if (isES6() && ident.containsEscapes()) {
-            final TokenType tokenType = TokenLookup.lookupKeyword(ident.getName().toCharArray(), 0, ident.getName().length());
+            final TokenType tokenType = TokenLookup.lookupKeyword(ident.getName(), 0, ident.getName().length());
             if (tokenType != IDENT && !(tokenType.getKind() == TokenKind.FUTURESTRICT && !isStrictMode)) {
                 throw error(AbstractParser.message("keyword.escaped.character"), ident.getToken());
             }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.parser;
+
+/**
+ * Per-parse table of the identifier names and short string literal values seen by a parser. Names are interned
+ * directly from the source content, so an identifier that occurs many times in a source is only copied into a
+ * {@code String} the first time it is seen, and all {@code IdentNode}s for it share the same name instance.
+ * <p>
+ * The table uses open addressing with linear probing and hashes characters with the same function as
+ * {@link String#hashCode()}, so that the hash code of the interned strings is computed only once.
+ */
+final class SymbolTable {
+    /** Initial number of slots, must be a power of two. */
+    private static final int INITIAL_CAPACITY = 256;
+
+    private String[] table = new String[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Get the interned string for a range of characters.
+     *
+     * @param content content holding the characters
+     * @param start   position of the first character
+     * @param length  number of characters
+     * @return interned string
+     */
+    String intern(final CharSequence content, final int start, final int length) {
+        int hash = 0;
+        for (int i = start, end = start + length; i < end; i++) {
+            hash = 31 * hash + content.charAt(i);
+        }
+
+        final int mask = table.length - 1;
+        for (int index = slot(hash, mask); ; index = index + 1 & mask) {
+            final String existing = table[index];
+            if (existing == null) {
+                return add(index, hash, content.subSequence(start, start + length).toString());
+            }
+            if (hashes[index] == hash && regionMatches(existing, content, start, length)) {
+                return existing;
+            }
+        }
+    }
+
+    /**
+     * Get the interned instance of a string.
+     *
+     * @param name string
+     * @return interned string, {@code name} itself if it was not seen before
+     */
+    String intern(final String name) {
+        final int hash = name.hashCode();
+        final int mask = table.length - 1;
+        for (int index = slot(hash, mask); ; index = index + 1 & mask) {
+            final String existing = table[index];
+            if (existing == null) {
+                return add(index, hash, name);
+            }
+            if (hashes[index] == hash && existing.equals(name)) {
+                return existing;
+            }
+        }
+    }
+
+    private static int slot(final int hash, final int mask) {
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    private static boolean regionMatches(final String name, final CharSequence content, final int start, final int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != content.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String add(final int index, final int hash, final String name) {
+        table[index] = name;
+        hashes[index] = hash;
+        // Keep the load factor at or below one half.
+        if (++size > table.length >> 1) {
+            rehash();
+        }
+        return name;
+    }
+
+    private void rehash() {
+        final String[] oldTable = table;
+        final int[] oldHashes = hashes;
+        table = new String[oldTable.length << 1];
+        hashes = new int[oldTable.length << 1];
+        final int mask = table.length - 1;
+        for (int i = 0; i < oldTable.length; i++) {
+            if (oldTable[i] != null) {
+                int index = slot(oldHashes[i], mask);
+                while (table[index] != null) {
+                    index = index + 1 & mask;
+                }
+                table[index] = oldTable[i];
+                hashes[index] = oldHashes[i];
+            }
+        }
+    }
+}
@@ -53,9 +53,21 @@ public final class TokenLookup {
      */
     private static final int tableLength = tableLimit - tableBase + 1;
 
+    /**
+     * Operators that are the only token starting with their character, by table index.
+     */
+    private static final TokenType[] singleCharOperators;
+
+    /**
+     * Bit masks of the lengths of the keywords starting with each lower case letter.
+     */
+    private static final int[] keywordLengths;
+
     static {
         // Construct the table.
         table = new TokenType[tableLength];
+        singleCharOperators = new TokenType[tableLength];
+        keywordLengths = new int['z' - 'a' + 1];
 
         // For each token type.
         for (final TokenType tokenType : TokenType.getValues()) {
@@ -95,6 +107,18 @@ public final class TokenLookup {
                 } else {
                     prev.setNext(tokenType);
                 }
+
+                if ('a' <= first && first <= 'z') {
+                    assert length < Integer.SIZE;
+                    keywordLengths[first - 'a'] |= 1 << length;
+                }
+            }
+        }
+
+        for (int index = 0; index < tableLength; index++) {
+            final TokenType tokenType = table[index];
+            if (tokenType != null && tokenType.getNext() == null && tokenType.getLength() == 1) {
+                singleCharOperators[index] = tokenType;
             }
         }
     }
@@ -105,20 +129,20 @@ public final class TokenLookup {
     /**
      * Lookup keyword.
      *
-     * @param content parse content char array
+     * @param content parse content
      * @param position index of position to start looking
      * @param length   max length to scan
      *
      * @return token type for keyword
      */
-    public static TokenType lookupKeyword(final char[] content, final int position, final int length) {
+    public static TokenType lookupKeyword(final CharSequence content, final int position, final int length) {
         assert table != null : "Token lookup table is not initialized";
 
         // First character of keyword.
-        final char first = content[position];
+        final char first = content.charAt(position);
 
-        // Must be lower case character.
-        if ('a' <= first && first <= 'z') {
+        // Must be lower case character and the length of a keyword starting with it.
+        if ('a' <= first && first <= 'z' && length < Integer.SIZE && (keywordLengths[first - 'a'] & 1 << length) != 0) {
             // Convert to table index.
             final int index = first - tableBase;
             // Get first bucket entry.
@@ -134,7 +158,7 @@ public final class TokenLookup {
                     final String name = tokenType.getName();
                     int i;
                     for (i = 0; i < length; i++) {
-                        if (content[position + i] != name.charAt(i)) {
+                        if (content.charAt(position + i) != name.charAt(i)) {
                             break;
                         }
                     }
@@ -175,6 +199,11 @@ public final class TokenLookup {
         if (tableBase < ch0 && ch0 <= tableLimit && !('a' <= ch0 && ch0 <= 'z')) {
             // Convert to index.
             final int index = ch0 - tableBase;
+            // Check for operators that are not a prefix of other operators.
+            final TokenType singleCharOperator = singleCharOperators[index];
+            if (singleCharOperator != null) {
+                return singleCharOperator;
+            }
             // Get first bucket entry.
             TokenType tokenType = table[index];
 
@@ -33,30 +33,57 @@ import java.lang.ref.WeakReference;
 import org.openjdk.nashorn.internal.codegen.Compiler;
 import org.openjdk.nashorn.internal.codegen.CompilerConstants;
 import org.openjdk.nashorn.internal.codegen.ObjectClassGenerator;
+import org.openjdk.nashorn.internal.runtime.options.Options;
 
 /**
  * Encapsulates the allocation strategy for a function when used as a constructor.
+ * <p>
+ * The initial number of fields is derived from the {@code this} properties assigned in the
+ * constructor. Objects often get more properties than that, either later in their life or
+ * through assignments the compiler can't see, and the extra properties end up in spill arrays.
+ * To allow for this, the strategy samples some of the first objects it allocates, and once the
+ * constructor has been used a number of times, it grows the number of fields to what the sampled
+ * objects actually use, so that subsequently allocated objects can keep all their properties in
+ * fields.
  */
 final public class AllocationStrategy implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
 
+    /** Number of allocated objects sampled for allocation feedback */
+    private static final int SAMPLE_COUNT = 8;
+
+    /** Number of allocations after which the sampled objects are inspected, 0 to disable feedback */
+    private static final int FEEDBACK_ALLOCATIONS = Options.getIntProperty("nashorn.allocation.feedback", 64);
+
+    /** Maximum number of fields allocation feedback will grow objects to */
+    private static final int MAX_FIELD_COUNT = 64;
+
     /** Number of fields in the allocated object */
     private final int fieldCount;
 
     /** Whether to use dual field representation */
     private final boolean dualFields;
 
+    /** Number of fields added to {@link #fieldCount} based on allocation feedback */
+    private transient int extraFieldCount;
+
     /** Name of class where allocator function resides */
     private transient String allocatorClassName;
 
     /** lazily generated allocator */
-    private transient MethodHandle allocator;
+    private transient Allocator allocator;
 
     /** Last used allocator map */
     private transient AllocatorMap lastMap;
 
+    /** Number of objects allocated while collecting feedback, or -1 when done */
+    private transient int allocations;
+
+    /** Weak references to sampled objects */
+    private transient WeakReference<?>[] samples;
+
     /**
      * Construct an allocation strategy with the given map and class name.
      * @param fieldCount number of fields in the allocated object
@@ -67,14 +94,22 @@ final public class AllocationStrategy implements Serializable {
         this.dualFields = dualFields;
     }
 
+    private int getFieldCount() {
+        return fieldCount + extraFieldCount;
+    }
+
     private String getAllocatorClassName() {
         if (allocatorClassName == null) {
             // These classes get loaded, so an interned variant of their name is most likely around anyway.
-            allocatorClassName = Compiler.binaryName(ObjectClassGenerator.getClassName(fieldCount, dualFields)).intern();
+            allocatorClassName = Compiler.binaryName(ObjectClassGenerator.getClassName(getFieldCount(), dualFields)).intern();
         }
         return allocatorClassName;
     }
 
+    private PropertyMap newAllocatorMap() {
+        return PropertyMap.newMap(null, getAllocatorClassName(), 0, getFieldCount(), 0);
+    }
+
     /**
      * Get the property map for the allocated object.
      * @param prototype the prototype object
@@ -84,6 +119,11 @@ final public class AllocationStrategy implements Serializable {
         assert prototype != null;
         final PropertyMap protoMap = prototype.getMap();
 
+        if (lastMap != null && lastMap.allocatorMap.getFieldMaximum() != getFieldCount()) {
+            // Number of fields was changed by allocation feedback
+            lastMap = new AllocatorMap(lastMap, newAllocatorMap());
+        }
+
         if (lastMap != null) {
             if (!lastMap.hasSharedProtoMap()) {
                 if (lastMap.hasSamePrototype(prototype)) {
@@ -92,7 +132,7 @@ final public class AllocationStrategy implements Serializable {
                 if (lastMap.hasSameProtoMap(protoMap) && lastMap.hasUnchangedProtoMap()) {
                     // Convert to shared prototype map. Allocated objects will use the same property map
                     // that can be used as long as none of the prototypes modify the shared proto map.
-                    final PropertyMap allocatorMap = PropertyMap.newMap(null, getAllocatorClassName(), 0, fieldCount, 0);
+                    final PropertyMap allocatorMap = newAllocatorMap();
                     final SharedPropertyMap sharedProtoMap = new SharedPropertyMap(protoMap);
                     allocatorMap.setSharedProtoMap(sharedProtoMap);
                     prototype.setMap(sharedProtoMap);
@@ -107,12 +147,21 @@ final public class AllocationStrategy implements Serializable {
             }
         }
 
-        final PropertyMap allocatorMap = PropertyMap.newMap(null, getAllocatorClassName(), 0, fieldCount, 0);
+        final PropertyMap allocatorMap = newAllocatorMap();
         lastMap = new AllocatorMap(prototype, protoMap, allocatorMap);
 
         return allocatorMap;
     }
 
+    /**
+     * Check whether an allocator map has been superseded by one with more fields.
+     * @param map an allocator map previously returned by {@link #getAllocatorMap(ScriptObject)}
+     * @return true if a new allocator map should be requested
+     */
+    boolean isOutdatedAllocatorMap(final PropertyMap map) {
+        return map.getFieldMaximum() < fieldCount + extraFieldCount;
+    }
+
     /**
      * Allocate an object with the given property map
      * @param map the property map
@@ -120,11 +169,17 @@ final public class AllocationStrategy implements Serializable {
      */
     ScriptObject allocate(final PropertyMap map) {
         try {
-            if (allocator == null) {
-                allocator = MH.findStatic(LOOKUP, Context.forStructureClass(getAllocatorClassName()),
+            Allocator alloc = allocator;
+            if (alloc == null || !alloc.className.equals(map.getClassName())) {
+                final MethodHandle handle = MH.findStatic(LOOKUP, Context.forStructureClass(map.getClassName()),
                         CompilerConstants.ALLOCATE.symbolName(), MH.type(ScriptObject.class, PropertyMap.class));
+                alloc = allocator = new Allocator(map.getClassName(), handle);
+            }
+            final ScriptObject object = (ScriptObject)alloc.handle.invokeExact(map);
+            if (allocations >= 0) {
+                collectFeedback(object);
             }
-            return (ScriptObject)allocator.invokeExact(map);
+            return object;
         } catch (final RuntimeException | Error e) {
             throw e;
         } catch (final Throwable t) {
@@ -132,9 +187,47 @@ final public class AllocationStrategy implements Serializable {
         }
     }
 
+    private synchronized void collectFeedback(final ScriptObject object) {
+        if (allocations < 0) {
+            return;
+        }
+        if (allocations < SAMPLE_COUNT) {
+            if (samples == null) {
+                samples = new WeakReference<?>[SAMPLE_COUNT];
+            }
+            samples[allocations] = new WeakReference<>(object);
+        }
+        if (++allocations >= FEEDBACK_ALLOCATIONS) {
+            // By now the sampled objects are likely to have all their properties
+            int usedSlots = 0;
+            for (final WeakReference<?> ref : samples) {
+                final Object sample = ref == null ? null : ref.get();
+                if (sample != null) {
+                    usedSlots = Math.max(usedSlots, ((ScriptObject)sample).getMap().getUsedSlotCount());
+                }
+            }
+            if (usedSlots > getFieldCount()) {
+                extraFieldCount = Math.min(ObjectClassGenerator.getPaddedFieldCount(usedSlots), MAX_FIELD_COUNT) - fieldCount;
+                allocatorClassName = null;
+            }
+            allocations = -1;
+            samples = null;
+        }
+    }
+
     @Override
     public String toString() {
-        return "AllocationStrategy[fieldCount=" + fieldCount + "]";
+        return "AllocationStrategy[fieldCount=" + getFieldCount() + "]";
+    }
+
+    private static final class Allocator {
+        final String className;
+        final MethodHandle handle;
+
+        Allocator(final String className, final MethodHandle handle) {
+            this.className = className;
+            this.handle = handle;
+        }
     }
 
     static class AllocatorMap {
@@ -149,6 +242,13 @@ final public class AllocationStrategy implements Serializable {
             this.allocatorMap = allocMap;
         }
 
+        AllocatorMap(final AllocatorMap other, final PropertyMap allocMap) {
+            this.prototype = other.prototype;
+            this.prototypeMap = other.prototypeMap;
+            this.allocatorMap = allocMap;
+            allocMap.setSharedProtoMap((SharedPropertyMap) other.getSharedProtoMap());
+        }
+
         boolean hasSamePrototype(final ScriptObject proto) {
             return prototype.get() == proto;
         }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+
+/**
+ * Thread pool for deoptimizing recompilations that are moved off the thread that triggered them when the
+ * {@code --async-recompilation} option is used, and statistics about them. The pool has daemon threads, its size
+ * can be specified with {@code -Dnashorn.recompile.threads=x} and defaults to one thread.
+ */
+public final class BackgroundRecompiler {
+    private static final int THREADS = Math.max(1, Options.getIntProperty("nashorn.recompile.threads", 1));
+
+    private static final AtomicInteger queueDepth = new AtomicInteger();
+    private static final AtomicLong    completed  = new AtomicLong();
+    private static final AtomicLong    totalTime  = new AtomicLong();
+    private static final AtomicLong    maxTime    = new AtomicLong();
+
+    private static volatile ExecutorService executor;
+
+    private BackgroundRecompiler() {
+    }
+
+    /**
+     * Get the number of recompilations that are waiting for a compiler thread or being compiled.
+     * @return the number of pending recompilations
+     */
+    public static int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Get the number of completed recompilations.
+     * @return the number of completed recompilations
+     */
+    public static long getCompletedCount() {
+        return completed.get();
+    }
+
+    /**
+     * Get the total time spent in completed recompilations, including the time spent waiting for a compiler thread.
+     * @return total recompilation latency in nanoseconds
+     */
+    public static long getTotalLatency() {
+        return totalTime.get();
+    }
+
+    /**
+     * Get the longest time a single recompilation took, including the time spent waiting for a compiler thread.
+     * @return maximum recompilation latency in nanoseconds
+     */
+    public static long getMaxLatency() {
+        return maxTime.get();
+    }
+
+    /**
+     * Run a recompilation on a compiler thread.
+     * @param task the recompilation task
+     */
+    static void submit(final Runnable task) {
+        final long start = System.nanoTime();
+        queueDepth.incrementAndGet();
+        getExecutor().execute(() -> {
+            try {
+                task.run();
+            } finally {
+                final long time = System.nanoTime() - start;
+                totalTime.addAndGet(time);
+                maxTime.accumulateAndGet(time, Math::max);
+                completed.incrementAndGet();
+                queueDepth.decrementAndGet();
+            }
+        });
+    }
+
+    private static ExecutorService getExecutor() {
+        ExecutorService e = executor;
+        if (e == null) {
+            synchronized (BackgroundRecompiler.class) {
+                e = executor;
+                if (e == null) {
+                    final AtomicInteger threadCount = new AtomicInteger();
+                    executor = e = new ThreadPoolExecutor(THREADS, THREADS, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                        final Thread t = new Thread(r, "nashorn-recompiler-" + threadCount.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+                }
+            }
+        }
+        return e;
+    }
+}
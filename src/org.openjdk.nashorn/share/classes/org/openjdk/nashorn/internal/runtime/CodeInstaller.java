@@ -124,4 +124,18 @@ public interface CodeInstaller {
      */
     public boolean isCompatibleWith(CodeInstaller other);
 
+    /**
+     * Returns the number of classes installed for the script this code installer was created for, by this installer
+     * and by all installers {@link #isCompatibleWith(CodeInstaller) compatible with} it that were derived from it.
+     * @return the number of installed classes.
+     */
+    public long getInstalledClassCount();
+
+    /**
+     * Returns the total size of the bytecode of the classes counted by {@link #getInstalledClassCount()}. It is
+     * proportional to the metaspace used by the classes.
+     * @return the total size of the installed classes in bytes.
+     */
+    public long getInstalledClassBytes();
+
 }
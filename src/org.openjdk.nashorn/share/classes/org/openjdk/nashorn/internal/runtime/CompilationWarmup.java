@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime;
+
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.nashorn.internal.objects.Global;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+
+/**
+ * Thread pool for the speculative compilation of lazily compiled functions when the {@code --compilation-warmup}
+ * option is used, and statistics about it. After a script is compiled, the functions nested in it are queued
+ * breadth first, so functions declared at the top level of the script, which are usually the entry points that get
+ * called first, are compiled first. Each function gets its generic specialization compiled unless it has been called,
+ * and thus compiled, by the time a compiler thread gets to it.
+ * <p>
+ * The number of threads can be specified with {@code -Dnashorn.warmup.threads=x} and defaults to half the number of
+ * processors, the number of functions queued for a script with {@code -Dnashorn.warmup.functions=x} and defaults to
+ * 256, and the queue holds at most {@code -Dnashorn.warmup.queue.size=x} functions, 1024 by default; functions that
+ * don't fit are not compiled ahead of time. Queued functions of a context can be cancelled with
+ * {@link Context#cancelCompilationWarmup()}.
+ */
+public final class CompilationWarmup {
+    private static final int THREADS = Math.max(1, Options.getIntProperty("nashorn.warmup.threads", Runtime.getRuntime().availableProcessors() / 2));
+    private static final int MAX_FUNCTIONS = Options.getIntProperty("nashorn.warmup.functions", 256);
+    private static final int QUEUE_SIZE = Math.max(1, Options.getIntProperty("nashorn.warmup.queue.size", 1024));
+
+    private static final AtomicInteger queueDepth = new AtomicInteger();
+    private static final AtomicLong    compiled   = new AtomicLong();
+    private static final AtomicLong    skipped    = new AtomicLong();
+    private static final AtomicLong    cancelled  = new AtomicLong();
+    private static final AtomicLong    dropped    = new AtomicLong();
+    private static final AtomicLong    failed     = new AtomicLong();
+    private static final AtomicLong    totalTime  = new AtomicLong();
+
+    private static volatile ThreadPoolExecutor executor;
+
+    private CompilationWarmup() {
+    }
+
+    /**
+     * Get the number of functions waiting for a compiler thread or being compiled.
+     * @return the number of pending functions
+     */
+    public static int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Get the number of functions compiled ahead of their first invocation.
+     * @return the number of compiled functions
+     */
+    public static long getCompiledCount() {
+        return compiled.get();
+    }
+
+    /**
+     * Get the number of queued functions that had already been compiled when a compiler thread got to them.
+     * @return the number of skipped functions
+     */
+    public static long getSkippedCount() {
+        return skipped.get();
+    }
+
+    /**
+     * Get the number of queued functions that were cancelled.
+     * @return the number of cancelled functions
+     */
+    public static long getCancelledCount() {
+        return cancelled.get();
+    }
+
+    /**
+     * Get the number of functions that were not queued because the queue was full.
+     * @return the number of dropped functions
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the number of functions that failed to compile. Such functions are compiled again when they are first
+     * invoked, which reports the failure.
+     * @return the number of failed functions
+     */
+    public static long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Get the total time spent compiling functions ahead of their first invocation.
+     * @return total compilation time in nanoseconds
+     */
+    public static long getTotalTime() {
+        return totalTime.get();
+    }
+
+    /**
+     * Queue the functions nested in a newly compiled script for compilation.
+     * @param context the context of the script
+     * @param global the global of the script, which is set as the current global while compiling
+     * @param program the function data of the script
+     */
+    static void schedule(final Context context, final Global global, final RecompilableScriptFunctionData program) {
+        final int generation = context.getCompilationWarmupGeneration();
+        final Queue<RecompilableScriptFunctionData> functions = new ArrayDeque<>(program.getNestedFunctions());
+        for (int i = 0; i < MAX_FUNCTIONS && !functions.isEmpty(); i++) {
+            final RecompilableScriptFunctionData data = functions.remove();
+            functions.addAll(data.getNestedFunctions());
+            queueDepth.incrementAndGet();
+            getExecutor().execute(() -> warmup(context, global, generation, data));
+        }
+    }
+
+    private static void warmup(final Context context, final Global global, final int generation, final RecompilableScriptFunctionData data) {
+        try {
+            if (context.getCompilationWarmupGeneration() != generation) {
+                cancelled.incrementAndGet();
+                return;
+            }
+            final long start = System.nanoTime();
+            final Global oldGlobal = Context.getGlobal();
+            Context.setCompilerThreadGlobal(global);
+            try {
+                if (data.warmup()) {
+                    compiled.incrementAndGet();
+                } else {
+                    skipped.incrementAndGet();
+                }
+            } catch (final RuntimeException | Error e) {
+                // The function is compiled again when it is first invoked, which reports the failure. Errors such as
+                // a StackOverflowError or LinkageError are failures of this function too, and must not kill the
+                // compiler thread; only errors the JVM can't recover from are rethrown.
+                failed.incrementAndGet();
+                if (e instanceof VirtualMachineError && !(e instanceof StackOverflowError)) {
+                    throw e;
+                }
+            } finally {
+                Context.setCompilerThreadGlobal(oldGlobal);
+                totalTime.addAndGet(System.nanoTime() - start);
+            }
+        } finally {
+            queueDepth.decrementAndGet();
+        }
+    }
+
+    private static ThreadPoolExecutor getExecutor() {
+        ThreadPoolExecutor e = executor;
+        if (e == null) {
+            synchronized (CompilationWarmup.class) {
+                e = executor;
+                if (e == null) {
+                    final AtomicInteger threadCount = new AtomicInteger();
+                    e = new ThreadPoolExecutor(THREADS, THREADS, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(QUEUE_SIZE), r -> {
+                        final Thread t = new Thread(r, "nashorn-warmup-" + threadCount.incrementAndGet());
+                        t.setDaemon(true);
+                        // Compiling ahead of time shouldn't slow down the threads running scripts
+                        t.setPriority(Thread.NORM_PRIORITY - 1);
+                        return t;
+                    }, (r, ex) -> {
+                        dropped.incrementAndGet();
+                        queueDepth.decrementAndGet();
+                    });
+                    e.allowCoreThreadTimeOut(true);
+                    executor = e;
+                }
+            }
+        }
+        return e;
+    }
+}
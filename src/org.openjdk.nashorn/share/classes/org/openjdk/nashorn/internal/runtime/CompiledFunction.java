@@ -35,14 +35,17 @@ import java.lang.invoke.MethodType;
 import java.lang.invoke.MutableCallSite;
 import java.lang.invoke.SwitchPoint;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import jdk.dynalink.linker.GuardedInvocation;
+import jdk.dynalink.linker.support.TypeUtilities;
 import org.openjdk.nashorn.internal.codegen.Compiler;
 import org.openjdk.nashorn.internal.codegen.Compiler.CompilationPhases;
 import org.openjdk.nashorn.internal.codegen.TypeMap;
@@ -64,6 +67,8 @@ final class CompiledFunction {
     private static final MethodHandle RELINK_COMPOSABLE_INVOKER = findOwnMH("relinkComposableInvoker", void.class, CallSite.class, CompiledFunction.class, boolean.class);
     private static final MethodHandle HANDLE_REWRITE_EXCEPTION = findOwnMH("handleRewriteException", MethodHandle.class, CompiledFunction.class, OptimismInfo.class, RewriteException.class);
     private static final MethodHandle RESTOF_INVOKER = MethodHandles.exactInvoker(MethodType.methodType(Object.class, RewriteException.class));
+    private static final MethodHandle COUNT_BASELINE_INVOCATION = findOwnMH("countBaselineInvocation", void.class, CompiledFunction.class);
+    private static final MethodHandle COUNT_INVOCATION = findOwnMH("countInvocation", void.class, FunctionCounters.class);
 
     private final DebugLogger log;
 
@@ -78,6 +83,24 @@ final class CompiledFunction {
     private MethodHandle invoker;
     private MethodHandle constructor;
     private OptimismInfo optimismInfo;
+    // Guarded by this. A background recompilation task is queued or running for this function.
+    private boolean backgroundRecompilationScheduled;
+    // Guarded by this. The background recompilation task should recompile the function (again).
+    private boolean backgroundRecompilationRequested;
+    // Guarded by this. Rest-of methods compiled since the last background recompilation was installed, by their
+    // continuation entry points and the type of the failed program point. The current version can keep failing at
+    // the same program point until the new version is installed, and these are reused for it.
+    private Map<String, MethodHandle> pendingRestOfs;
+    // For baseline code: the switch point invalidated when the function is promoted to optimistic code, the number of
+    // invocations after which it is promoted, and the number of invocations so far. Null and 0 otherwise.
+    private final SwitchPoint baselineAssumptions;
+    private final int baselineThreshold;
+    private int baselineInvocations;
+    private final RecompilableScriptFunctionData baselineData;
+    // The optimistic version that replaced this baseline version, or null
+    private volatile CompiledFunction promotedVersion;
+    // Counters of the function with --function-counters, null otherwise
+    private final FunctionCounters counters;
     private final int flags; // from FunctionNode
     private final MethodType callSiteType;
 
@@ -114,16 +137,47 @@ final class CompiledFunction {
         this.flags = flags;
         this.callSiteType = callSiteType;
         this.log = log;
+        this.baselineAssumptions = null;
+        this.baselineThreshold = 0;
+        this.baselineData = null;
+        this.counters = null;
     }
 
+    /**
+     * Creates a compiled version of a script function.
+     * @param invoker the invoker
+     * @param functionData the script function data
+     * @param invalidatedProgramPoints the invalidated program points the code was compiled with
+     * @param callSiteType the call site type the code was compiled for
+     * @param flags the function node flags
+     * @param baselineThreshold for baseline code, the number of invocations after which the function is recompiled
+     * with optimistic types; 0 otherwise
+     */
     CompiledFunction(final MethodHandle invoker, final RecompilableScriptFunctionData functionData,
-            final Map<Integer, Type> invalidatedProgramPoints, final MethodType callSiteType, final int flags) {
-        this(invoker, null, flags, callSiteType, null, functionData.getLogger());
+            final Map<Integer, Type> invalidatedProgramPoints, final MethodType callSiteType, final int flags,
+            final int baselineThreshold) {
+        this.specialization = null;
+        this.flags = flags;
+        this.callSiteType = callSiteType;
+        this.log = functionData.getLogger();
+        this.counters = functionData.getFunctionCounters();
         if ((flags & FunctionNode.IS_DEOPTIMIZABLE) != 0) {
             optimismInfo = new OptimismInfo(functionData, invalidatedProgramPoints);
         } else {
             optimismInfo = null;
         }
+        if (baselineThreshold > 0) {
+            assert optimismInfo == null;
+            this.baselineAssumptions = new SwitchPoint();
+            this.baselineThreshold = baselineThreshold;
+            this.invoker = MH.foldArguments(countInvocations(invoker), MH.insertArguments(COUNT_BASELINE_INVOCATION, 0, this));
+            this.baselineData = functionData;
+        } else {
+            this.baselineAssumptions = null;
+            this.baselineThreshold = 0;
+            this.invoker = countInvocations(invoker);
+            this.baselineData = null;
+        }
     }
 
     static CompiledFunction createBuiltInConstructor(final MethodHandle invoker) {
@@ -545,9 +599,9 @@ final class CompiledFunction {
     private MethodHandle createComposableInvoker(final boolean isConstructor) {
         final MethodHandle handle = getInvokerOrConstructor(isConstructor);
 
-        // If compiled function is not optimistic, it can't ever change its invoker/constructor, so just return them
-        // directly.
-        if(!canBeDeoptimized()) {
+        // If compiled function is not optimistic or baseline code, it can't ever change its invoker/constructor, so just
+        // return them directly.
+        if(!canBeDeoptimized() && baselineAssumptions == null) {
             return handle;
         }
 
@@ -588,6 +642,11 @@ final class CompiledFunction {
      * function can't be further deoptimized).
      */
     private synchronized HandleAndAssumptions getValidOptimisticInvocation(final Supplier<MethodHandle> invocationSupplier) {
+        if (baselineAssumptions != null) {
+            // Baseline code is only guarded until it gets promoted; callers that still end up here after that keep
+            // using it instead of relinking over and over.
+            return new HandleAndAssumptions(invocationSupplier.get(), promotedVersion == null ? baselineAssumptions : null);
+        }
         for(;;) {
             final MethodHandle handle = invocationSupplier.get();
             final SwitchPoint assumptions = canBeDeoptimized() ? optimismInfo.optimisticAssumptions : null;
@@ -611,15 +670,25 @@ final class CompiledFunction {
         }
     }
 
-    private static void relinkComposableInvoker(final CallSite cs, final CompiledFunction inv, final boolean constructor) {
-        final HandleAndAssumptions handleAndAssumptions = inv.getValidOptimisticInvocation(() -> inv.getInvokerOrConstructor(constructor));
+    private static void relinkComposableInvoker(final CallSite cs, final CompiledFunction function, final boolean constructor) {
+        // Follow promotions of baseline code to the optimistic version, as long as its return type can be converted
+        // to the type of the call site without losing information.
+        CompiledFunction inv = function;
+        for (CompiledFunction promoted = inv.promotedVersion; promoted != null; promoted = inv.promotedVersion) {
+            if (!TypeUtilities.isMethodInvocationConvertible(promoted.type().returnType(), cs.type().returnType())) {
+                break;
+            }
+            inv = promoted;
+        }
+        final CompiledFunction current = inv;
+        final HandleAndAssumptions handleAndAssumptions = current.getValidOptimisticInvocation(() -> current.getInvokerOrConstructor(constructor));
         final MethodHandle handle = handleAndAssumptions.handle;
         final SwitchPoint assumptions = handleAndAssumptions.assumptions;
         final MethodHandle target;
         if(assumptions == null) {
             target = handle;
         } else {
-            final MethodHandle relink = MethodHandles.insertArguments(RELINK_COMPOSABLE_INVOKER, 0, cs, inv, constructor);
+            final MethodHandle relink = MethodHandles.insertArguments(RELINK_COMPOSABLE_INVOKER, 0, cs, current, constructor);
             target = assumptions.guardWithTest(handle, MethodHandles.foldArguments(cs.dynamicInvoker(), relink));
         }
         cs.setTarget(target.asType(cs.type()));
@@ -774,12 +843,32 @@ final class CompiledFunction {
         final MethodType ct = type.parameterType(0) == ScriptFunction.class ?
                 type :
                 type.insertParameterTypes(0, ScriptFunction.class);
+        if (counters != null) {
+            counters.countDeoptimization();
+        }
+
         final OptimismInfo currentOptInfo = optimismInfo;
         final boolean shouldRecompile = currentOptInfo != null && currentOptInfo.requestRecompile(re);
 
         // Effective optimism info, for subsequent use. We'll normally try to use the current (latest) one, but if it
         // isn't available, we'll use the old one bound into the call site.
         final OptimismInfo effectiveOptInfo = currentOptInfo != null ? currentOptInfo : oldOptInfo;
+
+        // With background recompilation, the current version keeps running until the new one is installed, and
+        // can fail at the same program point again. Continue with the rest-of method compiled for it instead of
+        // compiling it again or waiting for the new version.
+        final String restOfKey = effectiveOptInfo.data.useAsyncRecompilation() ? getRestOfKey(effectiveOptInfo, re) : null;
+        if (!shouldRecompile && restOfKey != null && pendingRestOfs != null) {
+            final MethodHandle pendingRestOf = pendingRestOfs.get(restOfKey);
+            if (pendingRestOf != null) {
+                if (log.isEnabled()) {
+                    log.info("Reusing rest-of method ", restOfKey, " while recompiling in the background");
+                    log.unindent();
+                }
+                return pendingRestOf;
+            }
+        }
+
         FunctionNode fn = effectiveOptInfo.reparse();
         final boolean cached = fn.isCached();
         final Compiler compiler = effectiveOptInfo.getCompiler(fn, ct, re); //set to non rest-of
@@ -789,7 +878,26 @@ final class CompiledFunction {
             // recompiled a deoptimized version for an inner invocation.
             // We still need to do the rest of from the beginning
             logRecompile("Rest-of compilation [STANDALONE] ", fn, ct, effectiveOptInfo.invalidatedProgramPoints);
-            return restOfHandle(effectiveOptInfo, compiler.compile(fn, cached ? CompilationPhases.COMPILE_CACHED_RESTOF : CompilationPhases.COMPILE_ALL_RESTOF), currentOptInfo != null);
+            final MethodHandle restOf = restOfHandle(effectiveOptInfo, compiler.compile(fn, cached ? CompilationPhases.COMPILE_CACHED_RESTOF : CompilationPhases.COMPILE_ALL_RESTOF), currentOptInfo != null);
+            if (restOfKey != null && backgroundRecompilationScheduled) {
+                addPendingRestOf(restOfKey, restOf);
+            }
+            return restOf;
+        }
+
+        if (restOfKey != null) {
+            // Only compile the rest-of method on this thread, keep using the current version of the function for new
+            // invocations, and recompile the function on a background compiler thread.
+            logRecompile("Rest-of compilation [BACKGROUND RECOMPILATION] ", fn, ct, effectiveOptInfo.invalidatedProgramPoints);
+            final MethodHandle restOf = restOfHandle(effectiveOptInfo, compiler.compile(fn, cached ? CompilationPhases.COMPILE_CACHED_RESTOF : CompilationPhases.COMPILE_ALL_RESTOF), true);
+            addPendingRestOf(restOfKey, restOf);
+            effectiveOptInfo.newOptimisticAssumptions();
+            scheduleBackgroundRecompilation(ct, re.getRuntimeScope());
+            notifyAll();
+            if (log.isEnabled()) {
+                log.unindent();
+            }
+            return restOf;
         }
 
         logRecompile("Deoptimizing recompilation (up to bytecode) ", fn, ct, effectiveOptInfo.invalidatedProgramPoints);
@@ -821,7 +929,7 @@ final class CompiledFunction {
         }
 
         final MethodHandle newInvoker = effectiveOptInfo.data.lookup(fn);
-        invoker     = newInvoker.asType(type.changeReturnType(newInvoker.type().returnType()));
+        invoker     = countInvocations(newInvoker.asType(type.changeReturnType(newInvoker.type().returnType())));
         constructor = null; // Will be regenerated when needed
 
         log.info("Done: ", invoker);
@@ -838,6 +946,140 @@ final class CompiledFunction {
         return restOf;
     }
 
+    private void scheduleBackgroundRecompilation(final MethodType ct, final ScriptObject runtimeScope) {
+        assert Thread.holdsLock(this);
+        backgroundRecompilationRequested = true;
+        if (!backgroundRecompilationScheduled) {
+            backgroundRecompilationScheduled = true;
+            BackgroundRecompiler.submit(() -> recompileInBackground(ct, runtimeScope));
+        }
+    }
+
+    private static String getRestOfKey(final OptimismInfo info, final RewriteException re) {
+        // A rest-of method is compiled for its continuation entry points and the new type of the failed program point.
+        return Arrays.toString(OptimismInfo.getEntryPoints(re)) + info.invalidatedProgramPoints.get(re.getProgramPoint());
+    }
+
+    private void addPendingRestOf(final String key, final MethodHandle restOf) {
+        assert Thread.holdsLock(this);
+        if (pendingRestOfs == null) {
+            pendingRestOfs = new HashMap<>();
+        }
+        pendingRestOfs.put(key, restOf);
+    }
+
+    /**
+     * Recompiles this function with its current invalidated program points on a background compiler thread and
+     * installs the new version. Requests for recompilation that arrive while it is compiling are coalesced into one
+     * more recompilation.
+     * @param ct the call site type to compile for
+     * @param runtimeScope the runtime scope of the deoptimized invocation
+     */
+    private void recompileInBackground(final MethodType ct, final ScriptObject runtimeScope) {
+        for (;;) {
+            final OptimismInfo info;
+            final Map<Integer, Type> invalidatedProgramPoints;
+            synchronized (this) {
+                info = optimismInfo;
+                if (!backgroundRecompilationRequested || info == null) {
+                    backgroundRecompilationScheduled = false;
+                    notifyAll();
+                    return;
+                }
+                backgroundRecompilationRequested = false;
+                // The map keeps being updated by deoptimizations of the current version while we compile.
+                invalidatedProgramPoints = new TreeMap<>(info.invalidatedProgramPoints);
+            }
+
+            final FunctionNode normalFn;
+            try {
+                final FunctionNode fn = info.reparse();
+                logRecompile("Deoptimizing recompilation [BACKGROUND] ", fn, ct, invalidatedProgramPoints);
+                final Compiler compiler = info.data.getCompiler(fn, ct, runtimeScope, invalidatedProgramPoints, null);
+                normalFn = compiler.compile(fn, fn.isCached() ? CompilationPhases.COMPILE_ALL_CACHED : CompilationPhases.COMPILE_ALL);
+                if (info.data.usePersistentCodeCache()) {
+                    final int functionNodeId = info.data.getFunctionNodeId();
+                    final TypeMap typeMap = info.data.typeMap(ct);
+                    final Type[] paramTypes = typeMap == null ? null : typeMap.getParameterTypes(functionNodeId);
+                    compiler.persistClassInfo(CodeStore.getCacheKey(functionNodeId, paramTypes), normalFn);
+                }
+            } catch (final RuntimeException | StackOverflowError e) {
+                // Keep running the current version; it is still correct, just more optimistic than it should be.
+                log.warning("Background recompilation of '", info.data.getName(), "' failed: ", e);
+                synchronized (this) {
+                    backgroundRecompilationScheduled = false;
+                    notifyAll();
+                }
+                return;
+            }
+
+            synchronized (this) {
+                if (optimismInfo != info) {
+                    continue;
+                }
+                final MethodHandle newInvoker = info.data.lookup(normalFn);
+                invoker     = countInvocations(newInvoker.asType(type().changeReturnType(newInvoker.type().returnType())));
+                constructor = null; // Will be regenerated when needed
+
+                // Call sites linked to the previous version are guarded by the current switch point.
+                final SwitchPoint assumptions = info.optimisticAssumptions;
+                if (normalFn.canBeDeoptimized()) {
+                    info.newOptimisticAssumptions();
+                } else {
+                    optimismInfo = null;
+                }
+                SwitchPoint.invalidateAll(new SwitchPoint[] { assumptions });
+                // Invocations of the new version fail at other program points, if at all.
+                pendingRestOfs = null;
+                log.info("Installed background recompilation of '", info.data.getName(), "'");
+                notifyAll();
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static void countBaselineInvocation(final CompiledFunction function) {
+        // Racy increments can lose a few invocations, which is fine for a heuristic.
+        if (++function.baselineInvocations == function.baselineThreshold && function.promotedVersion == null) {
+            function.baselineData.schedulePromotion(function);
+        }
+    }
+
+    private MethodHandle countInvocations(final MethodHandle handle) {
+        return counters == null ? handle : MH.foldArguments(handle, MH.insertArguments(COUNT_INVOCATION, 0, counters));
+    }
+
+    @SuppressWarnings("unused")
+    private static void countInvocation(final FunctionCounters counters) {
+        counters.countInvocation();
+    }
+
+    /**
+     * Restarts counting invocations of this baseline version, after a failed promotion, so that it is promoted again
+     * after as many invocations as the first time.
+     */
+    void resetBaselineInvocations() {
+        baselineInvocations = 0;
+    }
+
+    MethodType getCallSiteType() {
+        return callSiteType;
+    }
+
+    /**
+     * Records the optimistic version that replaced this baseline version of the function, and invalidates the call
+     * sites linked to this version so that they relink to it.
+     * @param promoted the optimistic version
+     */
+    synchronized void setPromotedVersion(final CompiledFunction promoted) {
+        assert baselineAssumptions != null && promotedVersion == null;
+        if (log.isEnabled()) {
+            log.info("Promoted baseline version of '", baselineData.getName(), "' signature: ", callSiteType, " after ", baselineInvocations, " invocations");
+        }
+        promotedVersion = promoted;
+        SwitchPoint.invalidateAll(new SwitchPoint[] { baselineAssumptions });
+    }
+
     private MethodHandle restOfHandle(final OptimismInfo info, final FunctionNode restOfFunction, final boolean canBeDeoptimized) {
         assert info != null;
         assert restOfFunction.getCompileUnit().getUnitClassName().contains("restOf");
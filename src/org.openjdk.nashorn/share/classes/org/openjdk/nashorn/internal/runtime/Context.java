@@ -25,7 +25,6 @@
 
 package org.openjdk.nashorn.internal.runtime;
 
-import static org.objectweb.asm.Opcodes.V1_7;
 import static org.openjdk.nashorn.internal.codegen.CompilerConstants.CONSTANTS;
 import static org.openjdk.nashorn.internal.codegen.CompilerConstants.CREATE_PROGRAM_FUNCTION;
 import static org.openjdk.nashorn.internal.codegen.CompilerConstants.SOURCE;
@@ -45,25 +44,32 @@ import java.lang.invoke.MethodType;
 import java.lang.invoke.SwitchPoint;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.lang.module.Configuration;
 import java.lang.module.ModuleDescriptor;
 import java.lang.module.ModuleFinder;
 import java.lang.module.ModuleReader;
 import java.lang.module.ModuleReference;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
@@ -75,8 +81,6 @@ import java.util.stream.Stream;
 import javax.script.ScriptEngine;
 import jdk.dynalink.DynamicLinker;
 import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.ClassWriter;
-import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.util.CheckClassAdapter;
 import org.openjdk.nashorn.api.scripting.ClassFilter;
 import org.openjdk.nashorn.api.scripting.ScriptObjectMirror;
@@ -92,6 +96,7 @@ import org.openjdk.nashorn.internal.objects.Global;
 import org.openjdk.nashorn.internal.parser.Parser;
 import org.openjdk.nashorn.internal.runtime.events.RuntimeEvent;
 import org.openjdk.nashorn.internal.runtime.linker.Bootstrap;
+import org.openjdk.nashorn.internal.runtime.linker.DynamicMethodCache;
 import org.openjdk.nashorn.internal.runtime.logging.DebugLogger;
 import org.openjdk.nashorn.internal.runtime.logging.Loggable;
 import org.openjdk.nashorn.internal.runtime.logging.Logger;
@@ -113,6 +118,8 @@ public final class Context {
 
     private static final LongAdder NAMED_INSTALLED_SCRIPT_COUNT = new LongAdder();
     private static final LongAdder ANONYMOUS_INSTALLED_SCRIPT_COUNT = new LongAdder();
+    private static final LongAdder HIDDEN_INSTALLED_SCRIPT_COUNT = new LongAdder();
+    private static final LongAdder INSTALLED_SCRIPT_BYTES = new LongAdder();
 
     /**
      * Should scripts use only object slots for fields, or dual long/object slots? The default
@@ -154,15 +161,40 @@ public final class Context {
         return ANONYMOUS_INSTALLED_SCRIPT_COUNT.sum();
     }
 
+    static long getHiddenInstalledScriptCount() {
+        return HIDDEN_INSTALLED_SCRIPT_COUNT.sum();
+    }
+
+    static long getInstalledScriptBytes() {
+        return INSTALLED_SCRIPT_BYTES.sum();
+    }
+
+    /**
+     * Number and total size of the classes installed for a script by the code installer created when the script was
+     * compiled and by the installers derived from it for on-demand compilations.
+     */
+    private static final class InstalledCode {
+        final LongAdder classes = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+
+        void add(final byte[] bytecode) {
+            classes.increment();
+            bytes.add(bytecode.length);
+            INSTALLED_SCRIPT_BYTES.add(bytecode.length);
+        }
+    }
+
     /**
      * ContextCodeInstaller that has the privilege of installing classes in the Context.
      * Can only be instantiated from inside the context and is opaque to other classes
      */
     private abstract static class ContextCodeInstaller implements CodeInstaller {
         final Context context;
+        final InstalledCode installedCode;
 
-        ContextCodeInstaller(final Context context) {
+        ContextCodeInstaller(final Context context, final InstalledCode installedCode) {
             this.context = context;
+            this.installedCode = installedCode;
         }
 
         @Override
@@ -223,20 +255,32 @@ public final class Context {
             }
             return false;
         }
+
+        @Override
+        public long getInstalledClassCount() {
+            return installedCode.classes.sum();
+        }
+
+        @Override
+        public long getInstalledClassBytes() {
+            return installedCode.bytes.sum();
+        }
     }
 
     private static class NamedContextCodeInstaller extends ContextCodeInstaller {
         private final ScriptLoader loader;
         private int usageCount = 0;
         private int bytesDefined = 0;
+        // Installer for on-demand compilations as hidden classes hosted by our loader, created on first use
+        private HiddenContextCodeInstaller hiddenInstaller;
 
         // We reuse this installer for 10 compilations or 200000 defined bytes. Usually the first condition
         // will occur much earlier, the second is a safety measure for very large scripts/functions.
         private final static int MAX_USAGES = 10;
         private final static int MAX_BYTES_DEFINED = 200_000;
 
-        private NamedContextCodeInstaller(final Context context, final ScriptLoader loader) {
-            super(context);
+        private NamedContextCodeInstaller(final Context context, final ScriptLoader loader, final InstalledCode installedCode) {
+            super(context, installedCode);
             this.loader = loader;
         }
 
@@ -245,16 +289,25 @@ public final class Context {
             usageCount++;
             bytesDefined += bytecode.length;
             NAMED_INSTALLED_SCRIPT_COUNT.increment();
+            installedCode.add(bytecode);
             return loader.installClass(Compiler.binaryName(className), bytecode);
         }
 
         @Override
         public CodeInstaller getOnDemandCompilationInstaller() {
+            // Hidden classes can be unloaded one by one, so on-demand compilations don't need new class loaders
+            // to become unloadable.
+            if (context.useHiddenClasses()) {
+                if (hiddenInstaller == null) {
+                    hiddenInstaller = new HiddenContextCodeInstaller(context, loader, installedCode);
+                }
+                return hiddenInstaller;
+            }
             // Reuse this installer if we're within our limits.
             if (usageCount < MAX_USAGES && bytesDefined < MAX_BYTES_DEFINED) {
                 return this;
             }
-            return new NamedContextCodeInstaller(context, context.createNewLoader());
+            return new NamedContextCodeInstaller(context, context.createNewLoader(), installedCode);
         }
 
         @Override
@@ -265,12 +318,10 @@ public final class Context {
         }
     }
 
-    private final WeakValueCache<URL, Class<?>> anonymousHostClasses = new WeakValueCache<>();
+    private final WeakValueCache<URL, ScriptLoader> anonymousHostLoaders = new WeakValueCache<>();
 
     private static final class AnonymousContextCodeInstaller extends ContextCodeInstaller {
         private static final MethodHandle DEFINE_ANONYMOUS_CLASS = getDefineAnonymousClass();
-        private static final String ANONYMOUS_HOST_CLASS_NAME = Compiler.SCRIPTS_PACKAGE.replace('/', '.') + ".AnonymousHost";
-        private static final byte[] ANONYMOUS_HOST_CLASS_BYTES = getAnonymousHostClassBytes();
         static volatile Exception initFailure;
 
         private final Class<?> hostClass;
@@ -288,14 +339,15 @@ public final class Context {
             }
         }
 
-        private AnonymousContextCodeInstaller(final Context context, final Class<?> hostClass) {
-            super(context);
+        private AnonymousContextCodeInstaller(final Context context, final Class<?> hostClass, final InstalledCode installedCode) {
+            super(context, installedCode);
             this.hostClass = hostClass;
         }
 
         @Override
         public Class<?> install(final String className, final byte[] bytecode) {
             ANONYMOUS_INSTALLED_SCRIPT_COUNT.increment();
+            installedCode.add(bytecode);
             try {
                 return (Class<?>)DEFINE_ANONYMOUS_CLASS.invokeExact(hostClass, bytecode, (Object[])null);
             } catch (RuntimeException | Error e) {
@@ -316,15 +368,91 @@ public final class Context {
             // This code loader can not be used to install multiple classes that reference each other, as they
             // would have no resolvable names. Therefore, in such situation we must revert to an installer that
             // produces named classes.
-            return new NamedContextCodeInstaller(context, context.createNewLoader());
+            return new NamedContextCodeInstaller(context, context.createNewLoader(), installedCode);
+        }
+    }
+
+    /**
+     * Code installer that defines classes as hidden classes (Java 15 and later) in the nest of the host class of a
+     * script loader. Hidden classes are not pinned by their class loader, so they can be unloaded as soon as the
+     * functions compiled into them are unreachable, and installing them neither needs a new class loader nor grows
+     * the class table of the script loader. As frames of hidden classes are not included in stack traces, it is only
+     * used with {@code --anonymous-classes=true}, and {@code NashornException} then walks the stack to find the
+     * script frames of errors.
+     */
+    private static final class HiddenContextCodeInstaller extends ContextCodeInstaller {
+        private static final MethodHandle DEFINE_HIDDEN_CLASS = getDefineHiddenClass();
+        static volatile Exception initFailure;
+
+        private final MethodHandles.Lookup hostLookup;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static MethodHandle getDefineHiddenClass() {
+            try {
+                // Lookup.defineHiddenClass(byte[], boolean, ClassOption...) is looked up reflectively, as we still
+                // support running on Java versions that don't have it.
+                final Class<Enum> classOption = (Class<Enum>)Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+                final Object options = Array.newInstance(classOption, 1);
+                Array.set(options, 0, Enum.valueOf(classOption, "NESTMATE"));
+                final MethodHandle mh = MethodHandles.publicLookup().findVirtual(MethodHandles.Lookup.class, "defineHiddenClass",
+                    MethodType.methodType(MethodHandles.Lookup.class, byte[].class, boolean.class, options.getClass()));
+                return MethodHandles.insertArguments(mh, 2, false, options);
+            } catch (Exception e) {
+                initFailure = e;
+                return null;
+            }
+        }
+
+        private HiddenContextCodeInstaller(final Context context, final ScriptLoader loader, final InstalledCode installedCode) {
+            super(context, installedCode);
+            this.hostLookup = loader.getHostLookup();
+            context.hiddenScriptClasses = true;
         }
 
-        private static byte[] getAnonymousHostClassBytes() {
-            final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
-            cw.visit(V1_7, Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT, ANONYMOUS_HOST_CLASS_NAME.replace('.', '/'), null, "java/lang/Object", null);
-            cw.visitEnd();
-            return cw.toByteArray();
+        @Override
+        public Class<?> install(final String className, final byte[] bytecode) {
+            HIDDEN_INSTALLED_SCRIPT_COUNT.increment();
+            installedCode.add(bytecode);
+            try {
+                return ((MethodHandles.Lookup)DEFINE_HIDDEN_CLASS.invokeExact(hostLookup, bytecode)).lookupClass();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
         }
+
+        @Override
+        public CodeInstaller getOnDemandCompilationInstaller() {
+            // This code loader can be indefinitely reused for on-demand recompilations for the same code source.
+            return this;
+        }
+
+        @Override
+        public CodeInstaller getMultiClassCodeInstaller() {
+            // Hidden classes can not reference each other by name either, so multiple classes are installed as
+            // named classes into a new class loader.
+            return new NamedContextCodeInstaller(context, context.createNewLoader(), installedCode);
+        }
+    }
+
+    // Set once script code of this context has been installed as hidden classes, whose frames must be walked explicitly.
+    private volatile boolean hiddenScriptClasses;
+
+    /**
+     * Returns true if the context of the current global has installed script code as hidden classes. Frames of hidden
+     * classes are not included in the stack traces of exceptions, so exceptions that need script frames must walk
+     * the stack with {@link StackWalker.Option#SHOW_HIDDEN_FRAMES}.
+     * @return true if there may be script frames of hidden classes on the stack
+     */
+    public static boolean hasHiddenScriptClasses() {
+        final Context context = getContextTrustedOrNull();
+        return context != null && context.hiddenScriptClasses;
+    }
+
+    // Hidden classes are only used where VM anonymous classes are not available, and only if explicitly requested.
+    private boolean useHiddenClasses() {
+        return AnonymousContextCodeInstaller.initFailure != null && env.useHiddenClasses(() -> HiddenContextCodeInstaller.initFailure);
     }
 
     /** Is Context global debug mode enabled ? */
@@ -332,6 +460,29 @@ public final class Context {
 
     private static final ThreadLocal<Global> currentGlobal = new ThreadLocal<>();
 
+    // Threads that have set a global while a script profiler was running, sampled by the profilers. Threads are held in
+    // weak references rather than a WeakHashMap, as the hashCode of a thread extending a script adapter class may call
+    // back into scripts. Guarded by itself, and cleared when the last profiler stops.
+    private static final List<ScriptThread> scriptThreads = new ArrayList<>();
+    // Size of the thread list at which dead threads are pruned from it.
+    private static int scriptThreadsPruneSize = 16;
+    // Number of running script profilers; threads are only registered while it is positive.
+    private static volatile int runningProfilers;
+    // Incremented when the thread list is cleared, so that threads register again.
+    private static volatile int scriptThreadsGeneration;
+    private static final ThreadLocal<ScriptThread> currentScriptThread = new ThreadLocal<>();
+
+    // A registered thread and the context of the global it has set last.
+    private static final class ScriptThread {
+        final WeakReference<Thread> thread = new WeakReference<>(Thread.currentThread());
+        final int generation;
+        volatile Context context;
+
+        ScriptThread(final int generation) {
+            this.generation = generation;
+        }
+    }
+
     // in-memory cache for loaded classes
     private ClassCache classCache;
 
@@ -342,6 +493,24 @@ public final class Context {
     // is created, and invalidated forever once the second global is created.
     private final AtomicReference<GlobalConstants> globalConstantsRef = new AtomicReference<>();
 
+    // Property lookups performed by megamorphic getters, shared by all Globals of this Context.
+    private final PropertyLookupCache propertyLookupCache = new PropertyLookupCache();
+
+    // Classes found by findClass, shared by all Globals of this Context. The class filter and the
+    // app loader never change for a Context, and a class loader always returns the same class for
+    // a name once it found one, so these entries never go stale.
+    private final ConcurrentMap<String, Class<?>> javaClasses = new ConcurrentHashMap<>();
+
+    // Names that recently did not resolve to a class, such as package names. Unlike found classes
+    // these are bounded in number and expire, as the app loader may find a class later, for
+    // example when it defines classes on demand.
+    private final ClassLookupMisses javaClassMisses = new ClassLookupMisses(
+            Options.getIntProperty("nashorn.classlookup.misses.size", 1024),
+            Options.getIntProperty("nashorn.classlookup.misses.expiry", 30_000));
+
+    // Linked invocations of Java methods, shared by all call sites of this Context.
+    private final DynamicMethodCache dynamicMethodCache = new DynamicMethodCache();
+
     // Are java.sql, java.sql.rowset modules found in the system?
     static final boolean javaSqlFound, javaSqlRowsetFound;
 
@@ -372,6 +541,15 @@ public final class Context {
         setGlobal((Global)global);
     }
 
+    /**
+     * Set the current global scope of a compiler thread. Unlike {@link #setGlobal(Global)}, this doesn't invalidate
+     * the global constants, as the thread only compiles code and doesn't run it.
+     * @param global the global scope
+     */
+    static void setCompilerThreadGlobal(final Global global) {
+        currentGlobal.set(global);
+    }
+
     /**
      * Set the current global scope
      * @param global the global scope
@@ -387,9 +565,83 @@ public final class Context {
                 globalConstants.invalidateAll();
             }
         }
+        if (runningProfilers > 0) {
+            registerScriptThread(global == null ? null : getContext(global));
+        }
         currentGlobal.set(global);
     }
 
+    private static void registerScriptThread(final Context context) {
+        ScriptThread thread = currentScriptThread.get();
+        if (thread == null || thread.generation != scriptThreadsGeneration) {
+            if (context == null) {
+                // Leaving scripts without having been registered
+                return;
+            }
+            synchronized (scriptThreads) {
+                if (scriptThreads.size() == scriptThreadsPruneSize) {
+                    removeDeadScriptThreads();
+                    scriptThreadsPruneSize = Math.max(16, scriptThreads.size() * 2);
+                }
+                thread = new ScriptThread(scriptThreadsGeneration);
+                scriptThreads.add(thread);
+            }
+            currentScriptThread.set(thread);
+        }
+        thread.context = context;
+    }
+
+    /**
+     * Starts registering the threads that set a global, for a script profiler that samples them. Threads that already
+     * run scripts when the profiler starts are registered when they next set a global.
+     */
+    public static void startSamplingScriptThreads() {
+        synchronized (scriptThreads) {
+            runningProfilers++;
+        }
+    }
+
+    /**
+     * Stops registering the threads that set a global for a script profiler. When no profiler is running anymore,
+     * the registered threads are forgotten.
+     */
+    public static void stopSamplingScriptThreads() {
+        synchronized (scriptThreads) {
+            assert runningProfilers > 0;
+            if (--runningProfilers == 0) {
+                scriptThreads.clear();
+                scriptThreadsPruneSize = 16;
+                scriptThreadsGeneration++;
+            }
+        }
+    }
+
+    /**
+     * Returns the live threads whose current global belongs to this context, of those that set a global while a
+     * script profiler was running.
+     * @return the threads that run scripts of this context
+     */
+    public List<Thread> getScriptThreads() {
+        final List<Thread> threads = new ArrayList<>();
+        synchronized (scriptThreads) {
+            removeDeadScriptThreads();
+            for (final ScriptThread scriptThread : scriptThreads) {
+                final Thread thread = scriptThread.thread.get();
+                if (thread != null && scriptThread.context == this) {
+                    threads.add(thread);
+                }
+            }
+        }
+        return threads;
+    }
+
+    private static void removeDeadScriptThreads() {
+        scriptThreads.removeIf(scriptThread -> {
+            final Thread thread = scriptThread.thread.get();
+            return thread == null || !thread.isAlive();
+        });
+    }
+
     /**
      * Get context of the current global
      * @return current global scope's context.
@@ -463,6 +715,9 @@ public final class Context {
     /** Optional class filter to use for Java classes. Can be null. */
     private final ClassFilter classFilter;
 
+    /** Incremented to cancel the compilation warmup of scripts compiled so far. */
+    private final AtomicInteger compilationWarmupGeneration = new AtomicInteger();
+
     /** Process-wide singleton structure loader */
     private static final StructureLoader theStructLoader;
     private static final ConcurrentMap<String, Class<?>> structureClasses = new ConcurrentHashMap<>();
@@ -575,6 +830,10 @@ public final class Context {
             classCache = new ClassCache(this, cacheSize);
         }
 
+        if (env._preload_classes != null && !env._preload_classes.isEmpty()) {
+            preloadClasses(Arrays.asList(env._preload_classes.split(",")));
+        }
+
         if (env._persistent_cache) {
             codeStore = newCodeStore(this);
         }
@@ -617,6 +876,14 @@ public final class Context {
         return globalConstantsRef.get();
     }
 
+    /**
+     * Returns the cache of property lookups used by megamorphic property getters.
+     * @return the property lookup cache of this Context.
+     */
+    PropertyLookupCache getPropertyLookupCache() {
+        return propertyLookupCache;
+    }
+
     /**
      * Get the error manager for this context
      * @return error manger
@@ -657,6 +924,19 @@ public final class Context {
         return fieldMode == FieldMode.DUAL || (fieldMode == FieldMode.AUTO && env._optimistic_types);
     }
 
+    /**
+     * Cancel the compilation warmup of all scripts compiled by this context so far. Functions already being compiled
+     * by a warmup thread are still compiled; the rest are compiled when they are first invoked. Only has an effect
+     * with the {@code --compilation-warmup} option.
+     */
+    public void cancelCompilationWarmup() {
+        compilationWarmupGeneration.incrementAndGet();
+    }
+
+    int getCompilationWarmupGeneration() {
+        return compilationWarmupGeneration.get();
+    }
+
     /**
      * Get the PropertyMap of the current global scope
      * @return the property map of the current global scope
@@ -1005,6 +1285,65 @@ public final class Context {
      * @throws ClassNotFoundException if class cannot be resolved
      */
     public Class<?> findClass(final String fullName) throws ClassNotFoundException {
+        final Class<?> clazz = lookupClass(fullName);
+        if (clazz == null) {
+            throw new ClassNotFoundException(fullName);
+        }
+        return clazz;
+    }
+
+    /**
+     * Lookup a Java class like {@link #findClass(String)}, but return null instead of throwing
+     * {@code ClassNotFoundException} if the class cannot be resolved. Found classes are cached
+     * for the lifetime of this Context. Names that cannot be resolved are remembered for a while
+     * (30 seconds by default, specified with -Dnashorn.classlookup.misses.expiry=ms), up to a
+     * bounded number of names (1024 by default, specified with -Dnashorn.classlookup.misses.size=x),
+     * so repeated lookups of package names are cheap.
+     *
+     * @param fullName full name of class to load
+     *
+     * @return the {@code Class<?>} for the name, or null if there is no such class
+     */
+    public Class<?> lookupClass(final String fullName) {
+        final Class<?> cached = javaClasses.get(fullName);
+        if (cached != null) {
+            return cached;
+        }
+        if (javaClassMisses.contains(fullName)) {
+            return null;
+        }
+
+        try {
+            final Class<?> clazz = loadClass(fullName);
+            javaClasses.putIfAbsent(fullName, clazz);
+            return clazz;
+        } catch (final ClassNotFoundException e) {
+            javaClassMisses.add(fullName);
+            return null;
+        }
+    }
+
+    /**
+     * Resolve Java classes ahead of their first use from scripts, so that later lookups
+     * from any Global of this Context are served from the class cache. Names that do not
+     * resolve to a class are remembered like other misses of {@link #lookupClass(String)}.
+     *
+     * @param classNames full names of the classes to load
+     */
+    public void preloadClasses(final Collection<String> classNames) {
+        for (final String className : classNames) {
+            final String name = className.trim();
+            if (!name.isEmpty()) {
+                try {
+                    lookupClass(name);
+                } catch (final LinkageError e) {
+                    // not cached, reported again if the class is used from a script
+                }
+            }
+        }
+    }
+
+    private Class<?> loadClass(final String fullName) throws ClassNotFoundException {
         if (fullName.indexOf('[') != -1 || fullName.indexOf('/') != -1) {
             // don't allow array class names or internal names.
             throw new ClassNotFoundException(fullName);
@@ -1143,6 +1482,24 @@ public final class Context {
         return fromClass(clazz).dynamicLinker;
     }
 
+    /**
+     * Gets the cache of linked Java method invocations for the specified class. If the class is
+     * a script class, the cache of its context is returned. Otherwise the cache of the current
+     * context is returned, or null if there is no current context.
+     * @param clazz the lookup class of the call site being linked.
+     * @return the dynamic method cache, or null.
+     */
+    public static DynamicMethodCache getDynamicMethodCache(final Class<?> clazz) {
+        ClassLoader loader = null;
+        try {
+            loader = clazz.getClassLoader();
+        } catch (final SecurityException ignored) {
+            // fall back to the current context, as in fromClass
+        }
+        final Context context = loader instanceof ScriptLoader ? ((ScriptLoader)loader).getContext() : getContextTrustedOrNull();
+        return context == null ? null : context.dynamicMethodCache;
+    }
+
     /**
      * Gets the Nashorn dynamic linker associated with the current context.
      * @return the Nashorn dynamic linker for the current context.
@@ -1332,20 +1689,18 @@ public final class Context {
         }
 
         final CodeInstaller installer;
-        if (env._persistent_cache || !env._lazy_compilation || !env.useAnonymousClasses(source.getLength(), () -> AnonymousContextCodeInstaller.initFailure) ) {
+        if (!env._persistent_cache && env._lazy_compilation && useHiddenClasses()) {
+            // Scripts with the same URL share a host class loader
+            installer = new HiddenContextCodeInstaller(this,
+                    anonymousHostLoaders.getOrCreate(source.getURL(), key -> createNewLoader()), new InstalledCode());
+        } else if (env._persistent_cache || !env._lazy_compilation || !env.useAnonymousClasses(source.getLength(), () -> AnonymousContextCodeInstaller.initFailure) ) {
             // Persistent code cache, eager compilation, or inability to use Unsafe.defineAnonymousClass (typically, JDK 17+)
             // preclude use of VM anonymous classes
             final ScriptLoader loader = env._loader_per_compile ? createNewLoader() : scriptLoader;
-            installer = new NamedContextCodeInstaller(this, loader);
+            installer = new NamedContextCodeInstaller(this, loader, new InstalledCode());
         } else {
             installer = new AnonymousContextCodeInstaller(this,
-                    anonymousHostClasses.getOrCreate(source.getURL(), key ->
-                            createNewLoader().installClass(
-                                    // NOTE: we're defining these constants in AnonymousContextCodeInstaller so they are not
-                                    // initialized if we don't use AnonymousContextCodeInstaller. As this method is only ever
-                                    // invoked from AnonymousContextCodeInstaller, this is okay.
-                                    AnonymousContextCodeInstaller.ANONYMOUS_HOST_CLASS_NAME,
-                                    AnonymousContextCodeInstaller.ANONYMOUS_HOST_CLASS_BYTES)));
+                    anonymousHostLoaders.getOrCreate(source.getURL(), key -> createNewLoader()).getHostClass(), new InstalledCode());
         }
 
         if (storedScript == null) {
@@ -1363,6 +1718,12 @@ public final class Context {
             }
             script = compiledFunction.getRootClass();
             compiler.persistClassInfo(cacheKey, compiledFunction);
+            if (env._compilation_warmup && env._lazy_compilation) {
+                final Global global = getGlobal();
+                if (global != null) {
+                    CompilationWarmup.schedule(this, global, compiler.getScriptFunctionData());
+                }
+            }
         } else {
             Compiler.updateCompilationId(storedScript.getCompilationId());
             script = storedScript.installScript(source, installer);
@@ -1380,6 +1741,46 @@ public final class Context {
         return uniqueScriptId.getAndIncrement();
     }
 
+    /**
+     * Names that did not resolve to a Java class, in least recently used order. Lookups of
+     * such names are rare compared to the ones served from the cache, so a synchronized map
+     * is good enough.
+     */
+    @SuppressWarnings("serial")
+    private static final class ClassLookupMisses extends LinkedHashMap<String, Long> {
+        private final int size;
+        private final long expiryNanos;
+
+        ClassLookupMisses(final int size, final long expiryMillis) {
+            super(16, 0.75f, true);
+            this.size = size;
+            this.expiryNanos = TimeUnit.MILLISECONDS.toNanos(expiryMillis);
+        }
+
+        synchronized boolean contains(final String name) {
+            final Long time = get(name);
+            if (time == null) {
+                return false;
+            }
+            if (System.nanoTime() - time >= expiryNanos) {
+                remove(name);
+                return false;
+            }
+            return true;
+        }
+
+        synchronized void add(final String name) {
+            if (size > 0) {
+                put(name, System.nanoTime());
+            }
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+            return size() > size;
+        }
+    }
+
     /**
      * Cache for compiled script classes.
      */
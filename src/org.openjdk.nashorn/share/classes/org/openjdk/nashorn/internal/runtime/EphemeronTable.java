@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime;
+
+import java.lang.ref.Reference;
+
+/**
+ * Side table of a {@link ScriptObject} holding the values that ECMAScript WeakMap and WeakSet
+ * objects associate with it as a key. Storing the entries on the key rather than in the
+ * collection gives them ephemeron semantics: a value is only reachable through its key, so a
+ * value referring back to its key does not keep the key alive.
+ * <p>
+ * Collections are identified by a weak reference handle owned by the collection, so a table
+ * does not keep collections alive either. Entries of collections that have been collected are
+ * removed through the handles of the collections after the handles are cleared, and any left
+ * are expunged when the table needs to grow. The table is a small open addressing hash table
+ * on handle identity, so lookups stay fast even if a key has been used with many short-lived
+ * collections whose handles have not been cleared yet.
+ */
+public final class EphemeronTable {
+    // Alternating collection handles and values, with linear probing on handle identity.
+    private Object[] entries = new Object[4];
+    // Number of entries.
+    private int count;
+
+    EphemeronTable() {
+    }
+
+    /**
+     * Get the value associated with this key by a collection.
+     * @param handle the collection handle
+     * @return the value, or {@code undefined} if the collection has no entry for this key
+     */
+    public synchronized Object get(final Reference<?> handle) {
+        final int i = indexOf(handle);
+        return i < 0 ? Undefined.getUndefined() : entries[i + 1];
+    }
+
+    /**
+     * Check whether a collection has an entry for this key.
+     * @param handle the collection handle
+     * @return true if an entry exists
+     */
+    public synchronized boolean has(final Reference<?> handle) {
+        return indexOf(handle) >= 0;
+    }
+
+    /**
+     * Associate a value with this key for a collection.
+     * @param handle the collection handle
+     * @param value the value
+     * @return true if a new entry was added, false if the value of an existing entry was replaced
+     */
+    public synchronized boolean put(final Reference<?> handle, final Object value) {
+        final int i = indexOf(handle);
+        if (i >= 0) {
+            entries[i + 1] = value;
+            return false;
+        }
+        // Keep the table at most half full
+        if ((count + 1) * 4 > entries.length) {
+            rehash();
+        }
+        insert(entries, handle, value);
+        count++;
+        return true;
+    }
+
+    /**
+     * Remove the entry of a collection for this key.
+     * @param handle the collection handle
+     * @return true if an entry was removed
+     */
+    public synchronized boolean remove(final Reference<?> handle) {
+        int i = indexOf(handle);
+        if (i < 0) {
+            return false;
+        }
+        // Shift back entries in the same probe sequence to close the gap
+        final int mask = entries.length - 1;
+        for (int j = i + 2 & mask; entries[j] != null; j = j + 2 & mask) {
+            final int k = slot(entries[j], mask);
+            if (i <= j ? i < k && k <= j : i < k || k <= j) {
+                continue;
+            }
+            entries[i] = entries[j];
+            entries[i + 1] = entries[j + 1];
+            i = j;
+        }
+        entries[i] = entries[i + 1] = null;
+        count--;
+        return true;
+    }
+
+    private int indexOf(final Reference<?> handle) {
+        final int mask = entries.length - 1;
+        for (int i = slot(handle, mask); ; i = i + 2 & mask) {
+            final Object h = entries[i];
+            if (h == handle) {
+                return i;
+            } else if (h == null) {
+                return -1;
+            }
+        }
+    }
+
+    private static int slot(final Object handle, final int mask) {
+        final int h = System.identityHashCode(handle);
+        return (h ^ h >>> 16) << 1 & mask;
+    }
+
+    private static void insert(final Object[] table, final Object handle, final Object value) {
+        final int mask = table.length - 1;
+        int i = slot(handle, mask);
+        while (table[i] != null) {
+            i = i + 2 & mask;
+        }
+        table[i] = handle;
+        table[i + 1] = value;
+    }
+
+    // Rebuild the table with room for one more entry, dropping the entries of collections
+    // that have been garbage collected.
+    private void rehash() {
+        int live = 0;
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i] != null && ((Reference<?>) entries[i]).get() != null) {
+                live++;
+            }
+        }
+        int length = 4;
+        while (length < (live + 1) * 4) {
+            length <<= 1;
+        }
+        final Object[] newEntries = new Object[length];
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i] != null && ((Reference<?>) entries[i]).get() != null) {
+                insert(newEntries, entries[i], entries[i + 1]);
+            }
+        }
+        entries = newEntries;
+        count = live;
+    }
+}
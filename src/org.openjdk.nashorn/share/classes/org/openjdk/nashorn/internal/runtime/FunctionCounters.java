@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+/**
+ * Runtime counters of a script function, collected when the {@code --function-counters} option is used: the number
+ * of invocations, the number of deoptimizations (rewrite exceptions that made an invocation continue in a rest-of
+ * method), the number of compiled versions (type specializations, baseline and promoted versions) and the size of
+ * the bytecode installed for the function. The bytecode of functions compiled together with their enclosing
+ * function, as it happens without lazy compilation, is counted for the enclosing function.
+ * <p>
+ * Counters of all functions in the JVM are available from {@link #getAll()}, from {@code Debug.dumpCounters()} and
+ * from the {@code org.openjdk.nashorn:type=FunctionCounters} platform MBean, which is registered when the first
+ * function with counters is compiled and the {@code java.management} module is present.
+ */
+public final class FunctionCounters {
+    /** Name of the MBean that exposes the function counters. */
+    public static final String OBJECT_NAME = "org.openjdk.nashorn:type=FunctionCounters";
+
+    // Counters are keyed by their function data so that they go away with the code of the function.
+    private static final Map<RecompilableScriptFunctionData, FunctionCounters> counters = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong ids = new AtomicLong();
+    private static volatile boolean registered;
+
+    // java.management is an optional dependency of the module; the MBean is only registered when it is present.
+    private static final boolean HAS_MANAGEMENT = ModuleLayer.boot().findModule("java.management").isPresent();
+
+    private final long id;
+    private final String name;
+    private final String source;
+    private final int lineNumber;
+
+    private final LongAdder  invocations     = new LongAdder();
+    private final AtomicLong deoptimizations = new AtomicLong();
+    private final AtomicLong specializations = new AtomicLong();
+    private final AtomicLong bytecodeSize    = new AtomicLong();
+
+    private FunctionCounters(final String name, final String source, final int lineNumber) {
+        this.id = ids.incrementAndGet();
+        this.name = name;
+        this.source = source;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Create and register the counters for a function.
+     * @param data the function data
+     * @param source the source of the function, or null
+     * @param lineNumber the line number of the function
+     * @return the counters of the function
+     */
+    static FunctionCounters create(final RecompilableScriptFunctionData data, final Source source, final int lineNumber) {
+        final FunctionCounters fc = new FunctionCounters(data.getName(), source != null ? source.getName() : "<unknown>", lineNumber);
+        counters.put(data, fc);
+        if (!registered) {
+            registerMBean();
+        }
+        return fc;
+    }
+
+    private static synchronized void registerMBean() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        if (HAS_MANAGEMENT) {
+            // The management classes are only referenced from Bean, so that this class loads without them.
+            Bean.register();
+        }
+    }
+
+    /**
+     * Get the counters of all live functions, in the order the functions were first compiled.
+     * @return the counters of all functions
+     */
+    public static List<FunctionCounters> getAll() {
+        final List<FunctionCounters> all;
+        synchronized (counters) {
+            all = new ArrayList<>(counters.values());
+        }
+        all.sort((c1, c2) -> Long.compare(c1.id, c2.id));
+        return all;
+    }
+
+    /**
+     * Reset the counters of all functions to zero.
+     */
+    public static void resetAll() {
+        for (final FunctionCounters fc : getAll()) {
+            fc.invocations.reset();
+            fc.deoptimizations.set(0);
+            fc.specializations.set(0);
+            fc.bytecodeSize.set(0);
+        }
+    }
+
+    void countInvocation() {
+        invocations.increment();
+    }
+
+    void countDeoptimization() {
+        deoptimizations.incrementAndGet();
+    }
+
+    void countSpecialization() {
+        specializations.incrementAndGet();
+    }
+
+    void addBytecodeSize(final long size) {
+        bytecodeSize.addAndGet(size);
+    }
+
+    /**
+     * Get the name of the function, empty for anonymous functions.
+     * @return the function name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the name of the source the function was compiled from.
+     * @return the source name
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Get the line number of the function in its source.
+     * @return the line number
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Get the number of invocations of the function.
+     * @return the invocation count
+     */
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    /**
+     * Get the number of deoptimizations of the function.
+     * @return the deoptimization count
+     */
+    public long getDeoptimizations() {
+        return deoptimizations.get();
+    }
+
+    /**
+     * Get the number of versions of the function that were compiled.
+     * @return the compiled version count
+     */
+    public long getSpecializations() {
+        return specializations.get();
+    }
+
+    /**
+     * Get the size of the bytecode installed for the function, including deoptimizing recompilations and rest-of
+     * methods.
+     * @return the bytecode size in bytes
+     */
+    public long getBytecodeSize() {
+        return bytecodeSize.get();
+    }
+
+    @Override
+    public String toString() {
+        return (name.isEmpty() ? "<anonymous>" : name) + " (" + source + ':' + lineNumber + ") invocations=" + getInvocations() +
+                " deoptimizations=" + getDeoptimizations() + " specializations=" + getSpecializations() +
+                " bytecode=" + getBytecodeSize();
+    }
+
+    /**
+     * MBean with a {@code Functions} table of the counters of all functions, a {@code FunctionCount} attribute and
+     * a {@code reset} operation. It is a dynamic MBean as standard MBean interfaces must be in exported packages.
+     */
+    private static final class Bean implements DynamicMBean {
+        private static final String   FUNCTIONS      = "Functions";
+        private static final String   FUNCTION_COUNT = "FunctionCount";
+        private static final String   RESET          = "reset";
+        private static final String[] ITEMS          = { "id", "name", "source", "line", "invocations", "deoptimizations", "specializations", "bytecodeSize" };
+
+        private final CompositeType rowType;
+        private final TabularType tableType;
+
+        static void register() {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+            } catch (final JMException | SecurityException e) {
+                // The counters are still available from Debug.
+            }
+        }
+
+        Bean() throws OpenDataException {
+            rowType = new CompositeType("FunctionCounters", "Runtime counters of a script function", ITEMS, ITEMS,
+                    new OpenType<?>[] { SimpleType.LONG, SimpleType.STRING, SimpleType.STRING, SimpleType.INTEGER,
+                            SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG });
+            tableType = new TabularType("FunctionCountersTable", "Runtime counters of script functions", rowType, new String[] { "id" });
+        }
+
+        @Override
+        public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+            switch (attribute) {
+            case FUNCTIONS:
+                return getFunctions();
+            case FUNCTION_COUNT:
+                return counters.size();
+            default:
+                throw new AttributeNotFoundException(attribute);
+            }
+        }
+
+        private TabularData getFunctions() {
+            final TabularDataSupport table = new TabularDataSupport(tableType);
+            try {
+                for (final FunctionCounters fc : getAll()) {
+                    table.put(new CompositeDataSupport(rowType, ITEMS, new Object[] {
+                            fc.id, fc.name, fc.source, fc.lineNumber, fc.getInvocations(), fc.getDeoptimizations(),
+                            fc.getSpecializations(), fc.getBytecodeSize() }));
+                }
+            } catch (final OpenDataException e) {
+                throw new AssertionError(e);
+            }
+            return table;
+        }
+
+        @Override
+        public void setAttribute(final Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException(attribute.getName());
+        }
+
+        @Override
+        public AttributeList getAttributes(final String[] attributes) {
+            final AttributeList list = new AttributeList();
+            for (final String attribute : attributes) {
+                try {
+                    list.add(new Attribute(attribute, getAttribute(attribute)));
+                } catch (final AttributeNotFoundException e) {
+                    // Omitted from the list, as required
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public AttributeList setAttributes(final AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(final String actionName, final Object[] params, final String[] signature) throws ReflectionException {
+            if (RESET.equals(actionName) && (params == null || params.length == 0)) {
+                resetAll();
+                return null;
+            }
+            throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            return new MBeanInfo(FunctionCounters.class.getName(), "Runtime counters of script functions",
+                    new MBeanAttributeInfo[] {
+                        new MBeanAttributeInfo(FUNCTIONS, TabularData.class.getName(), "Counters of all script functions", true, false, false),
+                        new MBeanAttributeInfo(FUNCTION_COUNT, Integer.class.getName(), "Number of script functions with counters", true, false, false)
+                    },
+                    null,
+                    new MBeanOperationInfo[] {
+                        new MBeanOperationInfo(RESET, "Reset the counters of all script functions", new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION)
+                    },
+                    null);
+        }
+    }
+}
@@ -44,6 +44,7 @@ import org.openjdk.nashorn.internal.parser.Lexer;
 import org.openjdk.nashorn.internal.runtime.arrays.ArrayLikeIterator;
 import org.openjdk.nashorn.internal.runtime.doubleconv.DoubleConversion;
 import org.openjdk.nashorn.internal.runtime.linker.Bootstrap;
+import org.openjdk.nashorn.internal.runtime.options.Options;
 
 /**
  * Representation for ECMAScript types - this maps directly to the ECMA script standard
@@ -195,6 +196,17 @@ public enum JSType {
      */
     private static final List<Type> ACCESSOR_TYPES = List.of(Type.INT, Type.NUMBER, Type.OBJECT);
 
+    /**
+     * Strings of small non-negative integers, created on first use. The number of cached strings is
+     * specified with -Dnashorn.int.string.cache.size=x, 0 disables the cache.
+     */
+    private static final String[] INT_STRINGS = new String[Math.max(0, Options.getIntProperty("nashorn.int.string.cache.size", 1024))];
+
+    /** Powers of ten that are exactly representable as doubles */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
     /** table index for undefined type - hard coded so it can be used in switches at compile time */
     public static final int TYPE_UNDEFINED_INDEX = -1;
     /** table index for integer type - hard coded so it can be used in switches at compile time */
@@ -653,6 +665,14 @@ public enum JSType {
      * @return a string
      */
     public static String toString(final int num) {
+        if (num >= 0 && num < INT_STRINGS.length) {
+            String str = INT_STRINGS[num];
+            if (str == null) {
+                // racy initialization is fine, strings are immutable
+                INT_STRINGS[num] = str = Integer.toString(num);
+            }
+            return str;
+        }
         return Integer.toString(num);
     }
 
@@ -666,7 +686,7 @@ public enum JSType {
      */
     public static String toString(final double num) {
         if (isRepresentableAsInt(num)) {
-            return Integer.toString((int)num);
+            return toString((int)num);
         }
 
         if (num == Double.POSITIVE_INFINITY) {
@@ -684,6 +704,29 @@ public enum JSType {
         return DoubleConversion.toShortestString(num);
     }
 
+    /**
+     * JavaScript compliant conversion of number to String, appended to a string builder
+     * without creating an intermediate string.
+     * See ECMA 9.8.1
+     *
+     * @param sb   the string builder to append to
+     * @param num  a number
+     *
+     * @return the string builder
+     */
+    public static StringBuilder appendNumber(final StringBuilder sb, final double num) {
+        if (isRepresentableAsInt(num)) {
+            return sb.append((int)num);
+        }
+
+        if (Double.isFinite(num)) {
+            DoubleConversion.toShortestString(num, sb);
+            return sb;
+        }
+
+        return sb.append(toString(num));
+    }
+
     /**
      * JavaScript compliant conversion of number to String
      *
@@ -961,17 +1004,37 @@ public enum JSType {
         } else if (f == 'I' && end - start == 8 && str.regionMatches(start, "Infinity", 0, 8)) {
             return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
         } else {
-            // Fast (no NumberFormatException) path to NaN for non-numeric strings.
+            // Fast (no NumberFormatException) path to NaN for non-numeric strings. Decimals with up to
+            // 15 digits are converted while checking them, as their digits and the power of ten to divide
+            // them by are exact doubles, and the division is correctly rounded.
+            boolean isDecimal = true;
+            long digits = 0;
+            int digitCount = 0;
+            int fractionDigits = -1;
             for (int i = start; i < end; i++) {
                 f = str.charAt(i);
-                if ((f < '0' || f > '9') && f != '.' && f != 'e' && f != 'E' && f != '+' && f != '-') {
+                if (f >= '0' && f <= '9') {
+                    digits = digits * 10 + f - '0';
+                    digitCount++;
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    }
+                } else if (f == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else if (f == '.' || f == 'e' || f == 'E' || f == '+' || f == '-') {
+                    isDecimal = false;
+                } else {
                     return Double.NaN;
                 }
             }
-            try {
-                value = Double.parseDouble(str.substring(start, end));
-            } catch (final NumberFormatException e) {
-                return Double.NaN;
+            if (isDecimal && digitCount > 0 && digitCount <= 15) {
+                value = fractionDigits > 0 ? digits / EXACT_POWERS_OF_TEN[fractionDigits] : digits;
+            } else {
+                try {
+                    value = Double.parseDouble(str.substring(start, end));
+                } catch (final NumberFormatException e) {
+                    return Double.NaN;
+                }
             }
         }
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+
+package org.openjdk.nashorn.internal.runtime;
+
+/**
+ * Shape indexed stub cache for megamorphic property getters. Once a call site has
+ * been relinked as unstable, every access performs a full property lookup. This cache
+ * remembers, per call site, which own property a given {@link PropertyMap} resolves the
+ * call site's key to, so that receivers with a previously seen map can read the property
+ * without a map lookup or prototype chain walk.
+ * <p>
+ * The cache is direct mapped on property map identity. Since property maps are
+ * immutable, a property found in a map stays valid for that map, and no invalidation
+ * is needed. Entries are immutable, so the cache can be shared by threads without
+ * synchronization; a racy update can at worst lose an entry.
+ */
+final class MegamorphicGetCache {
+    /** Number of cache entries, must be a power of two. */
+    private static final int SIZE = 64;
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    private static final class Entry {
+        final PropertyMap map;
+        final Property property;
+
+        Entry(final PropertyMap map, final Property property) {
+            this.map = map;
+            this.property = property;
+        }
+    }
+
+    /**
+     * Get the cached own property for objects with the given map.
+     * @param map the property map of the receiver
+     * @return the cached property, or null
+     */
+    Property get(final PropertyMap map) {
+        final Entry entry = entries[index(map)];
+        return entry != null && entry.map == map ? entry.property : null;
+    }
+
+    /**
+     * Cache an own property for objects with the given map, if it can be read
+     * directly from the receiver.
+     * @param map the property map of the receiver
+     * @param property the property found in the map
+     */
+    void put(final PropertyMap map, final Property property) {
+        if (!property.isAccessorProperty() && !property.needsDeclaration()) {
+            entries[index(map)] = new Entry(map, property);
+        }
+    }
+
+    private static int index(final PropertyMap map) {
+        return System.identityHashCode(map) & SIZE - 1;
+    }
+}
@@ -231,8 +231,8 @@ public final class NativeJavaPackage extends ScriptObject {
 
         Class<?> javaClass = null;
         try {
-            javaClass = context.findClass(fullName);
-        } catch (final NoClassDefFoundError | ClassNotFoundException e) {
+            javaClass = context.lookupClass(fullName);
+        } catch (final NoClassDefFoundError e) {
             //ignored
         }
 
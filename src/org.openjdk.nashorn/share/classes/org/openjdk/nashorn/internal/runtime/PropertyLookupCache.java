@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+
+package org.openjdk.nashorn.internal.runtime;
+
+import java.lang.invoke.SwitchPoint;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+
+/**
+ * Context-wide cache of property lookups for megamorphic property getters. It maps a
+ * receiver's {@link PropertyMap} and a property key to the {@link Property} found and the
+ * depth of the owning object in the receiver's prototype chain, so that megamorphic call
+ * sites do not have to walk the prototype chain and probe the property maps on every access.
+ * <p>
+ * Cached lookups of own properties stay valid for as long as the receiver map is used, as
+ * property maps are immutable. Objects with the same map can have different prototypes, for
+ * example object literals created in different globals, so cached lookups of inherited properties
+ * also remember the maps of the prototypes up to the owner and are only used for receivers whose
+ * prototype chain still has these maps. They are also invalidated through the same
+ * {@link PropertySwitchPoints} and {@link SharedPropertyMap} switch points that guard linked
+ * inherited property getters, so adding, removing or changing the property anywhere in the
+ * prototype chain, or changing a prototype, invalidates the entry.
+ * <p>
+ * The cache is direct mapped. Entries are immutable, so the cache can be shared by threads
+ * without synchronization; a racy update can at worst lose an entry.
+ */
+final class PropertyLookupCache {
+    /** Number of cache entries. Specified with -Dnashorn.megamorphic.cache.size=x, rounded to a power of two. */
+    private static final int SIZE = Integer.highestOneBit(Math.max(1, Options.getIntProperty("nashorn.megamorphic.cache.size", 4096)));
+
+    private static final PropertyMap[] NO_PROTO_MAPS = new PropertyMap[0];
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    /**
+     * A cached property lookup.
+     */
+    static final class Entry {
+        private final PropertyMap map;
+        private final String key;
+        private final Property property;
+        /** Maps of the prototypes of the receiver up to and including the owner. */
+        private final PropertyMap[] protoMaps;
+        private final SwitchPoint[] switchPoints;
+
+        Entry(final PropertyMap map, final String key, final Property property, final PropertyMap[] protoMaps, final SwitchPoint[] switchPoints) {
+            this.map = map;
+            this.key = key;
+            this.property = property;
+            this.protoMaps = protoMaps;
+            this.switchPoints = switchPoints;
+        }
+
+        private boolean isValid(final ScriptObject self) {
+            if (switchPoints != null) {
+                for (final SwitchPoint switchPoint : switchPoints) {
+                    if (switchPoint.hasBeenInvalidated()) {
+                        return false;
+                    }
+                }
+            }
+            ScriptObject obj = self;
+            for (final PropertyMap protoMap : protoMaps) {
+                obj = obj.getProto();
+                if (obj == null || obj.getMap() != protoMap) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Get the value of the cached property for a receiver this entry is valid for.
+         * @param self the receiver
+         * @return the property value
+         */
+        Object getObjectValue(final ScriptObject self) {
+            ScriptObject owner = self;
+            for (int i = 0; i < protoMaps.length; i++) {
+                owner = owner.getProto();
+            }
+            return property.getObjectValue(property.isAccessorProperty() ? self : owner, owner);
+        }
+    }
+
+    /**
+     * Get the valid cached lookup of a key for a receiver.
+     * @param self the receiver
+     * @param map the property map of the receiver
+     * @param key the property key
+     * @return the cached lookup, or null
+     */
+    Entry get(final ScriptObject self, final PropertyMap map, final String key) {
+        final Entry entry = entries[index(map, key)];
+        if (entry != null && entry.map == map && entry.key.equals(key) && entry.isValid(self)) {
+            return entry;
+        }
+        return null;
+    }
+
+    /**
+     * Cache the result of a property lookup on {@code self}.
+     * @param self the receiver the lookup was performed on
+     * @param map the property map of the receiver at the time of the lookup
+     * @param key the property key
+     * @param find the result of the lookup
+     */
+    void put(final ScriptObject self, final PropertyMap map, final String key, final FindProperty find) {
+        final Property property = find.getProperty();
+        if (property.needsDeclaration() || self.getMap() != map) {
+            return;
+        }
+        // The owner must be on the receiver's prototype chain, and not be found through a with expression.
+        final ScriptObject owner = find.getOwner();
+        int depth = 0;
+        for (ScriptObject obj = self; obj != owner; obj = obj.getProto()) {
+            if (obj == null || obj instanceof WithObject) {
+                return;
+            }
+            depth++;
+        }
+        final PropertyMap[] protoMaps = depth == 0 ? NO_PROTO_MAPS : new PropertyMap[depth];
+        ScriptObject obj = self;
+        for (int i = 0; i < depth; i++) {
+            obj = obj.getProto();
+            protoMaps[i] = obj.getMap();
+        }
+        final SwitchPoint[] switchPoints = self.getProtoSwitchPoints(key, owner);
+        entries[index(map, key)] = new Entry(map, key, property, protoMaps, switchPoints);
+    }
+
+    private static int index(final PropertyMap map, final String key) {
+        return (System.identityHashCode(map) * 31 + key.hashCode()) & SIZE - 1;
+    }
+}
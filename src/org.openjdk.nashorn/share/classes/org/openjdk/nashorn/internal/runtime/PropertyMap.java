@@ -799,6 +799,24 @@ public class PropertyMap implements Iterable<Object>, Serializable {
         return !isExtensible() && allFrozen();
     }
 
+    /**
+     * Get the number of fields available in objects using this map.
+     *
+     * @return number of fields
+     */
+    int getFieldMaximum() {
+        return fieldMaximum;
+    }
+
+    /**
+     * Get the number of field and spill slots used by objects with this map.
+     *
+     * @return number of used slots
+     */
+    int getUsedSlotCount() {
+        return fieldCount + spillLength;
+    }
+
     /**
      * Return a free field slot for this map, or {@code -1} if none is available.
      *
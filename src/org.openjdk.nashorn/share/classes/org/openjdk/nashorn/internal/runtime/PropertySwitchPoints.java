@@ -28,6 +28,7 @@ package org.openjdk.nashorn.internal.runtime;
 import java.lang.invoke.SwitchPoint;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
@@ -176,12 +177,16 @@ public class PropertySwitchPoints {
 
     /**
      * Invalidate all switchpoints except those defined in {@code map}. This is called
-     * when the prototype of a script object is changed.
+     * when the prototype of a script object is changed. The switchpoints of properties
+     * defined in {@code map} are kept, as they must still be invalidated when those
+     * properties are later modified or deleted.
      *
      * @param map map of properties to exclude from invalidation
      */
     synchronized void invalidateInheritedProperties(final PropertyMap map) {
-        for (final Map.Entry<Object, WeakSwitchPointSet> entry : switchPointMap.entrySet()) {
+        final Iterator<Map.Entry<Object, WeakSwitchPointSet>> iter = switchPointMap.entrySet().iterator();
+        while (iter.hasNext()) {
+            final Map.Entry<Object, WeakSwitchPointSet> entry = iter.next();
             if (map.findProperty(entry.getKey()) != null) {
                 continue;
             }
@@ -190,8 +195,8 @@ public class PropertySwitchPoints {
             }
             final SwitchPoint[] switchPoints = entry.getValue().elements().toArray(EMPTY_SWITCHPOINT_ARRAY);
             SwitchPoint.invalidateAll(switchPoints);
+            iter.remove();
         }
-        switchPointMap.clear();
     }
 
     private static class WeakSwitchPointSet {
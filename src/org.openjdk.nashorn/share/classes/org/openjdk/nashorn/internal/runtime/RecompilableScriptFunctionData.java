@@ -124,6 +124,9 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
     /** Code installer used for all further recompilation/specialization of this ScriptFunction */
     private transient CodeInstaller installer;
 
+    /** Runtime counters of this function with --function-counters, created when the function is first compiled */
+    private volatile transient FunctionCounters counters;
+
     @SuppressWarnings("serial") // Not statically typed as Serializable
     private final Map<Integer, RecompilableScriptFunctionData> nestedFunctions;
 
@@ -135,8 +138,14 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
 
     private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
 
+    private static final int MAX_PROMOTION_ATTEMPTS = 3;
+
     private transient DebugLogger log;
 
+    // Guarded by this. The number of optimistic compilations for promoting baseline code that failed. Promotion isn't
+    // tried again after MAX_PROMOTION_ATTEMPTS failures.
+    private transient int baselinePromotionFailures;
+
     @SuppressWarnings("serial") // Not statically typed as Serializable
     private final Map<String, Integer> externalScopeDepths;
 
@@ -276,6 +285,14 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
         this.parent = parent;
     }
 
+    /**
+     * Get the data of the functions directly nested in this function.
+     * @return the nested function data
+     */
+    Collection<RecompilableScriptFunctionData> getNestedFunctions() {
+        return nestedFunctions == null ? Collections.emptySet() : nestedFunctions.values();
+    }
+
     @Override
     String toSource() {
         if (source != null && token != 0) {
@@ -384,6 +401,11 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
         return allocationStrategy.getAllocatorMap(prototype);
     }
 
+    @Override
+    boolean isOutdatedAllocatorMap(final PropertyMap map) {
+        return allocationStrategy.isOutdatedAllocatorMap(map);
+    }
+
     @Override
     ScriptObject allocate(final PropertyMap map) {
         return allocationStrategy.allocate(map);
@@ -397,7 +419,9 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
         }
 
         final int descPosition = Token.descPosition(token);
-        final Context context = Context.getContext();
+        // Use the installer's context rather than the current global's, as deoptimizing recompilations can run on a
+        // background compiler thread that has no current global.
+        final Context context = installer != null ? installer.getContext() : Context.getContext();
         final Parser parser = new Parser(
             context.getEnv(),
             source,
@@ -649,8 +673,8 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
         return locals;
     }
 
-    private Compiler getCompiler(final FunctionNode fn, final MethodType actualCallSiteType, final ScriptObject runtimeScope) {
-        return getCompiler(fn, actualCallSiteType, newLocals(runtimeScope), null, null);
+    private Compiler getCompiler(final FunctionNode fn, final MethodType actualCallSiteType, final ScriptObject runtimeScope, final boolean optimistic) {
+        return getCompiler(fn, actualCallSiteType, newLocals(runtimeScope), null, null, optimistic);
     }
 
     /**
@@ -667,9 +691,16 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
     Compiler getCompiler(final FunctionNode functionNode, final MethodType actualCallSiteType,
             final ScriptObject runtimeScope, final Map<Integer, Type> invalidatedProgramPoints,
             final int[] continuationEntryPoints) {
+        return getCompiler(functionNode, actualCallSiteType, runtimeScope, invalidatedProgramPoints, continuationEntryPoints, true);
+    }
+
+    private Compiler getCompiler(final FunctionNode functionNode, final MethodType actualCallSiteType,
+            final ScriptObject runtimeScope, final Map<Integer, Type> invalidatedProgramPoints,
+            final int[] continuationEntryPoints, final boolean optimistic) {
         final TypeMap typeMap = typeMap(actualCallSiteType);
         final Type[] paramTypes = typeMap == null ? null : typeMap.getParameterTypes(functionNodeId);
-        final Object typeInformationFile = OptimisticTypesPersistence.getLocationDescriptor(source, functionNodeId, paramTypes);
+        // Baseline code has no optimistic types to persist.
+        final Object typeInformationFile = optimistic ? OptimisticTypesPersistence.getLocationDescriptor(source, functionNodeId, paramTypes) : null;
         return Compiler.forOnDemandCompilation(
                 getInstallerForNewCode(),
                 functionNode.getSource(),  // source
@@ -679,7 +710,8 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
                 getEffectiveInvalidatedProgramPoints(invalidatedProgramPoints, typeInformationFile), // invalidated program points
                 typeInformationFile,
                 continuationEntryPoints, // continuation entry points
-                runtimeScope); // runtime scope
+                runtimeScope, // runtime scope
+                optimistic);
     }
 
     /**
@@ -702,12 +734,16 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
     }
 
     private FunctionInitializer compileTypeSpecialization(final MethodType actualCallSiteType, final ScriptObject runtimeScope, final boolean persist) {
+        return compileTypeSpecialization(actualCallSiteType, runtimeScope, persist, true);
+    }
+
+    private FunctionInitializer compileTypeSpecialization(final MethodType actualCallSiteType, final ScriptObject runtimeScope, final boolean persist, final boolean optimistic) {
         // We're creating an empty script object for holding local variables. AssignSymbols will populate it with
         // explicit Undefined values for undefined local variables (see AssignSymbols#defineSymbol() and
         // CompilationEnvironment#declareLocalSymbol()).
 
         if (log.isEnabled()) {
-            log.info("Parameter type specialization of '", functionName, "' signature: ", actualCallSiteType);
+            log.info(optimistic ? "Parameter type specialization of '" : "Baseline parameter type specialization of '", functionName, "' signature: ", actualCallSiteType);
         }
 
         final boolean persistentCache = persist && usePersistentCodeCache();
@@ -726,7 +762,7 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
         }
 
         final FunctionNode fn = reparse();
-        final Compiler compiler = getCompiler(fn, actualCallSiteType, runtimeScope);
+        final Compiler compiler = getCompiler(fn, actualCallSiteType, runtimeScope, optimistic);
         final FunctionNode compiledFn = compiler.compile(fn,
                 fn.isCached() ? CompilationPhases.COMPILE_ALL_CACHED : CompilationPhases.COMPILE_ALL);
 
@@ -740,6 +776,130 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
         return installer != null && installer.getContext().getEnv()._persistent_cache;
     }
 
+    boolean useAsyncRecompilation() {
+        return installer != null && installer.getContext().getEnv()._async_recompilation;
+    }
+
+    /**
+     * Returns the code installer of the script this function belongs to, or null if it has not been installed.
+     * @return the code installer
+     */
+    CodeInstaller getInstaller() {
+        return installer;
+    }
+
+    /**
+     * Returns the runtime counters of this function if the {@code --function-counters} option is used, creating them
+     * on first use.
+     * @return the counters of this function, or null if they are not collected
+     */
+    FunctionCounters getFunctionCounters() {
+        FunctionCounters fc = counters;
+        if (fc == null && installer != null && installer.getContext().getEnv()._function_counters) {
+            synchronized (this) {
+                fc = counters;
+                if (fc == null) {
+                    counters = fc = FunctionCounters.create(this, source, lineNumber);
+                }
+            }
+        }
+        return fc;
+    }
+
+    /**
+     * Records the size of the bytecode installed for a compilation of this function. This method can only be invoked
+     * by the compiler internals in Nashorn and is public for implementation reasons only.
+     * @param size the total size of the installed classes in bytes
+     */
+    public void countInstalledBytecode(final long size) {
+        final FunctionCounters fc = getFunctionCounters();
+        if (fc != null) {
+            fc.addBytecodeSize(size);
+        }
+    }
+
+    /**
+     * Returns true if new type specializations of this function should first be compiled as baseline code, that is
+     * without optimistic types. Baseline code is cheaper to generate and never needs deoptimizing recompilation, so
+     * functions that are only called a few times, such as initialization code, never get optimistic code. It is only
+     * used when the persistent code cache is not, as that stores the code generated for the first compilation.
+     */
+    private boolean useBaselineCode() {
+        if (installer == null) {
+            return false;
+        }
+        final ScriptEnvironment env = installer.getContext().getEnv();
+        return env._optimistic_types && env._baseline_threshold > 0 && !env._persistent_cache;
+    }
+
+    /**
+     * Schedules the replacement of a baseline version of this function with an optimistic one compiled for the same
+     * call site type. The optimistic version is compiled on a background compiler thread, and the baseline version
+     * keeps running until it is installed.
+     * @param baseline the baseline version
+     */
+    void schedulePromotion(final CompiledFunction baseline) {
+        // Compilation creates script objects for the local variables, so it needs the invoking thread's global.
+        final Global global = Context.getGlobal();
+        BackgroundRecompiler.submit(() -> {
+            final Global oldGlobal = Context.getGlobal();
+            final boolean globalChanged = oldGlobal != global;
+            if (globalChanged) {
+                Context.setGlobal(global);
+            }
+            try {
+                promoteBaselineCode(baseline);
+            } finally {
+                if (globalChanged) {
+                    Context.setGlobal(oldGlobal);
+                }
+            }
+        });
+    }
+
+    /**
+     * Replaces a baseline version of this function with an optimistic one compiled for the same call site type. Call
+     * sites linked to the baseline version are relinked through its optimistic assumptions switch point. If the
+     * optimistic compilation fails, the baseline version is kept and promotion is tried again after as many
+     * invocations, up to {@code MAX_PROMOTION_ATTEMPTS} times for this function. Giving up is reported on the
+     * context's error stream, as the function keeps running without optimistic types from then on.
+     * @param baseline the baseline version
+     */
+    void promoteBaselineCode(final CompiledFunction baseline) {
+        synchronized (this) {
+            if (baselinePromotionFailures >= MAX_PROMOTION_ATTEMPTS || !code.contains(baseline)) {
+                // Already promoted, or promotion does not work for this function
+                return;
+            }
+        }
+        final MethodType callSiteType = baseline.getCallSiteType();
+        try {
+            final FunctionInitializer fnInit = compileTypeSpecialization(callSiteType, null, true);
+            synchronized (this) {
+                if (code.remove(baseline)) {
+                    try {
+                        baseline.setPromotedVersion(addCode(fnInit, callSiteType, false));
+                    } catch (final RuntimeException e) {
+                        code.add(baseline);
+                        throw e;
+                    }
+                }
+            }
+        } catch (final RuntimeException | StackOverflowError e) {
+            // Keep running the baseline version; it is correct, just not optimistic.
+            synchronized (this) {
+                if (++baselinePromotionFailures < MAX_PROMOTION_ATTEMPTS) {
+                    log.warning("Promotion of baseline version of '", functionName, "' signature: ", callSiteType, " failed, retrying later: ", e);
+                    baseline.resetBaselineInvocations();
+                } else {
+                    log.warning("Promotion of baseline version of '", functionName, "' signature: ", callSiteType, " failed: ", e);
+                    installer.getContext().getErr().println("Warning: giving up promoting baseline code of function '" + functionName +
+                            "' to optimistic code after " + MAX_PROMOTION_ATTEMPTS + " failed attempts: " + e);
+                }
+            }
+        }
+    }
+
     private MethodType explicitParams(final MethodType callSiteType) {
         if (CompiledFunction.isVarArgsType(callSiteType)) {
             return null;
@@ -832,9 +992,19 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
 
     private CompiledFunction addCode(final MethodHandle target, final Map<Integer, Type> invalidatedProgramPoints,
                                      final MethodType callSiteType, final int fnFlags) {
-        final CompiledFunction cfn = new CompiledFunction(target, this, invalidatedProgramPoints, callSiteType, fnFlags);
+        return addCode(target, invalidatedProgramPoints, callSiteType, fnFlags, false);
+    }
+
+    private CompiledFunction addCode(final MethodHandle target, final Map<Integer, Type> invalidatedProgramPoints,
+                                     final MethodType callSiteType, final int fnFlags, final boolean baseline) {
+        final CompiledFunction cfn = new CompiledFunction(target, this, invalidatedProgramPoints, callSiteType, fnFlags,
+                baseline ? installer.getContext().getEnv()._baseline_threshold : 0);
         assert noDuplicateCode(cfn) : "duplicate code";
         code.add(cfn);
+        final FunctionCounters fc = getFunctionCounters();
+        if (fc != null) {
+            fc.countSpecialization();
+        }
         return cfn;
     }
 
@@ -846,11 +1016,12 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
      * for the same specialization, so we must adapt the handle to the expected type.
      * @param fnInit the function
      * @param callSiteType the call site type
+     * @param baseline true if the function was compiled as baseline code
      * @return the compiled function object, with its type matching that of the call site type.
      */
-    private CompiledFunction addCode(final FunctionInitializer fnInit, final MethodType callSiteType) {
+    private CompiledFunction addCode(final FunctionInitializer fnInit, final MethodType callSiteType, final boolean baseline) {
         if (isVariableArity()) {
-            return addCode(lookup(fnInit, true), fnInit.getInvalidatedProgramPoints(), callSiteType, fnInit.getFlags());
+            return addCode(lookup(fnInit, true), fnInit.getInvalidatedProgramPoints(), callSiteType, fnInit.getFlags(), baseline);
         }
 
         final MethodHandle handle = lookup(fnInit, true);
@@ -878,7 +1049,7 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
             toType = toType.dropParameterTypes(fromCount, toCount);
         }
 
-        return addCode(lookup(fnInit, false).asType(toType), fnInit.getInvalidatedProgramPoints(), callSiteType, fnInit.getFlags());
+        return addCode(lookup(fnInit, false).asType(toType), fnInit.getInvalidatedProgramPoints(), callSiteType, fnInit.getFlags(), baseline);
     }
 
     /**
@@ -907,7 +1078,8 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
             existingBest = pickFunction(callSiteType, true); // try vararg last
         }
         if (existingBest == null) {
-            existingBest = addCode(compileTypeSpecialization(callSiteType, runtimeScope, true), callSiteType);
+            final boolean baseline = useBaselineCode();
+            existingBest = addCode(compileTypeSpecialization(callSiteType, runtimeScope, !baseline, !baseline), callSiteType, baseline);
         }
 
         assert existingBest != null;
@@ -924,12 +1096,26 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
             // Try to generate a specialized one for this callsite. It may
             // be another apply to call specialization, or it may not, but whatever
             // it is, it is a specialization that is guaranteed to fit
-            existingBest = addCode(compileTypeSpecialization(callSiteType, runtimeScope, false), callSiteType);
+            existingBest = addCode(compileTypeSpecialization(callSiteType, runtimeScope, false), callSiteType, false);
         }
 
         return existingBest;
     }
 
+    /**
+     * Compiles the generic specialization of this function ahead of its first invocation, unless it already has code.
+     * Call sites that pass only objects use it, others still compile their own specialization. Used by
+     * {@link CompilationWarmup}.
+     * @return true if the function was compiled
+     */
+    synchronized boolean warmup() {
+        if (!code.isEmpty()) {
+            return false;
+        }
+        getBest(getGenericType(), null, CompiledFunction.NO_FUNCTIONS, true);
+        return true;
+    }
+
     @Override
     public boolean needsCallee() {
         return getFunctionFlag(FunctionNode.NEEDS_CALLEE);
@@ -65,9 +65,18 @@ public final class ScriptEnvironment {
     /** Current Options object. */
     private final Options options;
 
+    /** Recompile deoptimized functions on a background thread */
+    public final boolean _async_recompilation;
+
+    /** Number of invocations after which baseline code is recompiled with optimistic types, 0 if not used */
+    public final int     _baseline_threshold;
+
     /** Size of the per-global Class cache size */
     public final int     _class_cache_size;
 
+    /** Compile nested functions of scripts on background threads ahead of their first invocation */
+    public final boolean _compilation_warmup;
+
     /** -classpath value. */
     public final String  _classpath;
 
@@ -101,6 +110,9 @@ public final class ScriptEnvironment {
     /** Show full Nashorn version */
     public final boolean _fullversion;
 
+    /** Collect per-function runtime counters */
+    public final boolean _function_counters;
+
     /** Launch using as fx application */
     public final boolean _fx;
 
@@ -176,6 +188,9 @@ public final class ScriptEnvironment {
     /** Enable disk cache for compiled scripts */
     public final boolean _persistent_cache;
 
+    /** --preload-classes, if any */
+    public final String _preload_classes;
+
     /** Print the AST before lowering */
     public final boolean _print_ast;
 
@@ -218,6 +233,9 @@ public final class ScriptEnvironment {
     /** time zone for this environment */
     public final TimeZone _timezone;
 
+    /** cached offsets of the time zone for this environment */
+    public final TimeZoneOffsets _timezone_offsets;
+
     /** Local for error messages */
     public final Locale _locale;
 
@@ -255,7 +273,10 @@ public final class ScriptEnvironment {
         this.namespace = new Namespace();
         this.options = options;
 
+        _async_recompilation  = options.getBoolean("async.recompilation");
+        _baseline_threshold   = options.getInteger("baseline.threshold");
         _class_cache_size     = options.getInteger("class.cache.size");
+        _compilation_warmup   = options.getBoolean("compilation.warmup");
         _classpath            = options.getString("classpath");
         _compile_only         = options.getBoolean("compile.only");
         _const_as_var         = options.getBoolean("const.as.var");
@@ -266,6 +287,7 @@ public final class ScriptEnvironment {
         _early_lvalue_error   = options.getBoolean("early.lvalue.error");
         _empty_statements     = options.getBoolean("empty.statements");
         _fullversion          = options.getBoolean("fullversion");
+        _function_counters    = options.getBoolean("function.counters");
         if (options.getBoolean("function.statement.error")) {
             _function_statement = FunctionStatementBehavior.ERROR;
         } else if (options.getBoolean("function.statement.warning")) {
@@ -297,6 +319,7 @@ public final class ScriptEnvironment {
         _no_typed_arrays      = options.getBoolean("no.typed.arrays");
         _parse_only           = options.getBoolean("parse.only");
         _persistent_cache     = options.getBoolean("persistent.code.cache");
+        _preload_classes      = options.getString("preload.classes");
         _print_ast            = options.getBoolean("print.ast");
         _print_lower_ast      = options.getBoolean("print.lower.ast");
         _print_code           = options.getString("print.code") != null;
@@ -397,6 +420,7 @@ public final class ScriptEnvironment {
         } else {
             this._timezone  = TimeZone.getDefault();
         }
+        this._timezone_offsets = new TimeZoneOffsets(this._timezone);
 
         final Option<?> localeOption = options.get("locale");
         if (localeOption != null) {
@@ -491,4 +515,16 @@ public final class ScriptEnvironment {
                anonymousInitFailure.get() == null;
     }
 
+    /**
+     * Returns true if scripts and on-demand compilations of their functions should be installed as hidden classes
+     * where VM anonymous classes are not available. This is only the case with {@code --anonymous-classes=true}, as
+     * frames of hidden classes are not included in the stack traces of Java exceptions and threads; exceptions of
+     * scripts walk the stack to include them.
+     * @param hiddenInitFailure an exception thrown during initialization of hidden class support, or null
+     * @return true if hidden classes should be used
+     */
+    public boolean useHiddenClasses(final Supplier<Exception> hiddenInitFailure) {
+        return _anonymousClasses == AnonymousClasses.ON && hiddenInitFailure.get() == null;
+    }
+
 }
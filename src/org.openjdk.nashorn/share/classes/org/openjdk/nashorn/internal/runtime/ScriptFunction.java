@@ -476,6 +476,33 @@ public class ScriptFunction extends ScriptObject {
                 (((RecompilableScriptFunctionData) data).getFunctionFlags() & FunctionNode.HAS_ALL_VARS_IN_SCOPE) != 0;
     }
 
+    /**
+     * Get the number of classes installed for the script this function was compiled from, including the code of
+     * functions compiled on demand.
+     * @return the number of installed classes, or 0 for functions without script code
+     */
+    public long getInstalledClassCount() {
+        final CodeInstaller installer = data instanceof RecompilableScriptFunctionData ? ((RecompilableScriptFunctionData) data).getInstaller() : null;
+        return installer != null ? installer.getInstalledClassCount() : 0;
+    }
+
+    /**
+     * Get the total bytecode size of the classes counted by {@link #getInstalledClassCount()}.
+     * @return the size of the installed classes in bytes, or 0 for functions without script code
+     */
+    public long getInstalledClassBytes() {
+        final CodeInstaller installer = data instanceof RecompilableScriptFunctionData ? ((RecompilableScriptFunctionData) data).getInstaller() : null;
+        return installer != null ? installer.getInstalledClassBytes() : 0;
+    }
+
+    /**
+     * Get the runtime counters of this function, collected with the {@code --function-counters} option.
+     * @return the counters of this function, or null if they are not collected or this is not a script function
+     */
+    public FunctionCounters getFunctionCounters() {
+        return data instanceof RecompilableScriptFunctionData ? ((RecompilableScriptFunctionData) data).getFunctionCounters() : null;
+    }
+
     /**
      * Returns true if this is a non-strict, non-built-in function that requires
      * non-primitive this argument according to ECMA 10.4.3.
@@ -549,9 +576,9 @@ public class ScriptFunction extends ScriptObject {
      * @return property map
      */
     private PropertyMap getAllocatorMap(final ScriptObject prototype) {
-        if (allocatorMap == null || allocatorMap.isInvalidSharedMapFor(prototype)) {
-            // The prototype map has changed since this function was last used as constructor.
-            // Get a new allocator map.
+        if (allocatorMap == null || allocatorMap.isInvalidSharedMapFor(prototype) || data.isOutdatedAllocatorMap(allocatorMap)) {
+            // The prototype map has changed since this function was last used as constructor,
+            // or allocated objects need more fields. Get a new allocator map.
             allocatorMap = data.getAllocatorMap(prototype);
         }
         return allocatorMap;
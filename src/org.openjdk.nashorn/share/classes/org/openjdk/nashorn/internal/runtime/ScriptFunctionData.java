@@ -419,6 +419,17 @@ public abstract class ScriptFunctionData implements Serializable {
         return null;
     }
 
+    /**
+     * Check whether a property map returned by {@link #getAllocatorMap(ScriptObject)} should be
+     * replaced by a new one, because the allocated objects have been found to need more fields.
+     *
+     * @param map a previously returned allocator map
+     * @return true if the allocator map should be requested again
+     */
+    boolean isOutdatedAllocatorMap(final PropertyMap map) {
+        return false;
+    }
+
     /**
      * This method is used to create the immutable portion of a bound function.
      * See {@link ScriptFunction#createBound(Object, Object[])}
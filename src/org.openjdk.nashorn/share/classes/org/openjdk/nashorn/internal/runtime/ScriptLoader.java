@@ -25,9 +25,17 @@
 
 package org.openjdk.nashorn.internal.runtime;
 
+import static org.objectweb.asm.Opcodes.V9;
+
+import java.lang.invoke.MethodHandles;
 import java.lang.module.ModuleDescriptor;
 import java.lang.module.ModuleDescriptor.Modifier;
+import java.lang.reflect.Method;
 import java.util.Set;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
 /**
  * Responsible for loading script generated classes.
@@ -38,10 +46,15 @@ final class ScriptLoader extends NashornLoader {
     private static final String RUNTIME_ARRAYS_PKG = "org.openjdk.nashorn.internal.runtime.arrays";
     private static final String RUNTIME_LINKER_PKG = "org.openjdk.nashorn.internal.runtime.linker";
     private static final String NASHORN_PKG_PREFIX = "org.openjdk.nashorn.internal.";
+    private static final String HOST_CLASS_NAME    = SCRIPTS_PKG + ".AnonymousHost";
 
     private volatile boolean structureAccessAdded;
     private final Context context;
     private final Module scriptModule;
+    // Guarded by this
+    private Class<?> hostClass;
+    // Guarded by this
+    private MethodHandles.Lookup hostLookup;
 
     /*package-private*/ Context getContext() {
         return context;
@@ -149,4 +162,47 @@ final class ScriptLoader extends NashornLoader {
     synchronized Class<?> installClass(final String name, final byte[] data) {
         return defineClass(name, data, 0, data.length);
     }
+
+    /**
+     * Get the host class of this loader, an empty interface in the scripts package that anonymous and hidden
+     * script classes are defined relative to. It is installed on first use.
+     *
+     * @return the host class
+     */
+    synchronized Class<?> getHostClass() {
+        if (hostClass == null) {
+            final String lookupDescriptor = Type.getMethodDescriptor(Type.getType(MethodHandles.Lookup.class));
+            final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+            cw.visit(V9, Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT, HOST_CLASS_NAME.replace('.', '/'), null, "java/lang/Object", null);
+            // private static Lookup lookup() { return MethodHandles.lookup(); }
+            final MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, "lookup", lookupDescriptor, null, null);
+            mv.visitCode();
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(MethodHandles.class), "lookup", lookupDescriptor, false);
+            mv.visitInsn(Opcodes.ARETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+            cw.visitEnd();
+            hostClass = installClass(HOST_CLASS_NAME, cw.toByteArray());
+        }
+        return hostClass;
+    }
+
+    /**
+     * Get a full privilege lookup on the {@link #getHostClass() host class} of this loader, as required for defining
+     * hidden classes in its nest.
+     *
+     * @return the lookup on the host class
+     */
+    synchronized MethodHandles.Lookup getHostLookup() {
+        if (hostLookup == null) {
+            try {
+                final Method lookup = getHostClass().getDeclaredMethod("lookup");
+                lookup.setAccessible(true);
+                hostLookup = (MethodHandles.Lookup)lookup.invoke(null);
+            } catch (final ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return hostLookup;
+    }
 }
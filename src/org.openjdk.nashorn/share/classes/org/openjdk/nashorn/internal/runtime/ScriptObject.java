@@ -64,6 +64,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.atomic.LongAdder;
 import jdk.dynalink.CallSiteDescriptor;
 import jdk.dynalink.NamedOperation;
@@ -148,10 +149,16 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
     /** Indexed array data. */
     private ArrayData arrayData;
 
+    /** Entries of WeakMaps and WeakSets using this object as key, created on demand. */
+    private volatile EphemeronTable ephemerons;
+
+    private static final AtomicReferenceFieldUpdater<ScriptObject, EphemeronTable> EPHEMERONS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(ScriptObject.class, EphemeronTable.class, "ephemerons");
+
     /** Method handle to retrieve prototype of this object */
     public static final MethodHandle GETPROTO      = findOwnMH_V("getProto", ScriptObject.class);
 
-    static final MethodHandle MEGAMORPHIC_GET    = findOwnMH_V("megamorphicGet", Object.class, String.class, boolean.class, boolean.class);
+    static final MethodHandle MEGAMORPHIC_GET    = findOwnMH_V("megamorphicGet", Object.class, MegamorphicGetCache.class, PropertyLookupCache.class, String.class, boolean.class, boolean.class);
     static final MethodHandle GLOBALFILTER       = findOwnMH_S("globalFilter", Object.class, Object.class);
     static final MethodHandle DECLARE_AND_SET    = findOwnMH_V("declareAndSet", void.class, String.class, Object.class);
 
@@ -1224,6 +1231,20 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
         return proto;
     }
 
+    /**
+     * Return the table of WeakMap and WeakSet entries that use this object as key.
+     * @param create whether to create the table if it does not exist yet
+     * @return the table, or null if {@code create} is false and there is no table
+     */
+    public final EphemeronTable getEphemeronTable(final boolean create) {
+        final EphemeronTable table = ephemerons;
+        if (table != null || !create) {
+            return table;
+        }
+        EPHEMERONS_UPDATER.compareAndSet(this, null, new EphemeronTable());
+        return ephemerons;
+    }
+
     /**
      * Get the proto of a specific depth
      * @param n depth
@@ -2022,17 +2043,42 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
     }
 
     private static GuardedInvocation findMegaMorphicGetMethod(final CallSiteDescriptor desc, final String name, final boolean isMethod) {
-        Context.getContext()
-            .getLogger(ObjectClassGenerator.class).warning("Megamorphic getter: ", desc, " ", name + " ", isMethod);
-        final MethodHandle invoker = MH.insertArguments(MEGAMORPHIC_GET, 1, name, isMethod, NashornCallSiteDescriptor.isScope(desc));
+        final Context context = Context.getContext();
+        context.getLogger(ObjectClassGenerator.class).warning("Megamorphic getter: ", desc, " ", name + " ", isMethod);
+        final MethodHandle invoker = MH.insertArguments(MEGAMORPHIC_GET, 1, new MegamorphicGetCache(), context.getPropertyLookupCache(),
+                name, isMethod, NashornCallSiteDescriptor.isScope(desc));
         final MethodHandle guard   = getScriptObjectGuard(desc.getMethodType(), true);
         return new GuardedInvocation(invoker, guard);
     }
 
     @SuppressWarnings("unused")
-    private Object megamorphicGet(final String key, final boolean isMethod, final boolean isScope) {
+    private Object megamorphicGet(final MegamorphicGetCache cache, final PropertyLookupCache lookupCache, final String key, final boolean isMethod, final boolean isScope) {
+        final PropertyMap map = getMap();
+        final Property cached = cache.get(map);
+        if (cached != null) {
+            return cached.getObjectValue(this, this);
+        }
+
+        // Only lookups using the default property lookup can be cached by map. Scope lookups may
+        // pass through objects with their own lookup, e.g. a global with a lexical scope.
+        final boolean isCacheable = !(this instanceof WithObject) && !isGlobal();
+        if (isCacheable && !isScope) {
+            final PropertyLookupCache.Entry entry = lookupCache.get(this, map, key);
+            if (entry != null) {
+                return entry.getObjectValue(this);
+            }
+        }
+
         final FindProperty find = findProperty(key, true, isScope, this);
         if (find != null) {
+            if (isCacheable) {
+                if (find.isSelf() && find.getOwner() == this) {
+                    cache.put(map, find.getProperty());
+                }
+                if (!isScope) {
+                    lookupCache.put(this, map, key, find);
+                }
+            }
             // If this is a method invocation, and found property has a different self object then this,
             // then return a function bound to the self object. This is the case for functions in with expressions.
             final Object value = find.getObjectValue();
@@ -3440,6 +3486,8 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
             }
         }
         clone.arrayData = arrayData.copy();
+        // the copy is a different WeakMap and WeakSet key
+        clone.ephemerons = null;
         return clone;
     }
 
@@ -82,9 +82,15 @@ public final class ScriptRuntime {
      */
     public static final Undefined EMPTY = Undefined.getEmpty();
 
+    /** Length up to which {@link #concat(CharSequence, String)} creates flat strings */
+    private static final int EAGER_CONCAT_LENGTH = 1024;
+
     /** Method handle to generic + operator, operating on objects */
     public static final Call ADD = staticCallNoLookup(ScriptRuntime.class, "ADD", Object.class, Object.class, Object.class);
 
+    /** Method handle to append the concatenated rest of a string concatenation to its first operand */
+    public static final Call CONCAT = staticCallNoLookup(ScriptRuntime.class, "concat", CharSequence.class, CharSequence.class, String.class);
+
     /** Method handle to generic === operator, operating on objects */
     public static final Call EQ_STRICT = staticCallNoLookup(ScriptRuntime.class, "EQ_STRICT", boolean.class, Object.class, Object.class);
 
@@ -699,6 +705,27 @@ public final class ScriptRuntime {
         return JSType.toNumber(xPrim) + JSType.toNumber(yPrim);
     }
 
+    /**
+     * Append the string of the remaining operands of a string concatenation to its first operand. Short
+     * strings are concatenated eagerly, long ones are represented by a {@link ConsString} so that appending
+     * to a long string repeatedly does not copy it every time.
+     *
+     * @param head the first operand of the concatenation, converted to a string
+     * @param tail the concatenated remaining operands
+     *
+     * @return the concatenated string
+     */
+    public static CharSequence concat(final CharSequence head, final String tail) {
+        if (head.length() <= EAGER_CONCAT_LENGTH - tail.length()) {
+            return head.toString().concat(tail);
+        }
+        try {
+            return new ConsString(head, tail);
+        } catch (final IllegalArgumentException iae) {
+            throw rangeError(iae, "concat.string.too.big");
+        }
+    }
+
     /**
      * Debugger hook.
      * TODO: currently unimplemented
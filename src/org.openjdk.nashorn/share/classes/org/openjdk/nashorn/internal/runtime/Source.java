@@ -34,36 +34,47 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Base64;
 import java.util.Objects;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import org.openjdk.nashorn.api.scripting.URLReader;
 import org.openjdk.nashorn.internal.parser.Token;
 import org.openjdk.nashorn.internal.runtime.logging.DebugLogger;
 import org.openjdk.nashorn.internal.runtime.logging.Loggable;
 import org.openjdk.nashorn.internal.runtime.logging.Logger;
+import org.openjdk.nashorn.internal.runtime.options.Options;
 /**
  * Source objects track the origin of JavaScript entities.
+ * <p>
+ * The content of a source is kept as a {@link String}, which stores text that only has Latin-1 characters with one
+ * byte per character. Files at least as large as {@code -Dnashorn.source.map.threshold=x} bytes are memory-mapped
+ * instead of being read into the heap if their content is in ASCII (or in ISO-8859-1 if it is the specified charset).
+ * Mapping is disabled by default; mapped files must not be modified or truncated while they are used.
  */
 @Logger(name="source")
 public final class Source implements Loggable {
     private static final int BUF_SIZE = 8 * 1024;
     private static final Cache CACHE = new Cache();
+    private static final long MAP_THRESHOLD = Options.getIntProperty("nashorn.source.map.threshold", -1);
 
     // Message digest to file name encoder
     private final static Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
@@ -91,6 +102,9 @@ public final class Source implements Loggable {
     /** Base64-encoded SHA1 digest of this source object */
     private volatile byte[] digest;
 
+    /** Base64-encoded SHA1 digest of the content of this source object */
+    private volatile byte[] contentDigest;
+
     /** source URL set via //@ sourceURL or //# sourceURL directive */
     private String explicitURL;
 
@@ -101,21 +115,20 @@ public final class Source implements Loggable {
         this.data = data;
     }
 
-    private static synchronized Source sourceFor(final String name, final String base, final URLData data) throws IOException {
+    private static Source sourceFor(final String name, final String base, final URLData data) throws IOException {
         try {
-            final Source newSource = new Source(name, base, data);
-            final Source existingSource = CACHE.get(newSource);
-            if (existingSource != null) {
+            final CacheKey key = new CacheKey(name, data.url());
+            final Source cachedSource = CACHE.get(key);
+            // Compares the size and last modification time of the URL
+            if (cachedSource != null && data.equals(cachedSource.data)) {
                 // Force any access errors
                 data.checkPermissionAndClose();
-                return existingSource;
+                return cachedSource;
             }
 
             // All sources in cache must be fully loaded
             data.load();
-            CACHE.put(newSource, newSource);
-
-            return newSource;
+            return CACHE.putIfAbsent(key, new Source(name, base, data));
         } catch (final RuntimeException e) {
             final Throwable cause = e.getCause();
             if (cause instanceof IOException) {
@@ -125,21 +138,93 @@ public final class Source implements Loggable {
         }
     }
 
-    private static class Cache extends WeakHashMap<Source, WeakReference<Source>> {
-        public Source get(final Source key) {
-            final WeakReference<Source> ref = super.get(key);
+    /**
+     * Key of the source cache. Uses the external form of the URL as {@link URL#equals(Object)} can resolve host names.
+     */
+    private static final class CacheKey {
+        private final String name;
+        private final String url;
+
+        CacheKey(final String name, final URL url) {
+            this.name = name;
+            this.url = url.toExternalForm();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(name) * 31 + url.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return Objects.equals(name, other.name) && url.equals(other.url);
+        }
+    }
+
+    /**
+     * Cache of the latest version of sources loaded from URLs and files. Sources are weakly referenced, and their
+     * entries are removed when they are collected.
+     */
+    private static final class Cache {
+        private final ConcurrentHashMap<CacheKey, SourceReference> map = new ConcurrentHashMap<>();
+        private final ReferenceQueue<Source> queue = new ReferenceQueue<>();
+
+        Source get(final CacheKey key) {
+            expungeStaleEntries();
+            final SourceReference ref = map.get(key);
             return ref == null ? null : ref.get();
         }
 
-        public void put(final Source key, final Source value) {
-            assert !(value.data instanceof RawData);
-            put(key, new WeakReference<>(value));
+        /**
+         * Caches a source unless another thread cached the same version of it.
+         * @param key the cache key
+         * @param source the loaded source
+         * @return the cached source
+         */
+        Source putIfAbsent(final CacheKey key, final Source source) {
+            assert !(source.data instanceof RawData);
+            expungeStaleEntries();
+            final SourceReference newRef = new SourceReference(key, source, queue);
+            for (;;) {
+                final SourceReference ref = map.putIfAbsent(key, newRef);
+                if (ref == null) {
+                    return source;
+                }
+                final Source cachedSource = ref.get();
+                if (cachedSource != null && cachedSource.data.equals(source.data)) {
+                    return cachedSource;
+                }
+                if (map.replace(key, ref, newRef)) {
+                    return source;
+                }
+            }
+        }
+
+        private void expungeStaleEntries() {
+            Reference<? extends Source> ref;
+            while ((ref = queue.poll()) != null) {
+                final SourceReference sourceRef = (SourceReference) ref;
+                map.remove(sourceRef.key, sourceRef);
+            }
+        }
+    }
+
+    private static final class SourceReference extends WeakReference<Source> {
+        private final CacheKey key;
+
+        SourceReference(final CacheKey key, final Source source, final ReferenceQueue<Source> queue) {
+            super(source, queue);
+            this.key = key;
         }
     }
 
     /* package-private */
     DebuggerSupport.SourceInfo getSourceInfo() {
-        return new DebuggerSupport.SourceInfo(getName(), data.hashCode(),  data.url(), data.array());
+        return new DebuggerSupport.SourceInfo(getName(), data.hashCode(),  data.url(), getContent());
     }
 
     // Wrapper to manage lazy loading
@@ -151,35 +236,39 @@ public final class Source implements Loggable {
 
         long lastModified();
 
-        char[] array();
+        CharSequence content();
 
         boolean isEvalCode();
     }
 
     private static class RawData implements Data {
-        private final char[] array;
+        private final CharSequence content;
         private final boolean evalCode;
         private int hash;
 
         private RawData(final char[] array, final boolean evalCode) {
-            this.array = Objects.requireNonNull(array);
-            this.evalCode = evalCode;
+            this(new String(Objects.requireNonNull(array)), evalCode);
         }
 
-        private RawData(final String source, final boolean evalCode) {
-            this.array = Objects.requireNonNull(source).toCharArray();
+        private RawData(final CharSequence source, final boolean evalCode) {
+            this.content = Objects.requireNonNull(source);
             this.evalCode = evalCode;
         }
 
         private RawData(final Reader reader) throws IOException {
-            this(readFully(reader), false);
+            this(readString(reader), false);
         }
 
         @Override
         public int hashCode() {
             int h = hash;
             if (h == 0) {
-                h = hash = Arrays.hashCode(array) ^ (evalCode? 1 : 0);
+                // Same as Arrays.hashCode of the content as a char array, debuggers get it from the source info
+                h = 1;
+                for (int i = 0; i < content.length(); i++) {
+                    h = 31 * h + content.charAt(i);
+                }
+                h = hash = h ^ (evalCode? 1 : 0);
             }
             return h;
         }
@@ -191,14 +280,14 @@ public final class Source implements Loggable {
             }
             if (obj instanceof RawData) {
                 final RawData other = (RawData)obj;
-                return Arrays.equals(array, other.array) && evalCode == other.evalCode;
+                return content.toString().equals(other.content.toString()) && evalCode == other.evalCode;
             }
             return false;
         }
 
         @Override
         public String toString() {
-            return new String(array());
+            return content.toString();
         }
 
         @Override
@@ -208,7 +297,7 @@ public final class Source implements Loggable {
 
         @Override
         public int length() {
-            return array.length;
+            return content.length();
         }
 
         @Override
@@ -217,8 +306,8 @@ public final class Source implements Loggable {
         }
 
         @Override
-        public char[] array() {
-            return array;
+        public CharSequence content() {
+            return content;
         }
 
 
@@ -232,8 +321,10 @@ public final class Source implements Loggable {
         private final URL url;
         protected final Charset cs;
         private int hash;
-        protected char[] array;
+        protected CharSequence content;
         protected int length;
+        // Size in bytes and last modification time, used to tell versions of the content apart.
+        protected long size;
         protected long lastModified;
 
         private URLData(final URL url, final Charset cs) {
@@ -276,14 +367,14 @@ public final class Source implements Loggable {
                 }
 
                 // Compare meta data
-                return this.length == otherData.length && this.lastModified == otherData.lastModified;
+                return this.size == otherData.size && this.lastModified == otherData.lastModified;
             }
             return false;
         }
 
         @Override
         public String toString() {
-            return new String(array());
+            return content().toString();
         }
 
         @Override
@@ -302,9 +393,9 @@ public final class Source implements Loggable {
         }
 
         @Override
-        public char[] array() {
+        public CharSequence content() {
             assert !isDeferred();
-            return array;
+            return content;
         }
 
         @Override
@@ -313,7 +404,7 @@ public final class Source implements Loggable {
         }
 
         boolean isDeferred() {
-            return array == null;
+            return content == null;
         }
 
         @SuppressWarnings("try")
@@ -325,11 +416,12 @@ public final class Source implements Loggable {
         }
 
         protected void load() throws IOException {
-            if (array == null) {
+            if (content == null) {
                 final URLConnection c = url.openConnection();
                 try (InputStream in = c.getInputStream()) {
-                    array = cs == null ? readFully(in) : readFully(in, cs);
-                    length = array.length;
+                    content = readString(in, cs);
+                    length = content.length();
+                    size = c.getContentLength();
                     lastModified = c.getLastModified();
                     debug("loaded content for ", url);
                 }
@@ -338,10 +430,10 @@ public final class Source implements Loggable {
 
         @SuppressWarnings("try")
         protected void loadMeta() throws IOException {
-            if (length == 0 && lastModified == 0) {
+            if (size == 0 && lastModified == 0) {
                 final URLConnection c = url.openConnection();
                 try (InputStream in = c.getInputStream()) {
-                    length = c.getContentLength();
+                    size = c.getContentLength();
                     lastModified = c.getLastModified();
                     debug("loaded metadata for ", url);
                 }
@@ -368,8 +460,8 @@ public final class Source implements Loggable {
 
         @Override
         protected void loadMeta() {
-            if (length == 0 && lastModified == 0) {
-                length = (int) file.length();
+            if (size == 0 && lastModified == 0) {
+                size = file.length();
                 lastModified = file.lastModified();
                 debug("loaded metadata for ", file);
             }
@@ -377,15 +469,200 @@ public final class Source implements Loggable {
 
         @Override
         protected void load() throws IOException {
-            if (array == null) {
-                array = cs == null ? readFully(file) : readFully(file, cs);
-                length = array.length;
+            if (content == null) {
+                content = readContent(file, cs);
+                length = content.length();
+                size = file.length();
                 lastModified = file.lastModified();
                 debug("loaded content for ", file);
             }
         }
     }
 
+    /**
+     * Content of a memory-mapped file in a single byte encoding.
+     */
+    private static final class MappedContent implements CharSequence {
+        private final ByteBuffer buffer;
+
+        private MappedContent(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Maps a file if its content can be read as Latin-1 characters.
+         * @param path the file
+         * @param cs the charset of the file, or null for autodetection
+         * @return the content of the file, or null if it can't be mapped
+         * @throws IOException if the file could not be mapped
+         */
+        static MappedContent map(final Path path, final Charset cs) throws IOException {
+            final ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            // Every ISO-8859-1 byte is the character with the same code, other charsets only agree on ASCII. Files
+            // with a byte order mark are not ASCII.
+            return StandardCharsets.ISO_8859_1.equals(cs) || isAscii(buffer) ? new MappedContent(buffer) : null;
+        }
+
+        private static boolean isAscii(final ByteBuffer buffer) {
+            final int limit = buffer.limit();
+            int i = 0;
+            for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+                if ((buffer.getLong(i) & 0x8080808080808080L) != 0) {
+                    return false;
+                }
+            }
+            for (; i < limit; i++) {
+                if (buffer.get(i) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int length() {
+            return buffer.limit();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) (buffer.get(index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return toString(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return toString(0, length());
+        }
+
+        private String toString(final int start, final int end) {
+            Objects.checkFromToIndex(start, end, length());
+            final byte[] bytes = new byte[end - start];
+            buffer.duplicate().position(start).get(bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Content of a source after a text edit. The content is read from the content before the edit, and only copied
+     * to a string when all of it is needed. Edits of edited content are chained up to a limit, after which the
+     * content is copied, so that reading a character does not get slower with every edit.
+     */
+    private static final class EditedContent implements CharSequence {
+        private static final int MAX_EDITS = 8;
+
+        private final CharSequence base;
+        private final int offset;
+        private final int length;
+        private final String replacement;
+        private final int edits;
+        // the content as a string, once it has been needed
+        private String string;
+
+        private EditedContent(final CharSequence base, final int offset, final int length, final String replacement, final int edits) {
+            this.base = base;
+            this.offset = offset;
+            this.length = length;
+            this.replacement = replacement;
+            this.edits = edits;
+        }
+
+        static CharSequence edit(final CharSequence base, final int offset, final int length, final String replacement) {
+            Objects.checkFromIndexSize(offset, length, base.length());
+            Objects.requireNonNull(replacement);
+            final int edits = base instanceof EditedContent ? ((EditedContent)base).edits + 1 : 1;
+            final EditedContent content = new EditedContent(base, offset, length, replacement, edits);
+            return edits > MAX_EDITS ? content.copy() : content;
+        }
+
+        @Override
+        public int length() {
+            return base.length() - length + replacement.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            final String s = string;
+            if (s != null) {
+                return s.charAt(index);
+            } else if (index < offset) {
+                return base.charAt(index);
+            } else if (index < offset + replacement.length()) {
+                return replacement.charAt(index - offset);
+            }
+            return base.charAt(index - replacement.length() + length);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            Objects.checkFromToIndex(start, end, length());
+            final String s = string;
+            if (s != null) {
+                return s.substring(start, end);
+            } else if (end <= offset) {
+                return base.subSequence(start, end);
+            } else if (start >= offset + replacement.length()) {
+                final int delta = replacement.length() - length;
+                return base.subSequence(start - delta, end - delta);
+            }
+            final StringBuilder sb = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                sb.append(charAt(i));
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            String s = string;
+            if (s == null) {
+                string = s = copy();
+            }
+            return s;
+        }
+
+        // copies the content without keeping copies of the content before the edits
+        private String copy() {
+            final StringBuilder sb = new StringBuilder(length());
+            appendTo(sb, 0, length());
+            return sb.toString();
+        }
+
+        private void appendTo(final StringBuilder sb, final int start, final int end) {
+            final String s = string;
+            if (s != null) {
+                sb.append(s, start, end);
+                return;
+            }
+            final int replacementEnd = offset + replacement.length();
+            if (start < offset) {
+                appendBase(sb, start, Math.min(end, offset));
+            }
+            if (start < replacementEnd && end > offset) {
+                sb.append(replacement, Math.max(start, offset) - offset, Math.min(end, replacementEnd) - offset);
+            }
+            if (end > replacementEnd) {
+                final int delta = replacement.length() - length;
+                appendBase(sb, Math.max(start, replacementEnd) - delta, end - delta);
+            }
+        }
+
+        private void appendBase(final StringBuilder sb, final int start, final int end) {
+            if (base instanceof EditedContent) {
+                ((EditedContent)base).appendTo(sb, start, end);
+            } else {
+                sb.append(base, start, end);
+            }
+        }
+    }
+
     private static void debug(final Object... msg) {
         final DebugLogger logger = getLoggerStatic();
         if (logger != null) {
@@ -393,8 +670,8 @@ public final class Source implements Loggable {
         }
     }
 
-    private char[] data() {
-        return data.array();
+    private CharSequence data() {
+        return data.content();
     }
 
     /**
@@ -444,6 +721,20 @@ public final class Source implements Loggable {
         return sourceFor(name, content, false);
     }
 
+    /**
+     * Returns a Source instance for the content of this source after a text edit. The content of
+     * this source is not copied until all of the edited content is needed, so that a part of a
+     * large source can be parsed again after an edit without copying all of it.
+     *
+     * @param offset start position of the edited text
+     * @param length length of the edited text
+     * @param replacement text that replaces the edited text
+     * @return source instance
+     */
+    public Source edit(final int offset, final int length, final String replacement) {
+        return new Source(name, base, new RawData(EditedContent.edit(data(), offset, length, replacement), data.isEvalCode()));
+    }
+
     /**
      * Constructor
      *
@@ -606,7 +897,7 @@ public final class Source implements Loggable {
      * @return Source content portion.
      */
     public String getString(final int start, final int len) {
-        return new String(data(), start, len);
+        return data().subSequence(start, start + len).toString();
     }
 
     /**
@@ -659,9 +950,9 @@ public final class Source implements Loggable {
      * @return Index of first character of line.
      */
     private int findBOLN(final int position) {
-        final char[] d = data();
+        final CharSequence d = data();
         for (int i = position - 1; i > 0; i--) {
-            final char ch = d[i];
+            final char ch = d.charAt(i);
 
             if (ch == '\n' || ch == '\r') {
                 return i + 1;
@@ -677,10 +968,10 @@ public final class Source implements Loggable {
      * @return Index of last character of line.
      */
     private int findEOLN(final int position) {
-        final char[] d = data();
-        final int length = d.length;
+        final CharSequence d = data();
+        final int length = d.length();
         for (int i = position; i < length; i++) {
-            final char ch = d[i];
+            final char ch = d.charAt(i);
 
             if (ch == '\n' || ch == '\r') {
                 return i - 1;
@@ -700,12 +991,12 @@ public final class Source implements Loggable {
      * @return Line number.
      */
     public int getLine(final int position) {
-        final char[] d = data();
+        final CharSequence d = data();
         // Line count starts at 1.
         int line = 1;
 
         for (int i = 0; i < position; i++) {
-            final char ch = d[i];
+            final char ch = d.charAt(i);
             // Works for both \n and \r\n.
             if (ch == '\n') {
                 line++;
@@ -740,15 +1031,20 @@ public final class Source implements Loggable {
     }
 
     /**
-     * Get the content of this source as a char array. Note that the underlying array is returned instead of a
-     * clone; modifying the char array will cause modification to the source; this should not be done. While
-     * there is an apparent danger that we allow unfettered access to an underlying mutable array, the
-     * {@code Source} class is in a restricted {@code org.openjdk.nashorn.internal.*} package and as such it is
-     * inaccessible by external actors in an environment with a security manager. Returning a clone would be
-     * detrimental to performance.
+     * Get a copy of the content of this source as a char array. Use {@link #getCharContent()} to read the content
+     * without copying it.
      * @return content the content of this source as a char array
      */
     public char[] getContent() {
+        return data().toString().toCharArray();
+    }
+
+    /**
+     * Get the content of this source. The content is stored as a string, or as a memory-mapped file for large
+     * files.
+     * @return the content of this source
+     */
+    public CharSequence getCharContent() {
         return data();
     }
 
@@ -768,6 +1064,10 @@ public final class Source implements Loggable {
      * @throws IOException if source could not be read
      */
     public static char[] readFully(final Reader reader) throws IOException {
+        return readString(reader).toCharArray();
+    }
+
+    private static String readString(final Reader reader) throws IOException {
         final char[]        arr = new char[BUF_SIZE];
         final StringBuilder sb  = new StringBuilder();
 
@@ -778,7 +1078,7 @@ public final class Source implements Loggable {
             }
         }
 
-        return sb.toString().toCharArray();
+        return sb.toString();
     }
 
     /**
@@ -792,7 +1092,7 @@ public final class Source implements Loggable {
         if (!file.isFile()) {
             throw new IOException(file + " is not a file"); //TODO localize?
         }
-        return byteToCharArray(Files.readAllBytes(file.toPath()));
+        return decode(Files.readAllBytes(file.toPath())).toCharArray();
     }
 
     /**
@@ -804,12 +1104,30 @@ public final class Source implements Loggable {
      * @throws IOException if source could not be read
      */
     public static char[] readFully(final File file, final Charset cs) throws IOException {
+        return readContent(file, cs).toString().toCharArray();
+    }
+
+    private static CharSequence readContent(final File file, final Charset cs) throws IOException {
         if (!file.isFile()) {
             throw new IOException(file + " is not a file"); //TODO localize?
         }
 
+        final long size = file.length();
+        if (MAP_THRESHOLD >= 0 && size >= MAP_THRESHOLD && size <= Integer.MAX_VALUE && isSingleByteCompatible(cs)) {
+            final MappedContent content = MappedContent.map(file.toPath(), cs);
+            if (content != null) {
+                debug("mapped content of ", file);
+                return content;
+            }
+        }
+
         final byte[] buf = Files.readAllBytes(file.toPath());
-        return (cs != null) ? new String(buf, cs).toCharArray() : byteToCharArray(buf);
+        return (cs != null) ? new String(buf, cs) : decode(buf);
+    }
+
+    // Charsets whose ASCII text can be read as Latin-1; null stands for autodetection
+    private static boolean isSingleByteCompatible(final Charset cs) {
+        return cs == null || StandardCharsets.UTF_8.equals(cs) || StandardCharsets.US_ASCII.equals(cs) || StandardCharsets.ISO_8859_1.equals(cs);
     }
 
     /**
@@ -832,7 +1150,7 @@ public final class Source implements Loggable {
      * @throws IOException if source could not be read
      */
     public static char[] readFully(final URL url, final Charset cs) throws IOException {
-        return readFully(url.openStream(), cs);
+        return readString(url.openStream(), cs).toCharArray();
     }
 
     /**
@@ -844,19 +1162,35 @@ public final class Source implements Loggable {
         return new String(getDigestBytes(), StandardCharsets.US_ASCII);
     }
 
+    /**
+     * Get a Base64-encoded SHA1 digest of the content of this source. Unlike {@link #getDigest()},
+     * it does not depend on the name, base or URL of the source, so it stays the same when the
+     * script is moved to a different location.
+     *
+     * @return a Base64-encoded SHA1 digest of the content of this source
+     */
+    public String getContentDigest() {
+        byte[] ldigest = contentDigest;
+        if (ldigest == null) {
+            contentDigest = ldigest = computeDigest(false);
+        }
+        return new String(ldigest, StandardCharsets.US_ASCII);
+    }
+
     private byte[] getDigestBytes() {
         byte[] ldigest = digest;
         if (ldigest == null) {
-            final char[] content = data();
-            final byte[] bytes = new byte[content.length * 2];
+            digest = ldigest = computeDigest(true);
+        }
+        return ldigest;
+    }
 
-            for (int i = 0; i < content.length; i++) {
-                bytes[i * 2]     = (byte)  (content[i] & 0x00ff);
-                bytes[i * 2 + 1] = (byte) ((content[i] & 0xff00) >> 8);
-            }
+    private byte[] computeDigest(final boolean includeLocation) {
+        final CharSequence content = data();
 
-            try {
-                final MessageDigest md = MessageDigest.getInstance("SHA-1");
+        try {
+            final MessageDigest md = MessageDigest.getInstance("SHA-1");
+            if (includeLocation) {
                 if (name != null) {
                     md.update(name.getBytes(StandardCharsets.UTF_8));
                 }
@@ -866,12 +1200,23 @@ public final class Source implements Loggable {
                 if (getURL() != null) {
                     md.update(getURL().toString().getBytes(StandardCharsets.UTF_8));
                 }
-                digest = ldigest = BASE64.encode(md.digest(bytes));
-            } catch (final NoSuchAlgorithmException e) {
-                throw new RuntimeException(e);
             }
+            // Digest the content as UTF-16LE in chunks
+            final byte[] bytes = new byte[BUF_SIZE];
+            final int length = content.length();
+            for (int start = 0; start < length; start += BUF_SIZE / 2) {
+                final int end = Math.min(length, start + BUF_SIZE / 2);
+                for (int i = start; i < end; i++) {
+                    final char ch = content.charAt(i);
+                    bytes[(i - start) * 2]     = (byte)  (ch & 0x00ff);
+                    bytes[(i - start) * 2 + 1] = (byte) ((ch & 0xff00) >> 8);
+                }
+                md.update(bytes, 0, (end - start) * 2);
+            }
+            return BASE64.encode(md.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
         }
-        return ldigest;
     }
 
     /**
@@ -912,15 +1257,15 @@ public final class Source implements Loggable {
         return (idx != -1) ? name.substring(0, idx + 1) : null;
     }
 
-    private static char[] readFully(final InputStream is, final Charset cs) throws IOException {
-        return (cs != null) ? new String(readBytes(is), cs).toCharArray() : readFully(is);
+    private static String readString(final InputStream is, final Charset cs) throws IOException {
+        return (cs != null) ? new String(readBytes(is), cs) : decode(readBytes(is));
     }
 
     public static char[] readFully(final InputStream is) throws IOException {
-        return byteToCharArray(readBytes(is));
+        return decode(readBytes(is)).toCharArray();
     }
 
-    private static char[] byteToCharArray(final byte[] bytes) {
+    private static String decode(final byte[] bytes) {
         Charset cs = StandardCharsets.UTF_8;
         int start = 0;
         // BOM detection.
@@ -943,7 +1288,7 @@ public final class Source implements Loggable {
             cs = Charset.forName("UTF-32BE");
         }
 
-        return new String(bytes, start, bytes.length - start, cs).toCharArray();
+        return new String(bytes, start, bytes.length - start, cs);
     }
 
     static byte[] readBytes(final InputStream is) throws IOException {
@@ -80,8 +80,9 @@ public final class StoredScript implements Serializable {
         return compilationId;
     }
 
-    private Map<String, Class<?>> installClasses(final Source source, final CodeInstaller installer) {
+    private Map<String, Class<?>> installClasses(final Source source, final CodeInstaller origInstaller) {
         final Map<String, Class<?>> installedClasses = new HashMap<>();
+        final CodeInstaller installer = classBytes.size() > 1 ? origInstaller.getMultiClassCodeInstaller() : origInstaller;
         final byte[]   mainClassBytes = classBytes.get(mainClassName);
         final Class<?> mainClass      = installer.install(mainClassName, mainClassBytes);
 
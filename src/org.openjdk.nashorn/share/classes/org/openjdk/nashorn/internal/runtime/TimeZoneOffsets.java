@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+
+package org.openjdk.nashorn.internal.runtime;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Cached offsets and names of a {@link TimeZone}. Date objects convert between UTC and local time
+ * in every getter and setter, and {@link TimeZone#getOffset(long)} searches the transitions of the
+ * time zone, or computes them from its rules for years after the last listed transition, on every
+ * call. This class caches the intervals between the transitions of the time zone in which its
+ * offset is constant, so looking up the offset for a time close to a previous lookup only takes
+ * a bounds check.
+ * <p>
+ * The intervals are found with the {@link ZoneRules} of the time zone. An interval is only cached
+ * if the time zone has the offset of the rules at the time looked up and at both ends of the
+ * interval, otherwise the offset is looked up in the time zone every time.
+ * <p>
+ * The cache is direct mapped by time, and intervals do not extend beyond the slot they are cached in.
+ * Intervals are immutable, so the cache can be shared by threads without synchronization; a racy
+ * update can at worst lose an interval.
+ */
+public final class TimeZoneOffsets {
+    // Each slot of the cache covers 2^31 ms, about 25 days, so the cache covers about 17 years.
+    private static final int SLOT_SHIFT = 31;
+    private static final int SLOTS = 256;
+
+    private final TimeZone timeZone;
+    private final ZoneRules rules;
+    private final int rawOffset;
+    private final Interval[] intervals = new Interval[SLOTS];
+
+    private volatile String standardName;
+    private volatile String daylightName;
+
+    private static final class Interval {
+        private final long start;
+        private final long end;
+        private final int offset;
+
+        Interval(final long start, final long end, final int offset) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * Constructor
+     * @param timeZone the time zone
+     */
+    public TimeZoneOffsets(final TimeZone timeZone) {
+        this.timeZone = timeZone;
+        this.rawOffset = timeZone.getRawOffset();
+        ZoneRules zoneRules;
+        try {
+            zoneRules = timeZone.toZoneId().getRules();
+            if (zoneRules.isFixedOffset() && timeZone.useDaylightTime()) {
+                // a custom time zone with the id of a fixed offset
+                zoneRules = null;
+            }
+        } catch (final DateTimeException e) {
+            zoneRules = null;
+        }
+        this.rules = zoneRules;
+    }
+
+    /**
+     * Get the time zone.
+     * @return the time zone
+     */
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * Get the offset of the time zone from UTC, without daylight saving time.
+     * @return the raw offset in milliseconds
+     */
+    public int getRawOffset() {
+        return rawOffset;
+    }
+
+    /**
+     * Get the offset of the time zone from UTC at the given time, as {@link TimeZone#getOffset(long)}.
+     * @param time milliseconds since the epoch in UTC
+     * @return the offset in milliseconds
+     */
+    public int getOffset(final long time) {
+        final int slot = (int)(time >> SLOT_SHIFT) & SLOTS - 1;
+        final Interval interval = intervals[slot];
+        if (interval != null && interval.start <= time && time < interval.end) {
+            return interval.offset;
+        }
+        return lookupOffset(time, slot);
+    }
+
+    private int lookupOffset(final long time, final int slot) {
+        final int offset = timeZone.getOffset(time);
+        if (rules != null) {
+            try {
+                final Instant instant = Instant.ofEpochMilli(time);
+                if (rules.getOffset(instant).getTotalSeconds() * 1000 == offset) {
+                    // the previous transition is at or before the time, the next one after it
+                    final ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+                    final ZoneOffsetTransition next = rules.nextTransition(instant);
+                    // intervals end at the slot bounds, so the time zone is checked at least once for every slot
+                    final long slotStart = time >> SLOT_SHIFT << SLOT_SHIFT;
+                    final long slotEnd = slotStart + (1L << SLOT_SHIFT);
+                    final long start = previous == null ? slotStart : Math.max(slotStart, previous.getInstant().toEpochMilli());
+                    final long end = next == null ? slotEnd : Math.min(slotEnd, next.getInstant().toEpochMilli());
+                    if (timeZone.getOffset(start) == offset && timeZone.getOffset(end - 1) == offset) {
+                        intervals[slot] = new Interval(start, end, offset);
+                    }
+                }
+            } catch (final DateTimeException | ArithmeticException e) {
+                // time out of the range of the rules
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Get the short name of the time zone in the US locale, as {@link TimeZone#getDisplayName(boolean, int, Locale)}.
+     * @param daylight true for the name of daylight saving time
+     * @return the name of the time zone
+     */
+    public String getDisplayName(final boolean daylight) {
+        String name = daylight ? daylightName : standardName;
+        if (name == null) {
+            name = timeZone.getDisplayName(daylight, TimeZone.SHORT, Locale.US);
+            if (daylight) {
+                daylightName = name;
+            } else {
+                standardName = name;
+            }
+        }
+        return name;
+    }
+}
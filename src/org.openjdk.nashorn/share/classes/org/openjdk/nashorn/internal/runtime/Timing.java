@@ -233,6 +233,10 @@ public final class Timing implements Loggable {
                 append(Context.getNamedInstalledScriptCount()).
                 append("\nCompile units installed as anonymous classes: ").
                 append(Context.getAnonymousInstalledScriptCount()).
+                append("\nCompile units installed as hidden classes: ").
+                append(Context.getHiddenInstalledScriptCount()).
+                append("\nBytes of installed compile units: ").
+                append(Context.getInstalledScriptBytes()).
                 toString();
         }
 
@@ -71,19 +71,19 @@ public final class DoubleConversion {
      * @return formatted number
      */
     public static String toShortestString(final double value) {
-        final DtoaBuffer buffer = new DtoaBuffer(FastDtoa.kFastDtoaMaximalLength);
-        final double absValue = Math.abs(value);
-
-        if (value < 0) {
-            buffer.isNegative = true;
-        }
-
-        if (!fastDtoaShortest(absValue, buffer)) {
-            buffer.reset();
-            bignumDtoa(absValue, DtoaMode.SHORTEST, 0, buffer);
-        }
+        final StringBuilder sb = new StringBuilder(25);
+        RyuDtoa.appendShortest(value, sb);
+        return sb.toString();
+    }
 
-        return buffer.format(DtoaMode.SHORTEST, 0);
+    /**
+     * Appends the shortest string representation of a double number to a string builder.
+     *
+     * @param value number to convert
+     * @param sb string builder to append to
+     */
+    public static void toShortestString(final double value, final StringBuilder sb) {
+        RyuDtoa.appendShortest(value, sb);
     }
 
     /**
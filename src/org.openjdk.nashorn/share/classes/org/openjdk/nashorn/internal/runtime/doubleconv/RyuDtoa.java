@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+
+package org.openjdk.nashorn.internal.runtime.doubleconv;
+
+import java.math.BigInteger;
+
+/**
+ * Shortest double to string conversion using the Ryu algorithm by Ulf Adams
+ * (Ryu: fast float-to-string conversion, PLDI 2018). Unlike {@link FastDtoa}, which
+ * fails for some values and needs {@link BignumDtoa} as a fallback, Ryu computes the
+ * shortest digits that round to the value for every double with fixed size integer
+ * arithmetic, and writes them without intermediate buffers.
+ */
+final class RyuDtoa {
+
+    private static final int DOUBLE_MANTISSA_BITS = 52;
+    private static final long DOUBLE_MANTISSA_MASK = (1L << DOUBLE_MANTISSA_BITS) - 1;
+    private static final int DOUBLE_EXPONENT_MASK = (1 << 11) - 1;
+    private static final int DOUBLE_EXPONENT_BIAS = 1023;
+
+    private static final int POW5_BITCOUNT = 125;
+    private static final int POW5_INV_BITCOUNT = 125;
+    private static final int POW5_TABLE_SIZE = 326;
+    private static final int POW5_INV_TABLE_SIZE = 342;
+
+    // 5^i normalized to POW5_BITCOUNT bits, as low and high 64 bits
+    private static final long[] POW5_SPLIT = new long[POW5_TABLE_SIZE * 2];
+    // 2^(bitLength(5^i) - 1 + POW5_INV_BITCOUNT) / 5^i rounded up, as low and high 64 bits
+    private static final long[] POW5_INV_SPLIT = new long[POW5_INV_TABLE_SIZE * 2];
+
+    private static final long[] POW10 = new long[18];
+
+    static {
+        final BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        BigInteger pow5 = BigInteger.ONE;
+        for (int i = 0; i < POW5_INV_TABLE_SIZE; i++) {
+            final int pow5len = pow5.bitLength();
+            assert pow5len == pow5bits(i);
+            if (i < POW5_TABLE_SIZE) {
+                final BigInteger split = pow5.shiftRight(pow5len - POW5_BITCOUNT);
+                POW5_SPLIT[2 * i] = split.and(mask).longValue();
+                POW5_SPLIT[2 * i + 1] = split.shiftRight(64).longValue();
+            }
+            final BigInteger inv = BigInteger.ONE.shiftLeft(pow5len - 1 + POW5_INV_BITCOUNT).divide(pow5).add(BigInteger.ONE);
+            POW5_INV_SPLIT[2 * i] = inv.and(mask).longValue();
+            POW5_INV_SPLIT[2 * i + 1] = inv.shiftRight(64).longValue();
+            pow5 = pow5.multiply(BigInteger.valueOf(5));
+        }
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private RyuDtoa() {
+    }
+
+    /**
+     * Appends the shortest string representation of a finite, non-zero double to a
+     * string builder, formatted as specified for Number::toString in ECMA 7.1.12.1.
+     *
+     * @param value finite, non-zero number to convert
+     * @param sb string builder to append to
+     */
+    static void appendShortest(final double value, final StringBuilder sb) {
+        assert value != 0 && Double.isFinite(value);
+
+        final long bits = Double.doubleToRawLongBits(value);
+        final long ieeeMantissa = bits & DOUBLE_MANTISSA_MASK;
+        final int ieeeExponent = (int)(bits >>> DOUBLE_MANTISSA_BITS) & DOUBLE_EXPONENT_MASK;
+
+        // Decode the value as m2 * 2^e2, with two extra bits of exponent for the bounds
+        final int e2;
+        final long m2;
+        if (ieeeExponent == 0) {
+            e2 = 1 - DOUBLE_EXPONENT_BIAS - DOUBLE_MANTISSA_BITS - 2;
+            m2 = ieeeMantissa;
+        } else {
+            e2 = ieeeExponent - DOUBLE_EXPONENT_BIAS - DOUBLE_MANTISSA_BITS - 2;
+            m2 = ieeeMantissa | 1L << DOUBLE_MANTISSA_BITS;
+        }
+        final boolean acceptBounds = (m2 & 1) == 0;
+
+        // The value is mv * 2^e2, the halfway points to its neighbours are mp * 2^e2 and mm * 2^e2
+        final long mv = 4 * m2;
+        final int mmShift = ieeeMantissa != 0 || ieeeExponent <= 1 ? 1 : 0;
+        final long mp = mv + 2;
+        final long mm = mv - 1 - mmShift;
+
+        // Convert to a decimal power base: vr, vp and vm are mv, mp and mm times 2^e2 / 10^e10
+        long vr, vp, vm;
+        final int e10;
+        boolean vmIsTrailingZeros = false;
+        boolean vrIsTrailingZeros = false;
+        if (e2 >= 0) {
+            final int q = log10Pow2(e2) - (e2 > 3 ? 1 : 0);
+            e10 = q;
+            final int k = POW5_INV_BITCOUNT + pow5bits(q) - 1;
+            final int i = -e2 + q + k;
+            vr = mulShift(mv, POW5_INV_SPLIT, q, i);
+            vp = mulShift(mp, POW5_INV_SPLIT, q, i);
+            vm = mulShift(mm, POW5_INV_SPLIT, q, i);
+            if (q <= 21) {
+                // Only one of mp, mv and mm can be a multiple of 5, if any
+                if (mv % 5 == 0) {
+                    vrIsTrailingZeros = multipleOfPowerOf5(mv, q);
+                } else if (acceptBounds) {
+                    vmIsTrailingZeros = multipleOfPowerOf5(mm, q);
+                } else if (multipleOfPowerOf5(mp, q)) {
+                    vp--;
+                }
+            }
+        } else {
+            final int q = log10Pow5(-e2) - (-e2 > 1 ? 1 : 0);
+            e10 = q + e2;
+            final int i = -e2 - q;
+            final int k = pow5bits(i) - POW5_BITCOUNT;
+            final int j = q - k;
+            vr = mulShift(mv, POW5_SPLIT, i, j);
+            vp = mulShift(mp, POW5_SPLIT, i, j);
+            vm = mulShift(mm, POW5_SPLIT, i, j);
+            if (q <= 1) {
+                // mv, mp and mm have at least q trailing zero bits, and mv = 4 * m2 has at least 2
+                vrIsTrailingZeros = true;
+                if (acceptBounds) {
+                    vmIsTrailingZeros = mmShift == 1;
+                } else {
+                    vp--;
+                }
+            } else if (q < 63) {
+                vrIsTrailingZeros = multipleOfPowerOf2(mv, q);
+            }
+        }
+
+        // Remove the digits that vp and vm have in common with vr, rounding vr
+        int removed = 0;
+        final long output;
+        if (vmIsTrailingZeros || vrIsTrailingZeros) {
+            int lastRemovedDigit = 0;
+            while (vp / 10 > vm / 10) {
+                vmIsTrailingZeros &= vm % 10 == 0;
+                vrIsTrailingZeros &= lastRemovedDigit == 0;
+                lastRemovedDigit = (int)(vr % 10);
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            if (vmIsTrailingZeros) {
+                while (vm % 10 == 0) {
+                    vrIsTrailingZeros &= lastRemovedDigit == 0;
+                    lastRemovedDigit = (int)(vr % 10);
+                    vr /= 10;
+                    vp /= 10;
+                    vm /= 10;
+                    removed++;
+                }
+            }
+            if (vrIsTrailingZeros && lastRemovedDigit == 5 && vr % 2 == 0) {
+                // Round even if the exact value is halfway between two decimals
+                lastRemovedDigit = 4;
+            }
+            output = vr + ((vr == vm && (!acceptBounds || !vmIsTrailingZeros)) || lastRemovedDigit >= 5 ? 1 : 0);
+        } else {
+            // Common case, in which rounding is only affected by the last removed digit
+            boolean roundUp = false;
+            if (vp / 100 > vm / 100) {
+                roundUp = vr % 100 >= 50;
+                vr /= 100;
+                vp /= 100;
+                vm /= 100;
+                removed += 2;
+            }
+            while (vp / 10 > vm / 10) {
+                roundUp = vr % 10 >= 5;
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            output = vr + (vr == vm || roundUp ? 1 : 0);
+        }
+
+        final int length = decimalLength(output);
+        // The value is 0.d1d2...dlength * 10^point
+        final int point = e10 + removed + length;
+
+        if (value < 0) {
+            sb.append('-');
+        }
+        // StringBuilder.append(long) writes the digits without allocation
+        if (point >= length && point <= 21) {
+            sb.append(output);
+            for (int i = length; i < point; i++) {
+                sb.append('0');
+            }
+        } else if (point > 0 && point <= 21) {
+            final int start = sb.length();
+            sb.append(output).insert(start + point, '.');
+        } else if (point > -6 && point <= 0) {
+            sb.append("0.");
+            for (int i = point; i < 0; i++) {
+                sb.append('0');
+            }
+            sb.append(output);
+        } else {
+            final int start = sb.length();
+            sb.append(output);
+            if (length > 1) {
+                sb.insert(start + 1, '.');
+            }
+            sb.append(point > 0 ? "e+" : "e").append(point - 1);
+        }
+    }
+
+    private static int decimalLength(final long v) {
+        int length = 1;
+        while (length < POW10.length && v >= POW10[length]) {
+            length++;
+        }
+        return length;
+    }
+
+    // m * (high * 2^64 + low) >> shift, where m < 2^55, the multiplier has 125 bits and shift >= 115
+    private static long mulShift(final long m, final long[] table, final int index, final int shift) {
+        final long low = table[2 * index];
+        final long high = table[2 * index + 1];
+        // high 64 bits of the unsigned product m * low
+        final long lowProductHigh = Math.multiplyHigh(m, low) + (low < 0 ? m : 0);
+        final long highProductLow = m * high;
+        final long highProductHigh = Math.multiplyHigh(m, high);
+        final long sumLow = highProductLow + lowProductHigh;
+        final long sumHigh = highProductHigh + (Long.compareUnsigned(sumLow, highProductLow) < 0 ? 1 : 0);
+        final int s = shift - 64;
+        return s < 64 ? sumHigh << 64 - s | sumLow >>> s : sumHigh >>> s - 64;
+    }
+
+    // number of bits of 5^e, 1 for e == 0
+    private static int pow5bits(final int e) {
+        return (int)((e * 1217359L) >>> 19) + 1;
+    }
+
+    // floor(log10(2^e))
+    private static int log10Pow2(final int e) {
+        return (int)((e * 78913L) >>> 18);
+    }
+
+    // floor(log10(5^e))
+    private static int log10Pow5(final int e) {
+        return (int)((e * 732923L) >>> 20);
+    }
+
+    private static boolean multipleOfPowerOf5(final long value, final int p) {
+        long v = value;
+        int count = 0;
+        while (v % 5 == 0) {
+            v /= 5;
+            if (++count >= p) {
+                return true;
+            }
+        }
+        return count >= p;
+    }
+
+    private static boolean multipleOfPowerOf2(final long value, final int p) {
+        return (value & (1L << p) - 1) == 0;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.linker;
+
+import java.lang.invoke.MethodType;
+import jdk.dynalink.Operation;
+import jdk.dynalink.linker.GuardedInvocation;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+
+/**
+ * Context-wide cache of linked invocations of Java methods. Calling a dynamic method obtained
+ * from {@code BeansLinker} (an overloaded method such as {@code StringBuilder.append}, or a
+ * single method) makes {@code BeansLinker} select the applicable overloads for the call site
+ * type and compose the argument converters for them. This cache maps the dynamic method, the
+ * call site type, the operation and the lookup class of the call site to the resulting
+ * {@link GuardedInvocation}, so that linking another call site with the same signature, or
+ * relinking a polymorphic call site, reuses it.
+ * <p>
+ * Invocations for dynamic methods are guarded by the identity of the dynamic method and do
+ * not depend on anything else from the link request. The lookup class is part of the key as
+ * caller sensitive methods are bound to it.
+ * <p>
+ * The cache is direct mapped. Entries are immutable, so the cache can be shared by threads
+ * without synchronization; a racy update can at worst lose an entry.
+ */
+public final class DynamicMethodCache {
+    /** Number of cache entries. Specified with -Dnashorn.dynamic.method.cache.size=x, rounded to a power of two. 0 disables the cache. */
+    private static final int SIZE = Integer.highestOneBit(Math.max(0, Options.getIntProperty("nashorn.dynamic.method.cache.size", 1024)));
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    private static final class Entry {
+        private final Object method;
+        private final MethodType type;
+        private final Operation operation;
+        private final Class<?> lookupClass;
+        private final GuardedInvocation invocation;
+
+        Entry(final Object method, final MethodType type, final Operation operation, final Class<?> lookupClass, final GuardedInvocation invocation) {
+            this.method = method;
+            this.type = type;
+            this.operation = operation;
+            this.lookupClass = lookupClass;
+            this.invocation = invocation;
+        }
+
+        private boolean matches(final Object otherMethod, final MethodType otherType, final Operation otherOperation, final Class<?> otherLookupClass) {
+            return method == otherMethod && lookupClass == otherLookupClass && type.equals(otherType) && operation.equals(otherOperation);
+        }
+    }
+
+    /**
+     * Creates a new, empty dynamic method cache.
+     */
+    public DynamicMethodCache() {
+    }
+
+    /**
+     * Get the cached invocation of a dynamic method.
+     * @param method the dynamic method
+     * @param type the call site type
+     * @param operation the call site operation
+     * @param lookupClass the lookup class of the call site
+     * @return the cached invocation, or null
+     */
+    GuardedInvocation get(final Object method, final MethodType type, final Operation operation, final Class<?> lookupClass) {
+        if (SIZE == 0) {
+            return null;
+        }
+        final Entry entry = entries[index(method, type)];
+        if (entry != null && entry.matches(method, type, operation, lookupClass) && !entry.invocation.hasBeenInvalidated()) {
+            return entry.invocation;
+        }
+        return null;
+    }
+
+    /**
+     * Cache the invocation of a dynamic method.
+     * @param method the dynamic method
+     * @param type the call site type
+     * @param operation the call site operation
+     * @param lookupClass the lookup class of the call site
+     * @param invocation the invocation linked for the call site
+     */
+    void put(final Object method, final MethodType type, final Operation operation, final Class<?> lookupClass, final GuardedInvocation invocation) {
+        if (SIZE != 0) {
+            entries[index(method, type)] = new Entry(method, type, operation, lookupClass, invocation);
+        }
+    }
+
+    private static int index(final Object method, final MethodType type) {
+        return (System.identityHashCode(method) * 31 + type.hashCode()) & SIZE - 1;
+    }
+}
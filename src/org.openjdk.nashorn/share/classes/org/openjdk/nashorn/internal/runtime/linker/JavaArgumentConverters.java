@@ -61,6 +61,19 @@ final class JavaArgumentConverters {
         return CONVERTERS.get(targetType);
     }
 
+    /**
+     * Returns a converter specialized for a statically known source type, or null if there is none. Specialized
+     * converters produce the same results as the generic ones returned by {@link #getConverter(Class)}, but skip
+     * their type dispatch, and don't need a guard.
+     * @param sourceType the source type
+     * @param targetType the target type
+     * @return a converter of type {@code (sourceType)targetType}, or null
+     */
+    static MethodHandle getSpecializedConverter(final Class<?> sourceType, final Class<?> targetType) {
+        final Map<Class<?>, MethodHandle> converters = SPECIALIZED_CONVERTERS.get(sourceType);
+        return converters == null ? null : converters.get(targetType);
+    }
+
     @SuppressWarnings("unused")
     private static Boolean toBoolean(final Object obj) {
         if (obj instanceof Boolean) {
@@ -222,6 +235,27 @@ final class JavaArgumentConverters {
         }
     }
 
+    @SuppressWarnings("unused")
+    private static long doubleToLong(final double d) {
+        // same as toLong(Object) for a Double
+        return Double.isInfinite(d) ? 0L : (long) d;
+    }
+
+    @SuppressWarnings("unused")
+    private static int doubleToInt(final double d) {
+        return (int) doubleToLong(d);
+    }
+
+    @SuppressWarnings("unused")
+    private static double stringToDouble(final CharSequence s) {
+        return s == null ? 0.0 : JSType.toNumber(s.toString());
+    }
+
+    @SuppressWarnings("unused")
+    private static String consStringToString(final ConsString s) {
+        return s == null ? null : s.toString();
+    }
+
     private static AssertionError assertUnexpectedType(final Object obj) {
         return new AssertionError("Unexpected type" + obj.getClass().getName() + ". Guards should have prevented this");
     }
@@ -258,7 +292,34 @@ final class JavaArgumentConverters {
         putLongConverter(Short.class);
         putLongConverter(Integer.class);
         putDoubleConverter(Float.class);
+    }
+
+    private static final Map<Class<?>, Map<Class<?>, MethodHandle>> SPECIALIZED_CONVERTERS = new HashMap<>();
+
+    static {
+        final MethodHandle doubleToLong = findOwnMH("doubleToLong", long.class, double.class);
+        final MethodHandle doubleToInt = findOwnMH("doubleToInt", int.class, double.class);
+        final MethodHandle stringToDouble = findOwnMH("stringToDouble", double.class, CharSequence.class);
+        final MethodHandle intToString = MH.findStatic(MethodHandles.lookup(), JSType.class, "toString", MH.type(String.class, int.class));
+        final MethodHandle doubleToString = MH.findStatic(MethodHandles.lookup(), JSType.class, "toString", MH.type(String.class, double.class));
+
+        // Primitive sources, as passed by call sites with optimistic or proven int and double arguments. Widening
+        // int to long or double needs no converter.
+        putSpecializedConverter(int.class, String.class, intToString);
+        putSpecializedConverter(double.class, int.class, doubleToInt);
+        putSpecializedConverter(double.class, long.class, doubleToLong);
+        putSpecializedConverter(double.class, String.class, doubleToString);
+
+        // Strings
+        putSpecializedConverter(String.class, String.class, MH.identity(String.class));
+        putSpecializedConverter(String.class, double.class, MH.asType(stringToDouble, MH.type(double.class, String.class)));
+        putSpecializedConverter(ConsString.class, String.class, findOwnMH("consStringToString", String.class, ConsString.class));
+        putSpecializedConverter(ConsString.class, double.class, MH.asType(stringToDouble, MH.type(double.class, ConsString.class)));
+    }
 
+    private static void putSpecializedConverter(final Class<?> sourceType, final Class<?> targetType, final MethodHandle converter) {
+        assert converter.type() == MH.type(targetType, sourceType) : converter;
+        SPECIALIZED_CONVERTERS.computeIfAbsent(sourceType, k -> new HashMap<>()).put(targetType, converter);
     }
 
     private static void putDoubleConverter(final Class<?> targetType) {
@@ -33,20 +33,27 @@ import java.io.PrintWriter;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.LinkedList;
-import java.util.Map.Entry;
-import java.util.Random;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.LongAdder;
 import jdk.dynalink.DynamicLinker;
 import jdk.dynalink.linker.GuardedInvocation;
 import jdk.dynalink.support.ChainedCallSite;
 import org.openjdk.nashorn.internal.runtime.Context;
 import org.openjdk.nashorn.internal.runtime.Debug;
+import org.openjdk.nashorn.internal.runtime.PropertyMap;
 import org.openjdk.nashorn.internal.runtime.ScriptObject;
 import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
 import org.openjdk.nashorn.internal.runtime.options.Options;
@@ -61,13 +68,42 @@ public class LinkerCallSite extends ChainedCallSite {
 
     private static final String PROFILEFILE = Options.getStringProperty("nashorn.profilefile", "NashornProfile.txt");
 
-    private static final MethodHandle INCREASE_MISS_COUNTER = MH.findStatic(MethodHandles.lookup(), LinkerCallSite.class, "increaseMissCount", MH.type(Object.class, String.class, Object.class));
-    private static final Comparator<Entry<String, AtomicInteger>> MISS_COUNT_COMPARATOR = Comparator.comparingInt(e -> e.getValue().get());
+    /** Maximum number of guarded invocations chained at a call site. Specified with -Dnashorn.callsite.pic.depth=x */
+    private static final int MAX_CHAIN_LENGTH = Math.max(1, Options.getIntProperty("nashorn.callsite.pic.depth", 8));
+
+    private static final MethodHandle INCREASE_MISS_COUNTER = MH.findVirtual(MethodHandles.lookup(), LinkerCallSite.class, "increaseMissCount", MH.type(Object.class, Object.class));
+
+    /** Maximum number of distinct receiver shapes recorded per call site. */
+    private static final int MAX_RECORDED_SHAPES = 8;
+
+    private static final Object[] EMPTY_SHAPES = new Object[0];
+
+    /** Miss statistics of this call site, only allocated in debug mode. */
+    private final MissStatistics statistics;
+
+    /**
+     * Miss and relink statistics of a call site. Kept out of the call site itself so
+     * that call sites don't pay for them when statistics are not collected.
+     */
+    private static final class MissStatistics {
+        private static final AtomicLongFieldUpdater<MissStatistics> SITE_MISS_COUNT = AtomicLongFieldUpdater.newUpdater(MissStatistics.class, "siteMissCount");
+        private static final AtomicIntegerFieldUpdater<MissStatistics> RELINK_COUNT = AtomicIntegerFieldUpdater.newUpdater(MissStatistics.class, "relinkCount");
+
+        private volatile long siteMissCount;
+        private volatile int relinkCount;
+        private volatile boolean unstable;
+        private volatile String location;
+        private volatile Object[] receiverShapes = EMPTY_SHAPES;
+    }
 
     LinkerCallSite(final NashornCallSiteDescriptor descriptor) {
         super(descriptor);
         if (Context.DEBUG) {
+            this.statistics = new MissStatistics();
             LinkerCallSite.count.increment();
+            register(this);
+        } else {
+            this.statistics = null;
         }
     }
 
@@ -112,22 +148,30 @@ public class LinkerCallSite extends ChainedCallSite {
 
     @Override
     public void resetAndRelink(final GuardedInvocation invocation, final MethodHandle relink) {
+        // Dynalink only resets an already linked call site once, when it becomes unstable
+        if (statistics != null && statistics.relinkCount > 0) {
+            statistics.unstable = true;
+        }
         super.resetAndRelink(invocation, getDebuggingRelink(relink));
     }
 
     private MethodHandle getDebuggingRelink(final MethodHandle relink) {
-        if (Context.DEBUG) {
+        if (statistics != null) {
+            MissStatistics.RELINK_COUNT.incrementAndGet(statistics);
+            if (statistics.location == null) {
+                statistics.location = getScriptLocation();
+            }
             return MH.filterArguments(relink, 0, getIncreaseMissCounter(relink.type().parameterType(0)));
         }
         return relink;
     }
 
     private MethodHandle getIncreaseMissCounter(final Class<?> type) {
-        final MethodHandle missCounterWithDesc = MH.bindTo(INCREASE_MISS_COUNTER, getDescriptor().getOperation() + " @ " + getScriptLocation());
+        final MethodHandle missCounter = MH.bindTo(INCREASE_MISS_COUNTER, this);
         if (type == Object.class) {
-            return missCounterWithDesc;
+            return missCounter;
         }
-        return MH.asType(missCounterWithDesc, missCounterWithDesc.type().changeParameterType(0, type).changeReturnType(type));
+        return MH.asType(missCounter, missCounter.type().changeParameterType(0, type).changeReturnType(type));
     }
 
     private static String getScriptLocation() {
@@ -136,24 +180,118 @@ public class LinkerCallSite extends ChainedCallSite {
     }
 
     /**
-     * Instrumentation - increase the miss count when a callsite misses. Used as filter
-     * @param desc descriptor for table entry
+     * Instrumentation - increase the miss count when a callsite misses. Used as filter.
+     * The receiver shape is only recorded for a sample of the misses.
      * @param self self reference
      * @return self reference
      */
-    public static Object increaseMissCount(final String desc, final Object self) {
+    @SuppressWarnings("unused")
+    private Object increaseMissCount(final Object self) {
         missCount.increment();
-        if (r.nextInt(100) < missSamplingPercentage) {
-            final AtomicInteger i = missCounts.get(desc);
-            if (i == null) {
-                missCounts.put(desc, new AtomicInteger(1));
-            } else {
-                i.incrementAndGet();
-            }
+        MissStatistics.SITE_MISS_COUNT.incrementAndGet(statistics);
+        if (ThreadLocalRandom.current().nextInt(100) < missSamplingPercentage) {
+            recordReceiverShape(self);
         }
         return self;
     }
 
+    private void recordReceiverShape(final Object self) {
+        final Object shape = self instanceof ScriptObject ? ((ScriptObject)self).getMap() : self == null ? null : self.getClass();
+        if (shape == null || containsShape(statistics.receiverShapes, shape)) {
+            return;
+        }
+        synchronized (statistics) {
+            final Object[] shapes = statistics.receiverShapes;
+            if (shapes.length < MAX_RECORDED_SHAPES && !containsShape(shapes, shape)) {
+                final Object[] newShapes = Arrays.copyOf(shapes, shapes.length + 1);
+                newShapes[shapes.length] = shape;
+                statistics.receiverShapes = newShapes;
+            }
+        }
+    }
+
+    private static boolean containsShape(final Object[] shapes, final Object shape) {
+        for (final Object s : shapes) {
+            if (s == shape) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String describeShape(final Object shape) {
+        if (shape instanceof PropertyMap) {
+            final PropertyMap map = (PropertyMap)shape;
+            final StringBuilder sb = new StringBuilder(Debug.id(map)).append('{');
+            boolean isFirst = true;
+            for (final Object key : map) {
+                if (!isFirst) {
+                    sb.append(", ");
+                }
+                sb.append(key);
+                isFirst = false;
+            }
+            return sb.append('}').toString();
+        }
+        return ((Class<?>)shape).getName();
+    }
+
+    /**
+     * Get the number of times this call site was linked or relinked. Only collected in debug mode.
+     * @return the relink count
+     */
+    public int getRelinkCount() {
+        return statistics == null ? 0 : statistics.relinkCount;
+    }
+
+    /**
+     * Get the number of misses of this call site. Only collected in debug mode.
+     * @return the miss count
+     */
+    public long getSiteMissCount() {
+        return statistics == null ? 0L : statistics.siteMissCount;
+    }
+
+    /**
+     * Has this call site been relinked as unstable? Only collected in debug mode.
+     * @return true if the call site was marked unstable by the dynamic linker
+     */
+    public boolean isUnstable() {
+        return statistics != null && statistics.unstable;
+    }
+
+    /**
+     * Is this call site megamorphic, i.e. has it been relinked more often than its
+     * invocation chain can hold? Only collected in debug mode.
+     * @return true if the call site is megamorphic
+     */
+    public boolean isMegamorphic() {
+        return isUnstable() || getRelinkCount() > getMaxChainLength();
+    }
+
+    /**
+     * Get the script location of this call site, if known. Only collected in debug mode.
+     * @return script location as "file:line", or "unknown location"
+     */
+    public String getScriptLocationDescription() {
+        final String loc = statistics == null ? null : statistics.location;
+        return loc == null ? "unknown location" : loc;
+    }
+
+    /**
+     * Get descriptions of a sample of the receiver shapes (property maps or classes)
+     * seen at this call site when it missed. Only collected in debug mode.
+     * @return list of receiver shape descriptions
+     */
+    public List<String> getReceiverShapes() {
+        final Object[] shapes = statistics == null ? EMPTY_SHAPES : statistics.receiverShapes;
+        final List<String> result = new ArrayList<>(shapes.length);
+        for (final Object shape : shapes) {
+            result.add(describeShape(shape));
+        }
+        return result;
+    }
+
     /*
      * Debugging call sites.
      */
@@ -487,11 +625,19 @@ public class LinkerCallSite extends ChainedCallSite {
 
     // counters updated in debug mode
     private static LongAdder count;
-    private static final HashMap<String, AtomicInteger> missCounts = new HashMap<>();
     private static LongAdder missCount;
-    private static final Random r = new Random();
     private static final int missSamplingPercentage = Options.getIntProperty("nashorn.tcs.miss.samplePercent", 1);
 
+    // weak registry of live call sites, populated in debug mode
+    private static final Set<Reference<LinkerCallSite>> liveCallSites = ConcurrentHashMap.newKeySet();
+    private static final ReferenceQueue<LinkerCallSite> collectedCallSites = new ReferenceQueue<>();
+
+    private static final Comparator<LinkerCallSite> INSTABILITY_COMPARATOR =
+            Comparator.comparing(LinkerCallSite::isMegamorphic)
+                    .thenComparingInt(LinkerCallSite::getRelinkCount)
+                    .thenComparingLong(LinkerCallSite::getSiteMissCount)
+                    .reversed();
+
     static {
         if (Context.DEBUG) {
             count = new LongAdder();
@@ -499,9 +645,14 @@ public class LinkerCallSite extends ChainedCallSite {
         }
     }
 
+    /**
+     * The maximum number of guarded invocations chained at this call site before it is
+     * relinked as unstable. Defaults to 8, specified with -Dnashorn.callsite.pic.depth=x
+     * @return the maximum chain length
+     */
     @Override
     protected int getMaxChainLength() {
-        return 8;
+        return MAX_CHAIN_LENGTH;
     }
 
     /**
@@ -521,24 +672,60 @@ public class LinkerCallSite extends ChainedCallSite {
     }
 
     /**
-     * Get given miss sampling percentage for sampler. Default is 1%. Specified with -Dnashorn.tcs.miss.samplePercent=x
+     * Get given miss sampling percentage for the receiver shape sampler. Default is 1%.
+     * Specified with -Dnashorn.tcs.miss.samplePercent=x
      * @return miss sampling percentage
      */
     public static int getMissSamplingPercentage() {
         return missSamplingPercentage;
     }
 
+    private static void register(final LinkerCallSite callSite) {
+        expungeCollectedCallSites();
+        liveCallSites.add(new WeakReference<>(callSite, collectedCallSites));
+    }
+
+    private static void expungeCollectedCallSites() {
+        Reference<? extends LinkerCallSite> ref;
+        while ((ref = collectedCallSites.poll()) != null) {
+            liveCallSites.remove(ref);
+        }
+    }
+
+    /**
+     * Get the live call sites that missed at least once, most unstable first. Megamorphic
+     * call sites come first, then call sites are ordered by relink and miss counts.
+     * Only collected in debug mode.
+     * @param limit maximum number of call sites to return
+     * @return list of call sites
+     */
+    public static List<LinkerCallSite> getUnstableCallSites(final int limit) {
+        expungeCollectedCallSites();
+        final List<LinkerCallSite> sites = new ArrayList<>();
+        for (final Reference<LinkerCallSite> ref : liveCallSites) {
+            final LinkerCallSite site = ref.get();
+            if (site != null && site.getSiteMissCount() > 0) {
+                sites.add(site);
+            }
+        }
+        if (sites.isEmpty()) {
+            return Collections.emptyList();
+        }
+        sites.sort(INSTABILITY_COMPARATOR);
+        return sites.size() > limit ? new ArrayList<>(sites.subList(0, limit)) : sites;
+    }
+
     /**
      * Dump the miss counts collected so far to a given output stream
      * @param out print stream
      */
     public static void getMissCounts(final PrintWriter out) {
-        final ArrayList<Entry<String, AtomicInteger>> entries = new ArrayList<>(missCounts.entrySet());
-
-        entries.sort(MISS_COUNT_COMPARATOR);
-
-        for (final Entry<String, AtomicInteger> entry : entries) {
-            out.println("  " + entry.getKey() + "\t" + entry.getValue().get());
+        for (final LinkerCallSite site : getUnstableCallSites(Integer.MAX_VALUE)) {
+            out.println("  " + site.getDescriptor().getOperation() + " @ " + site.getScriptLocationDescription() +
+                    "\t" + site.getSiteMissCount() +
+                    "\trelinks=" + site.getRelinkCount() +
+                    (site.isMegamorphic() ? "\tmegamorphic" : "") +
+                    "\tshapes=" + site.getReceiverShapes());
         }
     }
 
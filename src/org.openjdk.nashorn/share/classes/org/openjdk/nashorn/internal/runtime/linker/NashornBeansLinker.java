@@ -153,9 +153,32 @@ public class NashornBeansLinker implements GuardingDynamicLinker {
                 return gi.replaceMethods(calleeToThis, gi.getGuard());
             }
         }
+        if (desc instanceof NashornCallSiteDescriptor && BeansLinker.isDynamicMethod(self)
+                && NamedOperation.getBaseOperation(desc.getOperation()) == StandardOperation.CALL) {
+            return getDynamicMethodInvocation(self, (NashornCallSiteDescriptor)desc, linkRequest, linkerServices);
+        }
         return getGuardedInvocation(beansLinker, linkRequest, linkerServices);
     }
 
+    // Overload selection and argument conversion for a dynamic method only depend on the call site, so
+    // the resulting invocations are shared by all call sites of a Context that link the same method with
+    // the same signature.
+    private GuardedInvocation getDynamicMethodInvocation(final Object method, final NashornCallSiteDescriptor desc, final LinkRequest linkRequest, final LinkerServices linkerServices) throws Exception {
+        final Class<?> lookupClass = NashornCallSiteDescriptor.getLookupInternal(desc).lookupClass();
+        final DynamicMethodCache cache = Context.getDynamicMethodCache(lookupClass);
+        final MethodType type = desc.getMethodType();
+        final Operation operation = desc.getOperation();
+
+        GuardedInvocation invocation = cache == null ? null : cache.get(method, type, operation, lookupClass);
+        if (invocation == null) {
+            invocation = getGuardedInvocation(beansLinker, linkRequest, linkerServices);
+            if (invocation != null && cache != null) {
+                cache.put(method, type, operation, lookupClass, invocation);
+            }
+        }
+        return invocation;
+    }
+
     /**
      * Delegates to the specified linker but injects its linker services wrapper so that it will apply all special
      * conversions that this class does.
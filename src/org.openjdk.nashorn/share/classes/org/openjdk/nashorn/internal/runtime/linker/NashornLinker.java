@@ -123,6 +123,11 @@ final class NashornLinker implements TypeBasedGuardingDynamicLinker, GuardingTyp
      * @return a guarded invocation that converts from the source type to the target type.
      */
     private static GuardedInvocation convertToTypeNoCast(final Class<?> sourceType, final Class<?> targetType, final Supplier<MethodHandles.Lookup> lookupSupplier) {
+        final MethodHandle specialized = JavaArgumentConverters.getSpecializedConverter(sourceType, targetType);
+        if (specialized != null) {
+            return new GuardedInvocation(specialized);
+        }
+
         final MethodHandle mh = JavaArgumentConverters.getConverter(targetType);
         if (mh != null) {
             return new GuardedInvocation(mh, canLinkTypeStatic(sourceType) ? null : IS_NASHORN_OR_UNDEFINED_TYPE);
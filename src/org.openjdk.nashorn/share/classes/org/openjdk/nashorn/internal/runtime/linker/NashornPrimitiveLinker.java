@@ -78,6 +78,11 @@ final class NashornPrimitiveLinker implements TypeBasedGuardingDynamicLinker, Gu
      */
     @Override
     public GuardedInvocation convertToType(final Class<?> sourceType, final Class<?> targetType, final Supplier<MethodHandles.Lookup> lookupSupplier) {
+        final MethodHandle specialized = JavaArgumentConverters.getSpecializedConverter(sourceType, targetType);
+        if (specialized != null) {
+            return new GuardedInvocation(specialized);
+        }
+
         final MethodHandle mh = JavaArgumentConverters.getConverter(targetType);
         if (mh == null) {
             if(targetType == Object.class && sourceType == void.class) {
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Objects that get more properties than their constructor visibly assigns:
+ * properties added after construction, and properties assigned by a helper
+ * function called from the constructor.
+ */
+
+function bench(name, func) {
+    var time;
+    for (var run = 0; run < 5; run++) {
+        var start = Date.now();
+        func();
+        time = Date.now() - start;
+    }
+    print(time + "\t" + name);
+}
+
+function Node(id) {
+    this.id = id;
+    this.next = null;
+}
+
+function decorate(node) {
+    node.a = 1; node.b = 2; node.c = 3; node.d = 4;
+    node.e = 5; node.f = 6; node.g = 7; node.h = 8;
+    return node;
+}
+
+function init(self, id) {
+    self.id = id; self.x = 0; self.y = 0; self.z = 0;
+    self.vx = 1; self.vy = 1; self.vz = 1; self.mass = 2;
+}
+
+function Particle(id) {
+    init(this, id);
+}
+
+function createDecorated() {
+    var nodes = [];
+    for (var i = 0; i < 2e5; i++) {
+        nodes.push(decorate(new Node(i)));
+    }
+    return nodes;
+}
+
+function createParticles() {
+    var particles = [];
+    for (var i = 0; i < 2e5; i++) {
+        particles.push(new Particle(i));
+    }
+    return particles;
+}
+
+function sumDecorated(nodes) {
+    var sum = 0;
+    for (var n = 0; n < 10; n++) {
+        for (var i = 0; i < nodes.length; i++) {
+            var o = nodes[i];
+            sum += o.a + o.d + o.h;
+        }
+    }
+    return sum;
+}
+
+function moveParticles(particles) {
+    for (var n = 0; n < 10; n++) {
+        for (var i = 0; i < particles.length; i++) {
+            var p = particles[i];
+            p.x += p.vx; p.y += p.vy; p.z += p.vz;
+        }
+    }
+}
+
+function footprint(name, create) {
+    var runtime = java.lang.Runtime.getRuntime();
+    java.lang.System.gc();
+    var before = runtime.totalMemory() - runtime.freeMemory();
+    var objects = create();
+    java.lang.System.gc();
+    var after = runtime.totalMemory() - runtime.freeMemory();
+    print(Math.round((after - before) / objects.length) + "\tbytes per object, " + name);
+}
+
+var nodes = createDecorated();
+var particles = createParticles();
+
+bench("create decorated", createDecorated);
+bench("create particles", createParticles);
+bench("read decorated", function() { sumDecorated(nodes); });
+bench("update particles", function() { moveParticles(particles); });
+footprint("decorated", createDecorated);
+footprint("particles", createParticles);
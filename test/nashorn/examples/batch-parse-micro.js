@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Writes a set of generated source files to a temporary directory and prints
+ * the throughput in files per second of parsing them one at a time with the
+ * tree API parser, and of parsing them as a batch on thread pools of
+ * increasing size up to the number of available processors.
+ */
+
+var FILES = 1000;
+var ROUNDS = 3;
+
+var Parser = Java.type("org.openjdk.nashorn.api.tree.Parser");
+var Files = Java.type("java.nio.file.Files");
+var Executors = Java.type("java.util.concurrent.Executors");
+var ArrayList = Java.type("java.util.ArrayList");
+var System = java.lang.System;
+
+function source(f) {
+    var lines = [];
+    for (var i = 0; i < 15; i++) {
+        lines.push("function fn" + f + "_" + i + "(items, limit) {");
+        lines.push("    var result = [];");
+        lines.push("    for (var k = 0; k < items.length && result.length < limit; k++) {");
+        lines.push("        if (items[k].id % " + (i + 2) + " === 0) {");
+        lines.push("            result.push({ id: items[k].id, label: String(items[k].name).toUpperCase() });");
+        lines.push("        }");
+        lines.push("    }");
+        lines.push("    return result;");
+        lines.push("}");
+    }
+    return lines.join("\n");
+}
+
+var dir = Files.createTempDirectory("batch-parse-micro");
+var paths = new ArrayList();
+for (var f = 0; f < FILES; f++) {
+    paths.add(Files.writeString(dir.resolve("file" + f + ".js"), source(f)));
+}
+
+var parser = Parser.create();
+
+function bench(label, run) {
+    run();
+    var start = System.nanoTime();
+    for (var i = 0; i < ROUNDS; i++) {
+        run();
+    }
+    var seconds = (System.nanoTime() - start) / 1e9;
+    print(label + ": " + (FILES * ROUNDS / seconds).toFixed(0) + " files/s");
+}
+
+try {
+    bench("sequential", function() {
+        for each (var path in paths) {
+            parser.parse(path, null);
+        }
+    });
+    var processors = java.lang.Runtime.getRuntime().availableProcessors();
+    for (var threads = 1; ; threads = Math.min(threads * 2, processors)) {
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            bench("batch, " + threads + " thread" + (threads > 1 ? "s" : ""), function() {
+                parser.parse(paths, executor, function(path, tree) { tree.getSourceElements(); }, null);
+            });
+        } finally {
+            executor.shutdown();
+        }
+        if (threads == processors) {
+            break;
+        }
+    }
+} finally {
+    for each (var path in paths) {
+        Files.delete(path);
+    }
+    Files.delete(dir);
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Prints the time per operation of creating dates from ISO 8601 strings,
+ * parsing the strings returned by toUTCString() and toString(), formatting
+ * dates with toISOString() and toString(), and getting the local time
+ * fields of dates.
+ */
+
+var N = 200000;
+var WARMUP = 30;
+var ROUNDS = 10;
+
+var System = java.lang.System;
+
+var dates = [];
+var isoStrings = [];
+var utcStrings = [];
+var localStrings = [];
+for (var i = 0; i < 1000; i++) {
+    var date = new Date(Date.UTC(1970 + i % 80, i % 12, 1 + i % 28, i % 24, i % 60, i % 60, i));
+    dates.push(date);
+    isoStrings.push(date.toISOString());
+    utcStrings.push(date.toUTCString());
+    localStrings.push(date.toString());
+}
+
+function bench(label, ops, run) {
+    var sink;
+    for (var i = 0; i < WARMUP; i++) {
+        sink = run();
+    }
+    var start = System.nanoTime();
+    for (var i = 0; i < ROUNDS; i++) {
+        sink = run();
+    }
+    var ns = (System.nanoTime() - start) / (ROUNDS * ops);
+    print(label + ": " + ns.toFixed(1) + " ns/op");
+    return sink;
+}
+
+bench("new Date(ISO string)", N, function() {
+    var d;
+    for (var i = 0; i < N; i++) {
+        d = new Date(isoStrings[i % 1000]);
+    }
+    return d;
+});
+
+bench("Date.parse(toUTCString())", N, function() {
+    var t = 0;
+    for (var i = 0; i < N; i++) {
+        t += Date.parse(utcStrings[i % 1000]);
+    }
+    return t;
+});
+
+bench("Date.parse(toString())", N, function() {
+    var t = 0;
+    for (var i = 0; i < N; i++) {
+        t += Date.parse(localStrings[i % 1000]);
+    }
+    return t;
+});
+
+bench("toISOString()", N, function() {
+    var s;
+    for (var i = 0; i < N; i++) {
+        s = dates[i % 1000].toISOString();
+    }
+    return s;
+});
+
+bench("toString()", N, function() {
+    var s;
+    for (var i = 0; i < N; i++) {
+        s = dates[i % 1000].toString();
+    }
+    return s;
+});
+
+bench("local time getters", N, function() {
+    var t = 0;
+    for (var i = 0; i < N; i++) {
+        var d = dates[i % 1000];
+        t += d.getFullYear() + d.getMonth() + d.getDate() + d.getHours() + d.getMinutes();
+    }
+    return t;
+});
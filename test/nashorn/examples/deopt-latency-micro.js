@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+
+
+/*
+ * Latency of invocations that fail an optimistic type assumption. Each
+ * function is warmed up with an object that has an int property and then
+ * called with an object that has a double property, which deoptimizes it.
+ * Prints the total and the longest wall clock time, and the total CPU time of
+ * the calling thread in microseconds of the deoptimizing invocations, and of
+ * the invocations after them. Run with -ot, with and without
+ * --async-recompilation; the wall clock times only improve if a CPU is
+ * available for the background compiler thread.
+ */
+
+var System = java.lang.System;
+var threads = java.lang.management.ManagementFactory.getThreadMXBean();
+var COUNT = 200;
+
+function createFunction(i) {
+    return new Function("a", "o",
+        "var s = 0;" +
+        "for (var j = 0; j < a; j++) { s += j * o.b + " + i + "; }" +
+        "var t = s;" +
+        "for (var k = 0; k < 10; k++) { t = t * 3 + k; }" +
+        "return s + t % 7;");
+}
+
+function measure(funcs, a, o) {
+    var total = 0, max = 0;
+    var cpuStart = threads.getCurrentThreadCpuTime();
+    for (var i = 0; i < funcs.length; i++) {
+        var start = System.nanoTime();
+        funcs[i](a, o);
+        var time = System.nanoTime() - start;
+        total += time;
+        max = Math.max(max, time);
+    }
+    var cpu = threads.getCurrentThreadCpuTime() - cpuStart;
+    return Math.round(total / 1000) + "\t" + Math.round(max / 1000) + "\t" + Math.round(cpu / 1000);
+}
+
+// Repeat with new functions so that the compiler itself is warmed up, and report the last run.
+var results;
+for (var run = 0; run < 5; run++) {
+    var funcs = [];
+    for (var i = 0; i < COUNT; i++) {
+        funcs.push(createFunction(run * COUNT + i));
+    }
+    results = [];
+    results.push(measure(funcs, 10, { b: 1 }) + "\twarmup");
+    results.push(measure(funcs, 10, { b: 1.5 }) + "\tdeoptimizing call");
+    results.push(measure(funcs, 10, { b: 1.5 }) + "\tnext call");
+    results.push(measure(funcs, 10, { b: 1.5 }) + "\tsteady state");
+}
+print(results.join("\n"));
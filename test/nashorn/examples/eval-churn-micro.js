@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/*
+ * Long running evaluation of distinct scripts that are dropped after use,
+ * like a server evaluating user scripts. Prints the metaspace used and the
+ * classes loaded, unloaded and live after every few rounds. Run with -ot,
+ * with and without --anonymous-classes=true.
+ */
+
+var ManagementFactory = java.lang.management.ManagementFactory;
+var System = java.lang.System;
+var ROUNDS = 20;
+var EVALS = 100;
+
+function metaspaceUsed() {
+    var pools = ManagementFactory.getMemoryPoolMXBeans();
+    for (var i = 0; i < pools.size(); i++) {
+        if (pools.get(i).getName() == "Metaspace") {
+            return pools.get(i).getUsage().getUsed();
+        }
+    }
+    return 0;
+}
+
+function script(id) {
+    return "(function() {\n" +
+        "  var total = " + id + ";\n" +
+        "  function add(o) { total += o.v; return total; }\n" +
+        "  function label(n) { return 'item' + n + ':' + " + id + "; }\n" +
+        "  for (var i = 0; i < 20; i++) { add({ v: i < 10 ? i : i + 0.5 }); }\n" +
+        "  return label(total).length;\n" +
+        "})();\n";
+}
+
+var classes = ManagementFactory.getClassLoadingMXBean();
+var start = Date.now();
+var check = 0;
+for (var round = 1; round <= ROUNDS; round++) {
+    for (var i = 0; i < EVALS; i++) {
+        check += eval(script(round * EVALS + i));
+    }
+    if (round % 10 == 0) {
+        System.gc();
+        print(round * EVALS + "\tscripts, " + (Date.now() - start) + " ms, " +
+            Math.round(metaspaceUsed() / 1024) + " KB metaspace, " +
+            classes.getTotalLoadedClassCount() + " loaded, " +
+            classes.getUnloadedClassCount() + " unloaded, " +
+            classes.getLoadedClassCount() + " live classes");
+    }
+}
+print(check);
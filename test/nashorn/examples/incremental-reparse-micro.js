@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Edits a generated source file of 50000 lines one character at a time, and
+ * prints the median time per edit of:
+ *  - parsing the whole edited source,
+ *  - reparsing the edit with Parser.reparse, when the edit inserts a character
+ *    and moves the statements after it, and when it replaces a character,
+ *  - reparsing the edit and getting all source elements of the new compilation
+ *    unit, which parses the moved statements again.
+ */
+
+var LINES = 50000;
+
+var Parser = Java.type("org.openjdk.nashorn.api.tree.Parser");
+var System = java.lang.System;
+
+function source() {
+    var lines = ["'use strict';"];
+    for (var i = 0; lines.length < LINES; i++) {
+        var name = "fn" + i;
+        lines.push("function " + name + "(items, options) {");
+        lines.push("    var result = [], limit = options && options.limit || " + (i % 100) + ";");
+        lines.push("    for (var k = 0; k < items.length && result.length < limit; k++) {");
+        lines.push("        var item = items[k];");
+        lines.push("        if (item.id % " + (i % 7 + 2) + " === 0) {");
+        lines.push("            result.push({ id: item.id, label: String(item.name).toUpperCase() });");
+        lines.push("        } else if (typeof item.children === 'object') {");
+        lines.push("            result = result.concat(" + name + "(item.children, { limit: limit - result.length }));");
+        lines.push("        }");
+        lines.push("    }");
+        lines.push("    return result;");
+        lines.push("}");
+    }
+    return lines.join("\n");
+}
+
+var code = source();
+var seed = 42;
+
+function random(n) {
+    seed = (seed * 1103515245 + 12345) & 0x7fffffff;
+    return seed % n;
+}
+
+// a random position in a function body to insert a space at, or of a digit to replace
+function edit(insert) {
+    var pos = code.indexOf(insert ? "return result;" : " === 0", random(code.length - 100));
+    return pos < 0 ? edit(insert) : insert ? pos : pos - 1;
+}
+
+function median(times) {
+    times.sort(function(a, b) a - b);
+    return (times[times.length >> 1] / 1e6).toFixed(3) + " ms";
+}
+
+function bench(label, parser, insert, run, warmup, edits) {
+    var unit = parser.parse("source.js", code, null);
+    var times = [];
+    for (var i = 0; i < warmup + edits; i++) {
+        var offset = edit(insert);
+        var length = insert ? 0 : 1;
+        var replacement = insert ? " " : String((code.charAt(offset) - 1) % 7 + 2);
+        code = code.substring(0, offset) + replacement + code.substring(offset + length);
+        var start = System.nanoTime();
+        unit = run(parser, unit, offset, length, replacement);
+        if (i >= warmup) {
+            times.push(System.nanoTime() - start);
+        }
+    }
+    print(label + ": " + median(times));
+}
+
+function full(parser, unit, offset, length, replacement) {
+    return parser.parse("source.js", code, null);
+}
+
+function reparse(parser, unit, offset, length, replacement) {
+    return parser.reparse(unit, offset, length, replacement, null);
+}
+
+function reparseAll(parser, unit, offset, length, replacement) {
+    var newUnit = parser.reparse(unit, offset, length, replacement, null);
+    var elements = newUnit.getSourceElements();
+    for (var i = 0; i < elements.size(); i++) {
+        elements.get(i);
+    }
+    return newUnit;
+}
+
+print(LINES + " lines, " + (code.length / 1024).toFixed(0) + " KB");
+var parser = Parser.create();
+bench("full parse                 ", parser, true, full, 10, 20);
+bench("reparse, insert            ", parser, true, reparse, 500, 500);
+bench("reparse, replace           ", parser, false, reparse, 500, 500);
+bench("reparse and get all, insert", parser, true, reparseAll, 10, 20);
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+
+/*
+ * Calls into overloaded Java methods. Every new call site links its own
+ * invocation, so code with many call sites of the same methods, or code that
+ * is recompiled, pays for overload selection again unless it is cached. Run
+ * with -Dnashorn.dynamic.method.cache.size=0 to disable the cache.
+ */
+
+var StringBuilder = Java.type("java.lang.StringBuilder");
+var JMath = Java.type("java.lang.Math");
+
+function bench(name, func) {
+    var time;
+    for (var run = 0; run < 5; run++) {
+        var start = Date.now();
+        func();
+        time = Date.now() - start;
+    }
+    print(time + "\t" + name);
+}
+
+// A function with many distinct call sites of the same overloaded methods.
+var body = ["var sb = new StringBuilder(); var m = 0;"];
+for (var i = 0; i < 200; i++) {
+    body.push("sb.append(a); sb.append(b); sb.append(s); m += JMath.max(a, a) + JMath.abs(b);");
+}
+body.push("return sb.length() + m;");
+body = body.join("\n");
+
+var functions = [];
+for (var i = 0; i < 100; i++) {
+    functions.push(new Function("StringBuilder", "JMath", "a", "b", "s", body + "//" + i));
+}
+
+var next = 0;
+function linkMany() {
+    // each function is only called once, so most of the time goes into linking its call sites
+    for (var i = 0; i < 20; i++) {
+        functions[next++ % functions.length](StringBuilder, JMath, i, i + 0.5, "s");
+    }
+}
+
+function polymorphic() {
+    var sb = new StringBuilder();
+    var values = [1, 2.5, "s", true, 7, 0.25, "t", false];
+    var m = 0;
+    for (var i = 0; i < 1e6; i++) {
+        var v = values[i & 7];
+        sb.append(v);
+        m += JMath.abs(i & 1 ? -i : -0.5);
+        if (sb.length() > 1000) {
+            sb.setLength(0);
+        }
+    }
+    return m;
+}
+
+bench("link call sites of overloaded methods", linkMany);
+bench("polymorphic overloaded calls", polymorphic);
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+
+/*
+ * Java package and class resolution. Fresh globals, as created by engines
+ * that use a new global per request, resolve every package path again, and
+ * each intermediate package name is looked up as a class. Names used inside
+ * a with (JavaImporter) block are looked up as a class in every imported
+ * package, even if they are ordinary script variables.
+ */
+
+function bench(name, func) {
+    var time;
+    for (var run = 0; run < 5; run++) {
+        var start = Date.now();
+        func();
+        time = Date.now() - start;
+    }
+    print(time + "\t" + name);
+}
+
+var packageAccess = {
+    name: "package-access.js",
+    script: "java.util.concurrent.atomic.AtomicLong; java.util.ArrayList; javax.script.ScriptEngine; java.time.format.DateTimeFormatter"
+};
+
+var javaType = {
+    name: "java-type.js",
+    script: "Java.type('java.util.HashMap'); Java.type('java.util.Map.Entry'); Java.type('java.lang.Character.UnicodeBlock')"
+};
+
+var empty = {
+    name: "empty.js",
+    script: "0"
+};
+
+function importer() {
+    var count = 0;
+    for (var i = 0; i < 2000; i++) {
+        var imports = new JavaImporter(java.util, java.io, java.lang, java.util.concurrent);
+        with (imports) {
+            count += ArrayList.class === File.class ? 0 : 1;
+            count += i;
+        }
+    }
+    return count;
+}
+
+function run(source) {
+    return function() {
+        for (var i = 0; i < 1000; i++) {
+            loadWithNewGlobal(source);
+        }
+    };
+}
+
+bench("JavaImporter", importer);
+bench("new global, empty script", run(empty));
+bench("new global, package access", run(packageAccess));
+bench("new global, Java.type", run(javaType));
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * ES6 Map and Set used as counter tables and id sets, with number and
+ * string keys, including deletion and re-insertion.
+ */
+
+function bench(name, func) {
+    var time;
+    for (var run = 0; run < 5; run++) {
+        var start = Date.now();
+        func();
+        time = Date.now() - start;
+    }
+    print(time + "\t" + name);
+}
+
+function countInts() {
+    var m = new Map();
+    for (var i = 0; i < 1e6; i++) {
+        var k = i & 0xffff;
+        m.set(k, (m.get(k) | 0) + 1);
+    }
+    return m.size;
+}
+
+function countDoubles() {
+    var m = new Map();
+    for (var i = 0; i < 1e6; i++) {
+        var k = (i & 0xffff) + 0.5;
+        m.set(k, (m.get(k) | 0) + 1);
+    }
+    return m.size;
+}
+
+function countStrings() {
+    var keys = [];
+    for (var i = 0; i < 0x1000; i++) {
+        keys.push("key" + i);
+    }
+    var m = new Map();
+    for (var i = 0; i < 1e6; i++) {
+        var k = keys[i & 0xfff];
+        m.set(k, (m.get(k) | 0) + 1);
+    }
+    return m.size;
+}
+
+function churnSet() {
+    var s = new Set();
+    for (var i = 0; i < 1e6; i++) {
+        s.add(i);
+        if (i >= 1000) {
+            s.delete(i - 1000);
+        }
+    }
+    return s.size;
+}
+
+function iterate() {
+    var m = new Map();
+    for (var i = 0; i < 1e5; i++) {
+        m.set(i, i);
+    }
+    var sum = 0;
+    for (var n = 0; n < 10; n++) {
+        m.forEach(function(v) { sum += v; });
+    }
+    return sum;
+}
+
+function footprint() {
+    var runtime = java.lang.Runtime.getRuntime();
+    var maps = [];
+    java.lang.System.gc();
+    var before = runtime.totalMemory() - runtime.freeMemory();
+    for (var n = 0; n < 20; n++) {
+        var m = new Map();
+        for (var i = 0; i < 1e5; i++) {
+            m.set(i, i);
+        }
+        maps.push(m);
+    }
+    java.lang.System.gc();
+    var after = runtime.totalMemory() - runtime.freeMemory();
+    print(Math.round((after - before) / (20 * 1e5)) + "\tbytes per int entry");
+    return maps.length;
+}
+
+bench("int keys", countInts);
+bench("double keys", countDoubles);
+bench("string keys", countStrings);
+bench("set add/delete", churnSet);
+bench("forEach", iterate);
+footprint();
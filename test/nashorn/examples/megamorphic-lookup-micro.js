@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Generic library style code: small helpers applied to objects of many
+ * different shapes, reading both own and inherited properties. The call
+ * sites in the helpers become megamorphic.
+ */
+
+function Base() {}
+Base.prototype.describe = function() { return this.name; };
+Base.prototype.kind = "base";
+
+function makeObjects(count) {
+    var objects = [];
+    for (var i = 0; i < count; i++) {
+        var C = function(i) { this.name = "o" + i; this["p" + i] = i; this.size = i; };
+        C.prototype = Object.create(Base.prototype);
+        C.prototype["m" + i] = function() { return 1; };
+        objects.push(new C(i));
+    }
+    return objects;
+}
+
+// lodash-like helpers
+function size(o)        { return o.size; }
+function kindOf(o)      { return o.kind; }
+function describe(o)    { return o.describe(); }
+function hasName(o)     { return o.hasOwnProperty("name"); }
+function toStr(o)       { return o.toString === Object.prototype.toString; }
+
+function bench(name, func, objects) {
+    var count = objects.length;
+    var time;
+    for (var run = 0; run < 5; run++) {
+        var start = Date.now();
+        var j = 0;
+        for (var i = 0; i < 2e6; i++) {
+            func(objects[j]);
+            if (++j == count) {
+                j = 0;
+            }
+        }
+        time = Date.now() - start;
+    }
+    print(time + "\t" + name);
+}
+
+var objects = makeObjects(50);
+bench("own property", size, objects);
+bench("inherited property", kindOf, objects);
+bench("inherited method", describe, objects);
+bench("Object.prototype method", hasName, objects);
+bench("Object.prototype property", toStr, objects);
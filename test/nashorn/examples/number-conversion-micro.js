@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Prints the time per operation of converting numbers to strings and
+ * strings to numbers: small integers and doubles converted with String(),
+ * arrays of doubles joined and stringified as JSON, integer and decimal
+ * strings converted with Number(), and arrays indexed with numeric string
+ * keys.
+ */
+
+var N = 1000000;
+var ROUNDS = 10;
+
+var System = java.lang.System;
+
+var doubles = [];
+var intStrings = [];
+var doubleStrings = [];
+var decimalStrings = [];
+for (var i = 0; i < 1000; i++) {
+    doubles.push(i * 1.1 + Math.PI / (i + 1));
+    intStrings.push(String(i * 37));
+    doubleStrings.push(String(doubles[i]));
+    decimalStrings.push(doubles[i].toFixed(2));
+}
+var array = [];
+for (var i = 0; i < 1024; i++) {
+    array.push(i);
+}
+
+function bench(label, ops, run) {
+    var sink;
+    for (var i = 0; i < ROUNDS; i++) {
+        sink = run();
+    }
+    var start = System.nanoTime();
+    for (var i = 0; i < ROUNDS; i++) {
+        sink = run();
+    }
+    var ns = (System.nanoTime() - start) / (ROUNDS * ops);
+    print(label + ": " + ns.toFixed(1) + " ns/op");
+    return sink;
+}
+
+bench("small integer to string", N, function() {
+    var s;
+    for (var i = 0; i < N; i++) {
+        s = String(i & 1023);
+    }
+    return s;
+});
+
+bench("double to string", N, function() {
+    var s;
+    for (var i = 0; i < N; i++) {
+        s = String(doubles[i % 1000]);
+    }
+    return s;
+});
+
+bench("join doubles", N, function() {
+    var s;
+    for (var i = 0; i < N / 1000; i++) {
+        s = doubles.join(",");
+    }
+    return s;
+});
+
+bench("JSON.stringify doubles", N, function() {
+    var s;
+    for (var i = 0; i < N / 1000; i++) {
+        s = JSON.stringify(doubles);
+    }
+    return s;
+});
+
+bench("integer string to number", N, function() {
+    var n = 0;
+    for (var i = 0; i < N; i++) {
+        n += Number(intStrings[i % 1000]);
+    }
+    return n;
+});
+
+bench("double string to number", N, function() {
+    var n = 0;
+    for (var i = 0; i < N; i++) {
+        n += Number(doubleStrings[i % 1000]);
+    }
+    return n;
+});
+
+bench("short decimal string to number", N, function() {
+    var n = 0;
+    for (var i = 0; i < N; i++) {
+        n += Number(decimalStrings[i % 1000]);
+    }
+    return n;
+});
+
+bench("index with string key", N, function() {
+    var n = 0;
+    for (var i = 0; i < N; i++) {
+        n += array[String(i & 1023)];
+    }
+    return n;
+});
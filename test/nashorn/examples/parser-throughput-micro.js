@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Parses a generated minified bundle of about 1.4 MB, like the output of a
+ * JavaScript bundler and minifier, with the tree API parser and prints the
+ * throughput in MB/s of source. Most of the parse time is spent in the lexer.
+ * Run with a large heap, for example -J-Xmx2g, so that the measurements are not
+ * dominated by garbage collection of the large syntax trees.
+ */
+
+var MODULES = 1500;
+var WARMUP = 30;
+var ITERATIONS = 30;
+
+var Parser = Java.type("org.openjdk.nashorn.api.tree.Parser");
+
+function module(m) {
+    var n = "m" + m;
+    return "function(e,t,n){\"use strict\";var r=n(" + (m % 97) + "),o=n(" + (m % 89) + ");" +
+        "function i(e,t){if(!(e instanceof t))throw new TypeError(\"Cannot call a class as a function\")}" +
+        "var a=/^[a-z][a-z0-9_\\-]*$/i,u={name:\"" + n + "\",version:\"1." + (m % 10) + ".0\",flags:0x" + (m % 255).toString(16) + ",ratio:" + (m / 7).toFixed(3) + "e-2};" +
+        "function c(e){for(var t=[],n=0;n<e.length;n++){var r=e.charCodeAt(n);r<128?t.push(String.fromCharCode(r)):t.push(\"\\\\u\"+(\"0000\"+r.toString(16)).slice(-4))}return t.join(\"\")}" +
+        "function s(e,t){return null==e?t:\"object\"==typeof e&&null!==e?Object.keys(e).reduce(function(n,r){return n[r]=s(e[r],t&&t[r]),n},{}):e}" +
+        "var l=function(){function e(t){i(this,e),this.options=s(t,u),this.cache={},this.pending=[]}" +
+        "return e.prototype.get=function(e){var t=this.cache[e];return void 0!==t?t:(t=this.cache[e]=c(String(e)),this.pending.push(e),t)}," +
+        "e.prototype.flush=function(){var e=this.pending;return this.pending=[],e.length>" + (m % 13) + "?e.sort().join(\"\\n\"):e.join(\"\\t\")},e}();" +
+        "t.default=l,t.escape=c,t.merge=s,t.pattern=a,t.id=\"" + n + "\\u00e9\\x41\"}";
+}
+
+var parts = [];
+for (var m = 0; m < MODULES; m++) {
+    parts.push(module(m));
+}
+var bundle = "!function(e){var t={};function n(r){if(t[r])return t[r].exports;var o=t[r]={i:r,l:!1,exports:{}};" +
+    "return e[r].call(o.exports,o,o.exports,n),o.l=!0,o.exports}return n(0)}([" + parts.join(",") + "]);";
+var mb = bundle.length / (1024 * 1024);
+
+var parser = Parser.create();
+var System = java.lang.System;
+var times = [];
+for (var i = 0; i < WARMUP + ITERATIONS; i++) {
+    // Collect the tree of the previous iteration outside of the measured time.
+    System.gc();
+    var start = System.nanoTime();
+    parser.parse("bundle.js", bundle, null);
+    if (i >= WARMUP) {
+        times.push((System.nanoTime() - start) / 1e9);
+    }
+}
+times.sort(function(a, b) { return a - b; });
+print(mb.toFixed(1) + " MB bundle, " + (mb / times[times.length >> 1]).toFixed(1) + " MB/s median, " + (mb / times[0]).toFixed(1) + " MB/s best");
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Property access at call sites that see several object shapes, as in
+ * visitor-style code. Run with different -Dnashorn.callsite.pic.depth
+ * settings to compare call site chain lengths.
+ */
+
+function makeShapes(count) {
+    var shapes = [];
+    for (var i = 0; i < count; i++) {
+        var o = {};
+        // a distinct leading property gives each object its own property map
+        o["p" + i] = i;
+        o.kind = i;
+        o.value = i * 2;
+        shapes.push(o);
+    }
+    return shapes;
+}
+
+// Order in which the shapes are visited, either uniformly or skewed towards the
+// first shape, which is the first one linked at the call sites.
+function makeOrder(count, skewed) {
+    var order = [];
+    for (var i = 0; i < 1024; i++) {
+        order.push(!skewed || (i & 7) == 0 ? i % count : 0);
+    }
+    return order;
+}
+
+// Each benchmark gets its own copy of the loop so that call sites are not shared.
+function makeLoop() {
+    return eval("(function(shapes, order, n) {" +
+        "    var sum = 0;" +
+        "    for (var i = 0; i < n; i++) {" +
+        "        var node = shapes[order[i & 1023]];" +
+        "        sum += node.kind + node.value;" +
+        "    }" +
+        "    return sum;" +
+        "})");
+}
+
+function bench(count, skewed) {
+    var shapes = makeShapes(count);
+    var order = makeOrder(count, skewed);
+    var loop = makeLoop();
+    var time;
+    for (var run = 0; run < 5; run++) {
+        var start = Date.now();
+        loop(shapes, order, 1e7);
+        time = Date.now() - start;
+    }
+    print(time + "\t" + count + " shapes, " + (skewed ? "skewed" : "uniform"));
+}
+
+[1, 2, 4, 6, 8, 12, 32].forEach(function(count) {
+    bench(count, false);
+    bench(count, true);
+});
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Runs a CPU and allocation heavy script in a NashornScriptEngine with and
+ * without its sampling profiler running, and prints the time per round of
+ * each and the start of the profiler's collapsed stacks.
+ */
+
+var ROUNDS = 10;
+var INTERVAL = 10;
+
+var engine = new org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory().getScriptEngine();
+engine.put(javax.script.ScriptEngine.FILENAME, "work.js");
+engine.eval(
+    "function tokenize(s) { return s.split(/\\s+/).map(function(w) { return w.toLowerCase(); }); }\n" +
+    "function count(words) { var m = {}; words.forEach(function(w) { m[w] = (m[w] || 0) + 1; }); return m; }\n" +
+    "function work() {\n" +
+    "    var text = '', total = 0;\n" +
+    "    for (var i = 0; i < 2000; i++) { text += 'Lorem ipsum dolor sit amet ' + (i % 97) + ' '; }\n" +
+    "    for (var j = 0; j < 5; j++) { total += Object.keys(count(tokenize(text))).length; }\n" +
+    "    return total;\n" +
+    "}\n");
+
+function measure() {
+    var start = java.lang.System.nanoTime();
+    for (var i = 0; i < ROUNDS; i++) {
+        engine.invokeFunction("work");
+    }
+    return (java.lang.System.nanoTime() - start) / 1e6 / ROUNDS;
+}
+
+measure(); // warm up
+var profiler = engine.getProfiler();
+for (var r = 0; r < 3; r++) {
+    var off = measure();
+    profiler.start(INTERVAL);
+    var on = measure();
+    profiler.stop();
+    print(off.toFixed(1) + "\tms per round without profiler, " + on.toFixed(1) + "\tms with profiler");
+}
+print(profiler.getCollapsedStacks().split("\n").slice(0, 5).join("\n"));
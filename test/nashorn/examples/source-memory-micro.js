@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Loads a number of large generated library files, the way a server loads
+ * its script libraries at startup, and prints the heap retained by them and
+ * the time it took to load them. Most of the retained heap is the source
+ * text, which is kept as long as the functions of a library are alive.
+ * Run with -XX:SoftRefLRUPolicyMSPerMB=0 so that cached ASTs of functions
+ * don't hide the difference, and with -Dnashorn.source.map.threshold=0 to
+ * memory-map the libraries.
+ */
+
+var LIBRARIES = 20;
+var FUNCTIONS = 2000;
+
+var Files = Java.type("java.nio.file.Files");
+var ManagementFactory = Java.type("java.lang.management.ManagementFactory");
+
+function usedHeap() {
+    var memory = ManagementFactory.getMemoryMXBean();
+    for (var i = 0; i < 3; i++) {
+        memory.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+}
+
+var dir = Files.createTempDirectory("source-memory-micro");
+var files = [];
+var bytes = 0;
+for (var l = 0; l < LIBRARIES; l++) {
+    var src = "var lib" + l + " = {};\n";
+    for (var f = 0; f < FUNCTIONS; f++) {
+        src += "/**\n" +
+               " * Formats the fields of a record for display. Fields that are\n" +
+               " * missing are replaced by their default values, numbers are\n" +
+               " * rounded to " + (f % 5) + " digits and strings are trimmed.\n" +
+               " * @param {Object} record the record\n" +
+               " * @return {String} the formatted record\n" +
+               " */\n" +
+               "lib" + l + ".format" + f + " = function(record) {\n" +
+               "    var out = [];\n" +
+               "    for (var key in record) {\n" +
+               "        var value = record[key];\n" +
+               "        out.push(key + '=' + (typeof value === 'number' ? value.toFixed(" + (f % 5) + ") : String(value).trim()));\n" +
+               "    }\n" +
+               "    return out.join(', ');\n" +
+               "};\n";
+    }
+    var file = dir.resolve("lib" + l + ".js");
+    Files.write(file, src.getBytes("UTF-8"));
+    files.push(file);
+    bytes += src.length;
+}
+
+var before = usedHeap();
+var start = java.lang.System.nanoTime();
+for each (var file in files) {
+    load(file.toFile());
+}
+var time = (java.lang.System.nanoTime() - start) / 1e6;
+var retained = usedHeap() - before;
+
+print("loaded " + LIBRARIES + " libraries, " + (bytes / 1048576).toFixed(1) + " MB of source in " + time.toFixed(0) + " ms");
+print("retained heap " + (retained / 1048576).toFixed(1) + " MB");
+print(lib0.format1({ a: 1.5, b: " x " }));
+
+for each (var file in files) {
+    Files.delete(file);
+}
+Files.delete(dir);
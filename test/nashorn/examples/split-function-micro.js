@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/*
+ * A generated function of LINES lines, like transpiler or template engine
+ * output, that is split into many parts by the compiler. Most variables are
+ * temporaries used near their declaration; the parameter and the result
+ * object are read throughout the function. Prints the time of the first
+ * call, which includes compilation, and of the following calls.
+ */
+
+var LINES = 100000;
+var CALLS = 20;
+
+function generate() {
+    var src = "(function(data) {\n  var acc = { sum: 0, count: 0 };\n";
+    for (var k = 0; k < LINES / 4; k++) {
+        src += "  var t" + k + " = data.x * " + (k % 13) + " + data.y;\n" +
+               "  if (t" + k + " > data.limit) { t" + k + " = t" + k + " - data.limit; }\n" +
+               "  acc.sum += t" + k + ";\n" +
+               "  acc.count++;\n";
+    }
+    return src + "  return acc;\n})";
+}
+
+var fn = eval(generate());
+var data = { x: 3, y: 1, limit: 20 };
+
+var start = Date.now();
+var result = fn(data);
+print((Date.now() - start) + "\tms first call (" + result.count + " statements, sum " + result.sum + ")");
+
+start = Date.now();
+for (var i = 0; i < CALLS; i++) {
+    result = fn(data);
+}
+print(((Date.now() - start) / CALLS) + "\tms per call");
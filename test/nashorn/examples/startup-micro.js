@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+
+
+/*
+ * Startup of a large generated script whose functions mostly run only once,
+ * like module initializers and configuration code, with a few hot functions.
+ * Prints the time to load and run the script, and the classes loaded and
+ * the metaspace used meanwhile. Run with -ot, with and without
+ * --baseline-threshold=x.
+ */
+
+var ManagementFactory = java.lang.management.ManagementFactory;
+var MODULES = 300;
+
+function metaspaceUsed() {
+    var pools = ManagementFactory.getMemoryPoolMXBeans();
+    for (var i = 0; i < pools.size(); i++) {
+        if (pools.get(i).getName() == "Metaspace") {
+            return pools.get(i).getUsage().getUsed();
+        }
+    }
+    return 0;
+}
+
+function generate(seed) {
+    var src = "var registry = {};\n" +
+        "function hash(s) { var h = 0; for (var i = 0; i < s.length; i++) { h = (h * 31 + s.charCodeAt(i)) | 0; } return h; }\n" +
+        "function scale(o, f) { return { x: o.x * f, y: o.y * f, name: o.name }; }\n";
+    for (var i = 0; i < MODULES; i++) {
+        src += "registry['m" + i + "'] = (function(exports) {\n" +
+            "  var config = { x: " + (i + seed) + ", y: " + (i % 7) + ".5, name: 'module" + i + "', enabled: " + (i % 2 == 0) + " };\n" +
+            "  function init(c) { var r = scale(c, 2); r.id = hash(c.name); return r.enabled ? r : (r.x + r.y > 10 ? r : null); }\n" +
+            "  exports.value = init(config);\n" +
+            "  exports.key = config.name + ':' + config.x;\n" +
+            "  return exports;\n" +
+            "})({});\n";
+    }
+    return src + "Object.keys(registry).length;\n";
+}
+
+var classes = ManagementFactory.getClassLoadingMXBean();
+var source = generate(0);
+var classesBefore = classes.getTotalLoadedClassCount();
+var metaspaceBefore = metaspaceUsed();
+var start = Date.now();
+var count = load({ name: "startup-generated.js", script: source });
+var time = Date.now() - start;
+print(time + "\tload and run " + count + " modules");
+print((classes.getTotalLoadedClassCount() - classesBefore) + "\tclasses loaded");
+print(Math.round((metaspaceUsed() - metaspaceBefore) / 1024) + "\tKB metaspace used");
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Prints the time per operation of string concatenation chains: keys
+ * built from several values, HTML rows built with + and with template
+ * literals, lines appended to a growing string, and a string appended
+ * to repeatedly with s = s + ... chains.
+ *
+ * Run with --language=es6 for the template literals.
+ */
+
+var N = 200000;
+var WARMUP = 20;
+var ROUNDS = 10;
+
+var System = java.lang.System;
+
+var names = [];
+var prices = [];
+for (var i = 0; i < 1000; i++) {
+    names.push("item" + i);
+    prices.push(i * 0.25);
+}
+
+function bench(label, ops, run) {
+    var sink;
+    for (var i = 0; i < WARMUP; i++) {
+        sink = run();
+    }
+    var start = System.nanoTime();
+    for (var i = 0; i < ROUNDS; i++) {
+        sink = run();
+    }
+    var ns = (System.nanoTime() - start) / (ROUNDS * ops);
+    print(label + ": " + ns.toFixed(1) + " ns/op");
+    return sink;
+}
+
+bench("key of three values", N, function() {
+    var map = new Map();
+    for (var i = 0; i < N; i++) {
+        var j = i % 1000;
+        map.set(names[j] + ":" + j + ":" + (i & 7), i);
+    }
+    return map.size;
+});
+
+bench("html row with +", N, function() {
+    var n = 0;
+    for (var i = 0; i < N; i++) {
+        var j = i % 1000;
+        var row = "<tr><td>" + j + "</td><td>" + names[j] + "</td><td>" + prices[j] + "</td></tr>";
+        n += row.charCodeAt(row.length - 1);
+    }
+    return n;
+});
+
+bench("html row with template literal", N, function() {
+    var n = 0;
+    for (var i = 0; i < N; i++) {
+        var j = i % 1000;
+        var row = `<tr><td>${j}</td><td>${names[j]}</td><td>${prices[j]}</td></tr>`;
+        n += row.charCodeAt(row.length - 1);
+    }
+    return n;
+});
+
+bench("lines appended with +=", N, function() {
+    var out = "";
+    for (var i = 0; i < N; i++) {
+        var j = i % 1000;
+        out += "<li>" + names[j] + " (" + prices[j] + ")</li>\n";
+    }
+    return out.charCodeAt(out.length - 1);
+});
+
+bench("string appended with s = s + ...", N, function() {
+    var out = "";
+    for (var i = 0; i < N; i++) {
+        out = out + "<li>" + names[i % 1000] + "</li>";
+    }
+    return out.charCodeAt(out.length - 1);
+});
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Parses a set of generated source files with the tree API and counts their
+ * identifiers with a tree visitor, and prints the throughput in files per
+ * second and the allocation per file of:
+ *  - parsing to a full tree and then visiting it,
+ *  - parsing with the visitor, which creates statement trees as they are
+ *    visited and does not retain them,
+ *  - parsing with the visitor and the --skip-function-bodies option.
+ */
+
+var FILES = 400;
+var WARMUP = 5;
+var ROUNDS = 5;
+
+var Parser = Java.type("org.openjdk.nashorn.api.tree.Parser");
+var SimpleTreeVisitorES6 = Java.type("org.openjdk.nashorn.api.tree.SimpleTreeVisitorES6");
+var System = java.lang.System;
+var threads = java.lang.management.ManagementFactory.getThreadMXBean();
+var threadId = java.lang.Thread.currentThread().getId();
+
+function file(f) {
+    var lines = ["'use strict';", "var VERSION = '" + f + ".0';"];
+    for (var i = 0; i < 20; i++) {
+        var name = "fn" + f + "_" + i;
+        lines.push("function " + name + "(items, options) {");
+        lines.push("    var result = [], limit = options && options.limit || " + (i * 10) + ";");
+        lines.push("    for (var k = 0; k < items.length && result.length < limit; k++) {");
+        lines.push("        var item = items[k];");
+        lines.push("        if (item.id % " + (i + 2) + " === 0) {");
+        lines.push("            result.push({ id: item.id, label: String(item.name).toUpperCase() });");
+        lines.push("        } else if (typeof item.children === 'object') {");
+        lines.push("            result = result.concat(" + name + "(item.children, { limit: limit - result.length }));");
+        lines.push("        }");
+        lines.push("    }");
+        lines.push("    return result;");
+        lines.push("}");
+    }
+    lines.push("module.exports = { version: VERSION, first: fn" + f + "_0 };");
+    return lines.join("\n");
+}
+
+var sources = [];
+var bytes = 0;
+for (var f = 0; f < FILES; f++) {
+    sources.push(file(f));
+    bytes += sources[f].length;
+}
+
+var Counter = Java.extend(SimpleTreeVisitorES6, {
+    visitIdentifier: function(node, counts) {
+        counts[0]++;
+        return null;
+    }
+});
+
+function eager(parser, visitor, counts) {
+    for (var f = 0; f < FILES; f++) {
+        parser.parse("file" + f + ".js", sources[f], null).accept(visitor, counts);
+    }
+}
+
+function streaming(parser, visitor, counts) {
+    for (var f = 0; f < FILES; f++) {
+        parser.parse("file" + f + ".js", sources[f], visitor, counts, null);
+    }
+}
+
+function bench(label, parser, run) {
+    var visitor = new Counter();
+    var counts = new (Java.type("int[]"))(1);
+    for (var i = 0; i < WARMUP; i++) {
+        run(parser, visitor, counts);
+    }
+    counts[0] = 0;
+    var allocated = threads.getThreadAllocatedBytes(threadId);
+    var start = System.nanoTime();
+    for (var i = 0; i < ROUNDS; i++) {
+        run(parser, visitor, counts);
+    }
+    var seconds = (System.nanoTime() - start) / 1e9;
+    allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+    print(label + ": " + (FILES * ROUNDS / seconds).toFixed(0) + " files/s, " +
+          (allocated / (FILES * ROUNDS) / 1024).toFixed(0) + " KB allocated per file, " +
+          (counts[0] / ROUNDS) + " identifiers");
+}
+
+print(FILES + " files, " + (bytes / FILES / 1024).toFixed(1) + " KB per file");
+bench("tree then visitor   ", Parser.create(), eager);
+bench("streaming visitor   ", Parser.create(), streaming);
+bench("skip function bodies", Parser.create("--skip-function-bodies"), streaming);
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Simulates a service that loads a script with many handler functions, is
+ * idle for a while, and then gets its first requests. Prints the time the
+ * first call of every handler takes, which includes its lazy compilation
+ * unless --compilation-warmup compiled it while the service was idle. Run
+ * with and without --compilation-warmup.
+ */
+
+var HANDLERS = 200;
+var IDLE_MS = 3000;
+
+var src = "";
+for (var h = 0; h < HANDLERS; h++) {
+    src += "function handler" + h + "(req) {\n" +
+           "    var res = { status: 200, body: [] };\n" +
+           "    for (var k in req.params) {\n" +
+           "        var v = req.params[k];\n" +
+           "        if (typeof v === 'string' && v.length > " + (h % 7) + ") {\n" +
+           "            res.body.push(k + '=' + v.toUpperCase());\n" +
+           "        } else if (typeof v === 'number') {\n" +
+           "            res.body.push(k + ':' + (v * " + h + " + " + (h % 11) + "));\n" +
+           "        }\n" +
+           "    }\n" +
+           "    res.body.sort();\n" +
+           "    return JSON.stringify(res);\n" +
+           "}\n";
+}
+src += "[" + Array.apply(null, Array(HANDLERS)).map(function(_, i) { return "handler" + i; }).join(",") + "]";
+var handlers = eval(src);
+
+java.lang.Thread.sleep(IDLE_MS);
+
+var req = { params: { a: "alpha", b: 2, c: "gamma" } };
+var start = java.lang.System.nanoTime();
+for (var i = 0; i < HANDLERS; i++) {
+    handlers[i](req);
+}
+print(((java.lang.System.nanoTime() - start) / 1e6).toFixed(1) + "\tms for the first call of " + HANDLERS + " handlers");
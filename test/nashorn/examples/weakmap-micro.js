@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *   - Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ *
+ *   - Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ *
+ *   - Neither the name of Oracle nor the names of its
+ *     contributors may be used to endorse or promote products derived
+ *     from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * WeakMap and WeakSet used as object side tables: metadata caches keyed by
+ * object, and visited sets in graph traversals.
+ */
+
+function bench(name, func) {
+    var time;
+    for (var run = 0; run < 5; run++) {
+        var start = Date.now();
+        func();
+        time = Date.now() - start;
+    }
+    print(time + "\t" + name);
+}
+
+var objects = [];
+for (var i = 0; i < 0x4000; i++) {
+    objects.push({ id: i });
+}
+
+var cache = new WeakMap();
+objects.forEach(function(o) { cache.set(o, { meta: o.id }); });
+
+function lookup() {
+    var sum = 0;
+    for (var i = 0; i < 1e6; i++) {
+        sum += cache.get(objects[i & 0x3fff]).meta;
+    }
+    return sum;
+}
+
+function populate() {
+    var map = new WeakMap();
+    for (var i = 0; i < 1e6; i++) {
+        var o = objects[i & 0x3fff];
+        map.set(o, i);
+    }
+    return map;
+}
+
+function visit() {
+    var count = 0;
+    for (var n = 0; n < 50; n++) {
+        var visited = new WeakSet();
+        for (var i = 0; i < 0x4000; i++) {
+            var o = objects[(i * 7) & 0x3fff];
+            if (!visited.has(o)) {
+                visited.add(o);
+                count++;
+            }
+        }
+    }
+    return count;
+}
+
+function transient() {
+    var map = new WeakMap();
+    for (var i = 0; i < 1e6; i++) {
+        var o = {};
+        map.set(o, o);
+    }
+    return map;
+}
+
+bench("get", lookup);
+bench("set", populate);
+bench("set has/add", visit);
+bench("set transient keys", transient);
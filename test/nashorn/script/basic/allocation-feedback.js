@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Objects allocated before and after a constructor's field count is grown
+ * from allocation feedback must behave the same.
+ *
+ * @test
+ * @run
+ */
+
+function Point(x, y) {
+    this.x = x;
+    this.y = y;
+}
+Point.prototype.sum = function() { return this.x + this.y + this.a + this.b + this.c + this.d + this.e; };
+
+function decorate(p, i) {
+    p.a = i; p.b = i * 2; p.c = "c" + i; p.d = i / 2; p.e = { i: i };
+    return p;
+}
+
+var points = [];
+for (var i = 0; i < 300; i++) {
+    points.push(decorate(new Point(i, -i), i));
+    if (i === 150) {
+        Point.prototype.z = "proto";
+    }
+}
+
+var ok = true;
+for (var i = 0; i < points.length; i++) {
+    var p = points[i];
+    var keys = Object.keys(p).join();
+    if (keys !== "x,y,a,b,c,d,e" || p.x !== i || p.y !== -i || p.c !== "c" + i || p.e.i !== i || p.z !== "proto") {
+        print("wrong object at " + i + ": " + keys);
+        ok = false;
+    }
+}
+print(ok);
+
+// Delete and re-add properties on old and new objects
+delete points[0].c;
+delete points[299].c;
+points[0].c = points[299].c = "again";
+print(Object.keys(points[0]).join(), Object.keys(points[299]).join(), points[0].c, points[299].c);
+print(points[0].sum === points[299].sum, typeof points[10].sum());
+
+// Changing the prototype object
+Point.prototype = { kind: "new" };
+var q = decorate(new Point(1, 2), 3);
+print(q.kind, q.sum, Object.keys(q).join());
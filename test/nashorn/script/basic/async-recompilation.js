@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Functions deoptimized with --async-recompilation compute the same results
+ * while they are recompiled in the background and after the new versions
+ * are installed.
+ *
+ * @test
+ * @fork
+ * @option --optimistic-types=true
+ * @option --async-recompilation
+ */
+
+function sum(o, n) {
+    var s = 0;
+    for (var i = 0; i < n; i++) {
+        s += o.x * i;
+    }
+    return s;
+}
+
+function product(o, n) {
+    var p = 1;
+    for (var i = 0; i < n; i++) {
+        p *= o.x;
+    }
+    return p;
+}
+
+function depth(o, n) {
+    return n == 0 ? o.x : o.x + depth(o, n - 1);
+}
+
+var results = [];
+for (var round = 0; round < 50; round++) {
+    var o = round < 10 ? { x: 3 } : round < 20 ? { x: 2.5 } : { x: "1" };
+    results.push([sum(o, 10), product(o, 40), depth(o, 20)].join());
+    if (round == 10 || round == 20) {
+        // give the background compiler a chance to install the new versions
+        java.lang.Thread.sleep(100);
+    }
+}
+
+print(results[0]);
+print(results[9]);
+print(results[10]);
+print(results[19]);
+print(results[20]);
+print(results[49]);
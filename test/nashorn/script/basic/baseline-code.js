@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Functions compiled as baseline code with --baseline-threshold compute the
+ * same results before and after they are promoted to optimistic code, when
+ * invoked directly, as callbacks, through bound functions, through apply and
+ * as constructors.
+ *
+ * @test
+ * @fork
+ * @option --optimistic-types=true
+ * @option --baseline-threshold=3
+ */
+
+function sum(o, n) {
+    var s = 0;
+    for (var i = 0; i < n; i++) {
+        s += o.x * i;
+    }
+    return s;
+}
+
+function Point(x, y) {
+    this.x = x;
+    this.y = y * 2;
+}
+
+function square(v) {
+    return v.x * v.x;
+}
+
+var direct = [], callbacks = [], bound = [], applied = [], constructed = [];
+var boundSum = sum.bind(null, { x: 2 });
+for (var round = 0; round < 8; round++) {
+    var o = round < 5 ? { x: 3 } : { x: 0.5 };
+    direct.push(sum(o, 10));
+    callbacks.push([{ x: round }, { x: 1.5 }].map(square).join("/"));
+    bound.push(boundSum(round));
+    applied.push(sum.apply(null, [o, round]));
+    var p = new Point(round, 0.25);
+    constructed.push(p.x + p.y);
+}
+
+print(direct);
+print(callbacks);
+print(bound);
+print(applied);
+print(constructed);
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Functions that fail to compile ahead of their first invocation with an
+ * Error, such as a StackOverflowError, are counted as failures, and the
+ * compilation warmup goes on with the other functions.
+ *
+ * @test
+ * @option -Dnashorn.debug=true
+ * @option --compilation-warmup
+ * @run/ignore-std-error
+ * @fork
+ */
+
+function awaitWarmup() {
+    while (Debug.getCompilationWarmupQueueDepth() > 0) {
+        java.lang.Thread.sleep(10);
+    }
+}
+
+// The expression of deep is nested too deeply to be compiled on the stack of a
+// warmup thread, so the script is compiled on a thread with a larger stack.
+var source = "(function() {\n" +
+    "    function deep(x) { return x" + " - 1".repeat(60000) + "; }\n" +
+    "    function get(o) { return o.value; }\n" +
+    "    return [deep, get];\n" +
+    "})()";
+var failedBefore = Debug.getCompilationWarmupFailedCount();
+var fns;
+var thread = new java.lang.Thread(null, function() { fns = eval(source); }, "compiler", 512 * 1024 * 1024);
+thread.start();
+thread.join();
+awaitWarmup();
+print(Debug.getCompilationWarmupFailedCount() - failedBefore);
+
+// functions of later scripts are still compiled ahead of time
+var compiledBefore = Debug.getCompilationWarmupCount();
+var more = eval("(function() { function f(o) { return o.value * 3; } return f; })()");
+awaitWarmup();
+print(Debug.getCompilationWarmupCount() > compiledBefore);
+print(fns[1]({ value: 21 }));
+print(more({ value: 21 }));
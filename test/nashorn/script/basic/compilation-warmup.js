@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Functions compiled ahead of their first invocation with --compilation-warmup.
+ *
+ * @test
+ * @option -Dnashorn.debug=true
+ * @option --compilation-warmup
+ * @run
+ * @fork
+ */
+
+function awaitWarmup() {
+    while (Debug.getCompilationWarmupQueueDepth() > 0) {
+        java.lang.Thread.sleep(10);
+    }
+}
+
+var compiledBefore = Debug.getCompilationWarmupCount();
+var fns = eval("(function() {\n" +
+    "    function get(o) { return o.value; }\n" +
+    "    function pair(o) { return [o.value, o.value * 2]; }\n" +
+    "    function outer(o) { function inner(p) { return p.value + 1; } return inner(o); }\n" +
+    "    function sum() { var s = 0; for (var i = 0; i < arguments.length; i++) { s += arguments[i]; } return s; }\n" +
+    "    return [get, pair, outer, sum];\n" +
+    "})()");
+awaitWarmup();
+print(Debug.getCompilationWarmupCount() > compiledBefore);
+
+var o = { value: 21 };
+print(fns[0](o));
+print(fns[1](o));
+print(fns[2](o));
+print(fns[3](1, 2, 3));
+print(fns[0](42));
+
+// Cancelled warmup leaves functions to be compiled on first invocation
+Debug.cancelCompilationWarmup();
+var late = eval("(function() { function f(o) { return o.value * 3; } return f; })()");
+awaitWarmup();
+print(late(o));
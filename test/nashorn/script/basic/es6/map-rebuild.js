@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Map and Set iteration across table rebuilds and with number keys
+ *
+ * @test
+ * @run
+ * @option --language=es6
+ */
+
+// Number keys are stored unboxed, make sure they are distinct from equal strings
+var m = new Map();
+m.set(1, "int").set(1.5, "double").set("1", "string").set(-0, "zero").set(NaN, "nan");
+Assert.assertTrue(m.size === 5);
+Assert.assertEquals(m.get(1), "int");
+Assert.assertEquals(m.get(1.5), "double");
+Assert.assertEquals(m.get("1"), "string");
+Assert.assertEquals(m.get(0), "zero");
+Assert.assertEquals(m.get(NaN), "nan");
+Assert.assertEquals(typeof m.keys().next().value, "number");
+var keys = m.keys();
+for (var i = 0; i < 3; i++) keys.next();
+Assert.assertTrue(1 / keys.next().value === Infinity);
+
+// Grow the table while iterating
+m = new Map();
+for (var i = 0; i < 5; i++) {
+    m.set(i, i);
+}
+var visited = [];
+m.forEach(function(value, key, map) {
+    visited.push(key);
+    if (key < 100) {
+        map.set(key + 100, key);
+    }
+});
+Assert.assertTrue(visited.length === 10);
+Assert.assertEquals(visited.join(), "0,1,2,3,4,100,101,102,103,104");
+
+// Compact deleted entries while an iterator is suspended
+m = new Map();
+for (var i = 0; i < 8; i++) {
+    m.set(i, i * 2);
+}
+var it = m.entries();
+Assert.assertEquals(it.next().value.join(), "0,0");
+Assert.assertEquals(it.next().value.join(), "1,2");
+for (var i = 0; i < 6; i++) {
+    m.delete(i);
+}
+for (var i = 0; i < 20; i++) {
+    m.set("k" + i, i);
+}
+Assert.assertTrue(m.size === 22);
+Assert.assertEquals(it.next().value.join(), "6,12");
+Assert.assertEquals(it.next().value.join(), "7,14");
+Assert.assertEquals(it.next().value.join(), "k0,0");
+var rest = 0;
+while (!it.next().done) {
+    rest++;
+}
+Assert.assertTrue(rest === 19);
+m.set("late", 1);
+Assert.assertTrue(it.next().done);
+
+// Clear and refill while an iterator is suspended
+var s = new Set([1, 2, 3]);
+var sit = s.values();
+Assert.assertTrue(sit.next().value === 1);
+s.clear();
+s.add(4);
+s.add(1);
+Assert.assertTrue(sit.next().value === 4);
+Assert.assertTrue(sit.next().value === 1);
+Assert.assertTrue(sit.next().done);
+
+// Many deletions and re-insertions of the same keys
+s = new Set();
+for (var round = 0; round < 100; round++) {
+    for (var i = 0; i < 50; i++) {
+        s.add(i + 0.5);
+    }
+    for (var i = 0; i < 49; i++) {
+        s.delete(i + 0.5);
+    }
+}
+Assert.assertTrue(s.size === 1);
+Assert.assertTrue(s.has(49.5));
+Assert.assertFalse(s.has(0.5));
@@ -98,3 +98,18 @@ Assert.assertTrue(m.has('a') === false);
 Assert.assertTrue(m.delete(3) === false);
 Assert.assertTrue(m.get(Symbol.iterator) === undefined);
 Assert.assertTrue(m.get(true) === undefined);
+
+// Missing keys
+
+Assert.assertTrue(m.get({}) === undefined);
+Assert.assertTrue(m.delete({}) === false);
+
+// Java object keys
+
+var jkey = new java.lang.Object();
+Assert.assertTrue(m.set(jkey, "java") === m);
+Assert.assertTrue(m.has(jkey) === true);
+Assert.assertTrue(m.get(jkey) === "java");
+Assert.assertTrue(m.get(new java.lang.Object()) === undefined);
+Assert.assertTrue(m.delete(jkey) === true);
+Assert.assertTrue(m.has(jkey) === false);
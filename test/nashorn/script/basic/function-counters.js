@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Per-function runtime counters collected with --function-counters.
+ *
+ * @test
+ * @option -Dnashorn.debug=true
+ * @option --function-counters
+ * @option --optimistic-types=true
+ * @run
+ * @fork
+ */
+
+function add(a, b) {
+    return a + b;
+}
+
+function getX(o) {
+    return o.x + 1;
+}
+
+function never() {
+}
+
+for (var i = 0; i < 10; i++) {
+    add(i, 1);
+}
+add("a", "b");
+add({}, 1.5);
+getX({ x: 1 });
+getX({ x: 1.5 });
+getX({ x: "1" });
+
+var counters = Debug.getFunctionCounters(add);
+print("invocations " + counters.invocations);
+print("getX deoptimized " + (Debug.getFunctionCounters(getX).deoptimizations > 0));
+print("specializations " + (counters.specializations > 0));
+print("bytecode " + (counters.bytecodeSize > 0));
+print("never called " + Debug.getFunctionCounters(never).invocations);
+print("builtin " + Debug.getFunctionCounters(print));
+
+Debug.resetFunctionCounters();
+add(1, 2);
+print("after reset " + Debug.getFunctionCounters(add).invocations);
+
+var ManagementFactory = Java.type("java.lang.management.ManagementFactory");
+var ObjectName = Java.type("javax.management.ObjectName");
+var server = ManagementFactory.getPlatformMBeanServer();
+var name = new ObjectName("org.openjdk.nashorn:type=FunctionCounters");
+var functions = server.getAttribute(name, "Functions").values();
+var found = false;
+for each (var row in functions) {
+    if (row.get("name") == "add") {
+        print("mbean invocations " + row.get("invocations"));
+        found = true;
+    }
+}
+print("mbean found " + found);
+server.invoke(name, "reset", [], []);
+print("mbean reset " + Debug.getFunctionCounters(add).invocations);
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+
+/**
+ * Scripts evaluated with --anonymous-classes=true, and the functions they
+ * compile on demand and recompile for optimistic types, keep working when
+ * installed as hidden classes, and their installed code is accounted for.
+ *
+ * @test
+ * @fork
+ * @option -Dnashorn.debug
+ * @option --anonymous-classes=true
+ * @option --optimistic-types=true
+ */
+
+var results = [];
+var fns = [];
+for (var i = 0; i < 200; i++) {
+    var fn = eval("(function scale" + i + "(o) { return o.x * " + i + "; })");
+    // int, then double, then string: deoptimizes the multiplication twice
+    var r = fn({ x: 2 }) + fn({ x: 0.5 }) + fn({ x: "3" });
+    if (i % 40 == 0) {
+        results.push(r);
+    }
+    fns.push(fn);
+}
+print(results);
+
+var counts = fns.map(function(f) { return Debug.getInstalledClassCount(f); });
+print(counts.every(function(c) { return c >= 2; }));
+print(fns.every(function(f) { return Debug.getInstalledClassBytes(f) > 0; }));
+
+// a large script compiled into more than one class references its classes by name
+var body = [];
+for (var j = 0; j < 10000; j++) {
+    body.push("s += " + j + ";");
+}
+var big = eval("(function() { var s = 0; " + body.join("\n") + " return s; })");
+print(big());
+
+try {
+    eval("(function() { throw new Error('boom'); })")();
+} catch (e) {
+    print(e.message);
+}
+
+// errors keep the script frames of hidden classes
+function evalError() {
+    return eval("new Error('evaluated')");
+}
+var err = evalError();
+print(err.lineNumber, err.fileName.startsWith(__FILE__ + "#"), err.fileName.endsWith("<eval>"));
+print(err.stack.split("\n").slice(1).map(function(s) { return s.trim().replace(/\(.*:/, "(:"); }).join(", "));
+
+function referenceError() {
+    return undefinedVariable;
+}
+try {
+    referenceError();
+} catch (e) {
+    print(e instanceof ReferenceError, e.lineNumber, e.fileName == __FILE__);
+    print(e.stack.split("\n").slice(1).map(function(s) { return s.trim().replace(/\(.*:/, "(:"); }).join(", "));
+}
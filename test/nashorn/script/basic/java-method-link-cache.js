@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Invocations of Java methods linked for one call site are reused by other
+ * call sites with the same signature. Overload selection and argument
+ * conversions must not depend on which call site linked first.
+ *
+ * @test
+ * @run
+ */
+
+var Subject = Java.type("org.openjdk.nashorn.test.models.Nashorn401TestSubject");
+var JInteger = Java.type("java.lang.Integer");
+var JLong = Java.type("java.lang.Long");
+var subject = new Subject();
+
+function sites(count, expr) {
+    var body = [];
+    for (var i = 0; i < count; i++) {
+        body.push("r.push(" + expr + ");");
+    }
+    return new Function("s", "JInteger", "JLong", "x", "var r = []; " + body.join(" ") + " return r;");
+}
+
+function check(name, expr, args) {
+    var f = sites(3, expr);
+    var g = sites(2, expr);
+    args.forEach(function(x) {
+        var results = f(subject, JInteger, JLong, x).concat(g(subject, JInteger, JLong, x));
+        var first = results[0];
+        results.forEach(function(r) {
+            if (String(r) !== String(first)) {
+                throw new Error(name + ": " + r + " !== " + first);
+            }
+        });
+        print(name + "(" + (typeof x === "string" ? JSON.stringify(x) : x) + ") = " + first);
+    });
+}
+
+var cons = "con";
+cons += "s";
+
+check("method2", "s.method2(x)", [1, 1.5, "str", cons]);
+check("method3", "s.method3(x)", [2, 2.5, -0]);
+check("method4", "s.method4(x)", [3, 3.5]);
+check("parseInt", "JInteger.parseInt(x)", ["12", cons.length + "0", 42]);
+check("toBinaryString", "JInteger.toBinaryString(x)", [5, 5.7, -5.7, 1e10, Infinity, NaN]);
+check("toHexString", "JLong.toHexString(x)", [255, 2.5, 1e20, -Infinity]);
+check("valueOf", "JInteger.valueOf(x)", [7, "8"]);
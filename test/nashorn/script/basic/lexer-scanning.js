@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Scanning of identifiers, keywords, strings and comments.
+ *
+ * @test
+ * @run
+ */
+
+var abc = 1, abc2 = 2, $_x9 = 3, iff = 4, in2 = 5, returns = 6, \u0061bc3 = 7;
+print(abc, abc2, $_x9, iff, in2, returns, abc3);
+try {
+    eval("var return = 1");
+} catch (e) {
+    print(e.name);
+}
+print(this["abc"] === abc, typeof eval("var _été = 7; _été"));
+
+print("plain", 'single', "esc\taped\x41B", "line\
+continued", "quote\"inside", 'quote\'inside', "éé".length);
+print(eval("'a\\\r\nb'"), eval("'c\\\rd'"), JSON.stringify(eval("'e\\\n\\nf'")));
+
+/* block * comment ** with stars */ print(1 /* inline */ + 2); // line comment
+/**/ print("after empty comment");
+print(eval("1 /*\n*/ + 1"));
+try {
+    eval("/* unterminated");
+} catch (e) {
+    print(e.name);
+}
+
+print([1,2][0]+(3)-{a:4}.a*~5%6<7?8:9, 1==1, 1===1, 1!==2, 1<<2, -8>>>28);
+print(Function("x", "return x ? 'yes' : 'no'")(true));
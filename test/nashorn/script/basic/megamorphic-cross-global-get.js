@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Inherited property access at megamorphic call sites must use the prototypes
+ * of the receiver's own global when several globals share object literal maps.
+ *
+ * @test
+ * @run
+ */
+
+// The same script runs in several globals of one context, so its object literals
+// share their property maps, but their prototypes have different maps in each global.
+var src = {
+    name: "megamorphic-cross-global-src.js",
+    script: "if (arguments[0]) { Object.prototype.bar = 'BAR'; }\n" +
+            "Object.prototype.foo = arguments[1];\n" +
+            "function get(o) { return o.foo; }\n" +
+            "var objs = [{a:1},{b:1},{c:1},{d:1},{e:1},{f:1},{g:1},{h:1},{i:1},{j:1},{k:1},{l:1}];\n" +
+            "var r;\n" +
+            "for (var i = 0; i < 100; i++) { for (var j = 0; j < objs.length; j++) { r = get(objs[j]); } }\n" +
+            "get(objs[0]) + ' ' + get(objs[11]);"
+};
+
+print(loadWithNewGlobal(src, false, "G1"));
+print(loadWithNewGlobal(src, true, "G2"));
+print(loadWithNewGlobal(src, false, "G3"));
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Property access at polymorphic and megamorphic call sites must see
+ * property changes of objects with previously seen shapes.
+ *
+ * @test
+ * @run
+ */
+
+function makeShapes(count) {
+    var shapes = [];
+    for (var i = 0; i < count; i++) {
+        var o = {};
+        o["p" + i] = i;
+        o.x = i;
+        shapes.push(o);
+    }
+    return shapes;
+}
+
+function getX(o) {
+    return o.x;
+}
+
+function sumX(shapes) {
+    var sum = 0;
+    for (var i = 0; i < shapes.length; i++) {
+        sum += getX(shapes[i]);
+    }
+    return sum;
+}
+
+var shapes = makeShapes(40);
+for (var i = 0; i < 100; i++) {
+    sumX(shapes);
+}
+print(sumX(shapes));
+
+// same shape, different value
+shapes[3].x = 1000;
+print(sumX(shapes));
+
+// deleting and redefining changes the shape
+delete shapes[4].x;
+print(getX(shapes[4]));
+shapes[4].x = 4;
+print(sumX(shapes));
+
+// inherited and accessor properties
+var proto = { x: "inherited" };
+var child = Object.create(proto);
+print(getX(child));
+proto.x = "changed";
+print(getX(child));
+var counter = 0;
+var accessor = {};
+Object.defineProperty(accessor, "x", { get: function() { return ++counter; } });
+print(getX(accessor), getX(accessor));
+
+// primitive receivers
+Number.prototype.x = "number";
+String.prototype.x = "string";
+print(getX(1), getX("a"));
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Inherited property access at megamorphic call sites must see changes
+ * anywhere in the prototype chain.
+ *
+ * @test
+ * @run
+ */
+
+var Base = { x: "base", y: "base-y" };
+
+function makeObjects(count, proto) {
+    var objects = [];
+    for (var i = 0; i < count; i++) {
+        var o = Object.create(proto);
+        o["p" + i] = i;
+        objects.push(o);
+    }
+    return objects;
+}
+
+function getX(o) {
+    return o.x;
+}
+
+function getY(o) {
+    return o.y;
+}
+
+function collect(objects, getter) {
+    var seen = {};
+    for (var i = 0; i < objects.length; i++) {
+        var v = String(getter(objects[i]));
+        seen[v] = (seen[v] || 0) + 1;
+    }
+    return JSON.stringify(seen);
+}
+
+var objects = makeObjects(40, Base);
+for (var i = 0; i < 100; i++) {
+    collect(objects, getX);
+    collect(objects, getY);
+}
+print(collect(objects, getX));
+
+// changing the inherited value
+Base.x = "changed";
+print(collect(objects, getX));
+
+// shadowing in a single object
+objects[5].x = "own";
+print(collect(objects, getX));
+
+// deleting from the prototype
+delete Base.x;
+print(collect(objects, getX));
+
+// adding back as an accessor
+Object.defineProperty(Base, "x", { get: function() { return "getter"; }, configurable: true });
+print(collect(objects, getX));
+
+// changing the prototype of a single object
+Object.setPrototypeOf(objects[7], { x: "other proto" });
+print(collect(objects, getX));
+
+// changing a deeper prototype
+var Deep = { y: "deep" };
+var Middle = Object.create(Deep);
+var deepObjects = makeObjects(40, Middle);
+for (var i = 0; i < 100; i++) {
+    collect(deepObjects, getY);
+}
+print(collect(deepObjects, getY));
+Deep.y = "deep changed";
+print(collect(deepObjects, getY));
+Middle.y = "middle";
+print(collect(deepObjects, getY));
+Object.setPrototypeOf(Middle, Base);
+delete Middle.y;
+print(collect(deepObjects, getY));
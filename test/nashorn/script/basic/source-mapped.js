@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Scripts loaded from memory-mapped files.
+ *
+ * @test
+ * @option -Dnashorn.source.map.threshold=0
+ * @run
+ * @fork
+ */
+
+var Files = Java.type("java.nio.file.Files");
+
+function write(name, text) {
+    var file = Files.createTempFile(name, ".js");
+    Files.write(file, text.getBytes("UTF-8"));
+    return file.toFile();
+}
+
+var ascii = write("ascii", "function square(x) {\n    return x * x; // squared\n}\nvar line = __LINE__;\n");
+load(ascii);
+print(square(7));
+print(square);
+print(line);
+
+var utf8 = write("utf8", "var greeting = 'héllo 世界';\n");
+load(utf8);
+print(greeting === "h\u00e9llo \u4e16\u754c");
+
+var broken = write("broken", "var a = 1;\nvar b = ;\n");
+try {
+    load(broken);
+} catch (e) {
+    print(e.name + " " + e.message.substring(e.message.indexOf(".js:") + 3));
+}
+
+for each (var file in [ascii, utf8, broken]) {
+    file.delete();
+}
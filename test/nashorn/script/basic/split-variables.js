@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Variables of split functions that are declared in a split part or passed to it as parameters.
+ *
+ * @test
+ * @option -Dnashorn.compiler.splitter.threshold=200
+ * @run
+ * @fork
+ */
+
+// Temporaries used in a single part, and a parameter and object read in all of them
+function temporaries(data) {
+    var acc = { sum: 0 };
+    var t0 = data.x * 1 + data.y; if (t0 > data.limit) { t0 -= data.limit; } acc.sum += t0;
+    var t1 = data.x * 2 + data.y; if (t1 > data.limit) { t1 -= data.limit; } acc.sum += t1;
+    var t2 = data.x * 3 + data.y; if (t2 > data.limit) { t2 -= data.limit; } acc.sum += t2;
+    var t3 = data.x * 4 + data.y; if (t3 > data.limit) { t3 -= data.limit; } acc.sum += t3;
+    var t4 = data.x * 5 + data.y; if (t4 > data.limit) { t4 -= data.limit; } acc.sum += t4;
+    var t5 = data.x * 6 + data.y; if (t5 > data.limit) { t5 -= data.limit; } acc.sum += t5;
+    var t6 = data.x * 7 + data.y; if (t6 > data.limit) { t6 -= data.limit; } acc.sum += t6;
+    var t7 = data.x * 8 + data.y; if (t7 > data.limit) { t7 -= data.limit; } acc.sum += t7;
+    return acc.sum;
+}
+print(temporaries({ x: 3, y: 1, limit: 20 }));
+print(temporaries({ x: 0.5, y: "1", limit: 20 }));
+
+// A variable assigned in one part and read in later ones
+function shared(n) {
+    var total = 0;
+    var s = "";
+    total += n * 1; s += "a"; total += n * 2; s += "b"; total += n * 3; s += "c";
+    total += n * 4; s += "d"; total += n * 5; s += "e"; total += n * 6; s += "f";
+    var snapshot = total;
+    total += n * 7; s += "g"; total += n * 8; s += "h"; total += n * 9; s += "i";
+    print(snapshot + " " + total + " " + s + " " + n);
+    n = n + 1;
+    print(n + " " + (total + snapshot) + " " + s.length + " " + snapshot);
+    return total;
+}
+print(shared(1));
+
+// Variables declared in a part that is in a loop must be reset on every iteration
+function loop(count) {
+    var results = [];
+    for (var i = 0; i < count; i++) {
+        var x;
+        if (i % 2 == 0) { x = i; }
+        var a = i + 1, b = i + 2, c = i + 3, d = i + 4, e = i + 5, f = i + 6;
+        var g = a * b + c * d + e * f, h = a + b + c + d + e + f;
+        results.push(x + ":" + g + ":" + h + ":" + (a - b + c - d + e - f));
+    }
+    return results.join(",");
+}
+print(loop(4));
+
+// Closures over variables of split parts
+function closures(p) {
+    var fns = [];
+    var captured = p;
+    var local = p * 2; fns.push(function() { return local; }); local = local + 1;
+    var other = p * 3; fns.push(function() { return other + captured; });
+    var assigner = function(v) { captured = v; };
+    assigner(p + 100);
+    var read = captured; fns.push(function() { return read; });
+    var u = 1, v = 2, w = 3; fns.push(function() { return u + v + w + captured; });
+    return fns.map(function(f) { return f(); }).join(",");
+}
+print(closures(5));
+
+// Parameters that are aliased by the arguments object
+function args(a, b) {
+    var r1 = a + b; var r2 = a * b; var r3 = a - b; var r4 = a / b;
+    arguments[0] = 10;
+    var r5 = a + b; var r6 = a * b; var r7 = a - b; var r8 = a / b;
+    return [r1, r2, r3, r4, r5, r6, r7, r8].join(",");
+}
+print(args(4, 2));
+
+// Variables shadowed by block scoped declarations and catch parameters
+function shadowed(x) {
+    var y = x + 1; var z = x + 2; var w = x + 3; var q = x + 4;
+    try {
+        throw "caught";
+    } catch (y) {
+        var r = y + z + w + q; var s = y + x; var t = z + w + q + x;
+        print(r + " " + s + " " + t);
+    }
+    var e = y + z + w + q + x;
+    return e;
+}
+print(shadowed(1));
+
+// Early returns, breaks, and continues out of split parts
+function jumps(n) {
+    var found = -1;
+    outer:
+    for (var i = 0; i < n; i++) {
+        for (var j = 0; j < n; j++) {
+            var k = i * n + j; var m = k % 7; var o = k % 5; var pp = k % 3;
+            if (m == 0 && o == 0) { continue; }
+            if (pp == 2 && m == 3) { found = k; break outer; }
+            if (k > 40) { return "returned " + k + " " + found; }
+        }
+    }
+    var done = "done " + found; var len = done.length; var upper = done.toUpperCase();
+    return upper + " " + len;
+}
+print(jumps(3));
+print(jumps(10));
+
+// Uninitialized variables read before they are assigned
+function uninitialized(flag) {
+    var a = 1; var b = 2; var c = 3; var d = 4; var e = 5; var f = 6;
+    if (flag) { var late = a + b + c; }
+    var g = a + b; var h = c + d; var i = e + f; var j = g + h + i;
+    return late + " " + j;
+}
+print(uninitialized(true));
+print(uninitialized(false));
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Chains of string additions are evaluated and converted in order.
+ *
+ * @test
+ * @option --language=es6
+ * @run
+ */
+
+var log = [];
+function obj(n, value) {
+    return {
+        valueOf: function() { log.push("valueOf" + n); return value; },
+        toString: function() { log.push("toString" + n); return "str" + n; }
+    };
+}
+function ev(n, x) {
+    log.push("eval" + n);
+    return x;
+}
+function check(result) {
+    print(result, log.join());
+    log = [];
+}
+
+var a = obj(1, 1), b = obj(2, 2), c = obj(3, "c");
+check(ev(1, a) + ":" + ev(2, b) + ":" + ev(3, c));
+check("x" + ev(1, a) + ev(2, b) + ev(3, c));
+check(ev(1, a) + ev(2, b) + "y" + ev(3, c));
+check(`${ev(1, a)}-${ev(2, b)}-${ev(3, c)}`);
+
+var d = 1.5, i = 7, t = true, u, n = null;
+print("d" + d + "i" + i + "t" + t + "u" + u + "n" + n + (-0) + 1e21 + 0.1 + NaN + "e");
+print("" + 1 + 2.5 + true + null + undefined + [1, 2] + {} + "");
+
+function row(x, y) {
+    return "<" + x + "|" + y + ">" + (x + y);
+}
+print(row(1, 2), row("a", 2), row(1.25, 3.5), row(a, c), row(undefined, null), row(true, -0));
+log = [];
+
+print(JSON.stringify("a\u0001b" + i + "\u0002" + i + "c"));
+
+// more operands than a single concatenation takes
+var long = eval("'' + " + Array.apply(null, Array(250)).map(function(_, k) { return "i + '" + k + "'"; }).join(" + "));
+print(long.length, long.substring(0, 30), long.substring(long.length - 10));
+
+try {
+    print("a" + Symbol("q") + "b");
+} catch (e) {
+    print(e.name);
+}
+
+var s = "";
+for (var k = 0; k < 10000; k++) {
+    s = s + "<" + k + ">";
+}
+print(s.length, s.substring(s.length - 12));
+
+var l = "L".repeat(40000);
+print((l + i + l + i + "x").length, ("a" + i + l + "b" + i).length);
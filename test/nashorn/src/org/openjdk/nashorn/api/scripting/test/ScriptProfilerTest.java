@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.nashorn.api.scripting.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngine;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.openjdk.nashorn.api.scripting.ScriptProfiler;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the sampling profiler of {@link NashornScriptEngine}.
+ */
+@SuppressWarnings("javadoc")
+public class ScriptProfilerTest {
+    private static final String SCRIPT =
+        "function leaf(n) { var a = []; for (var i = 0; i < n; i++) { a.push({ v: i }); } return a.length; }\n" +
+        "function middle(n) { return leaf(n) + leaf(n); }\n" +
+        "function run(millis) {\n" +
+        "    var end = Date.now() + millis, count = 0;\n" +
+        "    while (Date.now() < end) { count += middle(1000); }\n" +
+        "    return count;\n" +
+        "}\n";
+
+    private static NashornScriptEngine createEngine() throws ScriptException {
+        final ScriptEngine engine = new NashornScriptEngineFactory().getScriptEngine();
+        engine.put(ScriptEngine.FILENAME, "profiled.js");
+        engine.eval(SCRIPT);
+        return (NashornScriptEngine)engine;
+    }
+
+    @Test
+    public void profileTest() throws Exception {
+        final NashornScriptEngine engine = createEngine();
+        final ScriptProfiler profiler = engine.getProfiler();
+        assertTrue(profiler == engine.getProfiler());
+        assertFalse(profiler.isRunning());
+
+        profiler.start(1);
+        assertTrue(profiler.isRunning());
+        engine.invokeFunction("run", 1000);
+        profiler.stop();
+        assertFalse(profiler.isRunning());
+
+        final String stacks = profiler.getCollapsedStacks();
+        assertTrue(stacks.contains("run (profiled.js);middle (profiled.js);leaf (profiled.js) "), stacks);
+        for (final String line : stacks.split("\n")) {
+            assertTrue(line.matches("[^ ].* \\d+"), line);
+        }
+
+        final String report = profiler.getJSONReport();
+        assertTrue(report.startsWith("{\"interval\":1,"), report);
+        assertTrue(report.contains("{\"name\":\"leaf\",\"source\":\"profiled.js\",\"selfTime\":"), report);
+        assertTrue(report.contains("{\"name\":\"middle\",\"source\":\"profiled.js\",\"selfTime\":"), report);
+        // functions are sorted by self time, and leaf is only called from middle, which is only called from run
+        long previousSelfTime = Long.MAX_VALUE;
+        final Matcher selfTimes = Pattern.compile("\"selfTime\":(\\d+)").matcher(report);
+        while (selfTimes.find()) {
+            final long selfTime = Long.parseLong(selfTimes.group(1));
+            assertTrue(selfTime <= previousSelfTime, report);
+            previousSelfTime = selfTime;
+        }
+        final long leafSamples = totalSamples(report, "leaf");
+        assertTrue(leafSamples > 0, report);
+        assertTrue(totalSamples(report, "middle") >= leafSamples, report);
+        assertTrue(totalSamples(report, "run") >= totalSamples(report, "middle"), report);
+        assertFalse(report.contains("\"selfAllocated\":0,\"totalAllocated\":0,\"selfSamples\":0"), report);
+    }
+
+    @Test
+    public void otherEngineTest() throws Exception {
+        final NashornScriptEngine engine = createEngine();
+        final ScriptEngine other = new NashornScriptEngineFactory().getScriptEngine();
+        other.put(ScriptEngine.FILENAME, "other.js");
+        other.eval(SCRIPT);
+
+        final ScriptProfiler profiler = engine.getProfiler();
+        profiler.start(1);
+        final Thread otherThread = new Thread(() -> {
+            try {
+                ((NashornScriptEngine)other).invokeFunction("run", 1000);
+            } catch (final ScriptException | NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        otherThread.start();
+        engine.invokeFunction("run", 1000);
+        otherThread.join();
+        profiler.stop();
+
+        // scripts running in the other engine at the same time are not sampled
+        final String report = profiler.getJSONReport();
+        assertTrue(report.contains("\"source\":\"profiled.js\""), report);
+        assertFalse(report.contains("other.js"), report);
+        assertFalse(profiler.getCollapsedStacks().contains("other.js"), profiler.getCollapsedStacks());
+    }
+
+    @Test
+    public void javaAllocationTest() throws Exception {
+        final NashornScriptEngine engine = createEngine();
+        engine.eval("function spin(millis) { var end = Date.now() + millis, count = 0; while (Date.now() < end) { count++; } return count; }");
+        final ScriptProfiler profiler = engine.getProfiler();
+        profiler.start(1);
+        engine.invokeFunction("spin", 200);
+        // allocated outside of scripts, so not charged to spin
+        long sink = 0;
+        for (int i = 0; i < 2048; i++) {
+            sink += new byte[1024 * 1024].length;
+        }
+        assertEquals(sink, 2048L * 1024 * 1024);
+        engine.invokeFunction("spin", 200);
+        profiler.stop();
+
+        final Matcher m = Pattern.compile("\"name\":\"spin\",[^}]*\"totalAllocated\":(-?\\d+)").matcher(profiler.getJSONReport());
+        assertTrue(m.find(), profiler.getJSONReport());
+        assertTrue(Long.parseLong(m.group(1)) < 512L * 1024 * 1024, profiler.getJSONReport());
+    }
+
+    @Test
+    public void resetTest() throws Exception {
+        final ScriptProfiler profiler = createEngine().getProfiler();
+        profiler.start();
+        profiler.stop();
+        profiler.reset();
+        assertEquals(profiler.getCollapsedStacks(), "");
+        assertEquals(profiler.getJSONReport(), "{\"interval\":10,\"samples\":0,\"time\":0,\"functions\":[]}");
+    }
+
+    private static long totalSamples(final String report, final String function) {
+        final Matcher m = Pattern.compile("\"name\":\"" + function + "\",[^}]*\"totalSamples\":(\\d+)").matcher(report);
+        assertTrue(m.find(), report);
+        return Long.parseLong(m.group(1));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void startTwiceTest() throws Exception {
+        final ScriptProfiler profiler = createEngine().getProfiler();
+        profiler.start();
+        try {
+            profiler.start();
+        } finally {
+            profiler.stop();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.nashorn.api.tree.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.nashorn.api.scripting.NashornException;
+import org.openjdk.nashorn.api.tree.CompilationUnitTree;
+import org.openjdk.nashorn.api.tree.Diagnostic;
+import org.openjdk.nashorn.api.tree.Parser;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for parsing batches of files concurrently.
+ */
+@SuppressWarnings("javadoc")
+public class BatchParseTest {
+    private static final int FILES = 40;
+
+    private Path dir;
+    private final List<Path> paths = new ArrayList<>();
+
+    @BeforeClass
+    public void createFiles() throws IOException {
+        dir = Files.createTempDirectory("batch-parse");
+        for (int i = 0; i < FILES; i++) {
+            final StringBuilder sb = new StringBuilder();
+            for (int j = 0; j <= i; j++) {
+                sb.append("function f").append(j).append("(x) { return x + ").append(j).append("; }\n");
+            }
+            paths.add(Files.writeString(dir.resolve("file" + i + ".js"), sb));
+        }
+    }
+
+    @AfterClass
+    public void deleteFiles() throws IOException {
+        for (final Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+        Files.deleteIfExists(dir.resolve("error.js"));
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    public void parseBatch() throws IOException {
+        final Parser parser = Parser.create();
+        final Map<Path, CompilationUnitTree> trees = new ConcurrentHashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            parser.parse(paths, executor, trees::put, null);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(trees.size(), FILES);
+        for (int i = 0; i < FILES; i++) {
+            final CompilationUnitTree tree = trees.get(paths.get(i));
+            assertEquals(tree.getSourceElements().size(), i + 1);
+            assertEquals(tree.getSourceName(), paths.get(i).toString());
+        }
+    }
+
+    @Test
+    public void parseBatchOnCommonPool() throws IOException {
+        final AtomicInteger elements = new AtomicInteger();
+        Parser.create().parse(paths, null, (path, tree) -> elements.addAndGet(tree.getSourceElements().size()), null);
+        assertEquals(elements.get(), FILES * (FILES + 1) / 2);
+    }
+
+    @Test
+    public void defaultParseBatch() throws IOException {
+        final List<Path> consumed = new ArrayList<>();
+        final AtomicInteger elements = new AtomicInteger();
+        new DelegatingParser(Parser.create()).parse(paths, null, (path, tree) -> {
+            consumed.add(path);
+            elements.addAndGet(tree.getSourceElements().size());
+        }, null);
+        assertEquals(consumed, paths);
+        assertEquals(elements.get(), FILES * (FILES + 1) / 2);
+    }
+
+    @Test
+    public void boundedTasks() throws IOException {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Parser.create().parse(paths, executor, (path, tree) -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }, null);
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(maxRunning.get() <= 2 * Runtime.getRuntime().availableProcessors(), "max running " + maxRunning.get());
+    }
+
+    @Test
+    public void batchErrors() throws IOException {
+        final Path error = Files.writeString(dir.resolve("error.js"), "var x = ;");
+        final List<Path> batch = new ArrayList<>(paths);
+        batch.add(error);
+
+        final Queue<Diagnostic> diagnostics = new ConcurrentLinkedQueue<>();
+        final AtomicInteger consumedTrees = new AtomicInteger();
+        Parser.create().parse(batch, Runnable::run, (path, tree) -> consumedTrees.incrementAndGet(), diagnostics::add);
+        assertEquals(consumedTrees.get(), FILES + 1);
+        assertEquals(diagnostics.size(), 1);
+        assertEquals(diagnostics.peek().getFileName(), error.toString());
+
+        try {
+            Parser.create().parse(batch, Runnable::run, (path, tree) -> { }, null);
+            fail("expected NashornException");
+        } catch (final NashornException e) {
+            assertEquals(e.getFileName(), error.toString());
+        }
+
+        batch.add(0, dir.resolve("missing.js"));
+        final AtomicInteger consumed = new AtomicInteger();
+        try {
+            Parser.create().parse(batch, Runnable::run, (path, tree) -> consumed.incrementAndGet(), null);
+            fail("expected IOException");
+        } catch (final IOException e) {
+            assertEquals(consumed.get(), 0);
+        }
+    }
+}
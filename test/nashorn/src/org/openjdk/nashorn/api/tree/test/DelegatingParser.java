@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.nashorn.api.tree.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.file.Path;
+import org.openjdk.nashorn.api.scripting.ScriptObjectMirror;
+import org.openjdk.nashorn.api.tree.CompilationUnitTree;
+import org.openjdk.nashorn.api.tree.DiagnosticListener;
+import org.openjdk.nashorn.api.tree.Parser;
+
+/**
+ * A parser that only implements the eager parse methods, for testing the default
+ * methods of {@link Parser}.
+ */
+@SuppressWarnings("javadoc")
+class DelegatingParser implements Parser {
+    private final Parser parser;
+
+    DelegatingParser(final Parser parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public CompilationUnitTree parse(final File file, final DiagnosticListener listener) throws IOException {
+        return parser.parse(file, listener);
+    }
+
+    @Override
+    public CompilationUnitTree parse(final Path path, final DiagnosticListener listener) throws IOException {
+        return parser.parse(path, listener);
+    }
+
+    @Override
+    public CompilationUnitTree parse(final URL url, final DiagnosticListener listener) throws IOException {
+        return parser.parse(url, listener);
+    }
+
+    @Override
+    public CompilationUnitTree parse(final String name, final Reader reader, final DiagnosticListener listener) throws IOException {
+        return parser.parse(name, reader, listener);
+    }
+
+    @Override
+    public CompilationUnitTree parse(final String name, final String code, final DiagnosticListener listener) {
+        return parser.parse(name, code, listener);
+    }
+
+    @Override
+    public CompilationUnitTree parse(final ScriptObjectMirror scriptObj, final DiagnosticListener listener) {
+        return parser.parse(scriptObj, listener);
+    }
+}
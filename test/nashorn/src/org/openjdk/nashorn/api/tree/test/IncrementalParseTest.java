@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.api.tree.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.openjdk.nashorn.api.tree.CompilationUnitTree;
+import org.openjdk.nashorn.api.tree.Diagnostic;
+import org.openjdk.nashorn.api.tree.Parser;
+import org.openjdk.nashorn.api.tree.Tree;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for reparsing a compilation unit after an edit.
+ */
+@SuppressWarnings("javadoc")
+public class IncrementalParseTest {
+    private static final String CODE =
+        "'use strict';\n" +
+        "var a = 1, b = [a, 2, { c: 3, get d() { return a; } }];\n" +
+        "function f(x, y) { if (x) { return y; } else { for (var i = 0; i < y; i++) { x += i; } } return x; }\n" +
+        "// a comment; with a semicolon\n" +
+        "var s = 'str;ing' /* comment */ ;\n" +
+        "function g() {\n    return f(1, 2) + s.length;\n}\n" +
+        "a = b\n" +
+        "b = a\n" +
+        "switch (a) { case 1: f(a, b); break; default: { var z = function(q) { return q * 2; }; } }\n" +
+        "class C extends Object { constructor() { super(); this.v = a; } m(p) { return () => p + this.v; } }\n" +
+        "try { new C().m(1)(); } catch (e) { print(e); } finally { label: while (a--) { continue label; } }\n" +
+        "if (a) { g(); } else f(a, b);\n" +
+        "var t = `template ${a};`;\n" +
+        "function h() { return /re;gex/g.test(s); }\n" +
+        "do { a++; } while (a < 10);\n" +
+        "let l = (x) => x * 2, m = l(3);\n" +
+        "const k = { l, m };\n" +
+        "h();\n";
+
+    private static final String EDIT_CHARS = " \n;(){}[],.=+-*/'\"`ax1";
+
+    private static Parser parser() {
+        return Parser.create("--language=es6");
+    }
+
+    // dumps a tree by calling the getters of its interfaces
+    private static void dump(final Object obj, final StringBuilder buf) throws Exception {
+        if (obj instanceof Tree) {
+            final Tree tree = (Tree)obj;
+            buf.append(tree.getKind()).append('[').append(tree.getStartPosition()).append(',').append(tree.getEndPosition()).append("](");
+            final List<Method> getters = new ArrayList<>();
+            for (final Class<?> iface : getInterfaces(tree.getClass(), new ArrayList<>())) {
+                for (final Method m : iface.getMethods()) {
+                    if (m.getParameterCount() == 0 && m.getDeclaringClass() == iface && !m.getName().equals("getLineMap") &&
+                            (m.getName().startsWith("get") || m.getName().startsWith("is"))) {
+                        getters.add(m);
+                    }
+                }
+            }
+            getters.sort(Comparator.comparing(Method::getName));
+            for (final Method m : getters) {
+                buf.append(m.getName()).append('=');
+                dump(m.invoke(tree), buf);
+                buf.append(' ');
+            }
+            buf.append(')');
+        } else if (obj instanceof List) {
+            buf.append('[');
+            for (final Object element : (List<?>)obj) {
+                dump(element, buf);
+                buf.append(',');
+            }
+            buf.append(']');
+        } else {
+            buf.append(obj);
+        }
+    }
+
+    private static List<Class<?>> getInterfaces(final Class<?> clazz, final List<Class<?>> result) {
+        for (final Class<?> iface : clazz.getInterfaces()) {
+            if (iface.getName().startsWith("org.openjdk.nashorn.api.tree.") && !result.contains(iface)) {
+                result.add(iface);
+                getInterfaces(iface, result);
+            }
+        }
+        if (clazz.getSuperclass() != null) {
+            getInterfaces(clazz.getSuperclass(), result);
+        }
+        return result;
+    }
+
+    private static String dump(final Tree tree) throws Exception {
+        final StringBuilder buf = new StringBuilder();
+        dump(tree, buf);
+        return buf.toString();
+    }
+
+    @Test
+    public void reparseMatchesFullParse() throws Exception {
+        final Parser parser = parser();
+        final Random random = new Random(42);
+        String code = CODE;
+        CompilationUnitTree unit = parser.parse("test.js", code, null);
+        int edits = 0;
+        for (int i = 0; i < 2000; i++) {
+            final int offset = random.nextInt(code.length() + 1);
+            final int length = random.nextInt(3) == 0 ? Math.min(random.nextInt(4), code.length() - offset) : 0;
+            final String replacement = random.nextInt(4) == 0 ? "" : String.valueOf(EDIT_CHARS.charAt(random.nextInt(EDIT_CHARS.length())));
+            final String newCode = code.substring(0, offset) + replacement + code.substring(offset + length);
+
+            final List<Diagnostic> diagnostics = new ArrayList<>();
+            final CompilationUnitTree full;
+            try {
+                full = parser.parse("test.js", newCode, diagnostics::add);
+            } catch (final AssertionError e) {
+                // the lexer asserts on a template literal whose substitution is not closed
+                continue;
+            }
+            if (!diagnostics.isEmpty()) {
+                continue;
+            }
+            final CompilationUnitTree reparsed = parser.reparse(unit, offset, length, replacement, null);
+            assertEquals(dump(reparsed), dump(full), "edit " + i + " at " + offset + " of " + length + " with '" + replacement + "'");
+            code = newCode;
+            unit = reparsed;
+            edits++;
+        }
+        assertTrue(edits > 500, "too few edits: " + edits);
+    }
+
+    @Test
+    public void reusesUnchangedStatements() throws Exception {
+        final Parser parser = parser();
+        final CompilationUnitTree unit = parser.parse("test.js", CODE, null);
+        final List<? extends Tree> elements = unit.getSourceElements();
+
+        // change "f(1, 2) + s.length" to "f(1, 2) - s.length" in function g
+        final int offset = CODE.indexOf("f(1, 2) + s") + 8;
+        final CompilationUnitTree sameLength = parser.reparse(unit, offset, 1, "-", null);
+        final List<? extends Tree> sameLengthElements = sameLength.getSourceElements();
+        assertEquals(sameLengthElements.size(), elements.size());
+        int changed = 0;
+        for (int i = 0; i < elements.size(); i++) {
+            if (sameLengthElements.get(i) != elements.get(i)) {
+                changed++;
+                assertEquals(sameLengthElements.get(i).getKind(), Tree.Kind.FUNCTION);
+            }
+        }
+        assertEquals(changed, 1);
+
+        // insert a statement before function g, which moves the statements after it
+        final int insert = CODE.indexOf("function g");
+        final CompilationUnitTree longer = parser.reparse(unit, insert, 0, "a++;\n", null);
+        final List<? extends Tree> longerElements = longer.getSourceElements();
+        assertEquals(longerElements.size(), elements.size() + 1);
+        for (int i = 0; i < elements.size(); i++) {
+            if (elements.get(i).getEndPosition() < insert) {
+                assertSame(longerElements.get(i), elements.get(i));
+            } else {
+                assertEquals(longerElements.get(i + 1).getStartPosition(), elements.get(i).getStartPosition() + 5);
+            }
+        }
+        assertEquals(longer.getLineMap().getLineNumber(longerElements.get(longerElements.size() - 1).getStartPosition()), 21);
+    }
+
+    @Test
+    public void reparseErrors() {
+        final Parser parser = parser();
+        final CompilationUnitTree unit = parser.parse("test.js", CODE, null);
+        final List<Diagnostic> diagnostics = new ArrayList<>();
+        final int offset = CODE.indexOf("s.length");
+        final CompilationUnitTree reparsed = parser.reparse(unit, offset, 1, "(", diagnostics::add);
+        assertTrue(reparsed != null);
+        assertEquals(diagnostics.size(), 1);
+        assertEquals(diagnostics.get(0).getKind(), Diagnostic.Kind.ERROR);
+        assertEquals(diagnostics.get(0).getLineNumber(), 7L);
+    }
+
+    @Test
+    public void reparseDirectivePrologue() throws Exception {
+        final Parser parser = parser();
+        final String code = "'use strict';\nvar x = 1;\n";
+        final CompilationUnitTree unit = parser.parse("test.js", code, null);
+        assertTrue(unit.isStrict());
+        final CompilationUnitTree reparsed = parser.reparse(unit, 1, 4, "no ", null);
+        assertTrue(!reparsed.isStrict());
+        assertEquals(dump(reparsed), dump(parser.parse("test.js", "'no strict';\nvar x = 1;\n", null)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void editOutsideSource() {
+        final Parser parser = parser();
+        parser.reparse(parser.parse("test.js", "var x;", null), 4, 3, "", null);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void defaultReparse() {
+        final Parser parser = new DelegatingParser(parser());
+        parser.reparse(parser.parse("test.js", "var x;", null), 4, 1, "y", null);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.nashorn.api.tree.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.nashorn.api.scripting.NashornException;
+import org.openjdk.nashorn.api.tree.BlockTree;
+import org.openjdk.nashorn.api.tree.CompilationUnitTree;
+import org.openjdk.nashorn.api.tree.Diagnostic;
+import org.openjdk.nashorn.api.tree.FunctionDeclarationTree;
+import org.openjdk.nashorn.api.tree.Parser;
+import org.openjdk.nashorn.api.tree.SimpleTreeVisitorES6;
+import org.openjdk.nashorn.api.tree.Tree;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for parsing with a visitor and for skipping function bodies.
+ */
+@SuppressWarnings("javadoc")
+public class StreamingParseTest {
+    private static final String CODE =
+        "var a = 1, b = [a, 2, { c: 3, get d() { return a; } }];\n" +
+        "function f(x, y) { if (x) { return y; } else { for (var i = 0; i < y; i++) { x += i; } } return x; }\n" +
+        "switch (a) { case 1: f(a, b); break; default: { var z = function(q) { return q * 2; }; } }\n" +
+        "class C extends Object { constructor() { super(); this.v = a; } m(p) { return () => p + this.v; } }\n" +
+        "try { new C().m(1)(); } catch (e) { print(e); } finally { label: while (a--) { continue label; } }\n";
+
+    // counts the trees of each kind
+    private static class KindCounter extends SimpleTreeVisitorES6<Void, Map<Tree.Kind, Integer>> {
+        @Override
+        public Void visitCompilationUnit(final CompilationUnitTree node, final Map<Tree.Kind, Integer> counts) {
+            count(node, counts);
+            return super.visitCompilationUnit(node, counts);
+        }
+
+        @Override
+        public Void visitBlock(final BlockTree node, final Map<Tree.Kind, Integer> counts) {
+            count(node, counts);
+            return super.visitBlock(node, counts);
+        }
+
+        @Override
+        public Void visitFunctionDeclaration(final FunctionDeclarationTree node, final Map<Tree.Kind, Integer> counts) {
+            count(node, counts);
+            return super.visitFunctionDeclaration(node, counts);
+        }
+
+        @Override
+        public Void visitUnknown(final Tree node, final Map<Tree.Kind, Integer> counts) {
+            return null;
+        }
+
+        private static void count(final Tree node, final Map<Tree.Kind, Integer> counts) {
+            counts.merge(node.getKind(), 1, Integer::sum);
+        }
+    }
+
+    private static Map<Tree.Kind, Integer> countEager(final Parser parser, final String code) {
+        final Map<Tree.Kind, Integer> counts = new EnumMap<>(Tree.Kind.class);
+        parser.parse("test.js", code, null).accept(new KindCounter(), counts);
+        return counts;
+    }
+
+    private static Map<Tree.Kind, Integer> countStreaming(final Parser parser, final String code) {
+        final Map<Tree.Kind, Integer> counts = new EnumMap<>(Tree.Kind.class);
+        parser.parse("test.js", code, new KindCounter(), counts, null);
+        return counts;
+    }
+
+    @Test
+    public void streamingVisitsSameTrees() {
+        final Parser parser = Parser.create("--language=es6");
+        final Map<Tree.Kind, Integer> counts = countStreaming(parser, CODE);
+        assertEquals(counts, countEager(parser, CODE));
+        assertEquals((int)counts.get(Tree.Kind.FUNCTION), 1);
+        assertTrue(counts.get(Tree.Kind.BLOCK) > 10);
+    }
+
+    @Test
+    public void streamingModule() {
+        final Parser parser = Parser.create("--es6-module");
+        final String code = "import { x } from 'mod'; export function g() { { return x; } }";
+        assertEquals(countStreaming(parser, code), countEager(parser, code));
+    }
+
+    @Test
+    public void statementTreesAreNotRetained() {
+        final Parser parser = Parser.create();
+        final List<Tree> elements = new ArrayList<>();
+        final Integer result = parser.parse("test.js", CODE.substring(0, CODE.indexOf("class")), new SimpleTreeVisitorES6<Integer, Void>() {
+            @Override
+            public Integer visitCompilationUnit(final CompilationUnitTree node, final Void v) {
+                elements.add(node.getSourceElements().get(2));
+                elements.add(node.getSourceElements().get(2));
+                return node.getSourceElements().size();
+            }
+        }, null, null);
+        assertEquals((int)result, 4);
+        assertNotSame(elements.get(0), elements.get(1));
+        assertEquals(elements.get(0).getKind(), Tree.Kind.FUNCTION);
+        assertEquals(elements.get(0).getStartPosition(), elements.get(1).getStartPosition());
+    }
+
+    @Test
+    public void skipFunctionBodies() {
+        final Parser parser = Parser.create("--language=es6", "--skip-function-bodies");
+        final CompilationUnitTree unit = parser.parse("test.js", CODE, null);
+        assertEquals(unit.getSourceElements().size(), 6);
+        final FunctionDeclarationTree func = (FunctionDeclarationTree)unit.getSourceElements().get(2);
+        assertEquals(func.getName().getName(), "f");
+        assertEquals(func.getParameters().size(), 2);
+        assertTrue(func.getBody().getStatements().isEmpty());
+
+        final Map<Tree.Kind, Integer> counts = countStreaming(parser, CODE);
+        assertEquals(counts, countEager(parser, CODE));
+        assertTrue(counts.get(Tree.Kind.BLOCK) < countEager(Parser.create("--language=es6"), CODE).get(Tree.Kind.BLOCK));
+    }
+
+    @Test
+    public void streamingParseError() {
+        final Parser parser = Parser.create();
+        final String code = "var x = ;\nfunction f() { return 1; }\n";
+
+        // with a listener, the error is reported and the visitor gets the tree of the recovered source
+        final List<Diagnostic> diagnostics = new ArrayList<>();
+        final Integer result = parser.parse("test.js", code, new ElementCounter(), null, diagnostics::add);
+        assertEquals(result, Integer.valueOf(2));
+        assertEquals(diagnostics.size(), 1);
+        assertEquals(diagnostics.get(0).getKind(), Diagnostic.Kind.ERROR);
+        assertEquals(diagnostics.get(0).getLineNumber(), 1L);
+        assertEquals(diagnostics.get(0).getColumnNumber(), 8L);
+
+        // without a listener, the error is thrown before the visitor is called
+        final ElementCounter counter = new ElementCounter();
+        try {
+            parser.parse("test.js", code, counter, null, null);
+            fail("expected NashornException");
+        } catch (final NashornException e) {
+            assertEquals(e.getLineNumber(), 1);
+        }
+        assertFalse(counter.visited);
+    }
+
+    @Test
+    public void defaultStreamingParse() throws IOException {
+        final Parser parser = Parser.create("--language=es6");
+        final Parser delegating = new DelegatingParser(parser);
+        final Map<Tree.Kind, Integer> counts = new EnumMap<>(Tree.Kind.class);
+        delegating.parse("test.js", CODE, new KindCounter(), counts, null);
+        assertEquals(counts, countEager(parser, CODE));
+
+        final List<Diagnostic> diagnostics = new ArrayList<>();
+        assertEquals(delegating.parse("test.js", "var x = ;", new ElementCounter(), null, diagnostics::add), Integer.valueOf(1));
+        assertEquals(diagnostics.size(), 1);
+    }
+
+    // returns the number of source elements of the compilation unit
+    private static class ElementCounter extends SimpleTreeVisitorES6<Integer, Void> {
+        boolean visited;
+
+        @Override
+        public Integer visitCompilationUnit(final CompilationUnitTree node, final Void v) {
+            visited = true;
+            return node.getSourceElements().size();
+        }
+    }
+}
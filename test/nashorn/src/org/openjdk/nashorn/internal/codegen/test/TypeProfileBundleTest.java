@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.codegen.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.testng.annotations.Test;
+
+/**
+ * Type profile bundles exported by one run are used by a later run after the scripts moved.
+ * The bundle system properties are read once per JVM, so each run is a separate process.
+ *
+ * @test
+ * @run testng org.openjdk.nashorn.internal.codegen.test.TypeProfileBundleTest
+ */
+@SuppressWarnings("javadoc")
+public class TypeProfileBundleTest {
+
+    private static final String SCRIPT =
+            "function getX(o) { return o.x + 1; }\n" +
+            "function mul(a, b) { return a * b; }\n" +
+            "print(getX({ x: 1 }) + ' ' + getX({ x: 1.5 }) + ' ' + getX({ x: '1' }));\n" +
+            "print(mul(3, 4) + ' ' + mul(65536, 65536) + ' ' + mul(0.5, 3));\n" +
+            "print('deoptimizations ' + (Debug.getFunctionCounters(getX).deoptimizations + Debug.getFunctionCounters(mul).deoptimizations));\n";
+
+    private static final String RESULTS = "2 2.5 11\n12 4294967296 1.5\n";
+
+    @Test
+    public void relocatedBundleTest() throws Exception {
+        final Path dir = Files.createTempDirectory("nashorn-type-profile");
+        try {
+            final Path bundle = dir.resolve("types.bundle");
+            final Path original = Files.createDirectories(dir.resolve("original")).resolve("script.js");
+            Files.write(original, SCRIPT.getBytes(StandardCharsets.UTF_8));
+
+            // warm-up run at the original location exports the bundle
+            final String cold = runScript(original, "-Dnashorn.typeInfo.export=" + bundle);
+            assertTrue(cold.startsWith(RESULTS), cold);
+            assertFalse(cold.endsWith("deoptimizations 0\n"), cold);
+            assertTrue(Files.size(bundle) > 0);
+
+            // the script moves, and the original location is gone
+            final Path moved = Files.createDirectories(dir.resolve("moved").resolve("elsewhere")).resolve("renamed.js");
+            Files.move(original, moved);
+            Files.delete(original.getParent());
+
+            // the relocated script starts with the saved types and never deoptimizes
+            assertEquals(runScript(moved, "-Dnashorn.typeInfo.bundle=" + bundle), RESULTS + "deoptimizations 0\n");
+
+            // without the bundle, the relocated script deoptimizes again
+            assertEquals(runScript(moved), cold);
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private static String runScript(final Path script, final String... jvmOptions) throws IOException, InterruptedException {
+        final List<String> cmd = new ArrayList<>();
+        cmd.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        cmd.add("--module-path");
+        cmd.add(System.getProperty("jdk.module.path"));
+        cmd.add("-Dnashorn.debug=true");
+        cmd.addAll(List.of(jvmOptions));
+        cmd.add("-m");
+        cmd.add("org.openjdk.nashorn/org.openjdk.nashorn.tools.Shell");
+        cmd.add("--optimistic-types=true");
+        cmd.add("--function-counters");
+        cmd.add(script.toString());
+
+        final Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(process.waitFor(), 0, output);
+        return output;
+    }
+}
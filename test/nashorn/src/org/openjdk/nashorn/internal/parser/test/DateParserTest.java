@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.parser.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Random;
+import org.openjdk.nashorn.internal.parser.DateParser;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the common format fast path of the date parser gives the same fields as the parser.
+ */
+@SuppressWarnings("javadoc")
+public class DateParserTest {
+    private static final String[] WEEKDAYS = { "Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat" };
+    private static final String[] MONTHS = { "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec" };
+    private static final String MUTATIONS = "0123456789 -+:.,()TZGMUTCtzJanOct";
+
+    private static int[] parse(final String str) {
+        final DateParser parser = new DateParser(str);
+        if (!parser.parse()) {
+            return null;
+        }
+        final Integer[] fields = parser.getDateFields();
+        final int[] result = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == null) {
+                return null;
+            }
+            result[i] = fields[i];
+        }
+        return result;
+    }
+
+    // checks that the fast path either rejects the string or gives the same fields as the parser
+    private static boolean check(final String str) {
+        final int[] fields = new int[DateParser.TIMEZONE + 1];
+        if (DateParser.parseCommonFormat(str, fields)) {
+            assertEquals(fields, parse(str), str);
+            return true;
+        }
+        return false;
+    }
+
+    private static String pad(final int n, final int length) {
+        final String str = Integer.toString(n);
+        return "0000".substring(0, length - str.length()) + str;
+    }
+
+    private static String offset(final Random random, final boolean colon) {
+        final int minutes = random.nextInt(14 * 60);
+        return (random.nextBoolean() ? "+" : "-") + pad(minutes / 60, 2) + (colon ? ":" : "") + pad(minutes % 60, 2);
+    }
+
+    private static String format(final Random random) {
+        final int year = 1900 + random.nextInt(200);
+        final int month = random.nextInt(12);
+        final int day = 1 + random.nextInt(31);
+        final String time = pad(random.nextInt(24), 2) + ":" + pad(random.nextInt(60), 2) + ":" + pad(random.nextInt(60), 2);
+        final String weekday = WEEKDAYS[random.nextInt(7)];
+        switch (random.nextInt(6)) {
+            case 0:
+                return year + "-" + pad(month + 1, 2) + "-" + pad(day, 2);
+            case 1:
+                return year + "-" + pad(month + 1, 2) + "-" + pad(day, 2) + "T" + time + "." + pad(random.nextInt(1000), 3) + "Z";
+            case 2:
+                return year + "-" + pad(month + 1, 2) + "-" + pad(day, 2) + "T" + time + (random.nextBoolean() ? "" : offset(random, true));
+            case 3:
+                return weekday + ", " + pad(day, 2) + " " + MONTHS[month] + " " + year + " " + time + " GMT";
+            case 4:
+                return (random.nextBoolean() ? weekday + ", " : "") + day + " " + MONTHS[month] + " " + year + " " + time + " " + offset(random, false);
+            default:
+                return weekday + " " + MONTHS[month] + " " + pad(day, 2) + " " + year + " " + time + " GMT" + offset(random, false) + " (CET)";
+        }
+    }
+
+    @Test
+    public void testCommonFormats() {
+        final int[] fields = new int[DateParser.TIMEZONE + 1];
+        assertTrue(DateParser.parseCommonFormat("2026-10-19T10:20:30.456Z", fields));
+        assertEquals(fields, new int[] { 2026, 9, 19, 10, 20, 30, 456, 0 });
+        assertTrue(DateParser.parseCommonFormat("Mon, 19 Oct 2026 10:20:30 GMT", fields));
+        assertEquals(fields, new int[] { 2026, 9, 19, 10, 20, 30, 0, 0 });
+        assertTrue(DateParser.parseCommonFormat("Mon Oct 19 2026 10:20:30 GMT-0330 (NST)", fields));
+        assertEquals(fields, new int[] { 2026, 9, 19, 10, 20, 30, 0, -210 });
+
+        final Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            final String str = format(random);
+            assertTrue(check(str), str);
+        }
+    }
+
+    @Test
+    public void testMutatedFormats() {
+        final Random random = new Random(1);
+        int accepted = 0;
+        for (int i = 0; i < 200000; i++) {
+            final StringBuilder sb = new StringBuilder(format(random));
+            for (int j = random.nextInt(3); j >= 0; j--) {
+                final int pos = random.nextInt(sb.length() + 1);
+                switch (random.nextInt(3)) {
+                    case 0:
+                        sb.insert(pos, MUTATIONS.charAt(random.nextInt(MUTATIONS.length())));
+                        break;
+                    case 1:
+                        if (pos < sb.length()) {
+                            sb.deleteCharAt(pos);
+                        }
+                        break;
+                    default:
+                        if (pos < sb.length()) {
+                            sb.setCharAt(pos, MUTATIONS.charAt(random.nextInt(MUTATIONS.length())));
+                        }
+                        break;
+                }
+            }
+            if (check(sb.toString())) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted > 1000, "accepted " + accepted);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.doubleconv.test;
+
+import java.util.Random;
+import org.openjdk.nashorn.internal.runtime.doubleconv.DoubleConversion;
+import org.openjdk.nashorn.internal.runtime.doubleconv.DtoaBuffer;
+import org.openjdk.nashorn.internal.runtime.doubleconv.DtoaMode;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests the shortest conversion of DoubleConversion, which uses the Ryu algorithm,
+ * against the FastDtoa and BignumDtoa conversions.
+ */
+@SuppressWarnings("javadoc")
+public class RyuDtoaTest {
+
+    // shortest conversion with FastDtoa, falling back to BignumDtoa
+    private static String dtoaShortest(final double value) {
+        final DtoaBuffer buffer = new DtoaBuffer(DtoaBuffer.kFastDtoaMaximalLength);
+        if (!DoubleConversion.fastDtoaShortest(Math.abs(value), buffer)) {
+            buffer.reset();
+            DoubleConversion.bignumDtoa(Math.abs(value), DtoaMode.SHORTEST, 0, buffer);
+        }
+        return (value < 0 ? "-" : "") + buffer.format(DtoaMode.SHORTEST, 0);
+    }
+
+    private static void check(final double value) {
+        final String expected = dtoaShortest(value);
+        assertEquals(DoubleConversion.toShortestString(value), expected, Long.toHexString(Double.doubleToRawLongBits(value)));
+        final StringBuilder sb = new StringBuilder("x");
+        DoubleConversion.toShortestString(value, sb);
+        assertEquals(sb.toString(), "x" + expected);
+    }
+
+    @Test
+    public void testShortestVarious() {
+        assertEquals(DoubleConversion.toShortestString(5e-324), "5e-324");
+        assertEquals(DoubleConversion.toShortestString(-1.7976931348623157e308), "-1.7976931348623157e+308");
+        assertEquals(DoubleConversion.toShortestString(0.1), "0.1");
+        assertEquals(DoubleConversion.toShortestString(0.1 + 0.2), "0.30000000000000004");
+        assertEquals(DoubleConversion.toShortestString(1.5), "1.5");
+        assertEquals(DoubleConversion.toShortestString(123e18), "123000000000000000000");
+        assertEquals(DoubleConversion.toShortestString(123e19), "1.23e+21");
+        assertEquals(DoubleConversion.toShortestString(0.000001), "0.000001");
+        assertEquals(DoubleConversion.toShortestString(0.0000001), "1e-7");
+        assertEquals(DoubleConversion.toShortestString(-0.00000123), "-0.00000123");
+        assertEquals(DoubleConversion.toShortestString(2.2250738585072014e-308), "2.2250738585072014e-308");
+        assertEquals(DoubleConversion.toShortestString(4.9406564584124654e-324), "5e-324");
+        assertEquals(DoubleConversion.toShortestString(9007199254740993.0), "9007199254740992");
+    }
+
+    @Test
+    public void testShortestPowers() {
+        for (double v = Double.MIN_VALUE; v < Double.POSITIVE_INFINITY; v *= 2) {
+            check(v);
+            check(-v);
+        }
+        for (int e = -323; e <= 308; e++) {
+            final double v = Double.parseDouble("1e" + e);
+            check(v);
+            check(Math.nextUp(v));
+            check(Math.nextDown(v));
+        }
+    }
+
+    @Test
+    public void testShortestRandom() {
+        final Random random = new Random(0);
+        for (int i = 0; i < 1000000; i++) {
+            final double v = Double.longBitsToDouble(random.nextLong());
+            if (Double.isFinite(v) && v != 0) {
+                check(v);
+            }
+        }
+        for (int i = 0; i < 200000; i++) {
+            // short decimals, which have many trailing zeros in their exact value
+            check((random.nextInt(1000000) + 1) / Math.pow(10, random.nextInt(12)));
+            check((random.nextInt(100000) + 1) * Math.pow(10, random.nextInt(40)));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.openjdk.nashorn.internal.runtime.Source.sourceFor;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.nashorn.internal.objects.Global;
+import org.openjdk.nashorn.internal.runtime.BackgroundRecompiler;
+import org.openjdk.nashorn.internal.runtime.CodeInstaller;
+import org.openjdk.nashorn.internal.runtime.Context;
+import org.openjdk.nashorn.internal.runtime.ErrorManager;
+import org.openjdk.nashorn.internal.runtime.ScriptFunction;
+import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that with --async-recompilation, deoptimizing invocations don't wait for the background recompilation.
+ *
+ * @test
+ * @modules org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime:open
+ *          org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime.options
+ *          org.openjdk.nashorn/org.openjdk.nashorn.internal.objects
+ * @run testng org.openjdk.nashorn.internal.runtime.test.AsyncRecompilationTest
+ */
+@SuppressWarnings("javadoc")
+public class AsyncRecompilationTest {
+
+    @Test
+    public void deoptimizationDoesNotBlockTest() throws Exception {
+        final Options options = new Options("nashorn");
+        options.process(new String[] { "--optimistic-types=true", "--async-recompilation" });
+        final Context cx = new Context(options, new ErrorManager(), Thread.currentThread().getContextClassLoader());
+        final Global global = cx.createGlobal();
+        final ExecutorService caller = Executors.newSingleThreadExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final ScriptFunction sum = call(caller, global, () -> {
+                final ScriptFunction program = cx.compileScript(sourceFor("<deoptimizationDoesNotBlockTest>",
+                        "function sum(o, n) { var s = 0; for (var i = 0; i < n; i++) { s += o.x * i; } return s; }\n" +
+                        "(function(x, n) { return sum({ x: x }, n); })"), global);
+                return (ScriptFunction) ScriptRuntime.apply(program, global);
+            });
+            assertEquals(call(caller, global, () -> ScriptRuntime.apply(sum, null, 2, 10)), 90);
+
+            // the background recompilation can't be installed until it is released
+            final Object data = getField(ScriptFunction.class, global.get("sum"), "data");
+            final CodeInstaller installer = (CodeInstaller) getField(data.getClass(), data, "installer");
+            setField(data.getClass(), data, "installer", blockingInstaller(installer, release));
+
+            // the optimistic version keeps failing at the same program point until the new version is installed
+            for (int i = 0; i < 100; i++) {
+                assertEquals(call(caller, global, () -> ScriptRuntime.apply(sum, null, 2.5, 10)), 112.5);
+            }
+            assertTrue(BackgroundRecompiler.getQueueDepth() > 0);
+
+            release.countDown();
+            while (BackgroundRecompiler.getQueueDepth() > 0) {
+                Thread.sleep(10);
+            }
+            assertEquals(call(caller, global, () -> ScriptRuntime.apply(sum, null, 2.5, 10)), 112.5);
+            assertEquals(call(caller, global, () -> ScriptRuntime.apply(sum, null, "0.5", 3)), 1.5);
+        } finally {
+            release.countDown();
+            caller.shutdownNow();
+        }
+    }
+
+    private interface ScriptCall<T> {
+        T call() throws Exception;
+    }
+
+    // runs script code with the given global on the caller thread, and fails if it doesn't complete in time
+    @SuppressWarnings("unchecked")
+    private static <T> T call(final ExecutorService caller, final Global global, final ScriptCall<T> code) throws Exception {
+        final Future<Object> result = caller.submit(() -> {
+            final Global oldGlobal = Context.getGlobal();
+            Context.setGlobal(global);
+            try {
+                return code.call();
+            } finally {
+                Context.setGlobal(oldGlobal);
+            }
+        });
+        return (T) result.get(30, TimeUnit.SECONDS);
+    }
+
+    // an installer whose installations on background compiler threads wait until they are released
+    private static CodeInstaller blockingInstaller(final CodeInstaller installer, final CountDownLatch release) {
+        return (CodeInstaller) Proxy.newProxyInstance(CodeInstaller.class.getClassLoader(), new Class<?>[] { CodeInstaller.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "install":
+                        if (Thread.currentThread().getName().startsWith("nashorn-recompiler-")) {
+                            release.await();
+                        }
+                        break;
+                    case "getOnDemandCompilationInstaller":
+                    case "getMultiClassCodeInstaller":
+                        return proxy;
+                    default:
+                        break;
+                    }
+                    try {
+                        return method.invoke(installer, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static Object getField(final Class<?> clazz, final Object obj, final String name) throws ReflectiveOperationException {
+        final Field field = clazz.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(obj);
+    }
+
+    private static void setField(final Class<?> clazz, final Object obj, final String name, final Object value) throws ReflectiveOperationException {
+        final Field field = clazz.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(obj, value);
+    }
+}
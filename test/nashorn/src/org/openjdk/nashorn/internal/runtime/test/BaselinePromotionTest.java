@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.openjdk.nashorn.internal.runtime.Source.sourceFor;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.nashorn.internal.objects.Global;
+import org.openjdk.nashorn.internal.runtime.BackgroundRecompiler;
+import org.openjdk.nashorn.internal.runtime.CodeInstaller;
+import org.openjdk.nashorn.internal.runtime.Context;
+import org.openjdk.nashorn.internal.runtime.ErrorManager;
+import org.openjdk.nashorn.internal.runtime.ScriptFunction;
+import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that baseline functions are promoted to optimistic code on a background compiler thread, and that a baseline
+ * function whose promotion fails keeps running its baseline code.
+ *
+ * @test
+ * @modules org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime:open
+ *          org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime.options
+ *          org.openjdk.nashorn/org.openjdk.nashorn.internal.objects
+ * @run testng org.openjdk.nashorn.internal.runtime.test.BaselinePromotionTest
+ */
+@SuppressWarnings("javadoc")
+public class BaselinePromotionTest {
+    private static final int THRESHOLD = 3;
+    private static final int MAX_PROMOTION_ATTEMPTS = 3;
+
+    private static final String SCRIPT =
+            "function sum(o, n) { var s = 0; for (var i = 0; i < n; i++) { s += o.x * i; } return s; }\n" +
+            "(function(n) { return sum({ x: 2 }, n); })";
+
+    @Test
+    public void backgroundPromotionTest() throws Exception {
+        final Context cx = createContext(new ErrorManager(), new StringWriter());
+        final Global oldGlobal = Context.getGlobal();
+        final Global global = cx.createGlobal();
+        Context.setGlobal(global);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final ScriptFunction caller = (ScriptFunction) ScriptRuntime.apply(cx.compileScript(sourceFor("<backgroundPromotionTest>", SCRIPT), global), global);
+            final Object data = getField(ScriptFunction.class, global.get("sum"), "data");
+
+            // the baseline version is compiled and installed on the first call
+            assertEquals(call(caller, 10), 90);
+            final List<Object> baselines = getBaselineVersions(data);
+            assertEquals(baselines.size(), 1);
+
+            // the optimistic code for the promotion can not be installed until it is released
+            final List<String> installThreads = new ArrayList<>();
+            final CodeInstaller installer = (CodeInstaller) getField(data.getClass(), data, "installer");
+            setField(data.getClass(), data, "installer", blockingInstaller(installer, release, installThreads));
+
+            // invocations past the threshold keep running the baseline code while the promotion is pending
+            for (int i = 0; i < 10 * THRESHOLD; i++) {
+                assertEquals(call(caller, i), i * (i - 1));
+            }
+            for (final Object baseline : baselines) {
+                assertTrue(getField(baseline.getClass(), baseline, "promotedVersion") == null);
+            }
+
+            release.countDown();
+            awaitBackgroundCompilations();
+            assertEquals(call(caller, 10), 90);
+            for (final Object baseline : baselines) {
+                assertTrue(getField(baseline.getClass(), baseline, "promotedVersion") != null);
+            }
+            assertTrue(!installThreads.isEmpty());
+            for (final String thread : installThreads) {
+                assertTrue(thread.startsWith("nashorn-recompiler-"), thread);
+            }
+        } finally {
+            release.countDown();
+            Context.setGlobal(oldGlobal);
+        }
+    }
+
+    @Test
+    public void failedPromotionTest() throws Exception {
+        final ErrorManager errors = new ErrorManager();
+        final StringWriter err = new StringWriter();
+        final Context cx = createContext(errors, err);
+        final Global oldGlobal = Context.getGlobal();
+        final Global global = cx.createGlobal();
+        Context.setGlobal(global);
+        try {
+            final ScriptFunction caller = (ScriptFunction) ScriptRuntime.apply(cx.compileScript(sourceFor("<failedPromotionTest>", SCRIPT), global), global);
+            final ScriptFunction sum = (ScriptFunction) global.get("sum");
+
+            // the baseline version is compiled and installed on the first call
+            assertEquals(call(caller, 10), 90);
+
+            // optimistic code for the promotion can not be installed
+            final AtomicInteger failedInstalls = new AtomicInteger();
+            final Object data = getField(ScriptFunction.class, sum, "data");
+            final CodeInstaller installer = (CodeInstaller) getField(data.getClass(), data, "installer");
+            setField(data.getClass(), data, "installer", failingInstaller(installer, failedInstalls));
+
+            for (int i = 0; i < 10 * THRESHOLD; i++) {
+                assertEquals(call(caller, i), i * (i - 1));
+                // let each promotion attempt finish before the invocations that count towards the next one
+                awaitBackgroundCompilations();
+            }
+            // promotion was tried a limited number of times, the baseline code kept running, and giving up was reported
+            assertEquals(failedInstalls.get(), MAX_PROMOTION_ATTEMPTS);
+            assertEquals(getBaselineVersions(data).size(), 1);
+            assertTrue(errors.getNumberOfErrors() == 0);
+            assertTrue(err.toString().contains("giving up promoting baseline code of function 'sum'"), err.toString());
+        } finally {
+            Context.setGlobal(oldGlobal);
+        }
+    }
+
+    private static Context createContext(final ErrorManager errors, final StringWriter err) {
+        final Options options = new Options("nashorn");
+        options.process(new String[] { "--optimistic-types=true", "--baseline-threshold=" + THRESHOLD });
+        return new Context(options, errors, new PrintWriter(System.out, true), new PrintWriter(err, true), Thread.currentThread().getContextClassLoader());
+    }
+
+    private static void awaitBackgroundCompilations() throws InterruptedException {
+        while (BackgroundRecompiler.getQueueDepth() > 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    // the compiled versions of the function that are baseline code and have not been promoted
+    private static List<Object> getBaselineVersions(final Object data) throws ReflectiveOperationException {
+        final List<Object> baselines = new ArrayList<>();
+        for (final Object fn : (Collection<?>) getField(data.getClass().getSuperclass(), data, "code")) {
+            if (getField(fn.getClass(), fn, "baselineAssumptions") != null) {
+                baselines.add(fn);
+            }
+        }
+        return baselines;
+    }
+
+    private static int call(final ScriptFunction caller, final int n) {
+        return ((Number) ScriptRuntime.apply(caller, null, n)).intValue();
+    }
+
+    // an installer whose installations on background compiler threads wait until they are released
+    private static CodeInstaller blockingInstaller(final CodeInstaller installer, final CountDownLatch release, final List<String> installThreads) {
+        return (CodeInstaller) Proxy.newProxyInstance(CodeInstaller.class.getClassLoader(), new Class<?>[] { CodeInstaller.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "install":
+                        synchronized (installThreads) {
+                            installThreads.add(Thread.currentThread().getName());
+                        }
+                        release.await();
+                        break;
+                    case "getOnDemandCompilationInstaller":
+                    case "getMultiClassCodeInstaller":
+                        return proxy;
+                    default:
+                        break;
+                    }
+                    try {
+                        return method.invoke(installer, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    // an installer whose on-demand compilations fail when installing their classes
+    private static CodeInstaller failingInstaller(final CodeInstaller installer, final AtomicInteger failedInstalls) {
+        return (CodeInstaller) Proxy.newProxyInstance(CodeInstaller.class.getClassLoader(), new Class<?>[] { CodeInstaller.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "install":
+                        failedInstalls.incrementAndGet();
+                        throw new IllegalStateException("install failed");
+                    case "getOnDemandCompilationInstaller":
+                    case "getMultiClassCodeInstaller":
+                        return proxy;
+                    default:
+                        try {
+                            return method.invoke(installer, args);
+                        } catch (final InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+
+    private static Object getField(final Class<?> clazz, final Object obj, final String name) throws ReflectiveOperationException {
+        final Field field = clazz.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(obj);
+    }
+
+    private static void setField(final Class<?> clazz, final Object obj, final String name, final Object value) throws ReflectiveOperationException {
+        final Field field = clazz.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(obj, value);
+    }
+}
@@ -27,9 +27,13 @@ package org.openjdk.nashorn.internal.runtime.test;
 
 import static org.openjdk.nashorn.internal.runtime.Source.sourceFor;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import org.openjdk.nashorn.api.scripting.ClassFilter;
 import org.openjdk.nashorn.internal.objects.Global;
 import org.openjdk.nashorn.internal.runtime.Context;
 import org.openjdk.nashorn.internal.runtime.ErrorManager;
@@ -138,6 +142,108 @@ public class ContextTest {
         }
     }
 
+    // Java class lookups, including misses, are resolved once per Context and shared by its Globals
+    @Test
+    public void classLookupCacheTest() {
+        final Options options = new Options("nashorn");
+        options.process(new String[] { "--preload-classes", "java.util.ArrayList,java.util" });
+        final ErrorManager errors = new ErrorManager();
+        final List<String> lookups = new ArrayList<>();
+        final ClassFilter filter = name -> {
+            lookups.add(name);
+            return !name.equals("java.io.File");
+        };
+        final Context cx = new Context(options, errors, Thread.currentThread().getContextClassLoader(), filter);
+        assertEquals(lookups, List.of("java.util.ArrayList", "java.util"));
+
+        final Global oldGlobal = Context.getGlobal();
+        try {
+            for (int i = 0; i < 2; i++) {
+                Context.setGlobal(cx.createGlobal());
+                assertEquals(eval(cx, "<classLookupCacheTest>", "Java.typeName(java.util.ArrayList)"), "java.util.ArrayList");
+                assertEquals(eval(cx, "<classLookupCacheTest>", "typeof java.io.File"), "object");
+                assertEquals(eval(cx, "<classLookupCacheTest>", "Java.typeName(Java.type('java.util.ArrayList'))"), "java.util.ArrayList");
+            }
+        } finally {
+            Context.setGlobal(oldGlobal);
+        }
+        assertEquals(lookups, List.of("java.util.ArrayList", "java.util", "java.io", "java.io.File"));
+        assertNull(cx.lookupClass("java.io.File"));
+        assertNull(cx.lookupClass("java.util"));
+        assertEquals(lookups.size(), 4);
+    }
+
+    // Names that did not resolve to a class are only remembered for a while, and only up to a bounded number
+    @Test
+    public void classLookupMissesTest() throws Exception {
+        final boolean[] visible = { false };
+        final ClassLoader loader = new ClassLoader(ContextTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+                if (name.equals("java.util.ArrayList") && !visible[0]) {
+                    throw new ClassNotFoundException(name);
+                }
+                return super.loadClass(name, resolve);
+            }
+        };
+        final List<String> lookups = new ArrayList<>();
+        final ClassFilter filter = name -> {
+            lookups.add(name);
+            return true;
+        };
+
+        final Context cx;
+        System.setProperty("nashorn.classlookup.misses.size", "2");
+        System.setProperty("nashorn.classlookup.misses.expiry", "500");
+        try {
+            cx = new Context(new Options("nashorn"), new ErrorManager(), loader, filter);
+        } finally {
+            System.clearProperty("nashorn.classlookup.misses.size");
+            System.clearProperty("nashorn.classlookup.misses.expiry");
+        }
+
+        // a class that becomes visible later is found once the miss has expired
+        assertNull(cx.lookupClass("java.util.ArrayList"));
+        visible[0] = true;
+        assertNull(cx.lookupClass("java.util.ArrayList"));
+        assertEquals(lookups, List.of("java.util.ArrayList"));
+        Thread.sleep(600);
+        assertEquals(cx.lookupClass("java.util.ArrayList"), ArrayList.class);
+        assertEquals(cx.lookupClass("java.util.ArrayList"), ArrayList.class);
+        assertEquals(lookups, List.of("java.util.ArrayList", "java.util.ArrayList"));
+
+        // the least recently used misses are dropped
+        lookups.clear();
+        assertNull(cx.lookupClass("nonexistent.A"));
+        assertNull(cx.lookupClass("nonexistent.B"));
+        assertNull(cx.lookupClass("nonexistent.C"));
+        assertNull(cx.lookupClass("nonexistent.C"));
+        assertNull(cx.lookupClass("nonexistent.A"));
+        assertEquals(lookups, List.of("nonexistent.A", "nonexistent.B", "nonexistent.C", "nonexistent.A"));
+    }
+
+    // Only exceptions of contexts that installed hidden script classes walk the stack for their frames
+    @Test
+    public void hiddenScriptClassesTest() {
+        final Options hiddenOptions = new Options("nashorn");
+        hiddenOptions.process(new String[] { "--anonymous-classes=true" });
+        final Context hidden = new Context(hiddenOptions, new ErrorManager(), Thread.currentThread().getContextClassLoader());
+        final Context named = new Context(new Options("nashorn"), new ErrorManager(), Thread.currentThread().getContextClassLoader());
+        final Global oldGlobal = Context.getGlobal();
+        try {
+            Context.setGlobal(hidden.createGlobal());
+            assertEquals(eval(hidden, "<hiddenScriptClassesTest>", "function f() { return 1; } f()"), 1);
+            assertTrue(Context.hasHiddenScriptClasses());
+
+            Context.setGlobal(named.createGlobal());
+            assertEquals(eval(named, "<hiddenScriptClassesTest>", "function f() { return 1; } f()"), 1);
+            assertTrue(!Context.hasHiddenScriptClasses());
+        } finally {
+            Context.setGlobal(oldGlobal);
+        }
+        assertTrue(!Context.hasHiddenScriptClasses());
+    }
+
     private static Object eval(final Context cx, final String name, final String code) {
         final Source source = sourceFor(name, code);
         final ScriptObject global = Context.getGlobal();
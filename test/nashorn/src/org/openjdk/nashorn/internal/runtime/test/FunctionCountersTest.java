@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.testng.annotations.Test;
+
+/**
+ * Function counters work when the optional java.management module is not in the module graph. The module graph is
+ * fixed when the JVM starts, so the script runs in a separate process.
+ *
+ * @test
+ * @run testng org.openjdk.nashorn.internal.runtime.test.FunctionCountersTest
+ */
+@SuppressWarnings("javadoc")
+public class FunctionCountersTest {
+
+    @Test
+    public void withoutManagementTest() throws Exception {
+        final Path script = Files.createTempFile("nashorn-function-counters", ".js");
+        try {
+            Files.write(script, ("function f(x) { return x + 1; }\n" +
+                    "print(f(1) + f(2));\n" +
+                    "print(Debug.getFunctionCounters(f).invocations);\n").getBytes(StandardCharsets.UTF_8));
+
+            final List<String> cmd = List.of(
+                    System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                    "--module-path", System.getProperty("jdk.module.path"),
+                    "--limit-modules", "org.openjdk.nashorn",
+                    "-Dnashorn.debug=true",
+                    "-m", "org.openjdk.nashorn/org.openjdk.nashorn.tools.Shell",
+                    "--function-counters",
+                    script.toString());
+            final Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+            final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(process.waitFor(), 0, output);
+            assertEquals(output, "5\n2\n");
+        } finally {
+            Files.delete(script);
+        }
+    }
+}
@@ -25,10 +25,12 @@
 
 package org.openjdk.nashorn.internal.runtime.test;
 
+import java.util.Random;
 import org.openjdk.nashorn.internal.runtime.JSType;
 import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import org.testng.annotations.Test;
@@ -109,6 +111,51 @@ public class JSTypeTest {
         // FIXME: add case for Object type (JSObject with getDefaultValue)
     }
 
+    /**
+     * Test of toString method for numbers, and of appendNumber.
+     */
+    @Test
+    public void testToString_Number() {
+        assertEquals(JSType.toString(42), "42");
+        assertSame(JSType.toString(42), JSType.toString(42.0));
+        assertEquals(JSType.toString(-42), "-42");
+        assertEquals(JSType.toString(-0.0), "0");
+        assertEquals(JSType.toString(1e21), "1e+21");
+        assertEquals(JSType.toString(1e-7), "1e-7");
+        assertEquals(JSType.toString(-0.5), "-0.5");
+        assertEquals(JSType.toString(4294967296.5), "4294967296.5");
+        final double[] values = { 0.0, 7, -7, 0.1, 1.5e300, -2.5e-300, Double.NaN, Double.NEGATIVE_INFINITY };
+        for (final double value : values) {
+            assertEquals(JSType.appendNumber(new StringBuilder("x"), value).toString(), "x" + JSType.toString(value));
+        }
+    }
+
+    /**
+     * Test of toNumber method for strings, against Double.parseDouble.
+     */
+    @Test
+    public void testToNumber_String() {
+        assertEquals(JSType.toNumber(" 12 "), 12.0, 0.0);
+        assertEquals(JSType.toNumber("-0"), -0.0, 0.0);
+        assertEquals(1 / JSType.toNumber("-0"), Double.NEGATIVE_INFINITY, 0.0);
+        assertEquals(JSType.toNumber(".5"), 0.5, 0.0);
+        assertEquals(JSType.toNumber("5."), 5.0, 0.0);
+        assertEquals(JSType.toNumber("0012.50"), 12.5, 0.0);
+        assertEquals(JSType.toNumber("123456789012345678"), 123456789012345678.0, 0.0);
+        assertEquals(JSType.toNumber("1e3"), 1000.0, 0.0);
+        assertTrue(Double.isNaN(JSType.toNumber(".")));
+        assertTrue(Double.isNaN(JSType.toNumber("1.2.3")));
+        assertTrue(Double.isNaN(JSType.toNumber("12a")));
+        final Random random = new Random(0);
+        for (int i = 0; i < 100000; i++) {
+            final String digits = Long.toString(random.nextLong() & Long.MAX_VALUE | 1L << 62).substring(0, 1 + random.nextInt(18));
+            final int point = random.nextInt(digits.length() + 1);
+            final String str = digits.substring(0, point) + "." + digits.substring(point);
+            assertEquals(JSType.toNumber(str), Double.parseDouble(str), 0.0, str);
+            assertEquals(JSType.toNumber(digits), Double.parseDouble(digits), 0.0, digits);
+        }
+    }
+
     /**
      * Test of JSType.toUint32(double)
      */
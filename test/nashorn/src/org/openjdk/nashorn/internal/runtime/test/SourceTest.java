@@ -27,6 +27,9 @@ package org.openjdk.nashorn.internal.runtime.test;
 
 import static org.openjdk.nashorn.internal.runtime.Source.sourceFor;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 import java.io.File;
@@ -34,7 +37,11 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.Base64;
 import org.openjdk.nashorn.api.scripting.URLReader;
 import org.openjdk.nashorn.internal.runtime.Source;
 import org.testng.annotations.Test;
@@ -106,6 +113,74 @@ public class SourceTest {
         }
     }
 
+    @Test
+    public void testContentDigest() {
+        final Source source1 = sourceFor(SOURCE_NAME, SOURCE_STRING);
+        final Source source2 = sourceFor("moved/" + SOURCE_NAME, SOURCE_STRING);
+        assertEquals(source1.getContentDigest(), source2.getContentDigest());
+        assertNotEquals(source1.getDigest(), source2.getDigest());
+        assertNotEquals(source1.getContentDigest(), sourceFor(SOURCE_NAME, "var x = 2;").getContentDigest());
+    }
+
+    @Test
+    public void testContentDigestOfLargeSource() throws Exception {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            sb.append("var x").append(i).append(" = '\u00e9\u4e2d';\n");
+        }
+        final String str = sb.toString();
+        final String expected = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                MessageDigest.getInstance("SHA-1").digest(str.getBytes(StandardCharsets.UTF_16LE)));
+        assertEquals(sourceFor(SOURCE_NAME, str).getContentDigest(), expected);
+    }
+
+    @Test
+    public void testFileSourceCache() throws IOException {
+        final File file = File.createTempFile("source-test", ".js");
+        try {
+            Files.write(file.toPath(), "var s = '\u00e9t\u00e9';".getBytes(StandardCharsets.UTF_8));
+            final Source source1 = sourceFor(SOURCE_NAME, file);
+            assertSame(sourceFor(SOURCE_NAME, file), source1);
+            assertEquals(source1.getCharContent().toString(), "var s = '\u00e9t\u00e9';");
+
+            Files.write(file.toPath(), "var s = 'summer';".getBytes(StandardCharsets.UTF_8));
+            final Source source2 = sourceFor(SOURCE_NAME, file);
+            assertNotSame(source2, source1);
+            assertEquals(source2.getString(9, 6), "summer");
+            assertSame(sourceFor(SOURCE_NAME, file), source2);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testEditedSource() {
+        final StringBuilder sb = new StringBuilder(SOURCE_STRING);
+        Source source = sourceFor(SOURCE_NAME, SOURCE_STRING);
+        // enough edits for the edited content to be copied
+        for (int i = 0; i < 20; i++) {
+            final int offset = i * 7 % sb.length();
+            final int length = i % 3;
+            final String replacement = i % 4 == 0 ? "" : "/*" + i + "*/";
+            sb.replace(offset, offset + length, replacement);
+            source = source.edit(offset, length, replacement);
+
+            final String expected = sb.toString();
+            final CharSequence content = source.getCharContent();
+            assertEquals(content.length(), expected.length());
+            for (int j = 0; j < expected.length(); j++) {
+                assertEquals(content.charAt(j), expected.charAt(j));
+            }
+            assertEquals(source.getString(offset, expected.length() - offset), expected.substring(offset));
+            assertEquals(content.subSequence(0, offset).toString(), expected.substring(0, offset));
+            assertEquals(source.getName(), SOURCE_NAME);
+            if (i % 10 == 9) {
+                // copies the content
+                testSources(source, sourceFor(SOURCE_NAME, expected));
+            }
+        }
+    }
+
     private static Reader getReader(final String path) {
         return new InputStreamReader(SourceTest.class.getResourceAsStream(path));
     }
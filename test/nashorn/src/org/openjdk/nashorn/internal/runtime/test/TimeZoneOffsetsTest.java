@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.testng.Assert.assertEquals;
+
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import org.openjdk.nashorn.internal.runtime.TimeZoneOffsets;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that cached time zone offsets are those of the time zone.
+ *
+ * @test
+ * @modules org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime
+ * @run testng org.openjdk.nashorn.internal.runtime.test.TimeZoneOffsetsTest
+ */
+@SuppressWarnings("javadoc")
+public class TimeZoneOffsetsTest {
+    private static final long YEAR = 365L * 24 * 3600 * 1000;
+
+    private static void check(final TimeZone tz, final TimeZoneOffsets offsets, final long time) {
+        assertEquals(offsets.getOffset(time), tz.getOffset(time), tz.getID() + " at " + time);
+    }
+
+    private static void checkTimeZone(final TimeZone tz, final Random random) {
+        final TimeZoneOffsets offsets = new TimeZoneOffsets(tz);
+        assertEquals(offsets.getRawOffset(), tz.getRawOffset());
+        for (final ZoneOffsetTransition transition : tz.toZoneId().getRules().getTransitions()) {
+            final long time = transition.getInstant().toEpochMilli();
+            check(tz, offsets, time - 1);
+            check(tz, offsets, time);
+            check(tz, offsets, time + 1);
+        }
+        for (int i = 0; i < 1000; i++) {
+            // around and after 1970, twice so that the second lookup hits the cache
+            final long time = (long) (random.nextGaussian() * 100 * YEAR);
+            check(tz, offsets, time);
+            check(tz, offsets, time);
+        }
+        check(tz, offsets, 8_640_000_000_000_000L);
+        check(tz, offsets, -8_640_000_000_000_000L);
+    }
+
+    @Test
+    public void testAvailableTimeZones() {
+        final Random random = new Random(0);
+        for (final String id : TimeZone.getAvailableIDs()) {
+            checkTimeZone(TimeZone.getTimeZone(id), random);
+        }
+    }
+
+    @Test
+    public void testCustomTimeZones() {
+        final Random random = new Random(1);
+        checkTimeZone(TimeZone.getTimeZone("GMT+05:30"), random);
+        checkTimeZone(new SimpleTimeZone(-3 * 3600000, "GMT-03:00",
+                java.util.Calendar.MARCH, 8, -java.util.Calendar.SUNDAY, 7200000,
+                java.util.Calendar.NOVEMBER, 1, -java.util.Calendar.SUNDAY, 7200000), random);
+    }
+
+    @Test
+    public void testDisplayName() {
+        final TimeZone tz = TimeZone.getTimeZone("America/New_York");
+        final TimeZoneOffsets offsets = new TimeZoneOffsets(tz);
+        assertEquals(offsets.getDisplayName(false), tz.getDisplayName(false, TimeZone.SHORT, Locale.US));
+        assertEquals(offsets.getDisplayName(true), tz.getDisplayName(true, TimeZone.SHORT, Locale.US));
+    }
+}
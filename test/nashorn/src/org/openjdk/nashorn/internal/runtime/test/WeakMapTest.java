@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.openjdk.nashorn.internal.runtime.Source.sourceFor;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.nashorn.internal.objects.Global;
+import org.openjdk.nashorn.internal.runtime.Context;
+import org.openjdk.nashorn.internal.runtime.ErrorManager;
+import org.openjdk.nashorn.internal.runtime.ScriptFunction;
+import org.openjdk.nashorn.internal.runtime.ScriptObject;
+import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
+import org.openjdk.nashorn.internal.runtime.Source;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that WeakMap and WeakSet entries do not keep their keys or collections alive.
+ *
+ * @test
+ * @modules org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime
+ *          org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime.options
+ *          org.openjdk.nashorn/org.openjdk.nashorn.internal.objects
+ * @run testng org.openjdk.nashorn.internal.runtime.test.WeakMapTest
+ */
+@SuppressWarnings("javadoc")
+public class WeakMapTest {
+    private static final int N = 1000;
+
+    // keys referenced from their own values must be collectable
+    @Test
+    public void keyCycleTest() {
+        runTest((cx) -> {
+            final ScriptObject result = (ScriptObject) eval(cx, "<keyCycleTest>",
+                    "(function() {\n" +
+                    "    var map = new WeakMap(), set = new WeakSet(), keys = [];\n" +
+                    "    for (var i = 0; i < " + N + "; i++) {\n" +
+                    "        var key = { id: i };\n" +
+                    "        map.set(key, { owner: key });\n" +
+                    "        set.add(key);\n" +
+                    "        keys.push(key);\n" +
+                    "    }\n" +
+                    "    return { map: map, set: set, keys: keys };\n" +
+                    "})()");
+            final List<WeakReference<Object>> refs = getReferences(result, "keys");
+            result.delete("keys", false);
+            assertEquals(countAlive(refs), 0);
+            assertTrue(result.get("map") instanceof ScriptObject);
+        });
+    }
+
+    // collections must be collectable while their keys are alive
+    @Test
+    public void collectionTest() {
+        runTest((cx) -> {
+            final ScriptObject result = (ScriptObject) eval(cx, "<collectionTest>",
+                    "(function() {\n" +
+                    "    var keys = [], maps = [];\n" +
+                    "    for (var i = 0; i < " + N + "; i++) keys.push({});\n" +
+                    "    for (var n = 0; n < 10; n++) {\n" +
+                    "        var map = new WeakMap(), set = new WeakSet();\n" +
+                    "        keys.forEach(function(k, i) { map.set(k, i); set.add(k); });\n" +
+                    "        maps.push(map, set);\n" +
+                    "    }\n" +
+                    "    map = set = null;\n" +
+                    "    return {\n" +
+                    "        maps: maps,\n" +
+                    "        check: function() {\n" +
+                    "            var m = new WeakMap();\n" +
+                    "            keys.forEach(function(k, i) { m.set(k, i); });\n" +
+                    "            return m.get(keys[7]) === 7 && m.has(keys[0]) && m.delete(keys[0]) && !m.has(keys[0]);\n" +
+                    "        }\n" +
+                    "    };\n" +
+                    "})()");
+            final List<WeakReference<Object>> refs = getReferences(result, "maps");
+            result.delete("maps", false);
+            assertEquals(countAlive(refs), 0);
+
+            // the keys are still usable with new collections
+            assertEquals(ScriptRuntime.apply((ScriptFunction) result.get("check"), result), Boolean.TRUE);
+        });
+    }
+
+    // values of collected collections must not stay reachable from live keys
+    @Test
+    public void valueTest() {
+        runTest((cx) -> {
+            final ScriptObject result = (ScriptObject) eval(cx, "<valueTest>",
+                    "(function() {\n" +
+                    "    var keys = [];\n" +
+                    "    for (var i = 0; i < " + N + "; i++) keys.push({});\n" +
+                    "    function fill() {\n" +
+                    "        var map = new WeakMap(), values = [];\n" +
+                    "        for (var i = 0; i < keys.length; i++) {\n" +
+                    "            var v = { id: i };\n" +
+                    "            map.set(keys[i], v);\n" +
+                    "            values.push(v);\n" +
+                    "        }\n" +
+                    "        return values;\n" +
+                    "    }\n" +
+                    "    return {\n" +
+                    "        keys: keys,\n" +
+                    "        values: fill(),\n" +
+                    "        touch: function() { new WeakSet().add({}); }\n" +
+                    "    };\n" +
+                    "})()");
+            final List<WeakReference<Object>> refs = getReferences(result, "values");
+            result.delete("values", false);
+            final ScriptFunction touch = (ScriptFunction) result.get("touch");
+            assertEquals(countAlive(refs, () -> ScriptRuntime.apply(touch, result)), 0);
+            assertTrue(result.get("keys") instanceof ScriptObject);
+        });
+    }
+
+    // a copy of a key is a different key
+    @Test
+    public void copyTest() {
+        runTest((cx) -> {
+            final ScriptObject result = (ScriptObject) eval(cx, "<copyTest>",
+                    "(function() {\n" +
+                    "    var key = {}, map = new WeakMap();\n" +
+                    "    map.set(key, 1);\n" +
+                    "    return {\n" +
+                    "        key: key,\n" +
+                    "        check: function(copy) {\n" +
+                    "            map.set(copy, 2);\n" +
+                    "            return map.get(key) === 1 && map.get(copy) === 2 && map.delete(copy) && map.has(key);\n" +
+                    "        }\n" +
+                    "    };\n" +
+                    "})()");
+            final ScriptObject copy = ((ScriptObject) result.get("key")).copy();
+            assertEquals(ScriptRuntime.apply((ScriptFunction) result.get("check"), result, copy), Boolean.TRUE);
+        });
+    }
+
+    private interface ContextTask {
+        void run(Context cx);
+    }
+
+    private static void runTest(final ContextTask task) {
+        final Options options = new Options("nashorn");
+        options.process(new String[] { "--language=es6" });
+        final ErrorManager errors = new ErrorManager();
+        final Context cx = new Context(options, errors, Thread.currentThread().getContextClassLoader());
+        final Global oldGlobal = Context.getGlobal();
+        Context.setGlobal(cx.createGlobal());
+        try {
+            task.run(cx);
+        } finally {
+            Context.setGlobal(oldGlobal);
+        }
+    }
+
+    // weak references to the elements of an array property
+    private static List<WeakReference<Object>> getReferences(final ScriptObject obj, final String name) {
+        final ScriptObject array = (ScriptObject) obj.get(name);
+        final List<WeakReference<Object>> refs = new ArrayList<>();
+        final int length = ((Number) array.getLength()).intValue();
+        for (int i = 0; i < length; i++) {
+            final Object element = array.get(i);
+            assertTrue(element instanceof ScriptObject);
+            refs.add(new WeakReference<>(element));
+        }
+        return refs;
+    }
+
+    private static int countAlive(final List<WeakReference<Object>> refs) {
+        return countAlive(refs, () -> {});
+    }
+
+    // count the live referents, running an action after each garbage collection
+    private static int countAlive(final List<WeakReference<Object>> refs, final Runnable afterGc) {
+        int alive = refs.size();
+        for (int attempt = 0; attempt < 20 && alive > 0; attempt++) {
+            System.gc();
+            afterGc.run();
+            alive = 0;
+            for (final WeakReference<Object> ref : refs) {
+                if (ref.get() != null) {
+                    alive++;
+                }
+            }
+            if (alive > 0) {
+                try {
+                    Thread.sleep(20);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return alive;
+    }
+
+    private static Object eval(final Context cx, final String name, final String code) {
+        final Source source = sourceFor(name, code);
+        final ScriptObject global = Context.getGlobal();
+        final ScriptFunction func = cx.compileScript(source, global);
+        return func != null ? ScriptRuntime.apply(func, global) : null;
+    }
+}